@@ -1,14 +1,17 @@
 package io.github.dkorobtsov.plinter.apache;
 
+import io.github.dkorobtsov.plinter.core.internal.InterceptedMediaType;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedRequestBody;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedResponseBody;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.client.entity.EntityBuilder;
 import org.apache.http.entity.ContentType;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.SequenceInputStream;
 
 import static io.github.dkorobtsov.plinter.core.internal.Util.APPLICATION_JSON;
 import static java.util.Objects.isNull;
@@ -23,8 +26,7 @@ final class ApacheEntityUtil {
   private ApacheEntityUtil() {
   }
 
-  static HttpEntity recreateHttpEntityFromByteArray(byte[] httpEntityContent,
-                                                    final HttpEntity entity) {
+  static HttpEntity recreateHttpEntity(InputStream content, final HttpEntity entity) {
     final Header contentType = entity.getContentType();
     final String contentTypeValue
       = isNull(contentType)
@@ -35,7 +37,7 @@ final class ApacheEntityUtil {
     final EntityBuilder entityBuilder = EntityBuilder
       .create()
       .setContentType(ContentType.parse(contentTypeValue))
-      .setStream(new ByteArrayInputStream(httpEntityContent));
+      .setStream(content);
 
     if (nonNull(contentEncodingHeader)) {
       return entityBuilder
@@ -47,20 +49,91 @@ final class ApacheEntityUtil {
     return entityBuilder.build();
   }
 
-  @SuppressWarnings("PMD")
-  static byte[] getEntityBytes(HttpEntity entity) throws IOException {
-    final byte[] byteArray;
+  /**
+   * Reads at most {@code maxBodyBytes} (plus one byte to detect truncation) from entity content.
+   * Since content stream can be consumed only once, entity replacement is returned - it streams
+   * already read head followed by the rest of original content, which was never loaded into
+   * memory.
+   * <p>
+   * Head is read into pooled array sized from entity content length when it is known, the same
+   * array serves both replacement entity and captured body and is returned to the pool once both
+   * are done with it (see {@link PooledContent}).
+   */
+  static CapturedEntity captureEntity(HttpEntity entity, int maxBodyBytes) throws IOException {
     final InputStream inputStream = entity.getContent();
-    final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-    int bytesRead;
-    final byte[] data = new byte[1024];
-    while ((bytesRead = inputStream.read(data, 0, data.length)) != -1) {
-      buffer.write(data, 0, bytesRead);
+    final PooledContent head = PooledContent.read(inputStream, entity.getContentLength(),
+      maxBodyBytes, PooledContent.CLIENT | PooledContent.PRINTER);
+
+    final int next;
+    try {
+      next = head.length() < maxBodyBytes ? -1 : inputStream.read();
+    } catch (IOException e) {
+      head.discard();
+      throw e;
+    }
+
+    if (next == -1) {
+      return new CapturedEntity(head, false, head.length(),
+        recreateHttpEntity(head.inputStream(), entity));
+    }
+
+    // Byte read to detect truncation is pushed back, so client still receives whole content
+    final PushbackInputStream rest = new PushbackInputStream(inputStream, 1);
+    rest.unread(next);
+    final HttpEntity replacement = recreateHttpEntity(
+      new SequenceInputStream(head.inputStream(), rest), entity);
+    return new CapturedEntity(head, true, entity.getContentLength(), replacement);
+  }
+
+  /**
+   * Reads at most {@code maxBodyBytes} (plus one byte to detect truncation) from repeatable entity.
+   * Entity can produce its content again, so it does not have to be replaced - captured content
+   * is owned by the printer only and original entity is returned as replacement.
+   */
+  static CapturedEntity readRepeatableEntity(HttpEntity entity, int maxBodyBytes)
+    throws IOException {
+    try (InputStream inputStream = entity.getContent()) {
+      final PooledContent head = PooledContent.read(inputStream, entity.getContentLength(),
+        maxBodyBytes, PooledContent.PRINTER);
+
+      final int next;
+      try {
+        next = head.length() < maxBodyBytes ? -1 : inputStream.read();
+      } catch (IOException e) {
+        head.discard();
+        throw e;
+      }
+      return next == -1
+        ? new CapturedEntity(head, false, head.length(), entity)
+        : new CapturedEntity(head, true, entity.getContentLength(), entity);
+    }
+  }
+
+  /**
+   * Result of entity capturing: head of the content and entity which should replace original one.
+   */
+  static final class CapturedEntity {
+
+    final PooledContent content;
+    final boolean isTruncated;
+    final long totalLength;
+    final HttpEntity replacement;
+
+    CapturedEntity(PooledContent content, boolean isTruncated, long totalLength,
+                   HttpEntity replacement) {
+      this.content = content;
+      this.isTruncated = isTruncated;
+      this.totalLength = totalLength;
+      this.replacement = replacement;
+    }
+
+    InterceptedRequestBody requestBody(InterceptedMediaType mediaType) {
+      return content.requestBody(mediaType, isTruncated, totalLength);
     }
 
-    buffer.flush();
-    byteArray = buffer.toByteArray();
-    return byteArray;
+    InterceptedResponseBody responseBody(InterceptedMediaType mediaType) {
+      return content.responseBody(mediaType, isTruncated, totalLength);
+    }
   }
 
 }
@@ -5,9 +5,14 @@ import io.github.dkorobtsov.plinter.core.LoggerConfig;
 import io.github.dkorobtsov.plinter.core.RequestConverter;
 import io.github.dkorobtsov.plinter.core.internal.ClientPrintingExecutor;
 import io.github.dkorobtsov.plinter.core.internal.InterceptedRequest;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHost;
 import org.apache.http.HttpRequest;
 import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.client.methods.HttpRequestWrapper;
 import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpCoreContext;
 
 /**
  * Interceptor for requests sent by Apache HttpClient.
@@ -33,24 +38,117 @@ import org.apache.http.protocol.HttpContext;
  *      .build();
  *
  * </pre>
+ * In exchange mode request is not printed right away, but stored in request context and printed
+ * by response interceptor together with response. Note that Apache HttpClient does not call
+ * response interceptors if no response was received, so such requests are not printed.
+ * <p>
+ * If request is not sampled by configured {@link io.github.dkorobtsov.plinter.core.Sampler}, it
+ * is not converted at all, only the decision is passed to response interceptor. Responses forced
+ * to be logged by error status overrides are then printed without request.
+ * <p>
+ * If only slow or failed exchanges are logged (see
+ * {@link io.github.dkorobtsov.plinter.core.SlowOrFailedPolicy}), request is not printed here -
+ * interceptor only records start time. Request without body or with repeatable entity is
+ * converted later by response interceptor and only if exchange qualifies (without touching
+ * request which was already sent), other requests have their body captured before it is sent.
+ * Calls failed without response are not observable by Apache HttpClient interceptors, so only
+ * latency and status criteria apply.
+ * <p>
+ * Start time is also used by configured
+ * {@link io.github.dkorobtsov.plinter.core.ExchangeMetrics} - exchange is recorded by response
+ * interceptor, calls failed without response are not recorded.
  */
 public class ApacheHttpRequestInterceptor extends AbstractInterceptor
   implements HttpRequestInterceptor {
 
+  static final String EXCHANGE_REQUEST_ATTRIBUTE = "plinter.exchange.request";
+  static final String NOT_SAMPLED_ATTRIBUTE = "plinter.not.sampled";
+  static final String SKIPPED_ATTRIBUTE = "plinter.skipped";
+  static final String STARTED_AT_ATTRIBUTE = "plinter.started.at";
+
   private final RequestConverter<HttpRequest> requestConverter;
 
   public ApacheHttpRequestInterceptor(final LoggerConfig loggerConfig) {
-    this.requestConverter = new ApacheRequestConverter();
+    this.requestConverter = timed(loggerConfig, new ApacheRequestConverter(loggerConfig));
     this.loggerConfig = loggerConfig;
   }
 
   @Override
   public void process(final HttpRequest request, final HttpContext context) {
-    if (!skipLogging()) {
-      final InterceptedRequest interceptedRequest = requestConverter.from(request);
+    if (loggerConfig.metrics != null || loggerConfig.slowOrFailedPolicy != null) {
+      context.setAttribute(STARTED_AT_ATTRIBUTE, System.nanoTime());
+    }
+    if (skipLogging()) {
+      return;
+    }
+    final String host = targetHost(context);
+    final String path = path(request.getRequestLine().getUri());
+    if (skipLogging(host, path, request.getRequestLine().getMethod(), request::containsHeader)) {
+      context.setAttribute(SKIPPED_ATTRIBUTE, Boolean.TRUE);
+      return;
+    }
+    if (!isSampled(host, path)) {
+      context.setAttribute(NOT_SAMPLED_ATTRIBUTE, Boolean.TRUE);
+      return;
+    }
+
+    if (loggerConfig.slowOrFailedPolicy != null) {
+      if (!isConvertibleLater(request)) {
+        context.setAttribute(EXCHANGE_REQUEST_ATTRIBUTE, requestConverter.from(request));
+      }
+      return;
+    }
+
+    final InterceptedRequest interceptedRequest = requestConverter.from(request);
 
+    if (loggerConfig.exchangeMode) {
+      context.setAttribute(EXCHANGE_REQUEST_ATTRIBUTE, interceptedRequest);
+    } else {
       ClientPrintingExecutor.printRequest(loggerConfig, interceptedRequest);
     }
   }
 
+  /**
+   * Returns true if request can still be converted after it was sent - it has no body or its
+   * entity is repeatable.
+   */
+  private static boolean isConvertibleLater(final HttpRequest request) {
+    if (!(request instanceof HttpRequestWrapper)) {
+      return false;
+    }
+    final HttpRequest original = ((HttpRequestWrapper) request).getOriginal();
+    if (!(original instanceof HttpEntityEnclosingRequest)) {
+      return true;
+    }
+    final HttpEntity entity = ((HttpEntityEnclosingRequest) original).getEntity();
+    return entity == null || entity.isRepeatable();
+  }
+
+  static String targetHost(final HttpContext context) {
+    final HttpHost targetHost = HttpCoreContext.adapt(context).getTargetHost();
+    return targetHost == null ? null : targetHost.getHostName();
+  }
+
+  /**
+   * Returns path part of request line URI, which can be either absolute or relative.
+   */
+  static String path(final String uri) {
+    int start = 0;
+    final int schemeEnd = uri.indexOf("://");
+    if (schemeEnd >= 0) {
+      start = uri.indexOf('/', schemeEnd + 3);
+      if (start < 0) {
+        return "/";
+      }
+    }
+    int end = uri.length();
+    for (int i = start; i < end; i++) {
+      final char c = uri.charAt(i);
+      if (c == '?' || c == '#') {
+        end = i;
+      }
+    }
+    return uri.substring(start, end);
+  }
+
 }
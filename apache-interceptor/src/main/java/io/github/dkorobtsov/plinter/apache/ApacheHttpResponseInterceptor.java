@@ -2,13 +2,22 @@ package io.github.dkorobtsov.plinter.apache;
 
 import io.github.dkorobtsov.plinter.core.AbstractInterceptor;
 import io.github.dkorobtsov.plinter.core.LoggerConfig;
+import io.github.dkorobtsov.plinter.core.RequestConverter;
 import io.github.dkorobtsov.plinter.core.ResponseConverter;
 import io.github.dkorobtsov.plinter.core.internal.ClientPrintingExecutor;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedMediaType;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedRequest;
 import io.github.dkorobtsov.plinter.core.internal.InterceptedResponse;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpRequest;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpResponseInterceptor;
 import org.apache.http.client.methods.HttpRequestWrapper;
+import org.apache.http.message.BasicHttpResponse;
 import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpCoreContext;
 
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -38,6 +47,11 @@ import java.util.logging.Logger;
  *      .build();
  *
  * </pre>
+ * Response body is not read by interceptor - entity is replaced with one capturing body head
+ * while application reads it (see {@link CapturingEntity}), and response is printed once entity
+ * content is fully read or closed. So logging does not delay the first byte of response nor
+ * requires buffering of streamed downloads. Note that response whose entity is neither read nor
+ * closed by application (e.g. only response itself is closed) is not printed.
  */
 public class ApacheHttpResponseInterceptor extends AbstractInterceptor
   implements HttpResponseInterceptor {
@@ -45,23 +59,123 @@ public class ApacheHttpResponseInterceptor extends AbstractInterceptor
   private static final Logger logger = Logger
     .getLogger(ApacheHttpResponseInterceptor.class.getName());
 
+  private final RequestConverter<HttpRequest> requestConverter;
   private final ResponseConverter<HttpResponse> responseConverter;
 
   public ApacheHttpResponseInterceptor(LoggerConfig loggerConfig) {
-    this.responseConverter = new ApacheResponseConverter();
+    // Requests are converted here only after they were sent, so entities are never replaced
+    this.requestConverter = timed(loggerConfig, new ApacheRequestConverter(loggerConfig, true));
+    this.responseConverter = timed(loggerConfig, new ApacheResponseConverter(loggerConfig));
     this.loggerConfig = loggerConfig;
   }
 
   @Override
   public void process(final HttpResponse response, final HttpContext context) {
-    if (!skipLogging()) {
-      final InterceptedResponse interceptedResponse = responseConverter.from(
-        response, urlFrom(context), null);
+    final boolean isSkipped = context
+      .removeAttribute(ApacheHttpRequestInterceptor.SKIPPED_ATTRIBUTE) != null;
+    final boolean isNotSampled = context
+      .removeAttribute(ApacheHttpRequestInterceptor.NOT_SAMPLED_ATTRIBUTE) != null;
+    final Object startedAt = context
+      .removeAttribute(ApacheHttpRequestInterceptor.STARTED_AT_ATTRIBUTE);
+    final Object heldRequest = context
+      .removeAttribute(ApacheHttpRequestInterceptor.EXCHANGE_REQUEST_ATTRIBUTE);
 
+    final int statusCode = response.getStatusLine().getStatusCode();
+    final long latencyNanos = startedAt instanceof Long
+      ? System.nanoTime() - (Long) startedAt
+      : 0;
+    if (loggerConfig.metrics != null && startedAt instanceof Long) {
+      recordMetrics(HttpCoreContext.adapt(context).getRequest(), context, response,
+        latencyNanos);
+    }
+
+    if (skipLogging() || isSkipped) {
+      return;
+    }
+
+    final boolean isSlowOrFailedOnly = loggerConfig.slowOrFailedPolicy != null
+      && startedAt instanceof Long;
+    if ((isNotSampled || isSlowOrFailedOnly)
+      && !isLoggedOnResponse(!isNotSampled, latencyNanos, statusCode)) {
+      return;
+    }
+
+    InterceptedRequest exchangeRequest = heldRequest instanceof InterceptedRequest
+      ? (InterceptedRequest) heldRequest
+      : null;
+
+    // Exchange which is logged only if slow or failed, request is printed only now
+    if (isSlowOrFailedOnly) {
+      if (exchangeRequest == null) {
+        exchangeRequest = requestConverter.from(HttpCoreContext.adapt(context).getRequest());
+      }
+      if (!loggerConfig.exchangeMode) {
+        ClientPrintingExecutor.printRequest(loggerConfig, exchangeRequest);
+      }
+    }
+
+    final URL url = urlFrom(context);
+    final InterceptedRequest request = exchangeRequest;
+    final HttpEntity entity = response.getEntity();
+    if (isCapturedWhileRead(entity)) {
+      // Headers are copied right away, since client may change them before entity is read
+      // (e.g. content decompression removes Content-Encoding)
+      final HttpResponse snapshot = new BasicHttpResponse(response.getStatusLine());
+      snapshot.setHeaders(response.getAllHeaders());
+      final CapturingEntity capturingEntity = new CapturingEntity(entity,
+        loggerConfig.capturePolicy.maxBytes(mediaType(entity), loggerConfig.maxBodyBytes),
+        () -> print(snapshot, url, request));
+      snapshot.setEntity(capturingEntity);
+      response.setEntity(capturingEntity);
+    } else {
+      print(response, url, request);
+    }
+  }
+
+  private void print(final HttpResponse response, final URL url,
+                     final InterceptedRequest exchangeRequest) {
+    final InterceptedResponse interceptedResponse = responseConverter.from(response, url, null);
+
+    if (loggerConfig.exchangeMode && exchangeRequest != null) {
+      ClientPrintingExecutor.printExchange(loggerConfig,
+        exchangeRequest, interceptedResponse);
+    } else {
       ClientPrintingExecutor.printResponse(loggerConfig, interceptedResponse);
     }
   }
 
+  /**
+   * Returns true if response body should be captured while application reads it - body is
+   * printed, its media type is not excluded by capture policy and entity is streamed (so it is
+   * going to be read or closed by application).
+   */
+  private boolean isCapturedWhileRead(final HttpEntity entity) {
+    return entity != null
+      && entity.isStreaming()
+      && loggerConfig.level.printsBody()
+      && loggerConfig.capturePolicy.isCaptured(mediaType(entity));
+  }
+
+  private static InterceptedMediaType mediaType(final HttpEntity entity) {
+    final Header contentType = entity.getContentType();
+    return InterceptedMediaType.parse(contentType == null ? "" : contentType.getValue());
+  }
+
+  private void recordMetrics(final HttpRequest request, final HttpContext context,
+                             final HttpResponse response, final long latencyNanos) {
+    final HttpEntity requestEntity = request instanceof HttpEntityEnclosingRequest
+      ? ((HttpEntityEnclosingRequest) request).getEntity()
+      : null;
+    final HttpEntity responseEntity = response.getEntity();
+
+    recordMetrics(request.getRequestLine().getMethod(),
+      ApacheHttpRequestInterceptor.targetHost(context),
+      ApacheHttpRequestInterceptor.path(request.getRequestLine().getUri()),
+      response.getStatusLine().getStatusCode(), latencyNanos,
+      requestEntity == null ? 0 : requestEntity.getContentLength(),
+      responseEntity == null ? 0 : responseEntity.getContentLength());
+  }
+
   @SuppressWarnings("PMD")
   URL urlFrom(final HttpContext context) {
     final HttpRequestWrapper request
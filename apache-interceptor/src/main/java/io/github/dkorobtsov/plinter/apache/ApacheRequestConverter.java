@@ -1,5 +1,7 @@
 package io.github.dkorobtsov.plinter.apache;
 
+import io.github.dkorobtsov.plinter.core.BodyCapturePolicy;
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
 import io.github.dkorobtsov.plinter.core.RequestConverter;
 import io.github.dkorobtsov.plinter.core.internal.HttpMethod;
 import io.github.dkorobtsov.plinter.core.internal.InterceptedMediaType;
@@ -31,6 +33,45 @@ public class ApacheRequestConverter implements RequestConverter<HttpRequest> {
 
   private static final Logger logger = Logger.getLogger(ApacheRequestConverter.class.getName());
 
+  private final int maxBodyBytes;
+  private final boolean captureBody;
+  private final BodyCapturePolicy capturePolicy;
+  private final boolean isRequestSent;
+
+  /**
+   * Constructs converter using default {@link LoggerConfig}.
+   */
+  public ApacheRequestConverter() {
+    this(LoggerConfig.builder().build());
+  }
+
+  /**
+   * Constructs converter capturing only parts of {@code request} printed with provided
+   * configuration. Body is not read at all if configured level does not print it or its media
+   * type is excluded by {@link LoggerConfig#capturePolicy}, otherwise at most
+   * {@link LoggerConfig#maxBodyBytes} (or limit set in capture policy) are captured.
+   *
+   * @param loggerConfig configuration used for printing converted requests
+   */
+  public ApacheRequestConverter(final LoggerConfig loggerConfig) {
+    this(loggerConfig, false);
+  }
+
+  /**
+   * Constructs converter for requests which were possibly already sent. Such converter never
+   * replaces request entity: repeatable entity is read directly, content of non-repeatable one
+   * is no longer available and its body is converted as empty.
+   *
+   * @param loggerConfig  configuration used for printing converted requests
+   * @param isRequestSent true if requests are converted after they were sent
+   */
+  ApacheRequestConverter(final LoggerConfig loggerConfig, final boolean isRequestSent) {
+    this.maxBodyBytes = loggerConfig.maxBodyBytes;
+    this.captureBody = loggerConfig.level.printsBody();
+    this.capturePolicy = loggerConfig.capturePolicy;
+    this.isRequestSent = isRequestSent;
+  }
+
   @Override
   public InterceptedRequest from(final HttpRequest apacheHttpRequest) {
     final InterceptedRequest.Builder builder = new InterceptedRequest.Builder();
@@ -42,7 +83,9 @@ public class ApacheRequestConverter implements RequestConverter<HttpRequest> {
 
     final String method = apacheHttpRequest.getRequestLine().getMethod();
     if (HttpMethod.permitsRequestBody(method)) {
-      builder.method(method, interceptedRequestBody(apacheHttpRequest));
+      builder.method(method, captureBody
+        ? interceptedRequestBody(apacheHttpRequest)
+        : InterceptedRequestBody.empty());
     } else {
       builder.method(method, null);
     }
@@ -60,9 +103,30 @@ public class ApacheRequestConverter implements RequestConverter<HttpRequest> {
         final HttpEntity entity = ((HttpEntityEnclosingRequestBase) original).getEntity();
         if (nonNull(entity)) {
 
-          final byte[] byteArray;
+          final Header contentTypeHeader = Arrays
+            .stream(((HttpRequestWrapper) request).getOriginal().getAllHeaders())
+            .filter(header -> header.getName().equals(CONTENT_TYPE))
+            .findFirst()
+            .orElse(new BasicHeader(CONTENT_TYPE, TEXT_PLAIN));
+
+          final InterceptedMediaType mediaType = InterceptedMediaType
+            .parse(contentTypeHeader.getValue());
+
+          // Entity of media type excluded by capture policy is left untouched, content of
+          // non-repeatable entity which was already sent is not available anymore
+          if (!capturePolicy.isCaptured(mediaType)
+            || isRequestSent && !entity.isRepeatable()) {
+            return InterceptedRequestBody.create(mediaType, new byte[0]);
+          }
+
+          // Repeatable entity is read directly, so request stays repeatable for retries and
+          // redirects
+          final int maxBytes = capturePolicy.maxBytes(mediaType, maxBodyBytes);
+          final ApacheEntityUtil.CapturedEntity capturedEntity;
           try {
-            byteArray = ApacheEntityUtil.getEntityBytes(entity);
+            capturedEntity = entity.isRepeatable()
+              ? ApacheEntityUtil.readRepeatableEntity(entity, maxBytes)
+              : ApacheEntityUtil.captureEntity(entity, maxBytes);
           } catch (IOException e) {
             logger.log(Level.SEVERE, e.getMessage(), e);
             return InterceptedRequestBody
@@ -71,21 +135,12 @@ public class ApacheRequestConverter implements RequestConverter<HttpRequest> {
                 "[LoggingInterceptorError] : could not parse body");
           }
 
-          final HttpEntity newEntity = ApacheEntityUtil
-            .recreateHttpEntityFromByteArray(byteArray, entity);
-
-          ((HttpEntityEnclosingRequestBase) ((HttpRequestWrapper) request).getOriginal())
-            .setEntity(newEntity);
-
-          final Header contentTypeHeader = Arrays
-            .stream(((HttpRequestWrapper) request).getOriginal().getAllHeaders())
-            .filter(header -> header.getName().equals(CONTENT_TYPE))
-            .findFirst()
-            .orElse(new BasicHeader(CONTENT_TYPE, TEXT_PLAIN));
+          if (capturedEntity.replacement != entity) {
+            ((HttpEntityEnclosingRequestBase) ((HttpRequestWrapper) request).getOriginal())
+              .setEntity(capturedEntity.replacement);
+          }
 
-          return InterceptedRequestBody
-            .create(InterceptedMediaType
-              .parse(contentTypeHeader.getValue()), byteArray);
+          return capturedEntity.requestBody(mediaType);
         }
       }
     }
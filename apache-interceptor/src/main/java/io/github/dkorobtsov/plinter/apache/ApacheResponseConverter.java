@@ -1,5 +1,7 @@
 package io.github.dkorobtsov.plinter.apache;
 
+import io.github.dkorobtsov.plinter.core.BodyCapturePolicy;
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
 import io.github.dkorobtsov.plinter.core.ResponseConverter;
 import io.github.dkorobtsov.plinter.core.internal.HttpStatus;
 import io.github.dkorobtsov.plinter.core.internal.InterceptedHeaders;
@@ -31,6 +33,31 @@ public class ApacheResponseConverter implements ResponseConverter<HttpResponse>
 
   private static final Logger logger = Logger.getLogger(ApacheResponseConverter.class.getName());
 
+  private final int maxBodyBytes;
+  private final boolean captureBody;
+  private final BodyCapturePolicy capturePolicy;
+
+  /**
+   * Constructs converter using default {@link LoggerConfig}.
+   */
+  public ApacheResponseConverter() {
+    this(LoggerConfig.builder().build());
+  }
+
+  /**
+   * Constructs converter capturing only parts of {@code response} printed with provided
+   * configuration. Body is not read at all if configured level does not print it or its media
+   * type is excluded by {@link LoggerConfig#capturePolicy}, otherwise at most
+   * {@link LoggerConfig#maxBodyBytes} (or limit set in capture policy) are captured.
+   *
+   * @param loggerConfig configuration used for printing converted responses
+   */
+  public ApacheResponseConverter(final LoggerConfig loggerConfig) {
+    this.maxBodyBytes = loggerConfig.maxBodyBytes;
+    this.captureBody = loggerConfig.level.printsBody();
+    this.capturePolicy = loggerConfig.capturePolicy;
+  }
+
   @Override
   public InterceptedResponse from(HttpResponse response, URL requestUrl, Long ms) {
     return ResponseHandler.interceptedResponse(responseDetails(response), requestUrl, ms);
@@ -41,9 +68,26 @@ public class ApacheResponseConverter implements ResponseConverter<HttpResponse>
     final HttpEntity entity = response.getEntity();
     if (nonNull(entity)) {
 
-      final byte[] byteArray;
+      final Header contentType = entity.getContentType();
+      final String contentTypeValue
+        = isNull(contentType) ? ""
+        : contentType.getValue();
+      final InterceptedMediaType mediaType = InterceptedMediaType.parse(contentTypeValue);
+
+      // Entity content was already captured while application was reading it
+      if (entity instanceof CapturingEntity) {
+        return ((CapturingEntity) entity).capturedBody(mediaType);
+      }
+
+      // Entity of media type excluded by capture policy is left untouched
+      if (!capturePolicy.isCaptured(mediaType)) {
+        return InterceptedResponseBody.create(mediaType, new byte[0]);
+      }
+
+      final ApacheEntityUtil.CapturedEntity capturedEntity;
       try {
-        byteArray = ApacheEntityUtil.getEntityBytes(entity);
+        capturedEntity = ApacheEntityUtil
+          .captureEntity(entity, capturePolicy.maxBytes(mediaType, maxBodyBytes));
       } catch (IOException e) {
         logger.log(Level.SEVERE, e.getMessage(), e);
         return InterceptedResponseBody
@@ -51,18 +95,9 @@ public class ApacheResponseConverter implements ResponseConverter<HttpResponse>
             "[LoggingInterceptorError] : could not parse body");
       }
 
-      final Header contentType = response.getEntity().getContentType();
-      final String contentTypeValue
-        = isNull(contentType) ? ""
-        : contentType.getValue();
-
-      final HttpEntity newEntity = ApacheEntityUtil
-        .recreateHttpEntityFromByteArray(byteArray.clone(), entity);
-
-      response.setEntity(newEntity);
+      response.setEntity(capturedEntity.replacement);
 
-      return InterceptedResponseBody
-        .create(InterceptedMediaType.parse(contentTypeValue), byteArray);
+      return capturedEntity.responseBody(mediaType);
     }
 
     return InterceptedResponseBody
@@ -75,13 +110,15 @@ public class ApacheResponseConverter implements ResponseConverter<HttpResponse>
       throw new IllegalStateException("httpResponse == null");
     } else {
       final int code = httpResponse.getStatusLine().getStatusCode();
-      final InterceptedResponseBody responseBody = interceptedResponseBody(httpResponse);
+      final InterceptedResponseBody responseBody = captureBody
+        ? interceptedResponseBody(httpResponse)
+        : null;
 
       return ResponseDetails.builder()
         .code(httpResponse.getStatusLine().getStatusCode())
         .headers(interceptedHeaders(httpResponse.getAllHeaders()))
         .isSuccessful(code >= 200 && code <= 300)
-        .mediaType(responseBody.contentType())
+        .mediaType(isNull(responseBody) ? null : responseBody.contentType())
         .message(HttpStatus.fromCode(code))
         .responseBody(responseBody)
         .build();
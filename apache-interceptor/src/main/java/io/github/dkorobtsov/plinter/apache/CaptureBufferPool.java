@@ -0,0 +1,74 @@
+package io.github.dkorobtsov.plinter.apache;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Pool of byte arrays used for capturing Apache entities.
+ * <p>
+ * Arrays are grouped by power of two size classes from 1 KiB to 1 MiB (default body capture
+ * limit), each class keeps up to 512 KiB worth of free arrays (at least 2 and at most 64
+ * arrays). Larger arrays are never pooled. Pool does not track acquired arrays - array which
+ * was not released (e.g. event was dropped by printing executor) is simply garbage collected.
+ */
+final class CaptureBufferPool {
+
+  private static final int MIN_SIZE_SHIFT = 10;
+  private static final int MAX_SIZE_SHIFT = 20;
+  private static final int RETAINED_BYTES_PER_CLASS = 512 * 1024;
+  private static final int MAX_ARRAYS_PER_CLASS = 64;
+
+  private static final ArrayBlockingQueue<byte[]>[] POOLS = createPools();
+
+  private CaptureBufferPool() {
+  }
+
+  /**
+   * Returns array at least {@code minCapacity} bytes long. Arrays are not cleared, content left
+   * from previous use is overwritten by caller.
+   */
+  static byte[] acquire(int minCapacity) {
+    final int sizeClass = sizeClass(minCapacity);
+    if (sizeClass < 0) {
+      return new byte[minCapacity];
+    }
+    final byte[] array = POOLS[sizeClass].poll();
+    return array != null ? array : new byte[1 << (sizeClass + MIN_SIZE_SHIFT)];
+  }
+
+  /**
+   * Returns array to the pool. Array should not be used by caller afterwards.
+   */
+  static void release(byte[] array) {
+    final int sizeClass = sizeClass(array.length);
+    if (sizeClass >= 0 && array.length == 1 << (sizeClass + MIN_SIZE_SHIFT)) {
+      POOLS[sizeClass].offer(array);
+    }
+  }
+
+  /**
+   * Returns index of the smallest size class fitting provided capacity, or -1 if capacity
+   * exceeds the largest pooled size.
+   */
+  private static int sizeClass(int capacity) {
+    if (capacity > 1 << MAX_SIZE_SHIFT) {
+      return -1;
+    }
+    final int shift = capacity <= 1 << MIN_SIZE_SHIFT
+      ? MIN_SIZE_SHIFT
+      : Integer.SIZE - Integer.numberOfLeadingZeros(capacity - 1);
+    return shift - MIN_SIZE_SHIFT;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ArrayBlockingQueue<byte[]>[] createPools() {
+    final ArrayBlockingQueue<byte[]>[] pools
+      = new ArrayBlockingQueue[MAX_SIZE_SHIFT - MIN_SIZE_SHIFT + 1];
+    for (int i = 0; i < pools.length; i++) {
+      final int arraySize = 1 << (i + MIN_SIZE_SHIFT);
+      pools[i] = new ArrayBlockingQueue<>(
+        Math.min(MAX_ARRAYS_PER_CLASS, Math.max(2, RETAINED_BYTES_PER_CLASS / arraySize)));
+    }
+    return pools;
+  }
+
+}
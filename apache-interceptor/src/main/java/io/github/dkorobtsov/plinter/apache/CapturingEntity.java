@@ -0,0 +1,178 @@
+package io.github.dkorobtsov.plinter.apache;
+
+import io.github.dkorobtsov.plinter.core.internal.InterceptedMediaType;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedResponseBody;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Response entity wrapper capturing head of the content while application reads it.
+ * <p>
+ * Bytes are passed to application as soon as they are received, copy of the first
+ * {@code maxBytes} is kept in pooled array (see {@link PooledContent}). Once content stream is
+ * exhausted or closed, provided callback is invoked - response is converted and printed only then.
+ * If stream is closed before it was fully read, only bytes application has read are printed and
+ * body is marked as truncated - no content is read on behalf of application.
+ * <p>
+ * Note that response whose entity is neither read nor closed by application is not printed.
+ */
+final class CapturingEntity extends HttpEntityWrapper {
+
+  private static final Logger logger = Logger.getLogger(CapturingEntity.class.getName());
+  private static final int BUFFER_SIZE = 4096;
+
+  private final int maxBytes;
+  private final Runnable onComplete;
+  private CapturingStream content;
+  private PooledContent captured;
+  private long totalBytes;
+  private boolean isExhausted;
+
+  /**
+   * Constructs a new CapturingEntity.
+   *
+   * @param entity     original response entity
+   * @param maxBytes   maximum number of captured bytes
+   * @param onComplete callback invoked once content stream is exhausted or closed
+   */
+  CapturingEntity(HttpEntity entity, int maxBytes, Runnable onComplete) {
+    super(entity);
+    this.maxBytes = maxBytes;
+    this.onComplete = onComplete;
+  }
+
+  @Override
+  public boolean isRepeatable() {
+    return false;
+  }
+
+  @Override
+  public InputStream getContent() throws IOException {
+    if (content == null) {
+      final InputStream original = super.getContent();
+      if (original == null) {
+        return null;
+      }
+      content = new CapturingStream(original);
+    }
+    return content;
+  }
+
+  @Override
+  public void writeTo(OutputStream outputStream) throws IOException {
+    try (InputStream inputStream = getContent()) {
+      if (inputStream == null) {
+        return;
+      }
+      final byte[] buffer = new byte[BUFFER_SIZE];
+      int bytesRead;
+      while ((bytesRead = inputStream.read(buffer)) != -1) {
+        outputStream.write(buffer, 0, bytesRead);
+      }
+    }
+  }
+
+  /**
+   * Returns captured head of the content. Should be called only once, after completion callback
+   * was invoked.
+   */
+  InterceptedResponseBody capturedBody(InterceptedMediaType mediaType) {
+    final boolean isTruncated = !isExhausted || totalBytes > captured.length();
+    return captured.responseBody(mediaType, isTruncated,
+      isExhausted ? totalBytes : getContentLength());
+  }
+
+  /**
+   * Stream passing original content to application and copying its head into capture.
+   */
+  private final class CapturingStream extends InputStream {
+
+    private final InputStream original;
+    private final PooledContent.Capture capture;
+    private boolean isCompleted;
+
+    CapturingStream(InputStream original) {
+      this.original = original;
+      this.capture = new PooledContent.Capture(getContentLength(), maxBytes);
+    }
+
+    @Override
+    public int read() throws IOException {
+      final int next = original.read();
+      if (next == -1) {
+        complete(true);
+      } else {
+        capture.write(next);
+        totalBytes++;
+      }
+      return next;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int byteCount) throws IOException {
+      final int bytesRead = original.read(buffer, offset, byteCount);
+      if (bytesRead == -1) {
+        complete(true);
+      } else {
+        capture.write(buffer, offset, bytesRead);
+        totalBytes += bytesRead;
+      }
+      return bytesRead;
+    }
+
+    @Override
+    public long skip(long byteCount) throws IOException {
+      if (capture.isFull()) {
+        final long skipped = original.skip(byteCount);
+        totalBytes += skipped;
+        return skipped;
+      }
+      // Skipped bytes still have to be captured
+      final byte[] buffer = new byte[(int) Math.min(byteCount, BUFFER_SIZE)];
+      final int bytesRead = read(buffer, 0, buffer.length);
+      return Math.max(bytesRead, 0);
+    }
+
+    @Override
+    public int available() throws IOException {
+      return original.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (isCompleted) {
+        original.close();
+        return;
+      }
+      try {
+        original.close();
+      } finally {
+        // Nothing is read on close, only bytes application has read are printed
+        final long contentLength = getContentLength();
+        complete(contentLength >= 0 && totalBytes >= contentLength);
+      }
+    }
+
+    private void complete(boolean exhausted) {
+      if (isCompleted) {
+        return;
+      }
+      isCompleted = true;
+      isExhausted = exhausted;
+      captured = capture.content(PooledContent.PRINTER);
+      try {
+        onComplete.run();
+      } catch (RuntimeException e) {
+        // Printing failure should not affect application reading the response
+        logger.log(Level.SEVERE, e.getMessage(), e);
+      }
+    }
+  }
+
+}
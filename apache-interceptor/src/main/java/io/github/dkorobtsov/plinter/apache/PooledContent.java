@@ -0,0 +1,342 @@
+package io.github.dkorobtsov.plinter.apache;
+
+import io.github.dkorobtsov.plinter.core.internal.InterceptedMediaType;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedRequestBody;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedResponseBody;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Head of entity content captured into array from {@link CaptureBufferPool}.
+ * <p>
+ * Captured bytes are read by two parties - by the client through entity replacement stream
+ * ({@link #inputStream()}) and by the printer through intercepted body ({@link #requestBody},
+ * {@link #responseBody}). Array is returned to the pool only when both are done: client
+ * stream is exhausted or closed, and event holding the body was printed (see
+ * {@link InterceptedRequestBody#release()}). Content captured while application reads original
+ * stream (see {@link CapturingEntity}) or read from repeatable entity is owned by the printer
+ * only.
+ */
+final class PooledContent {
+
+  private static final int INITIAL_CAPACITY = 8 * 1024;
+  private static final byte[] EMPTY = new byte[0];
+  static final int CLIENT = 1;
+  static final int PRINTER = 2;
+
+  private final AtomicInteger owners;
+  private final byte[] array;
+  private final int length;
+
+  private PooledContent(byte[] array, int length, int owners) {
+    this.array = array;
+    this.length = length;
+    this.owners = new AtomicInteger(owners);
+  }
+
+  /**
+   * Reads at most {@code maxBytes} from provided stream. Array is sized from content length when
+   * it is known, otherwise it grows from 8 KiB as content is read.
+   *
+   * @param inputStream   entity content
+   * @param contentLength entity content length or -1 if unknown
+   * @param maxBytes      maximum number of captured bytes
+   * @param owners        parties owning captured content
+   * @return captured content
+   */
+  static PooledContent read(InputStream inputStream, long contentLength, int maxBytes,
+                            int owners) throws IOException {
+    final Capture capture = new Capture(contentLength, maxBytes);
+    try {
+      while (!capture.isFull() && capture.readFrom(inputStream) != -1) {
+        // Reading until capture is full or content is exhausted
+      }
+    } catch (IOException | RuntimeException e) {
+      capture.discard();
+      throw e;
+    }
+    return capture.content(owners);
+  }
+
+  int length() {
+    return length;
+  }
+
+  /**
+   * Returns stream of captured bytes for the client. Client's ownership is released once stream
+   * is exhausted or closed.
+   */
+  InputStream inputStream() {
+    return new ContentStream();
+  }
+
+  /**
+   * Returns intercepted body with captured bytes, printer's ownership is released with the body.
+   */
+  InterceptedRequestBody requestBody(InterceptedMediaType contentType, boolean isTruncated,
+                                     long totalLength) {
+    return new InterceptedRequestBody() {
+      @Override
+      public InterceptedMediaType contentType() {
+        return contentType;
+      }
+
+      @Override
+      public long contentLength() {
+        return length;
+      }
+
+      @Override
+      public boolean isTruncated() {
+        return isTruncated;
+      }
+
+      @Override
+      public long totalLength() {
+        return isTruncated ? totalLength : length;
+      }
+
+      @Override
+      public void writeTo(BufferedSink sink) throws IOException {
+        checkNotReleased();
+        sink.write(array, 0, length);
+      }
+
+      @Override
+      public void release() {
+        PooledContent.this.release(PRINTER);
+      }
+    };
+  }
+
+  /**
+   * Returns intercepted body with captured bytes, printer's ownership is released with the body.
+   */
+  InterceptedResponseBody responseBody(InterceptedMediaType contentType, boolean isTruncated,
+                                       long totalLength) {
+    return new InterceptedResponseBody() {
+      @Override
+      public InterceptedMediaType contentType() {
+        return contentType;
+      }
+
+      @Override
+      public long contentLength() {
+        return length;
+      }
+
+      @Override
+      public boolean isTruncated() {
+        return isTruncated;
+      }
+
+      @Override
+      public long totalLength() {
+        return isTruncated ? totalLength : length;
+      }
+
+      @Override
+      public BufferedSource source() {
+        checkNotReleased();
+        // Reading pooled array in place, source is consumed before body is released
+        return Okio.buffer(Okio.source(new ByteArrayInputStream(array, 0, length)));
+      }
+
+      @Override
+      public void close() {
+        // Content should stay available until body is released after printing
+      }
+
+      @Override
+      public void release() {
+        PooledContent.this.release(PRINTER);
+      }
+    };
+  }
+
+  /**
+   * Returns array to the pool right away, used when capturing failed and content is not used.
+   */
+  void discard() {
+    release(CLIENT | PRINTER);
+  }
+
+  /**
+   * Releases ownership of provided party, returns array to the pool when it was the last owner.
+   * Releasing the same party again has no effect.
+   */
+  private void release(int owner) {
+    int current;
+    do {
+      current = owners.get();
+      if ((current & owner) == 0) {
+        return;
+      }
+    } while (!owners.compareAndSet(current, current & ~owner));
+
+    if ((current & ~owner) == 0) {
+      CaptureBufferPool.release(array);
+    }
+  }
+
+  private void checkNotReleased() {
+    if ((owners.get() & PRINTER) == 0) {
+      throw new IllegalStateException("Body content was already released");
+    }
+  }
+
+  /**
+   * Growing pooled array content is captured into. Array is acquired on first write and grows from
+   * 8 KiB (or from content length when it is known) up to the limit, bytes beyond the limit are
+   * ignored.
+   */
+  static final class Capture {
+
+    private final long contentLength;
+    private final int limit;
+    private byte[] array;
+    private int length;
+
+    Capture(long contentLength, int limit) {
+      this.contentLength = contentLength;
+      this.limit = Math.max(limit, 0);
+    }
+
+    boolean isFull() {
+      return length >= limit;
+    }
+
+    /**
+     * Reads from provided stream directly into the array, at most up to the limit.
+     *
+     * @return number of bytes read, or -1 if stream is exhausted
+     */
+    int readFrom(InputStream inputStream) throws IOException {
+      ensureCapacity();
+      return advance(inputStream.read(array, length, Math.min(array.length, limit) - length));
+    }
+
+    /**
+     * Copies single byte read by someone else, byte beyond the limit is ignored.
+     */
+    void write(int next) {
+      if (!isFull()) {
+        ensureCapacity();
+        array[length++] = (byte) next;
+      }
+    }
+
+    /**
+     * Copies bytes read by someone else, bytes beyond the limit are ignored.
+     */
+    void write(byte[] bytes, int offset, int byteCount) {
+      int copied = 0;
+      while (copied < byteCount && !isFull()) {
+        ensureCapacity();
+        final int count = Math.min(byteCount - copied, Math.min(array.length, limit) - length);
+        System.arraycopy(bytes, offset + copied, array, length, count);
+        length += count;
+        copied += count;
+      }
+    }
+
+    /**
+     * Returns captured content owned by provided parties, capture should not be used afterwards.
+     */
+    PooledContent content(int owners) {
+      final PooledContent content
+        = new PooledContent(array != null ? array : EMPTY, length, owners);
+      array = null;
+      return content;
+    }
+
+    /**
+     * Returns array to the pool, used when captured content is not needed.
+     */
+    void discard() {
+      if (array != null) {
+        CaptureBufferPool.release(array);
+        array = null;
+      }
+    }
+
+    private int advance(int bytesRead) {
+      if (bytesRead > 0) {
+        length += bytesRead;
+      }
+      return bytesRead;
+    }
+
+    private void ensureCapacity() {
+      if (array == null) {
+        array = CaptureBufferPool.acquire(contentLength >= 0
+          ? (int) Math.min(contentLength, limit)
+          : Math.min(INITIAL_CAPACITY, limit));
+      } else if (length == array.length && length < limit) {
+        final byte[] grown = CaptureBufferPool
+          .acquire((int) Math.min((long) array.length * 2, limit));
+        System.arraycopy(array, 0, grown, 0, length);
+        CaptureBufferPool.release(array);
+        array = grown;
+      }
+    }
+  }
+
+  /**
+   * Client's view of captured bytes.
+   */
+  private final class ContentStream extends InputStream {
+
+    private int position;
+    private boolean isReleased;
+
+    @Override
+    public int read() {
+      if (position >= length) {
+        releaseClient();
+        return -1;
+      }
+      return array[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int byteCount) {
+      if (byteCount == 0) {
+        return 0;
+      }
+      if (position >= length) {
+        releaseClient();
+        return -1;
+      }
+      final int count = Math.min(byteCount, length - position);
+      System.arraycopy(array, position, buffer, offset, count);
+      position += count;
+      return count;
+    }
+
+    @Override
+    public int available() {
+      return length - position;
+    }
+
+    @Override
+    public void close() {
+      releaseClient();
+    }
+
+    private void releaseClient() {
+      if (!isReleased) {
+        isReleased = true;
+        position = length;
+        release(CLIENT);
+      }
+    }
+  }
+
+}
@@ -197,8 +197,8 @@ configure(subprojects) {
     into("runtime/")
   }
 
-  // No need to publish module with tests
-  if (!project.name.contains("tests")) {
+  // No need to publish modules with tests and benchmarks
+  if (!project.name.contains("tests") && !project.name.contains("benchmarks")) {
     tasks.named<Jar>("jar") {
       manifest {
         attributes(
@@ -286,7 +286,8 @@ tasks.register<Delete>("cleanAll") {
     "okhttp-interceptor/build",
     "okhttp3-interceptor/build",
     "interceptor-core/build",
-    "interceptor-tests/build"
+    "interceptor-tests/build",
+    "interceptor-benchmarks/build"
   )
   delete(
     "out",
@@ -294,7 +295,8 @@ tasks.register<Delete>("cleanAll") {
     "okhttp-interceptor/out",
     "okhttp3-interceptor/out",
     "interceptor-core/out",
-    "interceptor-tests/out"
+    "interceptor-tests/out",
+    "interceptor-benchmarks/out"
   )
   isFollowSymlinks = true
 }
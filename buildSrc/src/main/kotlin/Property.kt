@@ -62,6 +62,12 @@ object Property {
       const val refence = ":interceptor-tests"
     }
 
+    object Benchmarks {
+      const val title = "Logging Interceptor Benchmarks"
+      const val name = "${Project.group}.benchmarks"
+      const val refence = ":interceptor-benchmarks"
+    }
+
     object Apache {
       const val title = "Apache Logging Interceptor"
       const val name = "${Project.group}.apache"
@@ -79,5 +85,17 @@ object Property {
       const val name = "${Project.group}.okhttp3"
       const val refence = ":okhttp3-interceptor"
     }
+
+    object Log4j2 {
+      const val title = "Log4j2 Log Writer"
+      const val name = "${Project.group}.log4j2"
+      const val refence = ":log4j2-writer"
+    }
+
+    object Slf4j {
+      const val title = "SLF4J Log Writer"
+      const val name = "${Project.group}.slf4j"
+      const val refence = ":slf4j-writer"
+    }
   }
 }
@@ -0,0 +1,42 @@
+plugins {
+  alias(libs.plugins.jmh)
+}
+
+dependencies {
+  jmh(project(Property.Module.Core.refence))
+  jmh(project(Property.Module.Apache.refence))
+  jmh(project(Property.Module.OkHttp.refence))
+  jmh(project(Property.Module.OkHttp3.refence))
+
+  jmh(libs.apache.client)
+  jmh(libs.mock.webserver)
+  jmh(libs.okhttp)
+  jmh(libs.okhttp3.interceptor)
+}
+
+jmh {
+  // Benchmarks can be filtered from command line, for example:
+  // ./gradlew :interceptor-benchmarks:jmh -PjmhIncludes=PrinterBenchmark
+  if (project.hasProperty("jmhIncludes")) {
+    includes.set(listOf(project.property("jmhIncludes").toString()))
+  }
+  jmhVersion.set(libs.versions.jmhVer.get())
+  fork.set(1)
+  warmupIterations.set(3)
+  iterations.set(5)
+  profilers.set(listOf("gc"))
+  resultFormat.set("JSON")
+  humanOutputFile.set(layout.buildDirectory.file("reports/jmh/human.txt"))
+  resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+}
+
+tasks.named<Jar>("jar") {
+  manifest {
+    attributes(
+      mapOf(
+        "Implementation-Title" to Property.Module.Benchmarks.title,
+        "Automatic-Module-Name" to Property.Module.Benchmarks.name,
+      )
+    )
+  }
+}
@@ -0,0 +1,78 @@
+package io.github.dkorobtsov.plinter.apache;
+
+import io.github.dkorobtsov.plinter.benchmarks.Payloads;
+import io.github.dkorobtsov.plinter.core.Level;
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedRequest;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedResponse;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures conversion of Apache HTTP client requests and responses to intercepted events.
+ * <p>
+ * Converters replace original entities with copies, so requests and responses are recreated on
+ * every invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ApacheConverterBenchmark {
+
+  private static final String URL = "http://localhost:8080/api/v1/items?page=1";
+
+  @Param({"0", "1024", "65536"})
+  public int size;
+
+  @Param({"BASIC", "HEADERS"})
+  public Level level;
+
+  private ApacheRequestConverter requestConverter;
+  private ApacheResponseConverter responseConverter;
+  private ContentType contentType;
+  private String body;
+  private URL url;
+
+  @Setup
+  public void setUp() throws Exception {
+    final LoggerConfig loggerConfig = LoggerConfig.builder().level(level).build();
+    requestConverter = new ApacheRequestConverter(loggerConfig);
+    responseConverter = new ApacheResponseConverter(loggerConfig);
+    contentType = ContentType.create(Payloads.mediaType(Payloads.JSON));
+    body = size == 0 ? "" : Payloads.json(size);
+    url = new URL(URL);
+  }
+
+  @Benchmark
+  public InterceptedRequest requestConverter() {
+    final HttpPost request = new HttpPost(URL);
+    request.setHeader("Accept", "*/*");
+    request.setHeader("X-Request-Id", "3f1c2a9e-5d43-4bb1-9a77-1e0f6b8b2c11");
+    request.setEntity(new StringEntity(body, contentType));
+    return requestConverter.from(request);
+  }
+
+  @Benchmark
+  public InterceptedResponse responseConverter() {
+    final HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+    response.setHeader("Content-Type", contentType.toString());
+    response.setEntity(new StringEntity(body, contentType));
+    return responseConverter.from(response, url, 12L);
+  }
+
+}
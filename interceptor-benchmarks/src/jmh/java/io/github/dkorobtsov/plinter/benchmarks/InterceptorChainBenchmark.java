@@ -0,0 +1,154 @@
+package io.github.dkorobtsov.plinter.benchmarks;
+
+import io.github.dkorobtsov.plinter.apache.ApacheHttpRequestInterceptor;
+import io.github.dkorobtsov.plinter.apache.ApacheHttpResponseInterceptor;
+import io.github.dkorobtsov.plinter.core.Level;
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
+import io.github.dkorobtsov.plinter.okhttp.OkHttpLoggingInterceptor;
+import io.github.dkorobtsov.plinter.okhttp3.OkHttp3LoggingInterceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.util.EntityUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures full request/response round trip through each client with logging interceptor
+ * against local MockWebServer. Compare results for {@code NONE} level (interceptor is installed,
+ * but skips logging) with other levels to see what logging layer adds to HTTP call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class InterceptorChainBenchmark {
+
+  private static final String PATH = "/api/v1/items";
+
+  @Param({"okhttp3", "okhttp", "apache"})
+  public String client;
+
+  @Param({"NONE", "BASIC"})
+  public Level level;
+
+  @Param({"0", "1024", "65536"})
+  public int size;
+
+  private final LongAdder printedChars = new LongAdder();
+  private MockWebServer server;
+  private String url;
+  private String body;
+
+  private OkHttpClient okHttp3Client;
+  private com.squareup.okhttp.OkHttpClient okHttpClient;
+  private CloseableHttpClient apacheClient;
+
+  @Setup
+  public void setUp() throws IOException {
+    body = size == 0 ? "" : Payloads.json(size);
+
+    server = new MockWebServer();
+    server.setDispatcher(new Dispatcher() {
+      @Override
+      public MockResponse dispatch(RecordedRequest request) {
+        return new MockResponse()
+          .setResponseCode(200)
+          .setHeader("Content-Type", Payloads.mediaType(Payloads.JSON))
+          .setBody(body);
+      }
+    });
+    server.start();
+    url = server.url(PATH).toString();
+
+    final LoggerConfig loggerConfig = LoggerConfig.builder()
+      .logger(msg -> printedChars.add(msg.length()))
+      .level(level)
+      .build();
+
+    okHttp3Client = new OkHttpClient.Builder()
+      .addNetworkInterceptor(new OkHttp3LoggingInterceptor(loggerConfig))
+      .build();
+
+    okHttpClient = new com.squareup.okhttp.OkHttpClient();
+    okHttpClient.interceptors().add(new OkHttpLoggingInterceptor(loggerConfig));
+
+    apacheClient = HttpClientBuilder.create()
+      .addInterceptorFirst(new ApacheHttpRequestInterceptor(loggerConfig))
+      .addInterceptorFirst(new ApacheHttpResponseInterceptor(loggerConfig))
+      .build();
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    apacheClient.close();
+    okHttp3Client.dispatcher().executorService().shutdown();
+    okHttp3Client.connectionPool().evictAll();
+    server.shutdown();
+  }
+
+  @Benchmark
+  public int roundTrip() throws IOException {
+    switch (client) {
+      case "okhttp3":
+        return okHttp3RoundTrip();
+      case "okhttp":
+        return okHttpRoundTrip();
+      case "apache":
+        return apacheRoundTrip();
+      default:
+        throw new IllegalStateException("Unknown client: " + client);
+    }
+  }
+
+  private int okHttp3RoundTrip() throws IOException {
+    final Request request = new Request.Builder()
+      .url(url)
+      .post(RequestBody.create(body, MediaType.parse(Payloads.mediaType(Payloads.JSON))))
+      .build();
+    try (Response response = okHttp3Client.newCall(request).execute()) {
+      return response.body().bytes().length;
+    }
+  }
+
+  private int okHttpRoundTrip() throws IOException {
+    final com.squareup.okhttp.Request request = new com.squareup.okhttp.Request.Builder()
+      .url(url)
+      .post(com.squareup.okhttp.RequestBody.create(
+        com.squareup.okhttp.MediaType.parse(Payloads.mediaType(Payloads.JSON)), body))
+      .build();
+    final com.squareup.okhttp.Response response = okHttpClient.newCall(request).execute();
+    return response.body().bytes().length;
+  }
+
+  private int apacheRoundTrip() throws IOException {
+    final HttpPost request = new HttpPost(url);
+    request.setEntity(new StringEntity(body,
+      ContentType.create(Payloads.mediaType(Payloads.JSON))));
+    final HttpResponse response = apacheClient.execute(request);
+    return EntityUtils.toByteArray(response.getEntity()).length;
+  }
+
+}
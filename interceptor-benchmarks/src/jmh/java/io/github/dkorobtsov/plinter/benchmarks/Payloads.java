@@ -0,0 +1,107 @@
+package io.github.dkorobtsov.plinter.benchmarks;
+
+/**
+ * Generator of request/response bodies used in benchmarks. Payloads are deterministic, so
+ * results of different runs are comparable.
+ */
+public final class Payloads {
+
+  public static final String JSON = "json";
+  public static final String XML = "xml";
+  public static final String HTML = "html";
+
+  private Payloads() {
+  }
+
+  /**
+   * Returns body of requested type with size close to (but not smaller than) provided value.
+   *
+   * @param type body type: {@link #JSON}, {@link #XML} or {@link #HTML}
+   * @param size approximate body size in characters
+   * @return generated body
+   */
+  public static String body(String type, int size) {
+    switch (type) {
+      case JSON:
+        return json(size);
+      case XML:
+        return xml(size);
+      case HTML:
+        return html(size);
+      default:
+        throw new IllegalArgumentException("Unknown payload type: " + type);
+    }
+  }
+
+  /**
+   * Returns media type matching body type.
+   *
+   * @param type body type: {@link #JSON}, {@link #XML} or {@link #HTML}
+   * @return media type string
+   */
+  public static String mediaType(String type) {
+    switch (type) {
+      case JSON:
+        return "application/json";
+      case XML:
+        return "application/xml";
+      case HTML:
+        return "text/html";
+      default:
+        throw new IllegalArgumentException("Unknown payload type: " + type);
+    }
+  }
+
+  /**
+   * Returns JSON object with array of items.
+   *
+   * @param size approximate body size in characters
+   * @return generated body
+   */
+  public static String json(int size) {
+    final StringBuilder sb = new StringBuilder(size + 128).append("{\"items\":[");
+    for (int i = 0; sb.length() < size; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append("{\"id\":").append(i)
+        .append(",\"name\":\"item-").append(i)
+        .append("\",\"active\":").append(i % 2 == 0)
+        .append(",\"price\":").append(i * 1.5)
+        .append(",\"tags\":[\"a\",\"b\"]}");
+    }
+    return sb.append("]}").toString();
+  }
+
+  /**
+   * Returns XML document with list of items.
+   *
+   * @param size approximate body size in characters
+   * @return generated body
+   */
+  public static String xml(int size) {
+    final StringBuilder sb = new StringBuilder(size + 128)
+      .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?><items>");
+    for (int i = 0; sb.length() < size; i++) {
+      sb.append("<item id=\"").append(i).append("\"><name>item-").append(i)
+        .append("</name><active>").append(i % 2 == 0).append("</active></item>");
+    }
+    return sb.append("</items>").toString();
+  }
+
+  /**
+   * Returns HTML page with list of items.
+   *
+   * @param size approximate body size in characters
+   * @return generated body
+   */
+  public static String html(int size) {
+    final StringBuilder sb = new StringBuilder(size + 128)
+      .append("<!DOCTYPE html><html><head><title>Items</title></head><body><ul>");
+    for (int i = 0; sb.length() < size; i++) {
+      sb.append("<li class=\"item\">item-").append(i).append("</li>");
+    }
+    return sb.append("</ul></body></html>").toString();
+  }
+
+}
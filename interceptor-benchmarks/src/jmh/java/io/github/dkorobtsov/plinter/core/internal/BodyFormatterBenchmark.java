@@ -0,0 +1,41 @@
+package io.github.dkorobtsov.plinter.core.internal;
+
+import io.github.dkorobtsov.plinter.benchmarks.Payloads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures cost of body pretty printing for all supported body types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BodyFormatterBenchmark {
+
+  @Param({Payloads.JSON, Payloads.XML, Payloads.HTML})
+  public String type;
+
+  @Param({"256", "16384", "262144"})
+  public int size;
+
+  private String body;
+
+  @Setup
+  public void setUp() {
+    body = Payloads.body(type, size);
+  }
+
+  @Benchmark
+  public String formattedBody() {
+    return BodyFormatter.formattedBody(body);
+  }
+
+}
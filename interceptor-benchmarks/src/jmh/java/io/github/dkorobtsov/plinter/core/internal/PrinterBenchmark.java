@@ -0,0 +1,118 @@
+package io.github.dkorobtsov.plinter.core.internal;
+
+import io.github.dkorobtsov.plinter.benchmarks.Payloads;
+import io.github.dkorobtsov.plinter.core.Level;
+import io.github.dkorobtsov.plinter.core.LogWriter;
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures formatting of intercepted events by {@link Printer} across logging levels and body
+ * sizes. Events are written to log writer which only counts printed characters, so results show
+ * cost of formatting itself.
+ * <p>
+ * Response body can be read only once, so response is recreated on every invocation - compare
+ * with {@code printRequest} results to see cost of response creation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PrinterBenchmark {
+
+  private static final String URL = "http://localhost:8080/api/v1/items?page=1";
+
+  @Param({"BASIC", "HEADERS", "BODY"})
+  public Level level;
+
+  @Param({"0", "1024", "65536"})
+  public int size;
+
+  @Param({"false", "true"})
+  public boolean withThreadInfo;
+
+  @Param({"false", "true"})
+  public boolean logByLine;
+
+  private final CountingLogWriter logWriter = new CountingLogWriter();
+  private Printer printer;
+  private InterceptedRequest request;
+  private InterceptedMediaType mediaType;
+  private InterceptedHeaders headers;
+  private byte[] responseBody;
+
+  @Setup
+  public void setUp() {
+    printer = Printer.forConfig(LoggerConfig.builder()
+      .logger(logWriter)
+      .level(level)
+      .withThreadInfo(withThreadInfo)
+      .logByLine(logByLine)
+      .build());
+
+    final String body = size == 0 ? "" : Payloads.json(size);
+    mediaType = InterceptedMediaType.parse(Payloads.mediaType(Payloads.JSON));
+    headers = new InterceptedHeaders.Builder()
+      .add("Content-Type", Payloads.mediaType(Payloads.JSON))
+      .add("Accept", "*/*")
+      .add("User-Agent", "plinter-benchmark")
+      .add("X-Request-Id", "3f1c2a9e-5d43-4bb1-9a77-1e0f6b8b2c11")
+      .build();
+    request = new InterceptedRequest.Builder()
+      .url(URL)
+      .headers(headers)
+      .method("POST", InterceptedRequestBody.create(mediaType, body))
+      .build();
+    responseBody = body.getBytes(Util.UTF_8);
+  }
+
+  @Benchmark
+  public long printRequest() {
+    printer.printRequest(request);
+    return logWriter.chars;
+  }
+
+  @Benchmark
+  public long printResponse() {
+    printer.printResponse(InterceptedResponse.builder()
+      .code(200)
+      .message("OK")
+      .isSuccessful(true)
+      .url(URL)
+      .chainMs(12)
+      .headers(headers)
+      .contentType(mediaType)
+      .segmentList(Collections.singletonList("items"))
+      .responseBody(InterceptedResponseBody.create(mediaType, responseBody))
+      .build());
+    return logWriter.chars;
+  }
+
+  /**
+   * Log writer which only counts printed characters.
+   */
+  static final class CountingLogWriter implements LogWriter {
+
+    long chars;
+
+    @Override
+    public void log(String msg) {
+      chars += msg.length();
+    }
+
+    @Override
+    public void logChars(CharSequence event) {
+      chars += event.length();
+    }
+  }
+
+}
@@ -0,0 +1,86 @@
+package io.github.dkorobtsov.plinter.okhttp;
+
+import com.squareup.okhttp.MediaType;
+import com.squareup.okhttp.Protocol;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.RequestBody;
+import com.squareup.okhttp.Response;
+import com.squareup.okhttp.ResponseBody;
+import io.github.dkorobtsov.plinter.benchmarks.Payloads;
+import io.github.dkorobtsov.plinter.core.Level;
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedRequest;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures conversion of OkHttp requests and responses to intercepted events.
+ * <p>
+ * Converter closes original response body, so response is recreated on every invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OkHttpConverterBenchmark {
+
+  private static final String URL = "http://localhost:8080/api/v1/items?page=1";
+
+  @Param({"0", "1024", "65536"})
+  public int size;
+
+  @Param({"BASIC", "HEADERS"})
+  public Level level;
+
+  private OkHttpRequestConverter requestConverter;
+  private OkHttpResponseConverter responseConverter;
+  private MediaType mediaType;
+  private Request request;
+  private String body;
+  private URL url;
+
+  @Setup
+  public void setUp() throws Exception {
+    final LoggerConfig loggerConfig = LoggerConfig.builder().level(level).build();
+    requestConverter = new OkHttpRequestConverter(loggerConfig);
+    responseConverter = new OkHttpResponseConverter(loggerConfig);
+    mediaType = MediaType.parse(Payloads.mediaType(Payloads.JSON));
+    body = size == 0 ? "" : Payloads.json(size);
+
+    url = new URL(URL);
+    request = new Request.Builder()
+      .url(URL)
+      .header("Accept", "*/*")
+      .header("X-Request-Id", "3f1c2a9e-5d43-4bb1-9a77-1e0f6b8b2c11")
+      .post(RequestBody.create(mediaType, body))
+      .build();
+  }
+
+  @Benchmark
+  public InterceptedRequest requestConverter() {
+    return requestConverter.from(request);
+  }
+
+  @Benchmark
+  public InterceptedResponse responseConverter() {
+    final Response response = new Response.Builder()
+      .request(request)
+      .protocol(Protocol.HTTP_1_1)
+      .code(200)
+      .message("OK")
+      .header("Content-Type", Payloads.mediaType(Payloads.JSON))
+      .body(ResponseBody.create(mediaType, body))
+      .build();
+    return responseConverter.from(response, url, 12L);
+  }
+
+}
@@ -0,0 +1,84 @@
+package io.github.dkorobtsov.plinter.okhttp3;
+
+import io.github.dkorobtsov.plinter.benchmarks.Payloads;
+import io.github.dkorobtsov.plinter.core.Level;
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedRequest;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedResponse;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures conversion of OkHttp3 requests and responses to intercepted events.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OkHttp3ConverterBenchmark {
+
+  private static final String URL = "http://localhost:8080/api/v1/items?page=1";
+
+  @Param({"0", "1024", "65536"})
+  public int size;
+
+  @Param({"BASIC", "HEADERS"})
+  public Level level;
+
+  private OkHttp3RequestConverter requestConverter;
+  private OkHttp3ResponseConverter responseConverter;
+  private Request request;
+  private Response response;
+  private URL url;
+
+  @Setup
+  public void setUp() throws Exception {
+    final LoggerConfig loggerConfig = LoggerConfig.builder().level(level).build();
+    requestConverter = new OkHttp3RequestConverter(loggerConfig);
+    responseConverter = new OkHttp3ResponseConverter(loggerConfig);
+    final MediaType mediaType = MediaType.parse(Payloads.mediaType(Payloads.JSON));
+    final String body = size == 0 ? "" : Payloads.json(size);
+
+    url = new URL(URL);
+    request = new Request.Builder()
+      .url(URL)
+      .header("Accept", "*/*")
+      .header("X-Request-Id", "3f1c2a9e-5d43-4bb1-9a77-1e0f6b8b2c11")
+      .post(RequestBody.create(body, mediaType))
+      .build();
+    // Converter only peeks response body, so same response can be reused
+    response = new Response.Builder()
+      .request(request)
+      .protocol(Protocol.HTTP_1_1)
+      .code(200)
+      .message("OK")
+      .header("Content-Type", Payloads.mediaType(Payloads.JSON))
+      .body(ResponseBody.create(body, mediaType))
+      .build();
+  }
+
+  @Benchmark
+  public InterceptedRequest requestConverter() {
+    return requestConverter.from(request);
+  }
+
+  @Benchmark
+  public InterceptedResponse responseConverter() {
+    return responseConverter.from(response, url, 12L);
+  }
+
+}
@@ -1,7 +1,3 @@
-dependencies {
-  implementation(libs.json)
-}
-
 tasks.named<Jar>("jar") {
   manifest {
     attributes(
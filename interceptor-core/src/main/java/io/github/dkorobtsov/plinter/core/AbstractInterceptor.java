@@ -1,5 +1,9 @@
 package io.github.dkorobtsov.plinter.core;
 
+import io.github.dkorobtsov.plinter.core.LoggingOverhead.Stage;
+
+import java.util.function.Predicate;
+
 /**
  * Parent class for all interceptors - to keep some common logic.
  */
@@ -13,7 +17,143 @@ public abstract class AbstractInterceptor {
   }
 
   protected boolean skipLogging() {
-    return !loggerConfig.isLoggable || loggerConfig.level == Level.NONE;
+    return !loggerConfig.isLoggable || loggerConfig.level == Level.NONE
+      || !loggerConfig.logger.isEnabled();
+  }
+
+  /**
+   * Checks if logging is disabled or request is filtered out by configured
+   * {@link RequestFilter}. Called with native client request details, before request is
+   * converted.
+   *
+   * @param host      request host
+   * @param path      request path without query
+   * @param method    request method
+   * @param hasHeader returns true if request contains header with given name
+   * @return true if exchange should not be logged
+   */
+  protected boolean skipLogging(String host, String path, String method,
+                                Predicate<String> hasHeader) {
+    return skipLogging()
+      || loggerConfig.filter != null
+      && !loggerConfig.filter.isLogged(host, path, method, hasHeader);
+  }
+
+  /**
+   * Asks configured {@link Sampler} if exchange should be logged. Without sampler every exchange
+   * is sampled.
+   */
+  protected boolean isSampled(String host, String path) {
+    return loggerConfig.sampler == null || loggerConfig.sampler.sample(host, path);
+  }
+
+  /**
+   * Returns true if exchange which was not sampled should still be logged because of its
+   * response status.
+   */
+  protected boolean isForcedByStatus(int statusCode) {
+    return loggerConfig.sampler != null && loggerConfig.sampler.forceOnStatus(statusCode);
+  }
+
+  /**
+   * Returns true if request which was not sampled should still be logged because call failed.
+   */
+  protected boolean isForcedByFailure() {
+    return loggerConfig.sampler != null && loggerConfig.sampler.forceOnFailure();
+  }
+
+  /**
+   * Returns true if logging is deferred until exchange outcome is known - either because
+   * exchange was not sampled, or because only slow or failed exchanges are logged.
+   */
+  protected boolean isDeferred(boolean isSampled) {
+    return !isSampled || loggerConfig.slowOrFailedPolicy != null;
+  }
+
+  /**
+   * Decides if exchange with deferred logging should be logged once response is received.
+   *
+   * @param isSampled    result of {@link #isSampled(String, String)}
+   * @param latencyNanos time elapsed between sending request and receiving response
+   * @param statusCode   response status code
+   * @return true if request and response should be printed
+   */
+  protected boolean isLoggedOnResponse(boolean isSampled, long latencyNanos, int statusCode) {
+    if (!isSampled) {
+      return isForcedByStatus(statusCode);
+    }
+    return loggerConfig.slowOrFailedPolicy == null
+      || loggerConfig.slowOrFailedPolicy.isSlowOrFailed(latencyNanos, statusCode);
+  }
+
+  /**
+   * Decides if request with deferred logging should be logged when call failed with exception.
+   *
+   * @param isSampled result of {@link #isSampled(String, String)}
+   * @return true if request should be printed
+   */
+  protected boolean isLoggedOnFailure(boolean isSampled) {
+    if (!isSampled) {
+      return isForcedByFailure();
+    }
+    return loggerConfig.slowOrFailedPolicy == null
+      || loggerConfig.slowOrFailedPolicy.isFailureLogged();
+  }
+
+  /**
+   * Records completed exchange to configured {@link ExchangeMetrics}, if any.
+   *
+   * @param statusCode    response status code, 0 if call failed without response
+   * @param requestBytes  request body size, negative if unknown
+   * @param responseBytes response body size, negative if unknown
+   */
+  @SuppressWarnings("PMD.UseObjectForClearerAPI")
+  protected void recordMetrics(String method, String host, String path, int statusCode,
+                               long latencyNanos, long requestBytes, long responseBytes) {
+    if (loggerConfig.metrics != null) {
+      loggerConfig.metrics.record(method, host, path, statusCode,
+        latencyNanos, requestBytes, responseBytes);
+    }
+  }
+
+  /**
+   * Returns request converter measuring its execution time if {@link LoggerConfig#overhead} is
+   * configured, otherwise provided converter as is.
+   */
+  protected static <T> RequestConverter<T> timed(LoggerConfig loggerConfig,
+                                                 RequestConverter<T> converter) {
+    final LoggingOverhead overhead = loggerConfig.overhead;
+    if (overhead == null) {
+      return converter;
+    }
+    return request -> {
+      final long startNs = System.nanoTime();
+      try {
+        return converter.from(request);
+      } finally {
+        overhead.record(Stage.REQUEST_CONVERSION, System.nanoTime() - startNs);
+      }
+    };
+  }
+
+  /**
+   * Returns response converter measuring its execution time if {@link LoggerConfig#overhead} is
+   * configured, otherwise provided converter as is.
+   */
+  protected static <T> ResponseConverter<T> timed(LoggerConfig loggerConfig,
+                                                  ResponseConverter<T> converter) {
+    final LoggingOverhead overhead = loggerConfig.overhead;
+    if (overhead == null) {
+      return converter;
+    }
+    return (response, url, ms) -> {
+      final long startNs = System.nanoTime();
+      try {
+        return converter.from(response, url, ms);
+      } finally {
+        overhead.record(Stage.RESPONSE_CONVERSION, System.nanoTime() - startNs);
+      }
+    };
   }
 
 }
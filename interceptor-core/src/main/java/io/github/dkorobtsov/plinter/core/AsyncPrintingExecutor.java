@@ -0,0 +1,334 @@
+package io.github.dkorobtsov.plinter.core;
+
+import io.github.dkorobtsov.plinter.core.internal.PrintingQueue;
+
+import java.io.Closeable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Non-blocking printing pipeline - intercepted events are placed into bounded lock-free ring
+ * buffer and printed by single dedicated daemon thread, so HTTP client threads don't wait for
+ * logger. Behavior in case printer can't keep up with traffic is regulated by
+ * {@link OverflowPolicy}.
+ * <p>
+ * Usage example:
+ * <pre>
+ *   LoggerConfig.builder()
+ *     .executor(AsyncPrintingExecutor.builder()
+ *       .capacity(4096)
+ *       .overflowPolicy(OverflowPolicy.DROP_OLDEST)
+ *       .build())
+ *     .build();
+ * </pre>
+ * Executor can be shared between several interceptors. Printer thread is stopped on
+ * {@link #close()}, all events queued before that are still printed.
+ */
+@SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
+public final class AsyncPrintingExecutor implements Executor, Closeable {
+
+  private static final Logger logger = Logger.getLogger(AsyncPrintingExecutor.class.getName());
+  private static final AtomicInteger THREAD_COUNTER = new AtomicInteger(1);
+  private static final String THREAD_PREFIX = "Printer-async-";
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+  private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+  private static final long CLOSE_TIMEOUT_MS = 1000;
+
+  private final PrintingQueue<Runnable> queue;
+  private final OverflowPolicy overflowPolicy;
+  private final int sampleRate;
+  private final Thread printerThread;
+
+  private final LongAdder queuedEvents = new LongAdder();
+  private final LongAdder droppedEvents = new LongAdder();
+  private final LongAdder printedEvents = new LongAdder();
+  private final AtomicLong sampleCounter = new AtomicLong();
+  private final AtomicInteger activeProducers = new AtomicInteger();
+
+  private volatile boolean running = true;
+  private volatile boolean printerParked;
+
+  AsyncPrintingExecutor(int capacity, OverflowPolicy overflowPolicy, int sampleRate) {
+    this.queue = new PrintingQueue<>(capacity);
+    this.overflowPolicy = overflowPolicy;
+    this.sampleRate = sampleRate;
+    this.printerThread = new Thread(this::printLoop,
+      THREAD_PREFIX + THREAD_COUNTER.getAndIncrement());
+    this.printerThread.setDaemon(true);
+    this.printerThread.start();
+  }
+
+  /**
+   * Constructs a new AsyncPrintingExecutorBuilder.
+   *
+   * @return the AsyncPrintingExecutorBuilder instance
+   */
+  public static AsyncPrintingExecutorBuilder builder() {
+    return new AsyncPrintingExecutorBuilder();
+  }
+
+  /**
+   * Places printing command into the queue. Command is discarded if queue is full and configured
+   * {@link OverflowPolicy} does not allow waiting, or if executor is already closed.
+   *
+   * @param command printing command
+   */
+  @Override
+  public void execute(Runnable command) {
+    // Printer thread does not exit while there are producers which passed the running check,
+    // so event accepted concurrently with close() is still printed
+    activeProducers.incrementAndGet();
+    try {
+      if (running) {
+        offer(command);
+      } else {
+        droppedEvents.increment();
+      }
+    } finally {
+      activeProducers.decrementAndGet();
+    }
+  }
+
+  private void offer(Runnable command) {
+    final boolean accepted;
+    switch (overflowPolicy) {
+      case BLOCK:
+        accepted = offerBlocking(command);
+        break;
+      case DROP_OLDEST:
+        accepted = offerEvictingOldest(command);
+        break;
+      case SAMPLE:
+        accepted = offerSampled(command);
+        break;
+      case DROP_NEWEST:
+      default:
+        accepted = queue.offer(command);
+        break;
+    }
+
+    if (accepted) {
+      queuedEvents.increment();
+      wakeUpPrinter();
+    } else {
+      droppedEvents.increment();
+    }
+  }
+
+  private boolean offerBlocking(Runnable command) {
+    while (!queue.offer(command)) {
+      if (!running) {
+        return false;
+      }
+      wakeUpPrinter();
+      LockSupport.parkNanos(this, BLOCKED_PARK_NANOS);
+    }
+    return true;
+  }
+
+  private boolean offerEvictingOldest(Runnable command) {
+    while (!queue.offer(command)) {
+      if (queue.poll() != null) {
+        droppedEvents.increment();
+      }
+    }
+    return true;
+  }
+
+  private boolean offerSampled(Runnable command) {
+    if (queue.size() >= queue.capacity() / 2
+      && sampleCounter.getAndIncrement() % sampleRate != 0) {
+      return false;
+    }
+    return queue.offer(command);
+  }
+
+  private void wakeUpPrinter() {
+    if (printerParked) {
+      LockSupport.unpark(printerThread);
+    }
+  }
+
+  @SuppressWarnings("PMD.AvoidCatchingGenericException") // printer should survive any failure
+  private void printLoop() {
+    while (running || activeProducers.get() > 0 || !queue.isEmpty()) {
+      final Runnable command = queue.poll();
+      if (command == null) {
+        printerParked = true;
+        if (queue.isEmpty()) {
+          LockSupport.parkNanos(this, running ? IDLE_PARK_NANOS : BLOCKED_PARK_NANOS);
+        }
+        printerParked = false;
+        continue;
+      }
+      try {
+        command.run();
+      } catch (RuntimeException e) {
+        logger.log(Level.SEVERE, e.getMessage(), e);
+      } finally {
+        printedEvents.increment();
+      }
+    }
+  }
+
+  /**
+   * Returns total number of events accepted to the printing queue.
+   *
+   * @return number of queued events
+   */
+  public long queuedEvents() {
+    return queuedEvents.sum();
+  }
+
+  /**
+   * Returns total number of events discarded due to queue overflow or because executor was
+   * already closed.
+   *
+   * @return number of dropped events
+   */
+  public long droppedEvents() {
+    return droppedEvents.sum();
+  }
+
+  /**
+   * Returns total number of events processed by printer thread.
+   *
+   * @return number of printed events
+   */
+  public long printedEvents() {
+    return printedEvents.sum();
+  }
+
+  /**
+   * Returns number of events currently waiting in the queue.
+   *
+   * @return number of pending events
+   */
+  public int pendingEvents() {
+    return queue.size();
+  }
+
+  /**
+   * Returns actual queue capacity (requested capacity rounded up to the power of two).
+   *
+   * @return queue capacity
+   */
+  public int capacity() {
+    return queue.capacity();
+  }
+
+  /**
+   * Returns configured overflow policy.
+   *
+   * @return overflow policy
+   */
+  public OverflowPolicy overflowPolicy() {
+    return overflowPolicy;
+  }
+
+  /**
+   * Stops accepting new events and waits (up to one second) until printer thread prints already
+   * queued events, including events being queued concurrently with this call.
+   */
+  @Override
+  public void close() {
+    running = false;
+    LockSupport.unpark(printerThread);
+    try {
+      printerThread.join(CLOSE_TIMEOUT_MS);
+    } catch (InterruptedException e) {
+      logger.log(Level.SEVERE, e.getMessage(), e);
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "AsyncPrintingExecutor{"
+      + "capacity=" + capacity()
+      + ", overflowPolicy=" + overflowPolicy
+      + ", queued=" + queuedEvents()
+      + ", dropped=" + droppedEvents()
+      + ", pending=" + pendingEvents()
+      + '}';
+  }
+
+  /**
+   * Helper class for creating {@link AsyncPrintingExecutor} instances.
+   */
+  public static class AsyncPrintingExecutorBuilder {
+
+    private static final int MAX_CAPACITY = 1 << 24;
+
+    private int capacity = 1024;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private int sampleRate = 10;
+
+    /**
+     * Sets printing queue capacity.
+     *
+     * @param capacity maximum number of events waiting to be printed, will be rounded up to the
+     *                 nearest power of two
+     *                 <p>
+     *                 Min value: 2, Max value: 16777216, Default: 1024
+     * @return the AsyncPrintingExecutorBuilder instance
+     */
+    public AsyncPrintingExecutorBuilder capacity(int capacity) {
+      if (capacity < 2 || capacity > MAX_CAPACITY) {
+        throw new IllegalArgumentException(
+          "Invalid queue capacity. Should be between 2 and " + MAX_CAPACITY + ".");
+      }
+      this.capacity = capacity;
+      return this;
+    }
+
+    /**
+     * Sets behavior when printing queue is full.
+     *
+     * @param overflowPolicy policy to apply on queue overflow
+     *                       <p>
+     *                       Default: {@link OverflowPolicy#BLOCK}
+     * @return the AsyncPrintingExecutorBuilder instance
+     * @see OverflowPolicy
+     */
+    public AsyncPrintingExecutorBuilder overflowPolicy(OverflowPolicy overflowPolicy) {
+      if (overflowPolicy == null) {
+        throw new IllegalArgumentException("Overflow policy should not be null.");
+      }
+      this.overflowPolicy = overflowPolicy;
+      return this;
+    }
+
+    /**
+     * Sets sampling rate used by {@link OverflowPolicy#SAMPLE} policy.
+     *
+     * @param sampleRate when queue is half full, only every n-th event will be accepted
+     *                   <p>
+     *                   Min value: 1, Default: 10
+     * @return the AsyncPrintingExecutorBuilder instance
+     */
+    public AsyncPrintingExecutorBuilder sampleRate(int sampleRate) {
+      if (sampleRate < 1) {
+        throw new IllegalArgumentException("Invalid sample rate. Should be positive.");
+      }
+      this.sampleRate = sampleRate;
+      return this;
+    }
+
+    /**
+     * Builds executor and starts printer thread.
+     *
+     * @return the AsyncPrintingExecutor object
+     */
+    public AsyncPrintingExecutor build() {
+      return new AsyncPrintingExecutor(capacity, overflowPolicy, sampleRate);
+    }
+  }
+
+}
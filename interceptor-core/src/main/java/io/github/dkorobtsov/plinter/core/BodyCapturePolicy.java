@@ -0,0 +1,214 @@
+package io.github.dkorobtsov.plinter.core;
+
+import io.github.dkorobtsov.plinter.core.internal.InterceptedMediaType;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Policy deciding, based on body media type, whether request or response body should be captured
+ * for printing at all and how many bytes can be captured. Decision is made before any body bytes
+ * are read, so bodies which are not captured pass through interceptor untouched.
+ * <p>
+ * Media types are matched by patterns in "type/subtype" form, where both parts can be replaced
+ * with wildcard: "image/*", "*&#47;*". Parameters (like charset) are ignored. Bodies without
+ * content type are always captured.
+ * <p>
+ * Usage example:
+ * <pre>
+ *   BodyCapturePolicy policy = BodyCapturePolicy.builder()
+ *     .deny("image/*", "application/zip", "application/octet-stream")
+ *     .limit("text/html", 16 * 1024)
+ *     .build();
+ * </pre>
+ */
+public final class BodyCapturePolicy {
+
+  private static final String WILDCARD = "*";
+  private static final String ANY_TYPE = "*/*";
+
+  private static final BodyCapturePolicy CAPTURE_ALL = builder().build();
+  private static final BodyCapturePolicy DEFAULTS = builder()
+    .deny("image/*", "audio/*", "video/*", "font/*")
+    .deny("application/octet-stream", "application/zip", "application/gzip",
+      "application/pdf")
+    .build();
+
+  private final Set<String> allowed;
+  private final Set<String> denied;
+  private final Map<String, Integer> limits;
+
+  private BodyCapturePolicy(Set<String> allowed, Set<String> denied,
+                            Map<String, Integer> limits) {
+    this.allowed = Collections.unmodifiableSet(new HashSet<>(allowed));
+    this.denied = Collections.unmodifiableSet(new HashSet<>(denied));
+    this.limits = Collections.unmodifiableMap(new HashMap<>(limits));
+  }
+
+  /**
+   * Returns policy capturing bodies of all media types.
+   *
+   * @return the BodyCapturePolicy instance
+   */
+  public static BodyCapturePolicy captureAll() {
+    return CAPTURE_ALL;
+  }
+
+  /**
+   * Returns default policy, which skips common binary media types: images, audio, video, fonts,
+   * archives, PDF documents and arbitrary binary data (application/octet-stream).
+   *
+   * @return the BodyCapturePolicy instance
+   */
+  public static BodyCapturePolicy defaults() {
+    return DEFAULTS;
+  }
+
+  /**
+   * Constructs a new BodyCapturePolicyBuilder.
+   *
+   * @return the BodyCapturePolicyBuilder instance
+   */
+  public static BodyCapturePolicyBuilder builder() {
+    return new BodyCapturePolicyBuilder();
+  }
+
+  /**
+   * Checks if body with provided media type should be captured.
+   *
+   * @param mediaType body media type, can be null
+   * @return false if media type is denied or allowlist is defined and does not contain it
+   */
+  public boolean isCaptured(InterceptedMediaType mediaType) {
+    if (mediaType == null) {
+      return true;
+    }
+    if (matchesAny(denied, mediaType)) {
+      return false;
+    }
+    return allowed.isEmpty() || matchesAny(allowed, mediaType);
+  }
+
+  /**
+   * Returns maximum number of bytes captured for body with provided media type. Most specific
+   * matching limit wins: exact type/subtype, then type/*, then *&#47;*.
+   *
+   * @param mediaType       body media type, can be null
+   * @param defaultMaxBytes limit used when there is no matching rule
+   * @return maximum number of captured bytes
+   */
+  public int maxBytes(InterceptedMediaType mediaType, int defaultMaxBytes) {
+    if (limits.isEmpty()) {
+      return defaultMaxBytes;
+    }
+    Integer limit = null;
+    if (mediaType != null) {
+      limit = limits.get(mediaType.type() + '/' + mediaType.subtype());
+      if (limit == null) {
+        limit = limits.get(mediaType.type() + "/" + WILDCARD);
+      }
+    }
+    if (limit == null) {
+      limit = limits.get(ANY_TYPE);
+    }
+    return limit == null ? defaultMaxBytes : limit;
+  }
+
+  private static boolean matchesAny(Set<String> patterns, InterceptedMediaType mediaType) {
+    return !patterns.isEmpty()
+      && (patterns.contains(ANY_TYPE)
+      || patterns.contains(mediaType.type() + "/" + WILDCARD)
+      || patterns.contains(mediaType.type() + '/' + mediaType.subtype()));
+  }
+
+  @Override
+  public String toString() {
+    return "BodyCapturePolicy{"
+      + "allowed=" + allowed
+      + ", denied=" + denied
+      + ", limits=" + limits
+      + '}';
+  }
+
+  /**
+   * Helper class for creating {@link BodyCapturePolicy} instances.
+   */
+  public static class BodyCapturePolicyBuilder {
+
+    private final Set<String> allowed = new HashSet<>();
+    private final Set<String> denied = new HashSet<>();
+    private final Map<String, Integer> limits = new HashMap<>();
+
+    /**
+     * Adds media type patterns to allowlist. If allowlist is not empty, only bodies with matching
+     * media types are captured.
+     *
+     * @param patterns media type patterns, like "application/json" or "text/*"
+     * @return the BodyCapturePolicyBuilder instance
+     */
+    public BodyCapturePolicyBuilder allow(String... patterns) {
+      for (String pattern : patterns) {
+        allowed.add(normalized(pattern));
+      }
+      return this;
+    }
+
+    /**
+     * Adds media type patterns to denylist. Bodies with matching media types are never captured,
+     * denylist has priority over allowlist.
+     *
+     * @param patterns media type patterns, like "application/zip" or "image/*"
+     * @return the BodyCapturePolicyBuilder instance
+     */
+    public BodyCapturePolicyBuilder deny(String... patterns) {
+      for (String pattern : patterns) {
+        denied.add(normalized(pattern));
+      }
+      return this;
+    }
+
+    /**
+     * Sets maximum number of captured bytes for bodies with matching media type. Overrides
+     * {@link LoggerConfig#maxBodyBytes} for those bodies.
+     *
+     * @param pattern  media type pattern, like "text/html" or "text/*"
+     * @param maxBytes maximum number of captured bytes, Min value: 1
+     * @return the BodyCapturePolicyBuilder instance
+     */
+    public BodyCapturePolicyBuilder limit(String pattern, int maxBytes) {
+      if (maxBytes < 1) {
+        throw new IllegalArgumentException(
+          "Invalid max body size. Should be at least 1 byte.");
+      }
+      limits.put(normalized(pattern), maxBytes);
+      return this;
+    }
+
+    /**
+     * Builds a BodyCapturePolicy object with the configured rules.
+     *
+     * @return the BodyCapturePolicy object
+     */
+    public BodyCapturePolicy build() {
+      return new BodyCapturePolicy(allowed, denied, limits);
+    }
+
+    private static String normalized(String pattern) {
+      final String trimmed = pattern == null ? "" : pattern.trim().toLowerCase(Locale.US);
+      final int separator = trimmed.indexOf('/');
+      if (separator < 1 || separator == trimmed.length() - 1
+        || trimmed.indexOf('/', separator + 1) != -1
+        || WILDCARD.equals(trimmed.substring(0, separator))
+        && !WILDCARD.equals(trimmed.substring(separator + 1))) {
+        throw new IllegalArgumentException(
+          "Invalid media type pattern: " + pattern + ". Expected format: type/subtype.");
+      }
+      return trimmed;
+    }
+  }
+
+}
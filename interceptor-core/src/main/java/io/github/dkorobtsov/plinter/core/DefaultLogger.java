@@ -1,6 +1,7 @@
 package io.github.dkorobtsov.plinter.core;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -11,6 +12,8 @@ import java.util.logging.Logger;
  */
 public class DefaultLogger implements LogWriter {
 
+  // Shared by all writers (and their console handler), so it also serves as lines lock - events
+  // of separate configs must not interleave either
   private static final Logger logger = Logger.getLogger(DefaultLogger.class.getName());
 
   DefaultLogger(LoggingFormat logFormatter) {
@@ -26,6 +29,25 @@ public class DefaultLogger implements LogWriter {
     logger.log(Level.INFO, msg);
   }
 
+  /**
+   * Logs all lines of a single event, each line as separate log record. Java Utility Logger has
+   * no batch API, so level is checked once per event and lines are published while holding the
+   * lock of underlying logger, which is shared by all default writers - lines of events printed
+   * concurrently are never interleaved, even when they come from different configs. Handlers are
+   * still called (and flushed) once per line.
+   */
+  @Override
+  public void logLines(List<String> lines) {
+    if (!logger.isLoggable(Level.INFO)) {
+      return;
+    }
+    synchronized (logger) {
+      for (String line : lines) {
+        logger.log(Level.INFO, line);
+      }
+    }
+  }
+
   @Override
   public String toString() {
     return "DefaultLogger";
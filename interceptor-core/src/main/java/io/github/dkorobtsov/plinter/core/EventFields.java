@@ -0,0 +1,81 @@
+package io.github.dkorobtsov.plinter.core;
+
+/**
+ * Structured details of printed event, passed to {@link LogWriter} together with rendered text.
+ * Writers backed by logging frameworks attach them to log events as key-value pairs, so HTTP
+ * traffic can be filtered or routed by method, host or status with framework configuration only.
+ */
+public final class EventFields {
+
+  /**
+   * Key writers attach request method under.
+   */
+  public static final String METHOD_KEY = "http.method";
+  /**
+   * Key writers attach request host under.
+   */
+  public static final String HOST_KEY = "http.host";
+  /**
+   * Key writers attach response status code under, not attached to request events.
+   */
+  public static final String STATUS_KEY = "http.status";
+
+  /**
+   * Fields of event without exchange details.
+   */
+  public static final EventFields NONE = new EventFields(null, null, 0);
+
+  private final String method;
+  private final String host;
+  private final int status;
+
+  /**
+   * Constructs a new EventFields.
+   *
+   * @param method request method, null if unknown
+   * @param host   request host, null if unknown
+   * @param status response status code, 0 if event has no response
+   */
+  public EventFields(String method, String host, int status) {
+    this.method = method;
+    this.host = host;
+    this.status = status;
+  }
+
+  /**
+   * Returns request method.
+   *
+   * @return request method or null if unknown (e.g. response printed without request)
+   */
+  public String method() {
+    return method;
+  }
+
+  /**
+   * Returns request host.
+   *
+   * @return request host or null if unknown
+   */
+  public String host() {
+    return host;
+  }
+
+  /**
+   * Returns response status code.
+   *
+   * @return response status code or 0 if event has no response (request printed alone)
+   */
+  public int status() {
+    return status;
+  }
+
+  @Override
+  public String toString() {
+    return "EventFields{"
+      + "method=" + method
+      + ", host=" + host
+      + ", status=" + status
+      + '}';
+  }
+
+}
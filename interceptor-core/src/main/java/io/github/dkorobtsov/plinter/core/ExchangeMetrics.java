@@ -0,0 +1,480 @@
+package io.github.dkorobtsov.plinter.core;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * In-process registry of exchange metrics - latency, request and response body size histograms
+ * per downstream route. Route is identified by request method, host, path and response status
+ * class (2xx, 4xx etc. or "failed" if no response was received), so percentiles can be compared
+ * per dependency without external metrics agent.
+ * <p>
+ * Values are recorded to fixed memory log-linear {@link Histogram}s (relative error ~6%) without
+ * locking. To keep number of routes bounded, numeric and UUID-like path segments are replaced
+ * with "{id}" and, once configured maximum number of routes is reached, exchanges of new routes
+ * are recorded to shared route with host "*" and path "/*". Body sizes are taken from declared
+ * content length, bodies of unknown length are not counted.
+ * <p>
+ * Usage example:
+ * <pre>
+ *   ExchangeMetrics metrics = ExchangeMetrics.builder()
+ *     .maxRoutes(500)
+ *     .build();
+ *   metrics.registerMBean("orders-client");
+ *
+ *   LoggerConfig.builder()
+ *     .metrics(metrics)
+ *     .build();
+ *
+ *   metrics.snapshot().forEach(route -&gt; System.out.println(route));
+ * </pre>
+ * Metrics are recorded for every exchange passing through interceptor, regardless of logging
+ * level, filter or sampler. Registry is thread safe and can be shared between several
+ * interceptors.
+ */
+@SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
+public final class ExchangeMetrics implements ExchangeMetricsMXBean {
+
+  /**
+   * Status class of exchanges failed without response.
+   */
+  public static final String FAILED = "failed";
+
+  private static final String OBJECT_NAME_PREFIX
+    = "io.github.dkorobtsov.plinter:type=ExchangeMetrics,name=";
+  private static final String ANY_HOST = "*";
+  private static final String ANY_PATH = "/*";
+  private static final int PRECISION_BITS = 4;
+  private static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx"};
+
+  private final int maxRoutes;
+  private final boolean perRoute;
+  private final boolean normalizeIds;
+  private final Map<Route, RouteMetrics> routes = new ConcurrentHashMap<>();
+
+  private volatile ObjectName objectName;
+
+  ExchangeMetrics(int maxRoutes, boolean perRoute, boolean normalizeIds) {
+    this.maxRoutes = maxRoutes;
+    this.perRoute = perRoute;
+    this.normalizeIds = normalizeIds;
+  }
+
+  /**
+   * Constructs a new ExchangeMetricsBuilder.
+   *
+   * @return the ExchangeMetricsBuilder instance
+   */
+  public static ExchangeMetricsBuilder builder() {
+    return new ExchangeMetricsBuilder();
+  }
+
+  /**
+   * Records completed exchange.
+   *
+   * @param method        request method
+   * @param host          request host, can be null
+   * @param path          request path without query, can be null
+   * @param statusCode    response status code, 0 if call failed without response
+   * @param latencyNanos  time between sending request and receiving response
+   * @param requestBytes  request body size, negative if unknown
+   * @param responseBytes response body size, negative if unknown
+   */
+  public void record(String method, String host, String path, int statusCode,
+                     long latencyNanos, long requestBytes, long responseBytes) {
+    final RouteMetrics metrics = routeMetrics(new Route(method, String.valueOf(host),
+      perRoute ? route(path) : "", statusClass(statusCode)));
+
+    metrics.latencyMicros.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    if (requestBytes >= 0) {
+      metrics.requestBytes.record(requestBytes);
+    }
+    if (responseBytes >= 0) {
+      metrics.responseBytes.record(responseBytes);
+    }
+  }
+
+  /**
+   * Returns snapshot of metrics recorded for every route.
+   *
+   * @return route snapshots sorted by route name
+   */
+  public List<RouteSnapshot> snapshot() {
+    return snapshot(false);
+  }
+
+  /**
+   * Returns snapshot of metrics recorded for every route and resets histograms, so that next
+   * snapshot contains only exchanges recorded after this call.
+   *
+   * @return route snapshots sorted by route name
+   */
+  public List<RouteSnapshot> snapshotAndReset() {
+    return snapshot(true);
+  }
+
+  /**
+   * Removes all routes together with their recorded values.
+   */
+  @Override
+  public void reset() {
+    routes.clear();
+  }
+
+  /**
+   * Registers metrics in platform MBean server as
+   * "io.github.dkorobtsov.plinter:type=ExchangeMetrics,name=[name]".
+   *
+   * @param name name distinguishing this registry, e.g. client name
+   * @return registered MBean object name
+   */
+  public synchronized ObjectName registerMBean(String name) {
+    if (objectName != null) {
+      throw new IllegalStateException("Metrics are already registered as " + objectName);
+    }
+    try {
+      final ObjectName mbeanName = new ObjectName(OBJECT_NAME_PREFIX + ObjectName.quote(name));
+      ManagementFactory.getPlatformMBeanServer().registerMBean(this, mbeanName);
+      objectName = mbeanName;
+      return mbeanName;
+    } catch (JMException e) {
+      throw new IllegalStateException("Failed to register metrics MBean: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Unregisters metrics from platform MBean server if they were registered.
+   */
+  public synchronized void unregisterMBean() {
+    if (objectName == null) {
+      return;
+    }
+    try {
+      final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      if (server.isRegistered(objectName)) {
+        server.unregisterMBean(objectName);
+      }
+    } catch (JMException e) {
+      throw new IllegalStateException(
+        "Failed to unregister metrics MBean: " + e.getMessage(), e);
+    } finally {
+      objectName = null;
+    }
+  }
+
+  @Override
+  public int getRouteCount() {
+    return routes.size();
+  }
+
+  @Override
+  public Map<String, Long> getExchangeCounts() {
+    return perRouteValues(route -> route.latencyMicros().count());
+  }
+
+  @Override
+  public Map<String, Long> getLatencyP50Micros() {
+    return perRouteValues(route -> route.latencyMicros().p50());
+  }
+
+  @Override
+  public Map<String, Long> getLatencyP99Micros() {
+    return perRouteValues(route -> route.latencyMicros().p99());
+  }
+
+  @Override
+  public Map<String, Long> getLatencyP999Micros() {
+    return perRouteValues(route -> route.latencyMicros().p999());
+  }
+
+  @Override
+  public Map<String, Long> getRequestBytesP99() {
+    return perRouteValues(route -> route.requestBytes().p99());
+  }
+
+  @Override
+  public Map<String, Long> getResponseBytesP99() {
+    return perRouteValues(route -> route.responseBytes().p99());
+  }
+
+  private Map<String, Long> perRouteValues(ToLongFunction<RouteSnapshot> value) {
+    final Map<String, Long> values = new TreeMap<>();
+    for (RouteSnapshot route : snapshot()) {
+      values.put(route.name(), value.applyAsLong(route));
+    }
+    return values;
+  }
+
+  private List<RouteSnapshot> snapshot(boolean reset) {
+    final List<RouteSnapshot> snapshots = new ArrayList<>(routes.size());
+    routes.forEach((route, metrics) -> snapshots.add(new RouteSnapshot(route, metrics, reset)));
+    snapshots.sort((first, second) -> first.name().compareTo(second.name()));
+    return Collections.unmodifiableList(snapshots);
+  }
+
+  private RouteMetrics routeMetrics(Route route) {
+    final RouteMetrics metrics = routes.get(route);
+    if (metrics != null) {
+      return metrics;
+    }
+    // New routes are not tracked separately anymore, shared route is used instead
+    final Route tracked = routes.size() >= maxRoutes
+      ? new Route(route.method, ANY_HOST, ANY_PATH, route.statusClass)
+      : route;
+    return routes.computeIfAbsent(tracked, key -> new RouteMetrics());
+  }
+
+  /**
+   * Returns path with numeric and UUID-like segments replaced by "{id}" (if enabled).
+   */
+  String route(String path) {
+    if (!normalizeIds) {
+      return path == null || path.isEmpty() ? "/" : path;
+    }
+    return Routes.normalize(path);
+  }
+
+  private static String statusClass(int statusCode) {
+    final int index = statusCode / 100 - 1;
+    return index >= 0 && index < STATUS_CLASSES.length ? STATUS_CLASSES[index] : FAILED;
+  }
+
+  @Override
+  public String toString() {
+    return "ExchangeMetrics{"
+      + "maxRoutes=" + maxRoutes
+      + ", perRoute=" + perRoute
+      + ", normalizeIds=" + normalizeIds
+      + ", routes=" + routes.size()
+      + '}';
+  }
+
+  private static final class Route {
+
+    private final String method;
+    private final String host;
+    private final String path;
+    private final String statusClass;
+    private final int hash;
+
+    Route(String method, String host, String path, String statusClass) {
+      this.method = method;
+      this.host = host;
+      this.path = path;
+      this.statusClass = statusClass;
+      this.hash = Objects.hash(method, host, path, statusClass);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Route)) {
+        return false;
+      }
+      final Route route = (Route) o;
+      return hash == route.hash
+        && Objects.equals(method, route.method)
+        && host.equals(route.host)
+        && path.equals(route.path)
+        && statusClass.equals(route.statusClass);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public String toString() {
+      return method + ' ' + host + path + ' ' + statusClass;
+    }
+  }
+
+  private static final class RouteMetrics {
+
+    private final Histogram latencyMicros = new Histogram(PRECISION_BITS);
+    private final Histogram requestBytes = new Histogram(PRECISION_BITS);
+    private final Histogram responseBytes = new Histogram(PRECISION_BITS);
+  }
+
+  /**
+   * Metrics recorded for single route.
+   */
+  public static final class RouteSnapshot {
+
+    private final Route route;
+    private final Histogram.Snapshot latencyMicros;
+    private final Histogram.Snapshot requestBytes;
+    private final Histogram.Snapshot responseBytes;
+
+    RouteSnapshot(Route route, RouteMetrics metrics, boolean reset) {
+      this.route = route;
+      this.latencyMicros = reset
+        ? metrics.latencyMicros.snapshotAndReset()
+        : metrics.latencyMicros.snapshot();
+      this.requestBytes = reset
+        ? metrics.requestBytes.snapshotAndReset()
+        : metrics.requestBytes.snapshot();
+      this.responseBytes = reset
+        ? metrics.responseBytes.snapshotAndReset()
+        : metrics.responseBytes.snapshot();
+    }
+
+    /**
+     * Returns route name in format "METHOD host/route 2xx".
+     *
+     * @return route name
+     */
+    public String name() {
+      return route.toString();
+    }
+
+    /**
+     * Returns request method.
+     *
+     * @return request method
+     */
+    public String method() {
+      return route.method;
+    }
+
+    /**
+     * Returns request host.
+     *
+     * @return request host
+     */
+    public String host() {
+      return route.host;
+    }
+
+    /**
+     * Returns normalized request path.
+     *
+     * @return route path
+     */
+    public String path() {
+      return route.path;
+    }
+
+    /**
+     * Returns response status class, e.g. "2xx", or {@link #FAILED}.
+     *
+     * @return status class
+     */
+    public String statusClass() {
+      return route.statusClass;
+    }
+
+    /**
+     * Returns latency histogram in microseconds.
+     *
+     * @return latency snapshot
+     */
+    public Histogram.Snapshot latencyMicros() {
+      return latencyMicros;
+    }
+
+    /**
+     * Returns request body size histogram in bytes.
+     *
+     * @return request size snapshot
+     */
+    public Histogram.Snapshot requestBytes() {
+      return requestBytes;
+    }
+
+    /**
+     * Returns response body size histogram in bytes.
+     *
+     * @return response size snapshot
+     */
+    public Histogram.Snapshot responseBytes() {
+      return responseBytes;
+    }
+
+    @Override
+    public String toString() {
+      return name()
+        + ": latencyMicros=" + latencyMicros
+        + ", requestBytes=" + requestBytes
+        + ", responseBytes=" + responseBytes;
+    }
+  }
+
+  /**
+   * Helper class for creating {@link ExchangeMetrics} instances.
+   */
+  public static class ExchangeMetricsBuilder {
+
+    private int maxRoutes = 1000;
+    private boolean perRoute = true;
+    private boolean normalizeIds = true;
+
+    /**
+     * Sets maximum number of separately tracked routes. Each route keeps three histograms of
+     * about 5 KB each.
+     *
+     * @param maxRoutes maximum number of routes
+     *                  <p>
+     *                  Min value: 1, Default: 1000
+     * @return the ExchangeMetricsBuilder instance
+     */
+    public ExchangeMetricsBuilder maxRoutes(int maxRoutes) {
+      if (maxRoutes < 1) {
+        throw new IllegalArgumentException("Invalid max routes. Should be at least 1.");
+      }
+      this.maxRoutes = maxRoutes;
+      return this;
+    }
+
+    /**
+     * Sets whether metrics are kept per route (host and path) instead of per host.
+     *
+     * @param perRoute if true each path has its own histograms
+     *                 <p>
+     *                 Default: true
+     * @return the ExchangeMetricsBuilder instance
+     */
+    public ExchangeMetricsBuilder perRoute(boolean perRoute) {
+      this.perRoute = perRoute;
+      return this;
+    }
+
+    /**
+     * Sets whether numeric and UUID-like path segments are replaced with "{id}", so that
+     * e.g. "/users/42" and "/users/43" are recorded as single route "/users/{id}".
+     *
+     * @param normalizeIds if true identifiers in path are normalized
+     *                     <p>
+     *                     Default: true
+     * @return the ExchangeMetricsBuilder instance
+     */
+    public ExchangeMetricsBuilder normalizeIds(boolean normalizeIds) {
+      this.normalizeIds = normalizeIds;
+      return this;
+    }
+
+    /**
+     * Builds an ExchangeMetrics object with the configured values.
+     *
+     * @return the ExchangeMetrics object
+     */
+    public ExchangeMetrics build() {
+      return new ExchangeMetrics(maxRoutes, perRoute, normalizeIds);
+    }
+  }
+
+}
@@ -0,0 +1,65 @@
+package io.github.dkorobtsov.plinter.core;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link ExchangeMetrics}. Per route attributes are exposed as tables keyed by route
+ * name in format "METHOD host/route 2xx".
+ */
+public interface ExchangeMetricsMXBean {
+
+  /**
+   * Returns number of tracked routes.
+   *
+   * @return number of routes
+   */
+  int getRouteCount();
+
+  /**
+   * Returns number of recorded exchanges per route.
+   *
+   * @return exchange counts
+   */
+  Map<String, Long> getExchangeCounts();
+
+  /**
+   * Returns median latency per route.
+   *
+   * @return latency in microseconds
+   */
+  Map<String, Long> getLatencyP50Micros();
+
+  /**
+   * Returns 99th percentile of latency per route.
+   *
+   * @return latency in microseconds
+   */
+  Map<String, Long> getLatencyP99Micros();
+
+  /**
+   * Returns 99.9th percentile of latency per route.
+   *
+   * @return latency in microseconds
+   */
+  Map<String, Long> getLatencyP999Micros();
+
+  /**
+   * Returns 99th percentile of request body size per route.
+   *
+   * @return size in bytes
+   */
+  Map<String, Long> getRequestBytesP99();
+
+  /**
+   * Returns 99th percentile of response body size per route.
+   *
+   * @return size in bytes
+   */
+  Map<String, Long> getResponseBytesP99();
+
+  /**
+   * Resets all recorded values.
+   */
+  void reset();
+
+}
@@ -0,0 +1,229 @@
+package io.github.dkorobtsov.plinter.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed memory log-linear histogram of non negative values. Each power of two range is split
+ * into equal number of linear sub-buckets, so relative error of reported percentiles does not
+ * depend on magnitude of value: with 16 sub-buckets it's at most 1/16 (~6%). Values up to
+ * 2^40 are tracked precisely, greater values are counted in the last bucket.
+ * <p>
+ * Recording is lock free - one atomic increment of bucket counter and updates of sum and max.
+ * Histogram can be reset (see {@link #snapshotAndReset()}), values recorded concurrently with
+ * reset are counted either in returned snapshot or in the new one, rarely are lost completely.
+ */
+public final class Histogram {
+
+  private static final int MAX_EXPONENT = 40;
+
+  private final int subBucketBits;
+  private final int subBuckets;
+  private final int buckets;
+
+  private volatile Counts counts;
+
+  /**
+   * Constructs histogram with 2^subBucketBits sub-buckets per power of two.
+   *
+   * @param subBucketBits number of bits of precision, e.g. 4 for ~6% relative error
+   *                      <p>
+   *                      Min value: 1, Max value: 10
+   */
+  public Histogram(int subBucketBits) {
+    if (subBucketBits < 1 || subBucketBits > 10) {
+      throw new IllegalArgumentException(
+        "Invalid histogram precision. Should be between 1 and 10 bits.");
+    }
+    this.subBucketBits = subBucketBits;
+    this.subBuckets = 1 << subBucketBits;
+    this.buckets = (MAX_EXPONENT - subBucketBits + 2) * subBuckets;
+    this.counts = new Counts(buckets);
+  }
+
+  /**
+   * Records single value. Negative values are recorded as 0.
+   *
+   * @param value value to record
+   */
+  public void record(long value) {
+    final long positive = Math.max(value, 0);
+    final Counts current = counts;
+    current.buckets.incrementAndGet(bucket(positive));
+    current.sum.add(positive);
+    if (positive > current.max.get()) {
+      current.max.accumulateAndGet(positive, Math::max);
+    }
+  }
+
+  /**
+   * Returns snapshot of values recorded so far.
+   *
+   * @return histogram snapshot
+   */
+  public Snapshot snapshot() {
+    return new Snapshot(this, counts);
+  }
+
+  /**
+   * Returns snapshot of values recorded so far and starts recording from scratch.
+   *
+   * @return histogram snapshot
+   */
+  public Snapshot snapshotAndReset() {
+    final Counts current = counts;
+    counts = new Counts(buckets);
+    return new Snapshot(this, current);
+  }
+
+  int bucket(long value) {
+    if (value < subBuckets) {
+      return (int) value;
+    }
+    final int exponent = 63 - Long.numberOfLeadingZeros(value);
+    final int subBucket = (int) (value >>> (exponent - subBucketBits)) & (subBuckets - 1);
+    return Math.min((exponent - subBucketBits + 1) * subBuckets + subBucket, buckets - 1);
+  }
+
+  long upperBound(int bucket) {
+    if (bucket < subBuckets) {
+      return bucket;
+    }
+    final int exponent = bucket / subBuckets + subBucketBits - 1;
+    final int subBucket = bucket % subBuckets;
+    return ((long) (subBuckets + subBucket + 1) << (exponent - subBucketBits)) - 1;
+  }
+
+  private static final class Counts {
+
+    private final AtomicLongArray buckets;
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    Counts(int size) {
+      this.buckets = new AtomicLongArray(size);
+    }
+  }
+
+  /**
+   * Immutable copy of histogram counters.
+   */
+  public static final class Snapshot {
+
+    private final Histogram histogram;
+    private final long[] buckets;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    Snapshot(Histogram histogram, Counts counts) {
+      this.histogram = histogram;
+      this.buckets = new long[counts.buckets.length()];
+      long total = 0;
+      for (int i = 0; i < buckets.length; i++) {
+        buckets[i] = counts.buckets.get(i);
+        total += buckets[i];
+      }
+      this.count = total;
+      this.sum = counts.sum.sum();
+      this.max = counts.max.get();
+    }
+
+    /**
+     * Returns number of recorded values.
+     *
+     * @return number of values
+     */
+    public long count() {
+      return count;
+    }
+
+    /**
+     * Returns sum of recorded values.
+     *
+     * @return sum of values
+     */
+    public long sum() {
+      return sum;
+    }
+
+    /**
+     * Returns greatest recorded value.
+     *
+     * @return max value or 0 if nothing was recorded
+     */
+    public long max() {
+      return max;
+    }
+
+    /**
+     * Returns mean of recorded values.
+     *
+     * @return mean value or 0 if nothing was recorded
+     */
+    public double mean() {
+      return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Returns value below or equal to which given fraction of recorded values fall. Value is
+     * upper bound of histogram bucket, but never greater than max recorded value.
+     *
+     * @param quantile quantile, e.g. 0.99 for 99th percentile
+     * @return percentile value or 0 if nothing was recorded
+     */
+    public long percentile(double quantile) {
+      if (count == 0) {
+        return 0;
+      }
+      final long target = Math.max(1, (long) Math.ceil(count * quantile));
+      long seen = 0;
+      for (int i = 0; i < buckets.length; i++) {
+        seen += buckets[i];
+        if (seen >= target) {
+          return Math.min(histogram.upperBound(i), max);
+        }
+      }
+      return max;
+    }
+
+    /**
+     * Returns median of recorded values.
+     *
+     * @return 50th percentile
+     */
+    public long p50() {
+      return percentile(0.5);
+    }
+
+    /**
+     * Returns 99th percentile of recorded values.
+     *
+     * @return 99th percentile
+     */
+    public long p99() {
+      return percentile(0.99);
+    }
+
+    /**
+     * Returns 99.9th percentile of recorded values.
+     *
+     * @return 99.9th percentile
+     */
+    public long p999() {
+      return percentile(0.999);
+    }
+
+    @Override
+    public String toString() {
+      return "{count=" + count
+        + ", p50=" + p50()
+        + ", p99=" + p99()
+        + ", p999=" + p999()
+        + ", max=" + max
+        + '}';
+    }
+  }
+
+}
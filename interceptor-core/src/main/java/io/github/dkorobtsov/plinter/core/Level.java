@@ -40,5 +40,24 @@ public enum Level {
    *  - Body
    * }</pre>
    */
-  BODY
+  BODY;
+
+  /**
+   * Returns true if request and response bodies are printed on this level. When false, bodies
+   * are not even captured by converters.
+   *
+   * @return true for {@link #BASIC} and {@link #BODY} levels
+   */
+  public boolean printsBody() {
+    return this == BASIC || this == BODY;
+  }
+
+  /**
+   * Returns true if request and response headers are printed on this level.
+   *
+   * @return true for {@link #BASIC} and {@link #HEADERS} levels
+   */
+  public boolean printsHeaders() {
+    return this == BASIC || this == HEADERS;
+  }
 }
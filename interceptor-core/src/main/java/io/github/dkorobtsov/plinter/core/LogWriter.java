@@ -1,5 +1,7 @@
 package io.github.dkorobtsov.plinter.core;
 
+import java.util.List;
+
 /**
  * LogWriter interface responsible for logging intercepted events.
  * <p>
@@ -16,8 +18,82 @@ package io.github.dkorobtsov.plinter.core;
  *     })
  *     .build());
  * </pre>
+ * For Log4j2 and SLF4J prefer ready to use writers from {@code log4j2-writer} and
+ * {@code slf4j-writer} modules, which pass events through frameworks' low allocation paths.
+ * <p>
+ * When {@link LoggerConfig#logByLine} is enabled, all lines of a single event are passed to
+ * {@link #logLines(List)} at once. Implementations backed by logging framework which supports
+ * batching can override it to write whole event with one call (and one lock acquisition).
+ * <p>
+ * Otherwise whole event is passed to {@link #logChars(CharSequence)}, which by default converts
+ * it to string and calls {@link #log(String)}. Writers able to consume characters directly (e.g.
+ * encoding them straight into a file channel) can override it to skip that copy.
+ * <p>
+ * Writers backed by logging framework should also override {@link #isEnabled()}, so exchanges
+ * are not converted and rendered when framework would discard the event anyway.
+ * <p>
+ * Printer always calls variants accepting {@link EventFields} (method, host and status of the
+ * exchange). By default they ignore the fields, writers able to attach structured data to log
+ * events (e.g. as MDC or key-value pairs) can override them.
  */
 public interface LogWriter {
 
   void log(String msg);
+
+  /**
+   * Logs all lines of a single intercepted event. Default implementation calls
+   * {@link #log(String)} for each line.
+   *
+   * @param lines event lines in printing order
+   */
+  default void logLines(List<String> lines) {
+    for (String line : lines) {
+      log(line);
+    }
+  }
+
+  /**
+   * Logs single intercepted event. Provided sequence is a view of printer's reusable buffer - it
+   * is valid only until method returns and should not be stored or accessed from other threads.
+   * Default implementation calls {@link #log(String)} with a string copy of the event.
+   *
+   * @param event rendered event
+   */
+  default void logChars(CharSequence event) {
+    log(event.toString());
+  }
+
+  /**
+   * Logs all lines of a single intercepted event with its structured fields. Default
+   * implementation ignores fields and calls {@link #logLines(List)}.
+   *
+   * @param lines  event lines in printing order
+   * @param fields exchange details of the event
+   */
+  default void logLines(List<String> lines, EventFields fields) {
+    logLines(lines);
+  }
+
+  /**
+   * Logs single intercepted event with its structured fields, see {@link #logChars(CharSequence)}
+   * for event sequence lifetime. Default implementation ignores fields and calls
+   * {@link #logChars(CharSequence)}.
+   *
+   * @param event  rendered event
+   * @param fields exchange details of the event
+   */
+  default void logChars(CharSequence event, EventFields fields) {
+    logChars(event);
+  }
+
+  /**
+   * Checks if events passed to this writer would be actually logged. Checked before exchange is
+   * converted and again before each event is rendered, so it should be cheap. Default
+   * implementation always returns true.
+   *
+   * @return true if writer accepts events
+   */
+  default boolean isEnabled() {
+    return true;
+  }
 }
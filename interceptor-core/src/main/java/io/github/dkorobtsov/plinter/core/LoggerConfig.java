@@ -9,6 +9,11 @@ import java.util.concurrent.Executor;
 @SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
 public class LoggerConfig {
 
+  /**
+   * Default maximum number of body bytes captured for printing (1 MiB).
+   */
+  public static final int DEFAULT_MAX_BODY_BYTES = 1024 * 1024;
+
   public final Level level;
   public final LogWriter logger;
   public final Executor executor;
@@ -17,10 +22,31 @@ public class LoggerConfig {
   public final boolean logByLine;
   public final boolean withThreadInfo;
   public final LoggingFormat format;
+  public final int maxBodyBytes;
+  public final BodyCapturePolicy capturePolicy;
+  public final OutputFormat outputFormat;
+  public final boolean exchangeMode;
+  public final Sampler sampler;
+  public final RequestFilter filter;
+  public final SlowOrFailedPolicy slowOrFailedPolicy;
+  public final ExchangeMetrics metrics;
+  public final LoggingOverhead overhead;
 
   LoggerConfig(boolean isLoggable, Level level, LogWriter logger, boolean logByLine,
                LoggingFormat format, Executor executor, int maxLineLength,
-               boolean withThreadInfo) {
+               boolean withThreadInfo, int maxBodyBytes, BodyCapturePolicy capturePolicy,
+               OutputFormat outputFormat, boolean exchangeMode, Sampler sampler,
+               RequestFilter filter, SlowOrFailedPolicy slowOrFailedPolicy,
+               ExchangeMetrics metrics, LoggingOverhead overhead) {
+    this.overhead = overhead;
+    this.metrics = metrics;
+    this.slowOrFailedPolicy = slowOrFailedPolicy;
+    this.filter = filter;
+    this.sampler = sampler;
+    this.exchangeMode = exchangeMode;
+    this.outputFormat = outputFormat;
+    this.capturePolicy = capturePolicy;
+    this.maxBodyBytes = maxBodyBytes;
     this.logByLine = logByLine;
     this.withThreadInfo = withThreadInfo;
     this.maxLineLength = maxLineLength;
@@ -61,6 +87,15 @@ public class LoggerConfig {
       + "\n executor       : " + executor
       + "\n maxLineLength  : " + maxLineLength
       + "\n withThreadInfo : " + withThreadInfo
+      + "\n maxBodyBytes   : " + maxBodyBytes
+      + "\n capturePolicy  : " + capturePolicy
+      + "\n outputFormat   : " + outputFormat
+      + "\n exchangeMode   : " + exchangeMode
+      + "\n sampler        : " + sampler
+      + "\n filter         : " + filter
+      + "\n slowOrFailed   : " + slowOrFailedPolicy
+      + "\n metrics        : " + metrics
+      + "\n overhead       : " + overhead
       + line;
   }
 
@@ -76,9 +111,19 @@ public class LoggerConfig {
     private boolean isLoggable = true;
     private Level level = Level.BASIC;
     private int maxLineLength = 110;
+    private int maxBodyBytes = DEFAULT_MAX_BODY_BYTES;
+    private BodyCapturePolicy capturePolicy = BodyCapturePolicy.defaults();
+    private OutputFormat outputFormat = OutputFormat.PRETTY;
     private boolean logByLine;
     private boolean withThreadInfo;
+    private boolean exchangeMode;
+    private Sampler sampler;
+    private RequestFilter filter;
+    private SlowOrFailedPolicy slowOrFailedPolicy;
+    private ExchangeMetrics metrics;
+    private LoggingOverhead overhead;
     private Executor executor;
+    private AsyncPrintingExecutor.AsyncPrintingExecutorBuilder asyncExecutor;
 
     /**
      * Sets whether the logger is enabled.
@@ -143,13 +188,54 @@ public class LoggerConfig {
     }
 
     /**
-     * Sets the executor for printing.
+     * Sets the executor for printing. Interceptor only submits printing commands and never waits
+     * for them to complete.
      *
      * @param executor the executor for printing
      * @return the LoggerConfigBuilder instance
+     * @see AsyncPrintingExecutor
      */
     public LoggerConfigBuilder executor(Executor executor) {
       this.executor = executor;
+      this.asyncExecutor = null;
+      return this;
+    }
+
+    /**
+     * Enables asynchronous printing using new {@link AsyncPrintingExecutor} - events are queued
+     * into bounded ring buffer and printed by dedicated printer thread.
+     * <p>
+     * Executor (and its printer thread) is created by {@link #build()}, each built config gets
+     * its own instance available as {@link LoggerConfig#executor}. It should be closed once
+     * interceptors using the config are no longer needed, otherwise printer thread keeps
+     * running. To share single printer between several configs, build
+     * {@link AsyncPrintingExecutor} explicitly and pass it to {@link #executor(Executor)}.
+     *
+     * @param capacity       maximum number of events waiting to be printed
+     * @param overflowPolicy behavior when queue is full
+     * @return the LoggerConfigBuilder instance
+     * @see OverflowPolicy
+     */
+    public LoggerConfigBuilder asyncPrinting(int capacity, OverflowPolicy overflowPolicy) {
+      // Validating arguments right away, executor itself is created on build
+      this.asyncExecutor = AsyncPrintingExecutor.builder()
+        .capacity(capacity)
+        .overflowPolicy(overflowPolicy);
+      this.executor = null;
+      return this;
+    }
+
+    /**
+     * Sets the format of printed events.
+     *
+     * @param outputFormat format of printed events
+     *                     <p>
+     *                     Default: {@link OutputFormat#PRETTY}
+     * @return the LoggerConfigBuilder instance
+     * @see OutputFormat
+     */
+    public LoggerConfigBuilder outputFormat(OutputFormat outputFormat) {
+      this.outputFormat = outputFormat;
       return this;
     }
 
@@ -171,6 +257,42 @@ public class LoggerConfig {
       return this;
     }
 
+    /**
+     * Sets the maximum number of body bytes captured for printing. Only the head of larger bodies
+     * is copied, printed body is followed by total and omitted bytes count, so memory used for
+     * logging single exchange does not depend on payload size.
+     *
+     * @param maxBodyBytes maximum number of captured body bytes
+     *                     <p>
+     *                     Min value: 1, Default: 1048576 (1 MiB)
+     * @return the LoggerConfigBuilder instance
+     */
+    public LoggerConfigBuilder maxBodyBytes(int maxBodyBytes) {
+      if (maxBodyBytes < 1) {
+        throw new IllegalArgumentException(
+          "Invalid max body size. Should be at least 1 byte.");
+      }
+      this.maxBodyBytes = maxBodyBytes;
+      return this;
+    }
+
+    /**
+     * Sets the policy deciding by body content type if body should be captured for printing and
+     * how many bytes can be captured. Bodies which are not captured are never buffered and are
+     * printed as omitted.
+     *
+     * @param capturePolicy body capture policy
+     *                      <p>
+     *                      Default: {@link BodyCapturePolicy#defaults()}, binary media types
+     *                      (images, audio, video, fonts, archives, PDF) are not captured
+     * @return the LoggerConfigBuilder instance
+     * @see BodyCapturePolicy
+     */
+    public LoggerConfigBuilder capturePolicy(BodyCapturePolicy capturePolicy) {
+      this.capturePolicy = capturePolicy == null ? BodyCapturePolicy.captureAll() : capturePolicy;
+      return this;
+    }
+
     /**
      * Sets whether to log events line by line or as a single log message.
      *
@@ -206,14 +328,123 @@ public class LoggerConfig {
       return this;
     }
 
+    /**
+     * Sets whether request should be held until its response is received and printed together
+     * with it as a single exchange event, marked with unique exchange id.
+     * <p>
+     * Example:
+     * <pre>
+     *   ┌────── Exchange 5f3a1c9e07b2d4e1 ──────────────────────────────────────────────────────
+     *     URL: http://localhost/api
+     *     Method: @GET
+     *     ...
+     *   ├────── Response ───────────────────────────────────────────────────────────────────────
+     *     is success : true - Execution time: 12ms
+     *     Status Code: 200 / OK
+     *     ...
+     *   └───────────────────────────────────────────────────────────────────────────────────────
+     * </pre>
+     * If no response is received (e.g. connection failed), request is printed alone.
+     *
+     * @param exchangeMode if true request and response are printed as single event,
+     *                     otherwise as two separate events
+     *                     <p>
+     *                     Default: false
+     * @return the LoggerConfigBuilder instance
+     */
+    public LoggerConfigBuilder exchangeMode(boolean exchangeMode) {
+      this.exchangeMode = exchangeMode;
+      return this;
+    }
+
+    /**
+     * Sets the sampler deciding which exchanges are logged. Decision is made before any
+     * conversion work, so exchanges which are not sampled are almost free.
+     *
+     * @param sampler exchange sampler, null means that every exchange is logged
+     *                <p>
+     *                Default: null
+     * @return the LoggerConfigBuilder instance
+     * @see Sampler
+     */
+    public LoggerConfigBuilder sampler(Sampler sampler) {
+      this.sampler = sampler;
+      return this;
+    }
+
+    /**
+     * Sets include and exclude rules deciding which requests are logged. Rules are checked
+     * against native client request before it is converted, so filtered out exchanges are
+     * almost free.
+     *
+     * @param filter request filter, null means that all requests are logged
+     *               <p>
+     *               Default: null
+     * @return the LoggerConfigBuilder instance
+     * @see RequestFilter
+     */
+    public LoggerConfigBuilder filter(RequestFilter filter) {
+      this.filter = filter;
+      return this;
+    }
+
+    /**
+     * Enables logging of slow or failed exchanges only. Request is not printed before it is
+     * sent - request and response are rendered together after response is received, and only
+     * if exchange was slow or failed, so fast successful exchanges skip all formatting work.
+     *
+     * @param policy latency and status thresholds, null means that all exchanges are logged
+     *               <p>
+     *               Default: null
+     * @return the LoggerConfigBuilder instance
+     * @see SlowOrFailedPolicy
+     */
+    public LoggerConfigBuilder slowOrFailedOnly(SlowOrFailedPolicy policy) {
+      this.slowOrFailedPolicy = policy;
+      return this;
+    }
+
+    /**
+     * Sets registry recording latency and body size histograms of every intercepted exchange,
+     * regardless of logging level, filter or sampler.
+     *
+     * @param metrics metrics registry, null means that metrics are not recorded
+     *                <p>
+     *                Default: null
+     * @return the LoggerConfigBuilder instance
+     * @see ExchangeMetrics
+     */
+    public LoggerConfigBuilder metrics(ExchangeMetrics metrics) {
+      this.metrics = metrics;
+      return this;
+    }
+
+    /**
+     * Sets recorder measuring time spent in each stage of logging (conversion, rendering, body
+     * formatting and writing) and memory allocated for printing bodies.
+     *
+     * @param overhead overhead recorder, null means that overhead is not measured
+     *                 <p>
+     *                 Default: null
+     * @return the LoggerConfigBuilder instance
+     * @see LoggingOverhead
+     */
+    public LoggerConfigBuilder overhead(LoggingOverhead overhead) {
+      this.overhead = overhead;
+      return this;
+    }
+
     /**
      * Builds a LoggerConfig object with the configured values.
      *
      * @return the LoggerConfig object
      */
     public LoggerConfig build() {
+      final Executor printingExecutor = asyncExecutor != null ? asyncExecutor.build() : executor;
       return new LoggerConfig(isLoggable, level, logger,
-        logByLine, format, executor, maxLineLength, withThreadInfo);
+        logByLine, format, printingExecutor, maxLineLength, withThreadInfo, maxBodyBytes,
+        capturePolicy, outputFormat, exchangeMode, sampler, filter,
+        slowOrFailedPolicy, metrics, overhead);
     }
   }
 
@@ -0,0 +1,145 @@
+package io.github.dkorobtsov.plinter.core;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures overhead of logging layer itself - time spent in each stage of turning exchange into
+ * log event and amount of memory allocated for printing bodies. Allows to verify logging budget in
+ * production and to spot regressions.
+ * <p>
+ * Measured stages:
+ * <ul>
+ * <li>{@link Stage#REQUEST_CONVERSION} - {@link RequestConverter#from}, runs in calling
+ * thread</li>
+ * <li>{@link Stage#RESPONSE_CONVERSION} - {@link ResponseConverter#from}, runs in calling
+ * thread</li>
+ * <li>{@link Stage#RENDERING} - building log event (body formatting included), runs in
+ * printing thread, which is calling thread unless executor is configured</li>
+ * <li>{@link Stage#BODY_FORMATTING} - pretty printing JSON or XML body</li>
+ * <li>{@link Stage#WRITING} - {@link LogWriter} call</li>
+ * </ul>
+ * Durations are recorded in nanoseconds to log-linear {@link Histogram}s (relative error
+ * ~12%), byte counters are {@link LongAdder}s, so recording adds just a few atomic updates and
+ * two {@link System#nanoTime()} calls per stage.
+ * <p>
+ * Usage example:
+ * <pre>
+ *   LoggingOverhead overhead = new LoggingOverhead();
+ *
+ *   LoggerConfig.builder()
+ *     .overhead(overhead)
+ *     .build();
+ *
+ *   long p99 = overhead.snapshot(LoggingOverhead.Stage.RENDERING).p99();
+ * </pre>
+ */
+public final class LoggingOverhead {
+
+  private static final int PRECISION_BITS = 3;
+
+  private final Map<Stage, Histogram> stages = new EnumMap<>(Stage.class);
+  private final LongAdder capturedBodyBytes = new LongAdder();
+  private final LongAdder allocatedBodyBytes = new LongAdder();
+
+  /**
+   * Constructs overhead recorder with empty histograms.
+   */
+  public LoggingOverhead() {
+    for (Stage stage : Stage.values()) {
+      stages.put(stage, new Histogram(PRECISION_BITS));
+    }
+  }
+
+  /**
+   * Records duration of single stage execution.
+   *
+   * @param stage         measured stage
+   * @param durationNanos duration in nanoseconds
+   */
+  public void record(Stage stage, long durationNanos) {
+    stages.get(stage).record(durationNanos);
+  }
+
+  /**
+   * Records body bytes captured for printing. Captured body usually shares memory with client's
+   * own buffers, so these bytes are not counted as allocated.
+   *
+   * @param bytes number of captured bytes
+   */
+  public void recordCapturedBody(long bytes) {
+    capturedBodyBytes.add(bytes);
+  }
+
+  /**
+   * Records memory allocated for body printing - decoded content, body text and its formatted
+   * copy.
+   *
+   * @param bytes number of allocated bytes
+   */
+  public void recordAllocatedBody(long bytes) {
+    allocatedBodyBytes.add(bytes);
+  }
+
+  /**
+   * Returns durations of given stage recorded so far.
+   *
+   * @param stage measured stage
+   * @return durations in nanoseconds
+   */
+  public Histogram.Snapshot snapshot(Stage stage) {
+    return stages.get(stage).snapshot();
+  }
+
+  /**
+   * Returns total number of body bytes captured for printing.
+   *
+   * @return captured bytes
+   */
+  public long capturedBodyBytes() {
+    return capturedBodyBytes.sum();
+  }
+
+  /**
+   * Returns estimated total number of bytes allocated for printing bodies - decompressed content
+   * of encoded bodies, body text and its formatted copy (two bytes per character).
+   *
+   * @return allocated bytes
+   */
+  public long allocatedBodyBytes() {
+    return allocatedBodyBytes.sum();
+  }
+
+  /**
+   * Resets all histograms and counters.
+   */
+  public void reset() {
+    stages.values().forEach(Histogram::snapshotAndReset);
+    capturedBodyBytes.reset();
+    allocatedBodyBytes.reset();
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("LoggingOverhead{");
+    stages.forEach((stage, histogram) ->
+      sb.append(stage).append('=').append(histogram.snapshot()).append(", "));
+    return sb.append("capturedBodyBytes=").append(capturedBodyBytes())
+      .append(", allocatedBodyBytes=").append(allocatedBodyBytes())
+      .append('}')
+      .toString();
+  }
+
+  /**
+   * Measured stage of logging.
+   */
+  public enum Stage {
+    REQUEST_CONVERSION,
+    RESPONSE_CONVERSION,
+    RENDERING,
+    BODY_FORMATTING,
+    WRITING
+  }
+
+}
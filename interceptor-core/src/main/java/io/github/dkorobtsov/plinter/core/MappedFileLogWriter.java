@@ -0,0 +1,540 @@
+package io.github.dkorobtsov.plinter.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * High-throughput {@link LogWriter} appending UTF-8 encoded events (each followed by line feed)
+ * directly into memory-mapped segment files, without going through Java Utility Logger.
+ * <p>
+ * Events are written into current segment with plain memory copy, pages are flushed to disk in
+ * batches by dedicated daemon thread every {@code flushInterval} (group commit), so logging thread
+ * never waits for disk. Segment is rolled when its size limit is reached or (if configured) when
+ * roll interval has elapsed. Events (all lines of an event when logging line by line) fitting
+ * into empty segment are never split between segments.
+ * <p>
+ * Segments are named {@code <prefix>-<sequence>.log}, sequence continues after the highest one
+ * already present in the directory. When segment is rolled, logging thread only opens the next
+ * one - previous segment is handed over to flush thread, which forces it to disk and closes it.
+ * <p>
+ * Segments are never truncated (file can't be truncated while it is mapped on some platforms,
+ * e.g. Windows), so every segment keeps its preallocated size and its content ends at the first
+ * zero byte. NUL characters of events are written as '?', so zero byte always marks end of data -
+ * the same way in completed segments and in ones left incomplete after a crash.
+ * <p>
+ * Usage example:
+ * <pre>
+ *   LoggerConfig.builder()
+ *     .logger(MappedFileLogWriter.builder()
+ *       .directory(Paths.get("logs"))
+ *       .segmentSize(64 * 1024 * 1024)
+ *       .rollInterval(1, TimeUnit.HOURS)
+ *       .build())
+ *     .build();
+ * </pre>
+ * Writer should be closed when no longer needed, events logged after {@link #close()} are
+ * discarded.
+ */
+@SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
+public final class MappedFileLogWriter implements LogWriter, Closeable {
+
+  private static final Logger logger = Logger.getLogger(MappedFileLogWriter.class.getName());
+  private static final AtomicInteger THREAD_COUNTER = new AtomicInteger(1);
+  private static final String THREAD_PREFIX = "Printer-file-flush-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final String SEGMENT_FORMAT = "%s-%06d" + SEGMENT_SUFFIX;
+  private static final byte LINE_FEED = '\n';
+  private static final long CLOSE_TIMEOUT_MS = 1000;
+
+  private final Path directory;
+  private final String prefix;
+  private final int segmentSize;
+  private final long rollIntervalMs;
+  private final long flushIntervalNanos;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+    .onMalformedInput(CodingErrorAction.REPLACE)
+    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  private final Queue<Segment> rolledSegments = new ConcurrentLinkedQueue<>();
+  private final Thread flushThread;
+
+  private long sequence;
+  private volatile Segment segment;
+  private volatile boolean running = true;
+
+  MappedFileLogWriter(Path directory, String prefix, int segmentSize, long rollIntervalMs,
+                      long flushIntervalMs) {
+    this.directory = directory;
+    this.prefix = prefix;
+    this.segmentSize = segmentSize;
+    this.rollIntervalMs = rollIntervalMs;
+    this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+    try {
+      Files.createDirectories(directory);
+      this.sequence = lastSequence(directory, prefix);
+      this.segment = openSegment();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to open log segment in " + directory, e);
+    }
+    this.flushThread = new Thread(this::flushLoop,
+      THREAD_PREFIX + THREAD_COUNTER.getAndIncrement());
+    this.flushThread.setDaemon(true);
+    this.flushThread.start();
+  }
+
+  /**
+   * Constructs a new MappedFileLogWriterBuilder.
+   *
+   * @return the MappedFileLogWriterBuilder instance
+   */
+  public static MappedFileLogWriterBuilder builder() {
+    return new MappedFileLogWriterBuilder();
+  }
+
+  @Override
+  public void log(String msg) {
+    lock.lock();
+    try {
+      append(msg);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Encodes event directly from provided characters, without creating intermediate string.
+   *
+   * @param event rendered event
+   */
+  @Override
+  public void logChars(CharSequence event) {
+    lock.lock();
+    try {
+      append(event);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Appends all lines of an event with single lock acquisition. Size of the whole event is
+   * checked before first line is written, so lines of the event end up in the same segment.
+   *
+   * @param lines event lines in printing order
+   */
+  @Override
+  public void logLines(List<String> lines) {
+    lock.lock();
+    try {
+      if (!running) {
+        return;
+      }
+      long eventSize = 0;
+      for (String line : lines) {
+        eventSize += utf8Length(line) + 1L;
+      }
+      Segment current = reserve(eventSize);
+      for (String line : lines) {
+        current = write(current, line);
+      }
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "Failed to roll log segment, event discarded", e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void append(CharSequence event) {
+    if (!running) {
+      return;
+    }
+    try {
+      write(reserve(utf8Length(event) + 1L), event);
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "Failed to roll log segment, event discarded", e);
+    }
+  }
+
+  /**
+   * Returns segment event of provided size should be written to, rolling current one if event
+   * does not fit into its remaining space.
+   */
+  private Segment reserve(long eventSize) throws IOException {
+    final Segment current = segment;
+    if (current == null || isExpired(current)
+      || eventSize > current.buffer.remaining() && current.buffer.position() > 0) {
+      return roll();
+    }
+    return current;
+  }
+
+  /**
+   * Encodes event followed by line feed, event longer than whole segment continues in the next
+   * one.
+   *
+   * @return segment event was finished in
+   */
+  private Segment write(Segment target, CharSequence event) throws IOException {
+    Segment current = target;
+    final CharBuffer chars = CharBuffer.wrap(withoutNul(event));
+    encoder.reset();
+    while (encoder.encode(chars, current.buffer, true).isOverflow()) {
+      current = roll();
+    }
+    while (encoder.flush(current.buffer).isOverflow()) {
+      current = roll();
+    }
+    if (!current.buffer.hasRemaining()) {
+      current = roll();
+    }
+    current.buffer.put(LINE_FEED);
+    current.written = current.buffer.position();
+    return current;
+  }
+
+  /**
+   * Replaces NUL characters with '?' (same size in UTF-8), since zero byte marks end of data.
+   */
+  private static CharSequence withoutNul(CharSequence event) {
+    for (int i = 0; i < event.length(); i++) {
+      if (event.charAt(i) == '\0') {
+        return event.toString().replace('\0', '?');
+      }
+    }
+    return event;
+  }
+
+  private boolean isExpired(Segment current) {
+    return rollIntervalMs > 0
+      && current.buffer.position() > 0
+      && System.currentTimeMillis() - current.createdAtMs >= rollIntervalMs;
+  }
+
+  /**
+   * Opens next segment. Previous one is closed by flush thread, so logging thread does not wait
+   * until it is forced to disk.
+   */
+  private Segment roll() throws IOException {
+    final Segment previous = segment;
+    segment = null;
+    if (previous != null) {
+      rolledSegments.add(previous);
+      LockSupport.unpark(flushThread);
+    }
+    segment = openSegment();
+    return segment;
+  }
+
+  private Segment openSegment() throws IOException {
+    final Path path = directory
+      .resolve(String.format(Locale.US, SEGMENT_FORMAT, prefix, ++sequence));
+    final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+      StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      return new Segment(path, channel,
+        channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  private void flushLoop() {
+    while (running) {
+      LockSupport.parkNanos(this, flushIntervalNanos);
+      flush();
+    }
+  }
+
+  /**
+   * Forces all events written so far to disk, closing segments rolled since previous flush.
+   * Called periodically (and after each roll) by flush thread, but can be called explicitly as
+   * well.
+   */
+  public void flush() {
+    closeRolledSegments();
+    final Segment current = segment;
+    if (current != null) {
+      current.force();
+    }
+  }
+
+  private void closeRolledSegments() {
+    Segment rolled = rolledSegments.poll();
+    while (rolled != null) {
+      try {
+        rolled.close();
+      } catch (IOException e) {
+        logger.log(Level.SEVERE, "Failed to close log segment " + rolled.path, e);
+      }
+      rolled = rolledSegments.poll();
+    }
+  }
+
+  /**
+   * Returns path of segment events are currently written to.
+   *
+   * @return current segment path or null if writer is closed
+   */
+  public Path currentSegment() {
+    final Segment current = segment;
+    return current == null ? null : current.path;
+  }
+
+  /**
+   * Stops flush thread, forces current and not yet closed rolled segments to disk and closes
+   * them.
+   */
+  @Override
+  public void close() {
+    running = false;
+    LockSupport.unpark(flushThread);
+    try {
+      flushThread.join(CLOSE_TIMEOUT_MS);
+    } catch (InterruptedException e) {
+      logger.log(Level.SEVERE, e.getMessage(), e);
+      Thread.currentThread().interrupt();
+    }
+
+    lock.lock();
+    try {
+      closeRolledSegments();
+      final Segment current = segment;
+      segment = null;
+      if (current != null) {
+        current.close();
+      }
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, e.getMessage(), e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns number of bytes in UTF-8 representation of provided string. Unpaired surrogates are
+   * counted as single byte, same as replacement character written by encoder.
+   */
+  static long utf8Length(CharSequence value) {
+    long length = 0;
+    final int size = value.length();
+    for (int i = 0; i < size; i++) {
+      final char c = value.charAt(i);
+      if (c < 0x80) {
+        length++;
+      } else if (c < 0x800) {
+        length += 2;
+      } else if (Character.isHighSurrogate(c) && i + 1 < size
+        && Character.isLowSurrogate(value.charAt(i + 1))) {
+        length += 4;
+        i++;
+      } else if (Character.isSurrogate(c)) {
+        length++;
+      } else {
+        length += 3;
+      }
+    }
+    return length;
+  }
+
+  private static long lastSequence(Path directory, String prefix) throws IOException {
+    long last = 0;
+    final String segmentPrefix = prefix + '-';
+    try (DirectoryStream<Path> files = Files
+      .newDirectoryStream(directory, segmentPrefix + "*" + SEGMENT_SUFFIX)) {
+      for (Path file : files) {
+        final String name = file.getFileName().toString();
+        final String number = name
+          .substring(segmentPrefix.length(), name.length() - SEGMENT_SUFFIX.length());
+        try {
+          last = Math.max(last, Long.parseLong(number));
+        } catch (NumberFormatException expected) {
+          // Not a segment file, skipping it
+        }
+      }
+    }
+    return last;
+  }
+
+  @Override
+  public String toString() {
+    return "MappedFileLogWriter{"
+      + "directory=" + directory
+      + ", prefix=" + prefix
+      + ", segmentSize=" + segmentSize
+      + ", rollIntervalMs=" + rollIntervalMs
+      + '}';
+  }
+
+  /**
+   * Single memory-mapped segment file. Forcing and closing are synchronized on segment, so
+   * segment is never forced after its channel was closed.
+   */
+  private static final class Segment {
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long createdAtMs = System.currentTimeMillis();
+
+    private volatile int written;
+    private int forced;
+    private boolean closed;
+
+    Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+      this.path = path;
+      this.channel = channel;
+      this.buffer = buffer;
+    }
+
+    synchronized void force() {
+      final int position = written;
+      if (!closed && position != forced) {
+        buffer.force();
+        forced = position;
+      }
+    }
+
+    synchronized void close() throws IOException {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      try {
+        buffer.force();
+      } finally {
+        channel.close();
+      }
+    }
+  }
+
+  /**
+   * Helper class for creating {@link MappedFileLogWriter} instances.
+   */
+  public static class MappedFileLogWriterBuilder {
+
+    private static final int MIN_SEGMENT_SIZE = 4 * 1024;
+
+    private Path directory;
+    private String prefix = "plinter";
+    private int segmentSize = 64 * 1024 * 1024;
+    private long rollIntervalMs;
+    private long flushIntervalMs = 1000;
+
+    /**
+     * Sets directory where segment files are created. Directory is created if it does not exist.
+     *
+     * @param directory segment files directory, required
+     * @return the MappedFileLogWriterBuilder instance
+     */
+    public MappedFileLogWriterBuilder directory(Path directory) {
+      this.directory = directory;
+      return this;
+    }
+
+    /**
+     * Sets segment file name prefix.
+     *
+     * @param prefix segment file name prefix
+     *               <p>
+     *               Default: plinter
+     * @return the MappedFileLogWriterBuilder instance
+     */
+    public MappedFileLogWriterBuilder prefix(String prefix) {
+      if (prefix == null || prefix.trim().isEmpty()) {
+        throw new IllegalArgumentException("Segment file prefix should not be empty.");
+      }
+      this.prefix = prefix;
+      return this;
+    }
+
+    /**
+     * Sets segment size - whole segment is mapped into memory when segment is created.
+     *
+     * @param segmentSize segment size in bytes
+     *                    <p>
+     *                    Min value: 4096, Default: 67108864 (64 MiB)
+     * @return the MappedFileLogWriterBuilder instance
+     */
+    public MappedFileLogWriterBuilder segmentSize(int segmentSize) {
+      if (segmentSize < MIN_SEGMENT_SIZE) {
+        throw new IllegalArgumentException(
+          "Invalid segment size. Should be at least " + MIN_SEGMENT_SIZE + " bytes.");
+      }
+      this.segmentSize = segmentSize;
+      return this;
+    }
+
+    /**
+     * Sets time after which non-empty segment is rolled, even if it is not full.
+     *
+     * @param interval roll interval, 0 disables time based rolling
+     *                 <p>
+     *                 Default: 0
+     * @param unit     interval time unit
+     * @return the MappedFileLogWriterBuilder instance
+     */
+    public MappedFileLogWriterBuilder rollInterval(long interval, TimeUnit unit) {
+      if (interval < 0) {
+        throw new IllegalArgumentException("Invalid roll interval. Should not be negative.");
+      }
+      this.rollIntervalMs = unit.toMillis(interval);
+      return this;
+    }
+
+    /**
+     * Sets how often written events are forced to disk by flush thread.
+     *
+     * @param interval flush interval
+     *                 <p>
+     *                 Min value: 1 ms, Default: 1 second
+     * @param unit     interval time unit
+     * @return the MappedFileLogWriterBuilder instance
+     */
+    public MappedFileLogWriterBuilder flushInterval(long interval, TimeUnit unit) {
+      if (unit.toMillis(interval) < 1) {
+        throw new IllegalArgumentException(
+          "Invalid flush interval. Should be at least 1 millisecond.");
+      }
+      this.flushIntervalMs = unit.toMillis(interval);
+      return this;
+    }
+
+    /**
+     * Builds writer, creates first segment and starts flush thread.
+     *
+     * @return the MappedFileLogWriter object
+     * @throws UncheckedIOException if segment file can't be created
+     */
+    public MappedFileLogWriter build() {
+      if (directory == null) {
+        throw new IllegalArgumentException("Segment files directory should be provided.");
+      }
+      return new MappedFileLogWriter(directory, prefix, segmentSize, rollIntervalMs,
+        flushIntervalMs);
+    }
+  }
+
+}
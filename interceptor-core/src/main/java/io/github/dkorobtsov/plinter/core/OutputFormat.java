@@ -0,0 +1,31 @@
+package io.github.dkorobtsov.plinter.core;
+
+/**
+ * Formats of intercepted events produced by interceptor. Unlike {@link LoggingFormat}, which
+ * configures how default Java Utility Logger decorates messages, this setting defines content of
+ * the messages themselves.
+ */
+@SuppressWarnings("JavadocStyle")
+public enum OutputFormat {
+  /**
+   * Human-readable multi-line events with box-drawing frame and pretty printed body.
+   * Example:
+   * <pre>{@code
+   * ┌────── Request ──────────────────────────────────
+   *   URL: http://localhost:8080/api/v1/items
+   *
+   *   Method: @GET
+   * └─────────────────────────────────────────────────
+   * }</pre>
+   */
+  PRETTY,
+  /**
+   * Each event is a single compact JSON line, body is printed as escaped string as is, without
+   * formatting. Intended for log shippers, which can ingest events without parsing.
+   * Example:
+   * <pre>{@code
+   * {"type":"request","url":"http://localhost:8080/api/v1/items","method":"GET","headers":{}}
+   * }</pre>
+   */
+  JSON
+}
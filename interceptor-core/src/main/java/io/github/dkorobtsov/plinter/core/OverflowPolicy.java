@@ -0,0 +1,28 @@
+package io.github.dkorobtsov.plinter.core;
+
+/**
+ * Policies regulating {@link AsyncPrintingExecutor} behavior when printing queue is full, i.e.
+ * when intercepted events are produced faster than they can be printed.
+ */
+public enum OverflowPolicy {
+  /**
+   * Calling thread waits until printer frees some space in the queue. No events are lost, but
+   * slow logger will eventually slow down HTTP client as well.
+   */
+  BLOCK,
+  /**
+   * New event is discarded if queue is full.
+   */
+  DROP_NEWEST,
+  /**
+   * Oldest queued event is discarded to make room for the new one.
+   */
+  DROP_OLDEST,
+  /**
+   * Once queue is half full only every n-th event is accepted, all others are discarded. If queue
+   * is full new event is discarded.
+   *
+   * @see AsyncPrintingExecutor.AsyncPrintingExecutorBuilder#sampleRate(int)
+   */
+  SAMPLE
+}
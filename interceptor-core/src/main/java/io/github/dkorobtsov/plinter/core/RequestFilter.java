@@ -0,0 +1,393 @@
+package io.github.dkorobtsov.plinter.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Include and exclude rules deciding which requests are logged at all, e.g. to silence health
+ * checks or metrics scrapes. Rules are evaluated by interceptor against native client request,
+ * before request is converted, so filtered out exchanges cost only the rules check.
+ * <p>
+ * Request is logged if it does not match any exclude rule and, when include rules are defined,
+ * matches at least one include rule. Rules can match:
+ * <ul>
+ * <li>path - either literal prefix ("/health" matches "/health" and "/health/live", but not
+ * "/healthy") or glob pattern, where "*" matches any characters within path segment, "**" any
+ * characters including "/" and "?" single character</li>
+ * <li>host - exact host name or glob pattern like "*.internal", case insensitive</li>
+ * <li>method - HTTP method, case insensitive</li>
+ * <li>header - request contains header with provided name</li>
+ * </ul>
+ * Literal path prefixes are stored in a prefix tree, so path is matched in a single walk over its
+ * characters regardless of number of prefixes. Path and host glob patterns of the same kind are
+ * compiled once into single regular expression - it is matched by trying each alternative in turn,
+ * so its cost still grows with number of glob rules.
+ * <p>
+ * Usage example:
+ * <pre>
+ *   LoggerConfig.builder()
+ *     .filter(RequestFilter.builder()
+ *       .excludePath("/health", "/metrics/**")
+ *       .excludeMethod("OPTIONS")
+ *       .excludeHeader("X-Synthetic-Check")
+ *       .build())
+ *     .build();
+ * </pre>
+ */
+public final class RequestFilter {
+
+  private final Rules includes;
+  private final Rules excludes;
+
+  private RequestFilter(Rules includes, Rules excludes) {
+    this.includes = includes;
+    this.excludes = excludes;
+  }
+
+  /**
+   * Constructs a new RequestFilterBuilder.
+   *
+   * @return the RequestFilterBuilder instance
+   */
+  public static RequestFilterBuilder builder() {
+    return new RequestFilterBuilder();
+  }
+
+  /**
+   * Checks if request should be logged.
+   *
+   * @param host      request host, can be null
+   * @param path      request path (without query), can be null
+   * @param method    request method
+   * @param hasHeader returns true if request contains header with given name, is called only
+   *                  when header rules are defined
+   * @return true if request matches filter rules and should be logged
+   */
+  public boolean isLogged(String host, String path, String method, Predicate<String> hasHeader) {
+    return !excludes.matches(host, path, method, hasHeader)
+      && (includes.isEmpty() || includes.matches(host, path, method, hasHeader));
+  }
+
+  @Override
+  public String toString() {
+    return "RequestFilter{"
+      + "includes=" + includes
+      + ", excludes=" + excludes
+      + '}';
+  }
+
+  private static boolean isGlob(String pattern) {
+    return pattern.indexOf('*') >= 0 || pattern.indexOf('?') >= 0;
+  }
+
+  private static String globRegex(String glob) {
+    final StringBuilder regex = new StringBuilder();
+    final StringBuilder literal = new StringBuilder();
+    for (int i = 0; i < glob.length(); i++) {
+      final char c = glob.charAt(i);
+      if (c != '*' && c != '?') {
+        literal.append(c);
+        continue;
+      }
+      if (literal.length() > 0) {
+        regex.append(Pattern.quote(literal.toString()));
+        literal.setLength(0);
+      }
+      if (c == '?') {
+        regex.append("[^/]");
+      } else if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+        regex.append(".*");
+        i++;
+      } else {
+        regex.append("[^/]*");
+      }
+    }
+    if (literal.length() > 0) {
+      regex.append(Pattern.quote(literal.toString()));
+    }
+    return regex.toString();
+  }
+
+  /**
+   * Compiled set of rules of single kind (includes or excludes).
+   */
+  private static final class Rules {
+
+    private final PathPrefixes pathPrefixes;
+    private final Pattern paths;
+    private final Pattern hosts;
+    private final Set<String> methods;
+    private final List<String> headers;
+
+    Rules(List<String> pathPatterns, List<String> hostGlobs, Set<String> methods,
+          List<String> headers) {
+      final List<String> pathGlobs = new ArrayList<>();
+      final PathPrefixes prefixes = new PathPrefixes();
+      for (String pattern : pathPatterns) {
+        if (isGlob(pattern)) {
+          pathGlobs.add(pattern);
+        } else {
+          prefixes.add(pattern);
+        }
+      }
+      this.pathPrefixes = prefixes.isEmpty() ? null : prefixes;
+      this.paths = compile(pathGlobs, RequestFilter::globRegex, 0);
+      this.hosts = compile(hostGlobs, RequestFilter::globRegex, Pattern.CASE_INSENSITIVE);
+      this.methods = Collections.unmodifiableSet(new HashSet<>(methods));
+      this.headers = Collections.unmodifiableList(new ArrayList<>(headers));
+    }
+
+    private static Pattern compile(List<String> globs,
+                                   Function<String, String> toRegex,
+                                   int flags) {
+      if (globs.isEmpty()) {
+        return null;
+      }
+      final StringBuilder regex = new StringBuilder();
+      for (String glob : globs) {
+        regex.append(regex.length() == 0 ? "(?:" : "|(?:").append(toRegex.apply(glob))
+          .append(')');
+      }
+      return Pattern.compile(regex.toString(), flags);
+    }
+
+    boolean isEmpty() {
+      return pathPrefixes == null && paths == null && hosts == null && methods.isEmpty()
+        && headers.isEmpty();
+    }
+
+    boolean matches(String host, String path, String method, Predicate<String> hasHeader) {
+      if (pathPrefixes != null && path != null && pathPrefixes.matches(path)) {
+        return true;
+      }
+      if (paths != null && path != null && paths.matcher(path).matches()) {
+        return true;
+      }
+      if (hosts != null && host != null && hosts.matcher(host).matches()) {
+        return true;
+      }
+      if (method != null && methods.contains(method.toUpperCase(Locale.US))) {
+        return true;
+      }
+      for (String header : headers) {
+        if (hasHeader.test(header)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public String toString() {
+      return "{pathPrefixes=" + pathPrefixes
+        + ", paths=" + paths
+        + ", hosts=" + hosts
+        + ", methods=" + methods
+        + ", headers=" + headers
+        + '}';
+    }
+  }
+
+  /**
+   * Prefix tree of literal path prefixes, matched on segment boundary: "/health" matches
+   * "/health" and "/health/live", but not "/healthy".
+   */
+  private static final class PathPrefixes {
+
+    private final Node root = new Node();
+    private final List<String> prefixes = new ArrayList<>();
+
+    void add(String pattern) {
+      final int end = pattern.endsWith("/") ? pattern.length() - 1 : pattern.length();
+      Node node = root;
+      for (int i = 0; i < end; i++) {
+        node = node.children.computeIfAbsent(pattern.charAt(i), c -> new Node());
+      }
+      node.isPrefixEnd = true;
+      prefixes.add(pattern);
+    }
+
+    boolean isEmpty() {
+      return prefixes.isEmpty();
+    }
+
+    boolean matches(String path) {
+      Node node = root;
+      for (int i = 0; ; i++) {
+        if (node.isPrefixEnd && (i == path.length() || path.charAt(i) == '/')) {
+          return true;
+        }
+        if (i == path.length()) {
+          return false;
+        }
+        node = node.children.get(path.charAt(i));
+        if (node == null) {
+          return false;
+        }
+      }
+    }
+
+    @Override
+    public String toString() {
+      return String.valueOf(prefixes);
+    }
+
+    private static final class Node {
+
+      private final Map<Character, Node> children = new HashMap<>();
+      private boolean isPrefixEnd;
+    }
+  }
+
+  /**
+   * Helper class for creating {@link RequestFilter} instances.
+   */
+  public static class RequestFilterBuilder {
+
+    private final List<String> includedPaths = new ArrayList<>();
+    private final List<String> includedHosts = new ArrayList<>();
+    private final Set<String> includedMethods = new HashSet<>();
+    private final List<String> includedHeaders = new ArrayList<>();
+    private final List<String> excludedPaths = new ArrayList<>();
+    private final List<String> excludedHosts = new ArrayList<>();
+    private final Set<String> excludedMethods = new HashSet<>();
+    private final List<String> excludedHeaders = new ArrayList<>();
+
+    /**
+     * Logs only requests with matching path (unless excluded by other rules).
+     *
+     * @param patterns path prefixes or glob patterns, e.g. "/api/**"
+     * @return the RequestFilterBuilder instance
+     */
+    public RequestFilterBuilder includePath(String... patterns) {
+      addPaths(includedPaths, patterns);
+      return this;
+    }
+
+    /**
+     * Logs only requests to matching hosts (unless excluded by other rules).
+     *
+     * @param patterns host names or glob patterns, e.g. "*.example.com"
+     * @return the RequestFilterBuilder instance
+     */
+    public RequestFilterBuilder includeHost(String... patterns) {
+      addValues(includedHosts, patterns, "host");
+      return this;
+    }
+
+    /**
+     * Logs only requests with matching method (unless excluded by other rules).
+     *
+     * @param methods HTTP methods
+     * @return the RequestFilterBuilder instance
+     */
+    public RequestFilterBuilder includeMethod(String... methods) {
+      addMethods(includedMethods, methods);
+      return this;
+    }
+
+    /**
+     * Logs only requests containing header with provided name (unless excluded by other rules).
+     *
+     * @param names header names
+     * @return the RequestFilterBuilder instance
+     */
+    public RequestFilterBuilder includeHeader(String... names) {
+      addValues(includedHeaders, names, "header name");
+      return this;
+    }
+
+    /**
+     * Never logs requests with matching path.
+     *
+     * @param patterns path prefixes or glob patterns, e.g. "/health" or "/internal/**"
+     * @return the RequestFilterBuilder instance
+     */
+    public RequestFilterBuilder excludePath(String... patterns) {
+      addPaths(excludedPaths, patterns);
+      return this;
+    }
+
+    /**
+     * Never logs requests to matching hosts.
+     *
+     * @param patterns host names or glob patterns, e.g. "*.internal"
+     * @return the RequestFilterBuilder instance
+     */
+    public RequestFilterBuilder excludeHost(String... patterns) {
+      addValues(excludedHosts, patterns, "host");
+      return this;
+    }
+
+    /**
+     * Never logs requests with matching method.
+     *
+     * @param methods HTTP methods, e.g. "OPTIONS"
+     * @return the RequestFilterBuilder instance
+     */
+    public RequestFilterBuilder excludeMethod(String... methods) {
+      addMethods(excludedMethods, methods);
+      return this;
+    }
+
+    /**
+     * Never logs requests containing header with provided name.
+     *
+     * @param names header names
+     * @return the RequestFilterBuilder instance
+     */
+    public RequestFilterBuilder excludeHeader(String... names) {
+      addValues(excludedHeaders, names, "header name");
+      return this;
+    }
+
+    private static void addPaths(List<String> target, String... patterns) {
+      for (String pattern : patterns) {
+        if (pattern == null || !pattern.startsWith("/") && !pattern.startsWith("*")) {
+          throw new IllegalArgumentException(
+            "Invalid path pattern: " + pattern + ". Should start with '/' or '*'.");
+        }
+        target.add(pattern);
+      }
+    }
+
+    private static void addMethods(Set<String> target, String... methods) {
+      for (String method : methods) {
+        if (method == null || method.trim().isEmpty()) {
+          throw new IllegalArgumentException("Invalid method: " + method);
+        }
+        target.add(method.trim().toUpperCase(Locale.US));
+      }
+    }
+
+    private static void addValues(List<String> target, String[] values, String kind) {
+      for (String value : values) {
+        if (value == null || value.trim().isEmpty()) {
+          throw new IllegalArgumentException("Invalid " + kind + ": " + value);
+        }
+        target.add(value.trim());
+      }
+    }
+
+    /**
+     * Builds a RequestFilter object and compiles its rules.
+     *
+     * @return the RequestFilter object
+     */
+    public RequestFilter build() {
+      return new RequestFilter(
+        new Rules(includedPaths, includedHosts, includedMethods, includedHeaders),
+        new Rules(excludedPaths, excludedHosts, excludedMethods, excludedHeaders));
+    }
+  }
+
+}
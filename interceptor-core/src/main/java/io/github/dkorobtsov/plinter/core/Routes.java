@@ -0,0 +1,72 @@
+package io.github.dkorobtsov.plinter.core;
+
+/**
+ * Route normalization shared by components keeping state per route ({@link ExchangeMetrics},
+ * {@link Sampler}). Numeric and UUID-like path segments are replaced with "{id}", so that e.g.
+ * "/users/42" and "/users/43" are treated as single route "/users/{id}" and number of routes
+ * does not grow with number of requested resources.
+ */
+final class Routes {
+
+  private static final String ID = "{id}";
+  private static final int MIN_ID_LENGTH = 16;
+
+  private Routes() {
+  }
+
+  /**
+   * Returns path with numeric and UUID-like segments replaced by "{id}". Path is returned as is
+   * (without copying) if it contains no such segments.
+   *
+   * @param path request path without query, can be null
+   * @return normalized path, "/" for empty path
+   */
+  static String normalize(String path) {
+    if (path == null || path.isEmpty()) {
+      return "/";
+    }
+    StringBuilder route = null;
+    int segmentStart = 0;
+    for (int i = 0; i <= path.length(); i++) {
+      if (i < path.length() && path.charAt(i) != '/') {
+        continue;
+      }
+      final boolean isId = isId(path, segmentStart, i);
+      if (isId && route == null) {
+        route = new StringBuilder(path.length()).append(path, 0, segmentStart);
+      }
+      if (route != null) {
+        if (isId) {
+          route.append(ID);
+        } else {
+          route.append(path, segmentStart, i);
+        }
+        if (i < path.length()) {
+          route.append('/');
+        }
+      }
+      segmentStart = i + 1;
+    }
+    return route == null ? path : route.toString();
+  }
+
+  private static boolean isId(String path, int start, int end) {
+    if (start >= end) {
+      return false;
+    }
+    boolean isNumeric = true;
+    boolean hasDigit = false;
+    for (int i = start; i < end; i++) {
+      final char c = path.charAt(i);
+      if (c >= '0' && c <= '9') {
+        hasDigit = true;
+      } else if (c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F' || c == '-') {
+        isNumeric = false;
+      } else {
+        return false;
+      }
+    }
+    return isNumeric || hasDigit && end - start >= MIN_ID_LENGTH;
+  }
+
+}
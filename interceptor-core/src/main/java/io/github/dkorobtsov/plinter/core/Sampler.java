@@ -0,0 +1,359 @@
+package io.github.dkorobtsov.plinter.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides which exchanges are logged when logging every exchange is too expensive. Decision is
+ * made by interceptor before request is converted, so exchanges which are not sampled cost only
+ * the decision itself.
+ * <p>
+ * Exchange is sampled only if all configured strategies accept it:
+ * <ul>
+ * <li>fixed rate - exchange is accepted with given probability</li>
+ * <li>token bucket - at most given number of exchanges per second is accepted for each host
+ * (or route - host and path with numeric and UUID-like segments replaced by "{id}"), with short
+ * bursts allowed up to bucket capacity</li>
+ * </ul>
+ * Number of tracked buckets is bounded - when limit is reached, buckets which were idle long
+ * enough to refill completely are evicted (such bucket is equal to a new one), and while there
+ * are no such buckets, exchanges of new hosts or routes share single bucket.
+ * Overrides make sure that important exchanges are logged even if they were not sampled:
+ * responses with client (4xx) or server (5xx) error status and calls failed with exception.
+ * <p>
+ * Usage example:
+ * <pre>
+ *   LoggerConfig.builder()
+ *     .sampler(Sampler.builder()
+ *       .rate(0.1)
+ *       .tokenBucket(10, 20)
+ *       .alwaysLogServerErrors(true)
+ *       .alwaysLogFailures(true)
+ *       .build())
+ *     .build();
+ * </pre>
+ * Sampler is thread safe and can be shared between several interceptors.
+ */
+@SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
+public final class Sampler {
+
+  private static final int MAX_BUCKETS = 4096;
+  private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+  private static final int CLIENT_ERROR = 400;
+  private static final int SERVER_ERROR = 500;
+  private static final int MAX_STATUS = 600;
+
+  private final double rate;
+  private final int permitsPerSecond;
+  private final int burst;
+  private final boolean perRoute;
+  private final boolean alwaysLogClientErrors;
+  private final boolean alwaysLogServerErrors;
+  private final boolean alwaysLogFailures;
+  private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+  private final TokenBucket sharedBucket;
+  private final AtomicLong lastEvictionNanos = new AtomicLong(System.nanoTime() - NANOS_PER_SECOND);
+
+  private final LongAdder sampledEvents = new LongAdder();
+  private final LongAdder suppressedEvents = new LongAdder();
+  private final LongAdder forcedEvents = new LongAdder();
+
+  Sampler(double rate, int permitsPerSecond, int burst, boolean perRoute,
+          boolean alwaysLogClientErrors, boolean alwaysLogServerErrors,
+          boolean alwaysLogFailures) {
+    this.rate = rate;
+    this.permitsPerSecond = permitsPerSecond;
+    this.burst = burst;
+    this.perRoute = perRoute;
+    this.alwaysLogClientErrors = alwaysLogClientErrors;
+    this.alwaysLogServerErrors = alwaysLogServerErrors;
+    this.alwaysLogFailures = alwaysLogFailures;
+    this.sharedBucket = permitsPerSecond > 0 ? new TokenBucket(permitsPerSecond, burst) : null;
+  }
+
+  /**
+   * Constructs a new SamplerBuilder.
+   *
+   * @return the SamplerBuilder instance
+   */
+  public static SamplerBuilder builder() {
+    return new SamplerBuilder();
+  }
+
+  /**
+   * Decides if exchange should be logged.
+   *
+   * @param host request host, can be null
+   * @param path request path, can be null
+   * @return true if exchange is sampled
+   */
+  public boolean sample(String host, String path) {
+    final boolean isSampled = (rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate)
+      && (permitsPerSecond == 0 || bucket(host, path).tryAcquire());
+    if (isSampled) {
+      sampledEvents.increment();
+    } else {
+      suppressedEvents.increment();
+    }
+    return isSampled;
+  }
+
+  /**
+   * Checks if exchange which was not sampled should still be logged because of response status.
+   *
+   * @param statusCode response status code
+   * @return true if exchange should be logged
+   */
+  public boolean forceOnStatus(int statusCode) {
+    final boolean isForced = alwaysLogClientErrors
+      && statusCode >= CLIENT_ERROR && statusCode < SERVER_ERROR
+      || alwaysLogServerErrors && statusCode >= SERVER_ERROR && statusCode < MAX_STATUS;
+    if (isForced) {
+      forcedEvents.increment();
+    }
+    return isForced;
+  }
+
+  /**
+   * Checks if exchange which was not sampled should still be logged because call failed with
+   * exception.
+   *
+   * @return true if failed exchange should be logged
+   */
+  public boolean forceOnFailure() {
+    if (alwaysLogFailures) {
+      forcedEvents.increment();
+    }
+    return alwaysLogFailures;
+  }
+
+  /**
+   * Returns total number of sampled exchanges.
+   *
+   * @return number of sampled exchanges
+   */
+  public long sampledEvents() {
+    return sampledEvents.sum();
+  }
+
+  /**
+   * Returns total number of exchanges which were not sampled.
+   *
+   * @return number of suppressed exchanges
+   */
+  public long suppressedEvents() {
+    return suppressedEvents.sum();
+  }
+
+  /**
+   * Returns total number of not sampled exchanges which were logged anyway because of error
+   * status or failure.
+   *
+   * @return number of forced exchanges
+   */
+  public long forcedEvents() {
+    return forcedEvents.sum();
+  }
+
+  private TokenBucket bucket(String host, String path) {
+    final String key = perRoute ? host + ' ' + Routes.normalize(path) : String.valueOf(host);
+    final TokenBucket bucket = buckets.get(key);
+    if (bucket != null) {
+      return bucket;
+    }
+    if (buckets.size() >= MAX_BUCKETS && !evictIdleBuckets()) {
+      return sharedBucket;
+    }
+    return buckets.computeIfAbsent(key, k -> new TokenBucket(permitsPerSecond, burst));
+  }
+
+  /**
+   * Removes buckets which are full again. Map is scanned at most once per second, so new keys
+   * don't trigger a scan every time while all tracked buckets are in use.
+   *
+   * @return true if there is room for new bucket
+   */
+  private boolean evictIdleBuckets() {
+    final long now = System.nanoTime();
+    final long lastEviction = lastEvictionNanos.get();
+    if (now - lastEviction >= NANOS_PER_SECOND
+      && lastEvictionNanos.compareAndSet(lastEviction, now)) {
+      buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+    return buckets.size() < MAX_BUCKETS;
+  }
+
+  @Override
+  public String toString() {
+    return "Sampler{"
+      + "rate=" + rate
+      + ", permitsPerSecond=" + permitsPerSecond
+      + ", burst=" + burst
+      + ", perRoute=" + perRoute
+      + ", alwaysLogClientErrors=" + alwaysLogClientErrors
+      + ", alwaysLogServerErrors=" + alwaysLogServerErrors
+      + ", alwaysLogFailures=" + alwaysLogFailures
+      + '}';
+  }
+
+  /**
+   * Token bucket refilled continuously with configured number of permits per second.
+   */
+  private static final class TokenBucket {
+
+    private final long nanosPerPermit;
+    private final long capacityNanos;
+    private long availableAt;
+
+    TokenBucket(int permitsPerSecond, int burst) {
+      this.nanosPerPermit = NANOS_PER_SECOND / permitsPerSecond;
+      this.capacityNanos = nanosPerPermit * burst;
+      this.availableAt = System.nanoTime() - capacityNanos;
+    }
+
+    /**
+     * Checks if bucket was refilled to its capacity, i.e. it does not differ from a new one.
+     */
+    synchronized boolean isFull(long now) {
+      return availableAt <= now - capacityNanos;
+    }
+
+    /**
+     * Bucket state is kept as a single timestamp - moment when bucket would be empty, so taking
+     * permit is just moving it forward by one permit interval.
+     */
+    synchronized boolean tryAcquire() {
+      final long now = System.nanoTime();
+      final long start = Math.max(availableAt, now - capacityNanos);
+      if (start + nanosPerPermit > now) {
+        return false;
+      }
+      availableAt = start + nanosPerPermit;
+      return true;
+    }
+  }
+
+  /**
+   * Helper class for creating {@link Sampler} instances.
+   */
+  public static class SamplerBuilder {
+
+    private double rate = 1.0;
+    private int permitsPerSecond;
+    private int burst;
+    private boolean perRoute;
+    private boolean alwaysLogClientErrors;
+    private boolean alwaysLogServerErrors;
+    private boolean alwaysLogFailures;
+
+    /**
+     * Sets probability of exchange being sampled.
+     *
+     * @param rate sampling probability
+     *             <p>
+     *             Min value: 0.0, Max value: 1.0, Default: 1.0
+     * @return the SamplerBuilder instance
+     */
+    public SamplerBuilder rate(double rate) {
+      if (!(rate >= 0.0 && rate <= 1.0)) {
+        throw new IllegalArgumentException(
+          "Invalid sampling rate. Should be between 0.0 and 1.0.");
+      }
+      this.rate = rate;
+      return this;
+    }
+
+    /**
+     * Limits number of sampled exchanges per host (or route, see {@link #perRoute(boolean)}).
+     *
+     * @param permitsPerSecond number of exchanges sampled per second, 0 disables limit
+     *                         <p>
+     *                         Default: 0
+     * @param burst            number of exchanges which can be sampled at once after idle time
+     *                         <p>
+     *                         Min value: 1
+     * @return the SamplerBuilder instance
+     */
+    public SamplerBuilder tokenBucket(int permitsPerSecond, int burst) {
+      if (permitsPerSecond < 0) {
+        throw new IllegalArgumentException(
+          "Invalid permits per second. Should not be negative.");
+      }
+      if (burst < 1) {
+        throw new IllegalArgumentException("Invalid burst size. Should be at least 1.");
+      }
+      this.permitsPerSecond = permitsPerSecond;
+      this.burst = burst;
+      return this;
+    }
+
+    /**
+     * Sets whether token bucket is kept per route (host and path) instead of per host. Numeric
+     * and UUID-like path segments are replaced by "{id}", so e.g. "/users/42" and "/users/43"
+     * share single bucket.
+     *
+     * @param perRoute if true each path has its own token bucket
+     *                 <p>
+     *                 Default: false
+     * @return the SamplerBuilder instance
+     */
+    public SamplerBuilder perRoute(boolean perRoute) {
+      this.perRoute = perRoute;
+      return this;
+    }
+
+    /**
+     * Sets whether exchanges with client error (4xx) response are always logged.
+     *
+     * @param alwaysLog if true exchanges with 4xx status are logged even if not sampled
+     *                  <p>
+     *                  Default: false
+     * @return the SamplerBuilder instance
+     */
+    public SamplerBuilder alwaysLogClientErrors(boolean alwaysLog) {
+      this.alwaysLogClientErrors = alwaysLog;
+      return this;
+    }
+
+    /**
+     * Sets whether exchanges with server error (5xx) response are always logged.
+     *
+     * @param alwaysLog if true exchanges with 5xx status are logged even if not sampled
+     *                  <p>
+     *                  Default: false
+     * @return the SamplerBuilder instance
+     */
+    public SamplerBuilder alwaysLogServerErrors(boolean alwaysLog) {
+      this.alwaysLogServerErrors = alwaysLog;
+      return this;
+    }
+
+    /**
+     * Sets whether requests failed with exception (no response received) are always logged.
+     *
+     * @param alwaysLog if true failed requests are logged even if not sampled
+     *                  <p>
+     *                  Default: false
+     * @return the SamplerBuilder instance
+     */
+    public SamplerBuilder alwaysLogFailures(boolean alwaysLog) {
+      this.alwaysLogFailures = alwaysLog;
+      return this;
+    }
+
+    /**
+     * Builds a Sampler object with the configured values.
+     *
+     * @return the Sampler object
+     */
+    public Sampler build() {
+      return new Sampler(rate, permitsPerSecond, burst, perRoute,
+        alwaysLogClientErrors, alwaysLogServerErrors, alwaysLogFailures);
+    }
+  }
+
+}
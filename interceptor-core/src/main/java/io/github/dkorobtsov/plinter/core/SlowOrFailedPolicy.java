@@ -0,0 +1,275 @@
+package io.github.dkorobtsov.plinter.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Policy for logging only exchanges which were slow or failed. When policy is configured,
+ * interceptors don't print request before sending it - request is held (OkHttp interceptors
+ * keep only native request and convert it later) and both request and response are rendered
+ * only if exchange qualifies:
+ * <ul>
+ * <li>latency exceeded threshold</li>
+ * <li>response status is equal or greater than configured minimal status</li>
+ * <li>call failed with exception (OkHttp interceptors only)</li>
+ * </ul>
+ * Latency threshold is either static or adaptive - calculated as configured percentile of
+ * latencies observed during previous window of calls. Static threshold is then used as lower
+ * bound and until first window is complete.
+ * <p>
+ * Usage example:
+ * <pre>
+ *   LoggerConfig.builder()
+ *     .slowOrFailedOnly(SlowOrFailedPolicy.builder()
+ *       .latencyThreshold(200, TimeUnit.MILLISECONDS)
+ *       .adaptiveThreshold(0.99, 1000)
+ *       .minStatus(500)
+ *       .build())
+ *     .build();
+ * </pre>
+ * Policy is thread safe and can be shared between several interceptors.
+ */
+@SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
+public final class SlowOrFailedPolicy {
+
+  private final long thresholdNanos;
+  private final int minStatus;
+  private final boolean logFailures;
+  private final LatencyWindow latencyWindow;
+
+  private final LongAdder loggedEvents = new LongAdder();
+  private final LongAdder skippedEvents = new LongAdder();
+
+  SlowOrFailedPolicy(long thresholdNanos, int minStatus, boolean logFailures,
+                     double percentile, int windowSize) {
+    this.thresholdNanos = thresholdNanos;
+    this.minStatus = minStatus;
+    this.logFailures = logFailures;
+    this.latencyWindow = windowSize > 0 ? new LatencyWindow(percentile, windowSize) : null;
+  }
+
+  /**
+   * Constructs a new SlowOrFailedPolicyBuilder.
+   *
+   * @return the SlowOrFailedPolicyBuilder instance
+   */
+  public static SlowOrFailedPolicyBuilder builder() {
+    return new SlowOrFailedPolicyBuilder();
+  }
+
+  /**
+   * Checks if completed exchange should be logged. Latency is recorded for adaptive threshold.
+   *
+   * @param latencyNanos exchange latency in nanoseconds
+   * @param statusCode   response status code
+   * @return true if exchange was slow or has qualifying status
+   */
+  public boolean isSlowOrFailed(long latencyNanos, int statusCode) {
+    final boolean isLogged = statusCode >= minStatus
+      || latencyNanos > currentThreshold(TimeUnit.NANOSECONDS);
+    if (latencyWindow != null) {
+      latencyWindow.record(latencyNanos);
+    }
+    count(isLogged);
+    return isLogged;
+  }
+
+  /**
+   * Checks if exchange failed with exception (no response received) should be logged.
+   *
+   * @return true if failed exchanges are logged
+   */
+  public boolean isFailureLogged() {
+    count(logFailures);
+    return logFailures;
+  }
+
+  /**
+   * Returns current latency threshold - static one or adaptive one, whichever is greater.
+   *
+   * @param unit time unit of returned value
+   * @return current latency threshold
+   */
+  public long currentThreshold(TimeUnit unit) {
+    final long adaptive = latencyWindow == null ? 0 : latencyWindow.threshold();
+    return unit.convert(Math.max(thresholdNanos, adaptive), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Returns total number of exchanges logged because they were slow or failed.
+   *
+   * @return number of logged exchanges
+   */
+  public long loggedEvents() {
+    return loggedEvents.sum();
+  }
+
+  /**
+   * Returns total number of fast and successful exchanges which were not logged.
+   *
+   * @return number of skipped exchanges
+   */
+  public long skippedEvents() {
+    return skippedEvents.sum();
+  }
+
+  private void count(boolean isLogged) {
+    if (isLogged) {
+      loggedEvents.increment();
+    } else {
+      skippedEvents.increment();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "SlowOrFailedPolicy{"
+      + "thresholdMs=" + TimeUnit.NANOSECONDS.toMillis(thresholdNanos)
+      + ", minStatus=" + minStatus
+      + ", logFailures=" + logFailures
+      + ", adaptive=" + latencyWindow
+      + '}';
+  }
+
+  /**
+   * Latency histogram of the current window of calls (four buckets per power of two
+   * microseconds, so bucket bounds are within 25% of recorded value). When window is full,
+   * percentile is calculated from its histogram and becomes the threshold for the next window.
+   */
+  private static final class LatencyWindow {
+
+    private final double percentile;
+    private final int windowSize;
+    private final Histogram histogram = new Histogram(2);
+    private final AtomicLong recorded = new AtomicLong();
+
+    private volatile long thresholdNanos;
+
+    LatencyWindow(double percentile, int windowSize) {
+      this.percentile = percentile;
+      this.windowSize = windowSize;
+    }
+
+    long threshold() {
+      return thresholdNanos;
+    }
+
+    void record(long latencyNanos) {
+      histogram.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+      if (recorded.incrementAndGet() % windowSize == 0) {
+        thresholdNanos = TimeUnit.MICROSECONDS
+          .toNanos(histogram.snapshotAndReset().percentile(percentile));
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "{percentile=" + percentile
+        + ", windowSize=" + windowSize
+        + ", thresholdMs=" + TimeUnit.NANOSECONDS.toMillis(thresholdNanos)
+        + '}';
+    }
+  }
+
+  /**
+   * Helper class for creating {@link SlowOrFailedPolicy} instances.
+   */
+  public static class SlowOrFailedPolicyBuilder {
+
+    private static final int MIN_WINDOW_SIZE = 100;
+
+    private long thresholdNanos = TimeUnit.SECONDS.toNanos(1);
+    private int minStatus = 500;
+    private boolean logFailures = true;
+    private double percentile;
+    private int windowSize;
+
+    /**
+     * Sets static latency threshold - exchanges taking longer are logged. When adaptive
+     * threshold is enabled, static threshold is used as its lower bound.
+     *
+     * @param threshold latency threshold
+     *                  <p>
+     *                  Default: 1 second
+     * @param unit      threshold time unit
+     * @return the SlowOrFailedPolicyBuilder instance
+     */
+    public SlowOrFailedPolicyBuilder latencyThreshold(long threshold, TimeUnit unit) {
+      if (threshold < 0) {
+        throw new IllegalArgumentException(
+          "Invalid latency threshold. Should not be negative.");
+      }
+      this.thresholdNanos = unit.toNanos(threshold);
+      return this;
+    }
+
+    /**
+     * Enables adaptive latency threshold - exchanges slower than given percentile of latencies
+     * observed during previous window of calls are logged.
+     *
+     * @param percentile percentile, e.g. 0.99
+     *                   <p>
+     *                   Min value: 0.5, Max value: 0.9999
+     * @param windowSize number of calls in a window
+     *                   <p>
+     *                   Min value: 100
+     * @return the SlowOrFailedPolicyBuilder instance
+     */
+    public SlowOrFailedPolicyBuilder adaptiveThreshold(double percentile, int windowSize) {
+      if (!(percentile >= 0.5 && percentile <= 0.9999)) {
+        throw new IllegalArgumentException(
+          "Invalid percentile. Should be between 0.5 and 0.9999.");
+      }
+      if (windowSize < MIN_WINDOW_SIZE) {
+        throw new IllegalArgumentException(
+          "Invalid window size. Should be at least " + MIN_WINDOW_SIZE + " calls.");
+      }
+      this.percentile = percentile;
+      this.windowSize = windowSize;
+      return this;
+    }
+
+    /**
+     * Sets minimal response status code of exchanges which are always logged.
+     *
+     * @param minStatus minimal status code, e.g. 400 to log client and server errors
+     *                  <p>
+     *                  Min value: 100, Max value: 600 (status is never considered failed),
+     *                  Default: 500
+     * @return the SlowOrFailedPolicyBuilder instance
+     */
+    public SlowOrFailedPolicyBuilder minStatus(int minStatus) {
+      if (minStatus < 100 || minStatus > 600) {
+        throw new IllegalArgumentException(
+          "Invalid status code. Should be between 100 and 600.");
+      }
+      this.minStatus = minStatus;
+      return this;
+    }
+
+    /**
+     * Sets whether calls failed with exception (no response received) are logged.
+     *
+     * @param logFailures if true failed calls are logged
+     *                    <p>
+     *                    Default: true
+     * @return the SlowOrFailedPolicyBuilder instance
+     */
+    public SlowOrFailedPolicyBuilder logFailures(boolean logFailures) {
+      this.logFailures = logFailures;
+      return this;
+    }
+
+    /**
+     * Builds a SlowOrFailedPolicy object with the configured values.
+     *
+     * @return the SlowOrFailedPolicy object
+     */
+    public SlowOrFailedPolicy build() {
+      return new SlowOrFailedPolicy(thresholdNanos, minStatus, logFailures,
+        percentile, windowSize);
+    }
+  }
+
+}
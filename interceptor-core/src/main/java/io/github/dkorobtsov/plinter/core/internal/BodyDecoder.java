@@ -0,0 +1,114 @@
+package io.github.dkorobtsov.plinter.core.internal;
+
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.GzipSource;
+import okio.InflaterSource;
+import okio.Okio;
+import okio.Source;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.zip.Inflater;
+
+/**
+ * Helper class for decoding request and response bodies sent with Content-Encoding header.
+ * Supported codings are gzip (x-gzip) and deflate, header value is matched case-insensitively.
+ * <p>
+ * Content is inflated lazily and only up to requested number of bytes, so small compressed
+ * payload which expands to hundreds of megabytes never gets fully decompressed into memory.
+ */
+final class BodyDecoder {
+
+  private static final String GZIP = "gzip";
+  private static final String X_GZIP = "x-gzip";
+  private static final String DEFLATE = "deflate";
+  private static final String IDENTITY = "identity";
+  private static final String CODINGS_SEPARATOR = ",";
+  private static final long READ_BYTES = 8192L;
+
+  private BodyDecoder() {
+  }
+
+  /**
+   * Returns true if provided Content-Encoding header value means that body should be decoded
+   * before printing.
+   */
+  static boolean isEncoded(String contentEncoding) {
+    if (contentEncoding == null) {
+      return false;
+    }
+    for (String coding : contentEncoding.split(CODINGS_SEPARATOR)) {
+      final String trimmed = coding.trim();
+      if (!trimmed.isEmpty() && !IDENTITY.equalsIgnoreCase(trimmed)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Decodes at most {@code maxBytes + 1} bytes of provided content - one extra byte is decoded
+   * to let caller find out if decoded content was truncated. If encoded content itself is
+   * truncated, only part decoded before reaching its end is returned.
+   *
+   * @param contentEncoding Content-Encoding header value, codings are listed in order they were
+   *                        applied
+   * @param encoded         encoded content, consumed by this method
+   * @param maxBytes        maximum number of decoded bytes caller is interested in
+   * @return decoded content or null if one of codings is not supported
+   * @throws IOException if encoded content is corrupted
+   */
+  static Buffer decode(String contentEncoding, Buffer encoded, long maxBytes)
+    throws IOException {
+
+    final String[] codings = contentEncoding.split(CODINGS_SEPARATOR);
+    Source source = encoded;
+    // Last applied coding should be decoded first
+    for (int i = codings.length - 1; i >= 0; i--) {
+      final String coding = codings[i].trim().toLowerCase(Locale.ROOT);
+      if (GZIP.equals(coding) || X_GZIP.equals(coding)) {
+        source = new GzipSource(source);
+      } else if (DEFLATE.equals(coding)) {
+        source = inflaterSource(source);
+      } else if (!coding.isEmpty() && !IDENTITY.equals(coding)) {
+        Util.closeQuietly(source);
+        return null;
+      }
+    }
+
+    final Buffer decoded = new Buffer();
+    try {
+      long remaining = maxBytes + 1;
+      long bytesRead;
+      while (remaining > 0
+        && (bytesRead = source.read(decoded, Math.min(remaining, READ_BYTES))) != -1) {
+        remaining -= bytesRead;
+      }
+    } catch (EOFException expected) {
+      // Encoded content is truncated, keeping what was decoded so far
+    } finally {
+      Util.closeQuietly(source);
+    }
+    return decoded;
+  }
+
+  /**
+   * According to specification "deflate" coding is zlib wrapped stream, but some servers send
+   * raw deflate data instead, so zlib header presence is checked before inflating.
+   */
+  private static Source inflaterSource(Source source) throws IOException {
+    final BufferedSource bufferedSource = Okio.buffer(source);
+    final boolean isZlibWrapped = bufferedSource.request(2)
+      && isZlibHeader(bufferedSource.getBuffer().getByte(0),
+      bufferedSource.getBuffer().getByte(1));
+    return new InflaterSource(bufferedSource, new Inflater(!isZlibWrapped));
+  }
+
+  private static boolean isZlibHeader(byte cmf, byte flg) {
+    final int header = (cmf & 0xFF) << 8 | flg & 0xFF;
+    return (cmf & 0x0F) == 8 && header % 31 == 0;
+  }
+
+}
@@ -0,0 +1,74 @@
+package io.github.dkorobtsov.plinter.core.internal;
+
+/**
+ * Printable part of request or response body read by {@link Printer}, independent of output
+ * format. Either holds decoded body text or describes why body has nothing to print.
+ */
+final class BodyPreview {
+
+  /**
+   * Reason why body has no printable text.
+   */
+  enum Status {
+    /**
+     * Body has printable text.
+     */
+    TEXT,
+    /**
+     * Body is missing or has no content.
+     */
+    EMPTY,
+    /**
+     * Body is binary, has unsupported encoding or is excluded by capture policy.
+     */
+    OMITTED,
+    /**
+     * Body could not be read.
+     */
+    FAILED
+  }
+
+  private static final BodyPreview EMPTY = new BodyPreview(Status.EMPTY, null, false, 0, -1);
+  private static final BodyPreview OMITTED = new BodyPreview(Status.OMITTED, null, false, 0, -1);
+  private static final BodyPreview FAILED = new BodyPreview(Status.FAILED, null, false, 0, -1);
+
+  final Status status;
+  final String text;
+  final boolean isTruncated;
+  final long shownBytes;
+  final long totalLength;
+
+  private BodyPreview(Status status, String text, boolean isTruncated, long shownBytes,
+                      long totalLength) {
+    this.status = status;
+    this.text = text;
+    this.isTruncated = isTruncated;
+    this.shownBytes = shownBytes;
+    this.totalLength = totalLength;
+  }
+
+  static BodyPreview empty() {
+    return EMPTY;
+  }
+
+  static BodyPreview omitted() {
+    return OMITTED;
+  }
+
+  static BodyPreview failed() {
+    return FAILED;
+  }
+
+  /**
+   * Returns preview with printable body text.
+   *
+   * @param text        decoded body text
+   * @param isTruncated true if text is just the head of original body
+   * @param shownBytes  number of body bytes text was decoded from
+   * @param totalLength size of original body or -1 if unknown
+   */
+  static BodyPreview text(String text, boolean isTruncated, long shownBytes, long totalLength) {
+    return new BodyPreview(Status.TEXT, text, isTruncated, shownBytes, totalLength);
+  }
+
+}
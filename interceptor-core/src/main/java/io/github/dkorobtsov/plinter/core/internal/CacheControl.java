@@ -105,7 +105,18 @@ public final class CacheControl {
     boolean canUseHeaderValue = true;
     String headerValue = null;
 
-    for (int i = 0, size = headers.size(); i < size; i++) {
+    // Visit only Cache-Control and Pragma fields, in the order they were received
+    int cacheControlIndex = headers.indexOf("Cache-Control");
+    int pragmaIndex = headers.indexOf("Pragma");
+    while (cacheControlIndex >= 0 || pragmaIndex >= 0) {
+      final int i;
+      if (pragmaIndex < 0 || cacheControlIndex >= 0 && cacheControlIndex < pragmaIndex) {
+        i = cacheControlIndex;
+        cacheControlIndex = headers.nextIndexOf(cacheControlIndex);
+      } else {
+        i = pragmaIndex;
+        pragmaIndex = headers.nextIndexOf(pragmaIndex);
+      }
       String name = headers.name(i);
       String value = headers.value(i);
 
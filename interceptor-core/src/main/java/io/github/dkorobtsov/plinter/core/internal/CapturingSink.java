@@ -0,0 +1,79 @@
+package io.github.dkorobtsov.plinter.core.internal;
+
+import okio.Buffer;
+import okio.Sink;
+import okio.Timeout;
+
+/**
+ * Sink keeping only first {@code limit} bytes written to it, remaining bytes are counted and
+ * discarded. Intended for capturing request body, which can be written only through the sink, so
+ * memory used for logging does not depend on body size.
+ */
+public final class CapturingSink implements Sink {
+
+  private final Buffer captured = new Buffer();
+  private final long limit;
+  private long totalBytes;
+
+  /**
+   * Constructs a new CapturingSink.
+   *
+   * @param limit maximum number of bytes to keep
+   */
+  public CapturingSink(long limit) {
+    this.limit = limit;
+  }
+
+  @Override
+  public void write(Buffer source, long byteCount) {
+    final long toCapture = Math.min(byteCount, limit - captured.size());
+    if (toCapture > 0) {
+      captured.write(source, toCapture);
+    }
+    source.skip(byteCount - Math.max(toCapture, 0));
+    totalBytes += byteCount;
+  }
+
+  @Override
+  public void flush() {
+    // Nothing to flush, content is kept in memory
+  }
+
+  @Override
+  public Timeout timeout() {
+    return Timeout.NONE;
+  }
+
+  @Override
+  public void close() {
+    // Captured content should stay available after body was written
+  }
+
+  Buffer captured() {
+    return captured;
+  }
+
+  long totalBytes() {
+    return totalBytes;
+  }
+
+  boolean isTruncated() {
+    return totalBytes > captured.size();
+  }
+
+  /**
+   * Returns captured content as request body. If more bytes than limit were written, returned
+   * body is {@link InterceptedRequestBody#isTruncated() truncated}. Body shares segments of
+   * captured buffer, so content is neither copied nor decoded here.
+   *
+   * @param contentType content type of original body
+   * @return request body with captured content
+   */
+  public InterceptedRequestBody requestBody(InterceptedMediaType contentType) {
+    if (isTruncated()) {
+      return InterceptedRequestBody.truncated(contentType, captured, totalBytes);
+    }
+    return InterceptedRequestBody.shared(contentType, captured);
+  }
+
+}
@@ -3,18 +3,27 @@ package io.github.dkorobtsov.plinter.core.internal;
 import io.github.dkorobtsov.plinter.core.LoggerConfig;
 
 import java.util.Objects;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Helper class for executing printing requests. Depending on provided {@link LoggerConfig} events
- * are printed in current thread or by manually provided executor.
+ * are printed in current thread or by manually provided executor. Calling thread never waits for
+ * executor to finish printing.
  */
 public final class ClientPrintingExecutor {
 
   private static final Logger logger = Logger.getLogger(ClientPrintingExecutor.class.getName());
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+  private static final int EXCHANGE_ID_LENGTH = 16;
+
+  // Random starting point, so ids are not repeated after application restart
+  private static final AtomicLong EXCHANGE_SEQUENCE
+    = new AtomicLong(ThreadLocalRandom.current().nextLong());
 
   private ClientPrintingExecutor() {
   }
@@ -26,9 +35,14 @@ public final class ClientPrintingExecutor {
    * @param request      the intercepted request to print
    */
   public static void printRequest(LoggerConfig loggerConfig, InterceptedRequest request) {
-    final Runnable printRequest = () -> Printer.printRequest(loggerConfig, request);
-    final ExecutorService executor = (ExecutorService) loggerConfig.executor;
-    sendCommandToPrinter(executor, printRequest);
+    final Runnable printRequest = () -> {
+      try {
+        Printer.forConfig(loggerConfig).printRequest(request);
+      } finally {
+        release(request);
+      }
+    };
+    sendCommandToPrinter(loggerConfig.executor, printRequest);
   }
 
   /**
@@ -38,23 +52,77 @@ public final class ClientPrintingExecutor {
    * @param response     the intercepted response to print
    */
   public static void printResponse(LoggerConfig loggerConfig, InterceptedResponse response) {
-    final Runnable printResponse = () -> Printer.printResponse(loggerConfig, response);
-    final ExecutorService executor = (ExecutorService) loggerConfig.executor;
-    sendCommandToPrinter(executor, printResponse);
+    final Runnable printResponse = () -> {
+      try {
+        Printer.forConfig(loggerConfig).printResponse(response);
+      } finally {
+        release(response);
+      }
+    };
+    sendCommandToPrinter(loggerConfig.executor, printResponse);
+  }
+
+  /**
+   * Prints the intercepted request together with its response as single event marked with
+   * unique exchange id.
+   *
+   * @param loggerConfig the logger configuration
+   * @param request      the intercepted request to print
+   * @param response     the intercepted response received for the request
+   */
+  public static void printExchange(LoggerConfig loggerConfig, InterceptedRequest request,
+                                   InterceptedResponse response) {
+    final String exchangeId = nextExchangeId();
+    final Runnable printExchange = () -> {
+      try {
+        Printer.forConfig(loggerConfig).printExchange(exchangeId, request, response);
+      } finally {
+        release(request);
+        release(response);
+      }
+    };
+    sendCommandToPrinter(loggerConfig.executor, printExchange);
+  }
+
+  /**
+   * Returns next exchange id - 16 hex digits, unique within application run.
+   */
+  static String nextExchangeId() {
+    long value = EXCHANGE_SEQUENCE.getAndIncrement();
+    final char[] id = new char[EXCHANGE_ID_LENGTH];
+    for (int i = EXCHANGE_ID_LENGTH - 1; i >= 0; i--) {
+      id[i] = HEX[(int) (value & 0xF)];
+      value >>>= 4;
+    }
+    return new String(id);
+  }
+
+  /**
+   * Releases bodies of printed events, so pooled capture buffers can be reused. Events dropped
+   * by executor are not released, their buffers are simply garbage collected.
+   */
+  private static void release(InterceptedRequest request) {
+    if (request != null && request.body() != null) {
+      request.body().release();
+    }
+  }
+
+  private static void release(InterceptedResponse response) {
+    if (response != null && response.originalBody != null) {
+      response.originalBody.release();
+    }
   }
 
   @SuppressWarnings("PMD")
-  private static void sendCommandToPrinter(ExecutorService executor, Runnable command) {
+  private static void sendCommandToPrinter(Executor executor, Runnable command) {
     if (Objects.isNull(executor)) {
       command.run();
     } else {
       try {
         executor.execute(command);
-        //noinspection ResultOfMethodCallIgnored
-        executor.awaitTermination(5, TimeUnit.MILLISECONDS);
-      } catch (InterruptedException e) {
+      } catch (RejectedExecutionException e) {
+        // Executor was shut down, event is lost but HTTP call should not be affected.
         logger.log(Level.SEVERE, e.getMessage(), e);
-        Thread.currentThread().interrupt();
       }
     }
   }
@@ -0,0 +1,45 @@
+package io.github.dkorobtsov.plinter.core.internal;
+
+/**
+ * Per-thread reusable buffer events are rendered into before being passed to
+ * {@link io.github.dkorobtsov.plinter.core.LogWriter#logChars(CharSequence)}.
+ * <p>
+ * Buffer is taken from the thread for the time event is rendered and logged, so if log writer
+ * itself triggers printing of another event on the same thread, nested event gets its own buffer
+ * instead of overwriting the outer one.
+ */
+final class EventBuffer {
+
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+  private static final ThreadLocal<StringBuilder> BUFFER = new ThreadLocal<>();
+
+  private EventBuffer() {
+  }
+
+  /**
+   * Returns empty buffer, which should be given back with {@link #release(StringBuilder)} once
+   * event is logged.
+   */
+  static StringBuilder acquire() {
+    final StringBuilder sb = BUFFER.get();
+    if (sb == null) {
+      return new StringBuilder(INITIAL_CAPACITY);
+    }
+    BUFFER.set(null);
+    sb.setLength(0);
+    return sb;
+  }
+
+  /**
+   * Returns buffer to the thread. Buffer grown by unusually large event is not retained, so
+   * thread which once printed big body does not keep holding its memory.
+   */
+  static void release(StringBuilder sb) {
+    if (sb.capacity() <= MAX_RETAINED_CAPACITY) {
+      BUFFER.set(sb);
+    }
+  }
+
+}
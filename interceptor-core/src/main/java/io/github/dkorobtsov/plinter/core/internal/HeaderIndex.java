@@ -0,0 +1,177 @@
+package io.github.dkorobtsov.plinter.core.internal;
+
+import java.util.Arrays;
+
+/**
+ * Case-insensitive hash index over flat array of alternating header names and values, as used
+ * by {@link InterceptedHeaders} and its builder.
+ * <p>
+ * Index doesn't copy names - open addressing table maps case-insensitive name hash to positions
+ * of first and last header with that name, while headers with the same name are linked in
+ * insertion order through {@code next} array. So lookup of first or last value is O(1), and all
+ * values of a header are visited without scanning unrelated headers. Removed headers are expected
+ * to be nulled out in names array by caller (see {@link #removeAll}).
+ */
+final class HeaderIndex {
+
+  private static final int NONE = -1;
+  private static final int EMPTY = 0;
+  private static final int REMOVED = -1;
+  private static final int MIN_SLOTS = 16;
+  private static final char ASCII_LIMIT = 0x80;
+
+  // slot -> first / last position of the name + 1, EMPTY if slot is free, REMOVED if name was
+  // removed (probing should continue past it)
+  private int[] firsts;
+  private int[] lasts;
+  // position -> next position with the same name, NONE if it is the last one
+  private int[] next;
+  private int occupied;
+
+  /**
+   * Builds index for the first {@code count} headers in provided array. Null names (removed
+   * headers) are skipped.
+   */
+  HeaderIndex(String[] namesAndValues, int count) {
+    this.next = new int[Math.max(count, MIN_SLOTS / 2)];
+    allocateSlots(count);
+    for (int position = 0; position < count; position++) {
+      add(namesAndValues, position);
+    }
+  }
+
+  /**
+   * Returns position of the first header with provided name, or -1 if there is no such header.
+   */
+  int first(String[] namesAndValues, String name) {
+    final int slot = find(namesAndValues, name);
+    return slot == NONE ? NONE : firsts[slot] - 1;
+  }
+
+  /**
+   * Returns position of the last header with provided name, or -1 if there is no such header.
+   */
+  int last(String[] namesAndValues, String name) {
+    final int slot = find(namesAndValues, name);
+    return slot == NONE ? NONE : lasts[slot] - 1;
+  }
+
+  /**
+   * Returns position of the next header with the same name as header at provided position, or -1
+   * if it is the last one.
+   */
+  int next(int position) {
+    return next[position];
+  }
+
+  /**
+   * Indexes header appended at provided position.
+   */
+  void add(String[] namesAndValues, int position) {
+    final String name = namesAndValues[position * 2];
+    if (name == null) {
+      return;
+    }
+    if (position >= next.length) {
+      next = Arrays.copyOf(next, Math.max(position + 1, next.length * 2));
+    }
+    next[position] = NONE;
+
+    final int mask = firsts.length - 1;
+    int removedSlot = NONE;
+    for (int slot = hash(name) & mask; ; slot = (slot + 1) & mask) {
+      final int first = firsts[slot];
+      if (first == EMPTY) {
+        final int target = removedSlot == NONE ? slot : removedSlot;
+        firsts[target] = position + 1;
+        lasts[target] = position + 1;
+        if (removedSlot == NONE && ++occupied * 2 > firsts.length) {
+          rehash(namesAndValues, position + 1);
+        }
+        return;
+      }
+      if (first == REMOVED) {
+        if (removedSlot == NONE) {
+          removedSlot = slot;
+        }
+      } else if (name.equalsIgnoreCase(namesAndValues[(first - 1) * 2])) {
+        next[lasts[slot] - 1] = position;
+        lasts[slot] = position + 1;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Nulls out names and values of all headers with provided name and removes them from index.
+   *
+   * @return number of removed headers
+   */
+  int removeAll(String[] namesAndValues, String name) {
+    final int slot = find(namesAndValues, name);
+    if (slot == NONE) {
+      return 0;
+    }
+    int removed = 0;
+    for (int position = firsts[slot] - 1; position != NONE; position = next[position]) {
+      namesAndValues[position * 2] = null;
+      namesAndValues[position * 2 + 1] = null;
+      removed++;
+    }
+    firsts[slot] = REMOVED;
+    lasts[slot] = REMOVED;
+    return removed;
+  }
+
+  private int find(String[] namesAndValues, String name) {
+    final int mask = firsts.length - 1;
+    for (int slot = hash(name) & mask; ; slot = (slot + 1) & mask) {
+      final int first = firsts[slot];
+      if (first == EMPTY) {
+        return NONE;
+      }
+      if (first != REMOVED && name.equalsIgnoreCase(namesAndValues[(first - 1) * 2])) {
+        return slot;
+      }
+    }
+  }
+
+  private void rehash(String[] namesAndValues, int count) {
+    allocateSlots(count);
+    for (int position = 0; position < count; position++) {
+      add(namesAndValues, position);
+    }
+  }
+
+  private void allocateSlots(int count) {
+    int slots = MIN_SLOTS;
+    while (slots < count * 4) {
+      slots <<= 1;
+    }
+    this.firsts = new int[slots];
+    this.lasts = new int[slots];
+    this.occupied = 0;
+  }
+
+  /**
+   * String hash consistent with {@link String#equalsIgnoreCase}. Header names are ASCII, so
+   * characters are folded with Character methods only if they are not.
+   */
+  private static int hash(String name) {
+    int hash = 0;
+    for (int i = 0, length = name.length(); i < length; i++) {
+      final char c = name.charAt(i);
+      final int folded;
+      if (c >= 'A' && c <= 'Z') {
+        folded = c + ('a' - 'A');
+      } else if (c < ASCII_LIMIT) {
+        folded = c;
+      } else {
+        folded = Character.toLowerCase(Character.toUpperCase(c));
+      }
+      hash = 31 * hash + folded;
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+}
@@ -20,7 +20,9 @@ package io.github.dkorobtsov.plinter.core.internal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -39,6 +41,11 @@ import java.util.Map;
  * <p>
  * Instances of this class are immutable. Use {@link Builder} to create instances.
  * <p>
+ * Lookups by name in small header sets scan all names, for larger sets case-insensitive
+ * {@link HeaderIndex} is built on first lookup. Common header names are replaced with shared
+ * constant instances (same casing only), so repeated names are not retained per message and
+ * lookups with these constants mostly match by identity.
+ * <p>
  * --------------------------------------------------------------------------------------
  * <p>
  * NB: Class copied with some small modifications from OkHttp3 client (removed external dependencies
@@ -55,23 +62,52 @@ import java.util.Map;
 })
 public final class InterceptedHeaders {
 
+  /**
+   * Header sets up to this size are searched with linear scan, which is faster than hashing for
+   * a few short names.
+   */
+  static final int LINEAR_SCAN_LIMIT = 8;
+
+  private static final Map<String, String> COMMON_NAMES = commonNames(
+    "Accept", "Accept-Encoding", "Accept-Language", "Accept-Ranges", "Access-Control-Allow-Origin",
+    "Age", "Allow", "Authorization", "Cache-Control", "Connection", "Content-Disposition",
+    "Content-Encoding", "Content-Language", "Content-Length", "Content-Security-Policy",
+    "Content-Type", "Cookie", "Date", "ETag", "Expect", "Expires", "Host", "If-Modified-Since",
+    "If-None-Match", "Keep-Alive", "Last-Modified", "Link", "Location", "Origin", "Pragma",
+    "Range", "Referer", "Retry-After", "Server", "Set-Cookie", "Strict-Transport-Security",
+    "Transfer-Encoding", "User-Agent", "Vary", "Via", "WWW-Authenticate", "X-Cache",
+    "X-Content-Type-Options", "X-Forwarded-For", "X-Frame-Options", "X-Request-Id");
+
   private final String[] namesAndValues;
+  private volatile HeaderIndex index;
 
   InterceptedHeaders(Builder builder) {
-    this.namesAndValues = builder.namesAndValues.toArray(new String[0]);
+    this.namesAndValues = builder.toArray();
   }
 
   private InterceptedHeaders(String... namesAndValues) {
     this.namesAndValues = namesAndValues;
   }
 
-  private static String get(String name, String... namesAndValues) {
-    for (int i = namesAndValues.length - 2; i >= 0; i -= 2) {
-      if (name.equalsIgnoreCase(namesAndValues[i])) {
-        return namesAndValues[i + 1];
-      }
+  /**
+   * Maps common header names in their usual casing and in lower case (as sent over HTTP/2) to
+   * shared instances.
+   */
+  private static Map<String, String> commonNames(String... names) {
+    final Map<String, String> commonNames = new HashMap<>(names.length * 4);
+    for (String name : names) {
+      final String lowerCase = name.toLowerCase(Locale.US).intern();
+      commonNames.put(name, name);
+      commonNames.put(lowerCase, lowerCase);
     }
-    return null;
+    return commonNames;
+  }
+
+  /**
+   * Returns shared instance of common header name, or provided name if it is not common.
+   */
+  static String canonicalName(String name) {
+    return COMMON_NAMES.getOrDefault(name, name);
   }
 
   /**
@@ -94,6 +130,9 @@ public final class InterceptedHeaders {
       }
       namesAndValues[i] = namesAndValues[i].trim();
     }
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      namesAndValues[i] = canonicalName(namesAndValues[i]);
+    }
 
     // Check for malformed headers.
     for (int i = 0; i < namesAndValues.length; i += 2) {
@@ -127,7 +166,7 @@ public final class InterceptedHeaders {
       if (name.isEmpty() || name.indexOf('\0') != -1 || value.indexOf('\0') != -1) {
         throw new IllegalArgumentException("Unexpected header: " + name + ": " + value);
       }
-      namesAndValues[i] = name;
+      namesAndValues[i] = canonicalName(name);
       namesAndValues[i + 1] = value;
       i += 2;
     }
@@ -139,7 +178,8 @@ public final class InterceptedHeaders {
    * Returns the last value corresponding to the specified field, or null.
    */
   public String get(String name) {
-    return get(name, namesAndValues);
+    final int index = lastIndexOf(name);
+    return index < 0 ? null : value(index);
   }
 
   /**
@@ -167,23 +207,87 @@ public final class InterceptedHeaders {
    * Returns an immutable list of the header values for {@code name}.
    */
   public List<String> values(String name) {
-    List<String> result = null;
-    for (int i = 0, size = size(); i < size; i++) {
-      if (name.equalsIgnoreCase(name(i))) {
-        if (result == null) {
-          result = new ArrayList<>(2);
-        }
-        result.add(value(i));
+    int index = indexOf(name);
+    if (index < 0) {
+      return Collections.emptyList();
+    }
+    final int next = nextIndexOf(index);
+    if (next < 0) {
+      return Collections.singletonList(value(index));
+    }
+    final List<String> result = new ArrayList<>(4);
+    result.add(value(index));
+    for (index = next; index >= 0; index = nextIndexOf(index)) {
+      result.add(value(index));
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  /**
+   * Returns index of the first field with provided name, or -1 if there is no such field.
+   */
+  int indexOf(String name) {
+    final HeaderIndex headerIndex = index();
+    if (headerIndex != null) {
+      return headerIndex.first(namesAndValues, name);
+    }
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      if (name.equalsIgnoreCase(namesAndValues[i])) {
+        return i / 2;
       }
     }
-    return result != null
-      ? Collections.unmodifiableList(result)
-      : Collections.<String>emptyList();
+    return -1;
+  }
+
+  /**
+   * Returns index of the next field with the same name as field at provided index, or -1 if it
+   * is the last one.
+   */
+  int nextIndexOf(int index) {
+    final HeaderIndex headerIndex = index();
+    if (headerIndex != null) {
+      return headerIndex.next(index);
+    }
+    final String name = name(index);
+    for (int i = index * 2 + 2; i < namesAndValues.length; i += 2) {
+      if (name.equalsIgnoreCase(namesAndValues[i])) {
+        return i / 2;
+      }
+    }
+    return -1;
+  }
+
+  private int lastIndexOf(String name) {
+    final HeaderIndex headerIndex = index();
+    if (headerIndex != null) {
+      return headerIndex.last(namesAndValues, name);
+    }
+    for (int i = namesAndValues.length - 2; i >= 0; i -= 2) {
+      if (name.equalsIgnoreCase(namesAndValues[i])) {
+        return i / 2;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns index of header names, building it on first call. Small header sets are not indexed.
+   * Concurrent first calls may build index more than once, which is harmless.
+   */
+  private HeaderIndex index() {
+    HeaderIndex headerIndex = index;
+    if (headerIndex == null && size() > LINEAR_SCAN_LIMIT) {
+      headerIndex = new HeaderIndex(namesAndValues, size());
+      index = headerIndex;
+    }
+    return headerIndex;
   }
 
   public Builder newBuilder() {
     final Builder result = new Builder();
-    Collections.addAll(result.namesAndValues, namesAndValues);
+    result.namesAndValues = Arrays.copyOf(namesAndValues,
+      Math.max(namesAndValues.length, Builder.INITIAL_CAPACITY));
+    result.count = size();
     return result;
   }
 
@@ -233,10 +337,23 @@ public final class InterceptedHeaders {
     return result.toString();
   }
 
+  /**
+   * Headers builder. Names and values are kept in flat array, removed headers are nulled out and
+   * skipped when headers are built. Case-insensitive index is created only when builder is
+   * searched by name (on {@link #removeAll} or {@link #set}) and then updated on every addition,
+   * so cost of each operation depends only on number of affected fields, not on total number of
+   * headers.
+   */
   @SuppressWarnings("JavadocType")
   public static final class Builder {
 
-    final List<String> namesAndValues = new ArrayList<>(20);
+    static final int INITIAL_CAPACITY = 20;
+
+    String[] namesAndValues = new String[INITIAL_CAPACITY];
+    // number of added fields, including removed ones
+    int count;
+    private int removed;
+    private HeaderIndex index;
 
     /**
      * Add a field with the specified value.
@@ -251,19 +368,23 @@ public final class InterceptedHeaders {
      * from the remote peer or cache.
      */
     Builder addLenient(String name, String value) {
-      namesAndValues.add(name);
-      namesAndValues.add(value.trim());
+      if (count * 2 == namesAndValues.length) {
+        namesAndValues = Arrays.copyOf(namesAndValues, namesAndValues.length * 2);
+      }
+      namesAndValues[count * 2] = canonicalName(name);
+      namesAndValues[count * 2 + 1] = value.trim();
+      if (index != null) {
+        index.add(namesAndValues, count);
+      }
+      count++;
       return this;
     }
 
     public Builder removeAll(String name) {
-      for (int i = 0; i < namesAndValues.size(); i += 2) {
-        if (name.equalsIgnoreCase(namesAndValues.get(i))) {
-          namesAndValues.remove(i); // name
-          namesAndValues.remove(i); // value
-          i -= 2;
-        }
+      if (index == null) {
+        index = new HeaderIndex(namesAndValues, count);
       }
+      removed += index.removeAll(namesAndValues, name);
       return this;
     }
 
@@ -307,5 +428,24 @@ public final class InterceptedHeaders {
     public InterceptedHeaders build() {
       return new InterceptedHeaders(this);
     }
+
+    /**
+     * Returns names and values of all not removed fields in order they were added.
+     */
+    String[] toArray() {
+      final String[] result = new String[(count - removed) * 2];
+      if (removed == 0) {
+        System.arraycopy(namesAndValues, 0, result, 0, result.length);
+        return result;
+      }
+      int position = 0;
+      for (int i = 0; i < count * 2; i += 2) {
+        if (namesAndValues[i] != null) {
+          result[position++] = namesAndValues[i];
+          result[position++] = namesAndValues[i + 1];
+        }
+      }
+      return result;
+    }
   }
 }
@@ -18,6 +18,9 @@ package io.github.dkorobtsov.plinter.core.internal;
 
 import java.nio.charset.Charset;
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -25,6 +28,13 @@ import java.util.regex.Pattern;
  * An <a href="http://tools.ietf.org/html/rfc2045">RFC 2045</a> Media Type, appropriate to describe
  * the content type of an HTTP request or response body.
  * <p>
+ * Parsed media types are immutable and cached by raw string, so regex parsing happens only when
+ * content type is seen for the first time. Charset is resolved once per media type as well.
+ * Malformed values are cached too (as such), so they are not parsed on every call either. Values
+ * with {@code boundary} parameter (multipart bodies) are unique per request and are never cached.
+ * Cache is bounded by {@link #CACHE_CAPACITY} - once it is full, it is cleared and commonly used
+ * content types are cached again on their next use.
+ * <p>
  * --------------------------------------------------------------------------------------
  * <p>
  * NB: Class copied with some small modifications from OkHttp3 client (removed external dependencies
@@ -45,23 +55,98 @@ public final class InterceptedMediaType {
   private static final Pattern TYPE_SUBTYPE = Pattern.compile(TOKEN + "/" + TOKEN);
   private static final Pattern PARAMETER = Pattern.compile(
     ";\\s*(?:" + TOKEN + "=(?:" + TOKEN + "|" + QUOTED + "))?");
+  private static final String UTF_8_PARAMETER = "; charset=utf-8";
+  private static final String BOUNDARY_PARAMETER = "boundary=";
+
+  /**
+   * Max number of cached media types. When cache is full, it is cleared before new media type is
+   * cached.
+   */
+  static final int CACHE_CAPACITY = 256;
+
+  /**
+   * Cached in place of malformed media types.
+   */
+  private static final InterceptedMediaType MALFORMED = new InterceptedMediaType("", "", "", null);
+
+  private static final ConcurrentMap<String, InterceptedMediaType> CACHE =
+    new ConcurrentHashMap<>();
+  private static final LongAdder CACHE_HITS = new LongAdder();
+  private static final LongAdder CACHE_MISSES = new LongAdder();
 
   private final String mediaType;
+  private final String type;
   private final String subtype;
-  private final String charset;
+  private final Charset charset;
+  private InterceptedMediaType withUtf8Charset;
 
-  private InterceptedMediaType(String mediaType, String subtype, String charset) {
+  private InterceptedMediaType(String mediaType, String type, String subtype, String charset) {
     this.mediaType = mediaType;
+    this.type = type;
     this.subtype = subtype;
-    this.charset = charset;
+    this.charset = resolveCharset(charset);
+  }
+
+  private static Charset resolveCharset(String charset) {
+    try {
+      return charset != null ? Charset.forName(charset) : null;
+    } catch (IllegalArgumentException e) {
+      return null; // This charset is invalid or unsupported. Give up.
+    }
   }
 
   /**
    * Returns a media type for {@code string}, or null if {@code string} is not a well-formed media
    * type.
    */
-  @SuppressWarnings({"MultipleStringLiterals", "PMD.SimplifyStartsWith"})
   public static InterceptedMediaType parse(String string) {
+    final InterceptedMediaType cached = CACHE.get(string);
+    if (cached != null) {
+      CACHE_HITS.increment();
+      return cached == MALFORMED ? null : cached;
+    }
+    CACHE_MISSES.increment();
+    final InterceptedMediaType parsed = parseUncached(string);
+    if (!hasBoundary(string)) {
+      // Size check is not atomic, so concurrent misses can exceed capacity by a few entries
+      if (CACHE.size() >= CACHE_CAPACITY) {
+        CACHE.clear();
+      }
+      CACHE.putIfAbsent(string, parsed == null ? MALFORMED : parsed);
+    }
+    return parsed;
+  }
+
+  private static boolean hasBoundary(String string) {
+    for (int i = string.indexOf(';'); i >= 0; i = string.indexOf(';', i + 1)) {
+      int start = i + 1;
+      while (start < string.length() && string.charAt(start) <= ' ') {
+        start++;
+      }
+      if (string.regionMatches(true, start, BOUNDARY_PARAMETER, 0,
+        BOUNDARY_PARAMETER.length())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns number of {@link #parse} calls served from cache since class was loaded.
+   */
+  public static long cacheHits() {
+    return CACHE_HITS.sum();
+  }
+
+  /**
+   * Returns number of {@link #parse} calls which had to parse media type since class was loaded.
+   */
+  public static long cacheMisses() {
+    return CACHE_MISSES.sum();
+  }
+
+  @SuppressWarnings({"MultipleStringLiterals", "PMD.SimplifyStartsWith"})
+  private static InterceptedMediaType parseUncached(String string) {
     final Matcher typeSubtype = TYPE_SUBTYPE.matcher(string);
     if (!typeSubtype.lookingAt()) {
       return null;
@@ -86,8 +171,9 @@ public final class InterceptedMediaType {
       charset = charsetParameter;
     }
 
+    final String type = typeSubtype.group(1).toLowerCase(Locale.US);
     final String subtype = typeSubtype.group(2).toLowerCase(Locale.US);
-    return new InterceptedMediaType(string, subtype, charset);
+    return new InterceptedMediaType(string, type, subtype, charset);
   }
 
   private static String getCharsetParameter(Matcher parameter) {
@@ -106,6 +192,14 @@ public final class InterceptedMediaType {
     return charsetParameter;
   }
 
+  /**
+   * Returns the high-level media type, such as "text", "image", "audio", "video", or
+   * "application".
+   */
+  public String type() {
+    return type;
+  }
+
   /**
    * Returns a specific media subtype, such as "plain" or "png", "mpeg", "mp4" or "xml".
    */
@@ -125,11 +219,20 @@ public final class InterceptedMediaType {
    * doesn't specify a charset, of it its charset is unsupported by the current runtime.
    */
   public Charset charset(Charset defaultValue) {
-    try {
-      return charset != null ? Charset.forName(charset) : defaultValue;
-    } catch (IllegalArgumentException e) {
-      return defaultValue; // This charset is invalid or unsupported. Give up.
+    return charset != null ? charset : defaultValue;
+  }
+
+  /**
+   * Returns this media type with UTF-8 charset parameter appended, like "text/plain;
+   * charset=utf-8" for "text/plain". Result is computed once per media type.
+   */
+  InterceptedMediaType withUtf8Charset() {
+    InterceptedMediaType result = withUtf8Charset;
+    if (result == null) {
+      result = parse(mediaType + UTF_8_PARAMETER);
+      withUtf8Charset = result;
     }
+    return result;
   }
 
   /**
@@ -16,6 +16,7 @@
 
 package io.github.dkorobtsov.plinter.core.internal;
 
+import okio.Buffer;
 import okio.BufferedSink;
 import okio.ByteString;
 import okio.Okio;
@@ -35,6 +36,16 @@ import java.nio.charset.Charset;
 @SuppressWarnings("PMD")
 public abstract class InterceptedRequestBody {
 
+  private static final InterceptedRequestBody EMPTY = create(null, new byte[0]);
+
+  /**
+   * Returns empty request body without content type. Used as a placeholder when body is not
+   * captured, for example when configured level does not print bodies.
+   */
+  public static InterceptedRequestBody empty() {
+    return EMPTY;
+  }
+
   /**
    * Returns a new request body that transmits {@code content}. If {@code contentType} is non-null
    * and lacks a charset, this will use UTF-8.
@@ -45,7 +56,7 @@ public abstract class InterceptedRequestBody {
       charset = contentType.charset();
       if (charset == null) {
         charset = Util.UTF_8;
-        contentType = InterceptedMediaType.parse(contentType + "; charset=utf-8");
+        contentType = contentType.withUtf8Charset();
       }
     }
     final byte[] bytes = content.getBytes(charset);
@@ -111,6 +122,112 @@ public abstract class InterceptedRequestBody {
     };
   }
 
+  /**
+   * Returns a new request body backed by segments of provided buffer. Every {@link #writeTo} call
+   * writes independent view sharing these segments (see {@link Buffer#clone()}), so segments are
+   * moved to the sink and content bytes are never copied. Provided buffer should not be modified
+   * afterwards.
+   */
+  public static InterceptedRequestBody shared(final InterceptedMediaType contentType,
+                                              final Buffer content) {
+    if (content == null) {
+      throw new NullPointerException("content == null");
+    }
+    return new InterceptedRequestBody() {
+      @Override
+      public InterceptedMediaType contentType() {
+        return contentType;
+      }
+
+      @Override
+      public long contentLength() {
+        return content.size();
+      }
+
+      @Override
+      public void writeTo(BufferedSink sink) throws IOException {
+        sink.write(content.clone(), content.size());
+      }
+    };
+  }
+
+  /**
+   * Returns a new request body holding only the head of original content. Used when original
+   * body exceeds configured capture limit, {@code totalLength} is size of original body or -1 if
+   * unknown.
+   */
+  public static InterceptedRequestBody truncated(final InterceptedMediaType contentType,
+                                                 final byte[] preview,
+                                                 final long totalLength) {
+    if (preview == null) {
+      throw new NullPointerException("preview == null");
+    }
+    return new InterceptedRequestBody() {
+      @Override
+      public InterceptedMediaType contentType() {
+        return contentType;
+      }
+
+      @Override
+      public long contentLength() {
+        return preview.length;
+      }
+
+      @Override
+      public boolean isTruncated() {
+        return true;
+      }
+
+      @Override
+      public long totalLength() {
+        return totalLength;
+      }
+
+      @Override
+      public void writeTo(BufferedSink sink) throws IOException {
+        sink.write(preview);
+      }
+    };
+  }
+
+  /**
+   * Same as {@link #truncated(InterceptedMediaType, byte[], long)}, but preview is {@link
+   * #shared(InterceptedMediaType, Buffer) shared} with provided buffer instead of copied.
+   */
+  public static InterceptedRequestBody truncated(final InterceptedMediaType contentType,
+                                                 final Buffer preview,
+                                                 final long totalLength) {
+    if (preview == null) {
+      throw new NullPointerException("preview == null");
+    }
+    return new InterceptedRequestBody() {
+      @Override
+      public InterceptedMediaType contentType() {
+        return contentType;
+      }
+
+      @Override
+      public long contentLength() {
+        return preview.size();
+      }
+
+      @Override
+      public boolean isTruncated() {
+        return true;
+      }
+
+      @Override
+      public long totalLength() {
+        return totalLength;
+      }
+
+      @Override
+      public void writeTo(BufferedSink sink) throws IOException {
+        sink.write(preview.clone(), preview.size());
+      }
+    };
+  }
+
   /**
    * Returns a new request body that transmits the content of {@code file}.
    */
@@ -159,6 +276,29 @@ public abstract class InterceptedRequestBody {
     return -1;
   }
 
+  /**
+   * Returns true if this body holds only the head of original content.
+   */
+  public boolean isTruncated() {
+    return false;
+  }
+
+  /**
+   * Returns the size of original content or -1 if it is unknown. Differs from {@link
+   * #contentLength()} only for {@link #isTruncated() truncated} bodies.
+   */
+  public long totalLength() {
+    return contentLength();
+  }
+
+  /**
+   * Called once event holding this body was printed, body content is not read afterwards.
+   * Default implementation does nothing, bodies backed by pooled buffers return them to the pool.
+   */
+  public void release() {
+    // Nothing to release by default
+  }
+
   /**
    * Writes the content of this request to {@code sink}.
    */
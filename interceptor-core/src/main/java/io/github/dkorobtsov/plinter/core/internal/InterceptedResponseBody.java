@@ -117,7 +117,7 @@ public abstract class InterceptedResponseBody implements Closeable {
       charset = contentType.charset();
       if (charset == null) {
         charset = UTF_8;
-        contentType = InterceptedMediaType.parse(contentType + "; charset=utf-8");
+        contentType = contentType.withUtf8Charset();
       }
     }
     try (Buffer buffer = new Buffer().writeString(content, charset)) {
@@ -130,9 +130,37 @@ public abstract class InterceptedResponseBody implements Closeable {
    */
   public static InterceptedResponseBody create(final InterceptedMediaType contentType,
                                                byte[] content) {
-    try (Buffer buffer = new Buffer().write(content)) {
-      return create(contentType, content.length, buffer);
+    return shared(contentType, new Buffer().write(content));
+  }
+
+  /**
+   * Returns a new response body backed by segments of provided buffer. Every {@link #source()}
+   * call returns independent view sharing these segments (see {@link Buffer#clone()}), so body can
+   * be read any number of times, also concurrently with other views of the same segments (e.g.
+   * by the client reading its own copy), and content bytes are never copied. Provided buffer
+   * should not be modified afterwards.
+   */
+  public static InterceptedResponseBody shared(final InterceptedMediaType contentType,
+                                               final Buffer content) {
+    if (content == null) {
+      throw new NullPointerException("content == null");
     }
+    return new InterceptedResponseBody() {
+      @Override
+      public InterceptedMediaType contentType() {
+        return contentType;
+      }
+
+      @Override
+      public long contentLength() {
+        return content.size();
+      }
+
+      @Override
+      public BufferedSource source() {
+        return content.clone();
+      }
+    };
   }
 
   /**
@@ -162,6 +190,55 @@ public abstract class InterceptedResponseBody implements Closeable {
     };
   }
 
+  /**
+   * Returns a new response body holding only the head of original content. Used when original
+   * body exceeds configured capture limit, {@code totalLength} is size of original body or -1 if
+   * unknown.
+   */
+  public static InterceptedResponseBody truncated(final InterceptedMediaType contentType,
+                                                  final byte[] preview,
+                                                  final long totalLength) {
+    return truncated(contentType, new Buffer().write(preview), totalLength);
+  }
+
+  /**
+   * Same as {@link #truncated(InterceptedMediaType, byte[], long)}, but preview is {@link
+   * #shared(InterceptedMediaType, Buffer) shared} with provided buffer instead of copied.
+   */
+  public static InterceptedResponseBody truncated(final InterceptedMediaType contentType,
+                                                  final Buffer preview,
+                                                  final long totalLength) {
+    if (preview == null) {
+      throw new NullPointerException("preview == null");
+    }
+    return new InterceptedResponseBody() {
+      @Override
+      public InterceptedMediaType contentType() {
+        return contentType;
+      }
+
+      @Override
+      public long contentLength() {
+        return preview.size();
+      }
+
+      @Override
+      public boolean isTruncated() {
+        return true;
+      }
+
+      @Override
+      public long totalLength() {
+        return totalLength;
+      }
+
+      @Override
+      public BufferedSource source() {
+        return preview.clone();
+      }
+    };
+  }
+
   public abstract InterceptedMediaType contentType();
 
   /**
@@ -172,6 +249,29 @@ public abstract class InterceptedResponseBody implements Closeable {
 
   public abstract BufferedSource source();
 
+  /**
+   * Returns true if this body holds only the head of original content.
+   */
+  public boolean isTruncated() {
+    return false;
+  }
+
+  /**
+   * Returns the size of original content or -1 if it is unknown. Differs from {@link
+   * #contentLength()} only for {@link #isTruncated() truncated} bodies.
+   */
+  public long totalLength() {
+    return contentLength();
+  }
+
+  /**
+   * Called once event holding this body was printed, body content is not read afterwards.
+   * Default implementation does nothing, bodies backed by pooled buffers return them to the pool.
+   */
+  public void release() {
+    // Nothing to release by default
+  }
+
   /**
    * Returns the response as a byte array.
    *
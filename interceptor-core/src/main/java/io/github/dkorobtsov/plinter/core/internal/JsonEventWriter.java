@@ -0,0 +1,216 @@
+package io.github.dkorobtsov.plinter.core.internal;
+
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Renders intercepted events as single-line JSON objects for
+ * {@link io.github.dkorobtsov.plinter.core.OutputFormat#JSON} output format.
+ * <p>
+ * Request example:
+ * <pre>{@code
+ * {"type":"request","url":"http://host/api","method":"POST","headers":{"Accept":"text/plain"},
+ *  "body":"{\"id\":1}"}
+ * }</pre>
+ * Response example:
+ * <pre>{@code
+ * {"type":"response","url":"http://host/api","status":200,"message":"OK","success":true,
+ *  "tookMs":12,"headers":{},"body":"...","bodyTruncated":true,"bodyTotalBytes":5000}
+ * }</pre>
+ * Exchange example:
+ * <pre>{@code
+ * {"type":"exchange","id":"5f3a1c9e07b2d4e1","url":"http://host/api",
+ *  "request":{"type":"request","method":"GET","headers":{}},
+ *  "response":{"type":"response","status":200,"message":"OK","success":true,"tookMs":12,...}}
+ * }</pre>
+ * Body is printed as is (not formatted). When there is no printable body, "bodyStatus" field
+ * with value "empty", "omitted" or "failed" is written instead. Header with multiple values is
+ * written as array. Events are appended to provided buffer, so no intermediate strings are
+ * created.
+ */
+final class JsonEventWriter {
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+  private static final char LINE_SEPARATOR = '\u2028';
+  private static final char PARAGRAPH_SEPARATOR = '\u2029';
+
+  private final boolean withThreadInfo;
+  private final boolean printHeaders;
+  private final boolean printBody;
+
+  JsonEventWriter(boolean withThreadInfo, boolean printHeaders, boolean printBody) {
+    this.withThreadInfo = withThreadInfo;
+    this.printHeaders = printHeaders;
+    this.printBody = printBody;
+  }
+
+  void request(StringBuilder sb, InterceptedRequest request, BodyPreview body) {
+    sb.append("{\"type\":\"request\"");
+    appendThreadInfo(sb);
+    appendField(sb, "url", request.url().toString());
+    appendRequestFields(sb, request, body);
+    sb.append('}');
+  }
+
+  void response(StringBuilder sb, InterceptedResponse response, BodyPreview body) {
+    sb.append("{\"type\":\"response\"");
+    appendThreadInfo(sb);
+    appendField(sb, "url", response.url);
+    appendResponseFields(sb, response, body);
+    sb.append('}');
+  }
+
+  /**
+   * Renders request and its response as single exchange event, request and response details are
+   * written as nested objects.
+   */
+  void exchange(StringBuilder sb, String exchangeId,
+                InterceptedRequest request, BodyPreview requestBody,
+                InterceptedResponse response, BodyPreview responseBody) {
+    sb.append("{\"type\":\"exchange\"");
+    appendField(sb, "id", exchangeId);
+    appendThreadInfo(sb);
+    appendField(sb, "url", request.url().toString());
+    sb.append(",\"request\":{\"type\":\"request\"");
+    appendRequestFields(sb, request, requestBody);
+    sb.append("},\"response\":{\"type\":\"response\"");
+    appendResponseFields(sb, response, responseBody);
+    sb.append("}}");
+  }
+
+  private void appendRequestFields(StringBuilder sb, InterceptedRequest request,
+                                   BodyPreview body) {
+    appendField(sb, "method", request.method());
+    appendHeaders(sb, request.headers());
+    appendBody(sb, body);
+  }
+
+  private void appendResponseFields(StringBuilder sb, InterceptedResponse response,
+                                    BodyPreview body) {
+    sb.append(",\"status\":").append(response.code);
+    appendField(sb, "message", response.message);
+    sb.append(",\"success\":").append(response.isSuccessful);
+    sb.append(",\"tookMs\":").append(response.chainMs);
+    appendHeaders(sb, response.headers);
+    appendBody(sb, body);
+  }
+
+  private void appendThreadInfo(StringBuilder sb) {
+    if (withThreadInfo) {
+      appendField(sb, "thread", Thread.currentThread().getName());
+      appendField(sb, "timestamp", Instant.now().toString());
+    }
+  }
+
+  private void appendHeaders(StringBuilder sb, InterceptedHeaders headers) {
+    if (!printHeaders) {
+      return;
+    }
+    sb.append(",\"headers\":{");
+    if (headers != null) {
+      boolean isFirst = true;
+      for (int i = 0; i < headers.size(); i++) {
+        final String name = headers.name(i);
+        if (i > 0 && headers.indexOf(name) != i) {
+          // repeated field, already written together with the first one
+          continue;
+        }
+        if (!isFirst) {
+          sb.append(',');
+        }
+        isFirst = false;
+        appendString(sb, name);
+        sb.append(':');
+        int next = headers.nextIndexOf(i);
+        if (next < 0) {
+          appendString(sb, headers.value(i));
+        } else {
+          sb.append('[');
+          appendString(sb, headers.value(i));
+          for (; next >= 0; next = headers.nextIndexOf(next)) {
+            sb.append(',');
+            appendString(sb, headers.value(next));
+          }
+          sb.append(']');
+        }
+      }
+    }
+    sb.append('}');
+  }
+
+  private void appendBody(StringBuilder sb, BodyPreview body) {
+    if (!printBody) {
+      return;
+    }
+    if (body.status != BodyPreview.Status.TEXT) {
+      appendField(sb, "bodyStatus", body.status.name().toLowerCase(Locale.US));
+      return;
+    }
+    appendField(sb, "body", body.text);
+    if (body.isTruncated) {
+      sb.append(",\"bodyTruncated\":true");
+      if (body.totalLength >= 0) {
+        sb.append(",\"bodyTotalBytes\":").append(body.totalLength);
+      }
+    }
+  }
+
+  private static void appendField(StringBuilder sb, String name, String value) {
+    if (value == null) {
+      return;
+    }
+    sb.append(",\"").append(name).append("\":");
+    appendString(sb, value);
+  }
+
+  /**
+   * Appends value as JSON string literal. Control characters, quotes and backslashes are
+   * escaped, as well as line and paragraph separators, which are invalid in JavaScript strings.
+   */
+  private static void appendString(StringBuilder sb, String value) {
+    sb.append('"');
+    final int length = value.length();
+    int start = 0;
+    for (int i = 0; i < length; i++) {
+      final char c = value.charAt(i);
+      final String replacement = replacement(c);
+      if (replacement == null && c >= 0x20 && c != LINE_SEPARATOR && c != PARAGRAPH_SEPARATOR) {
+        continue;
+      }
+      sb.append(value, start, i);
+      if (replacement != null) {
+        sb.append(replacement);
+      } else {
+        sb.append("\\u")
+          .append(HEX[c >> 12 & 0xF])
+          .append(HEX[c >> 8 & 0xF])
+          .append(HEX[c >> 4 & 0xF])
+          .append(HEX[c & 0xF]);
+      }
+      start = i + 1;
+    }
+    sb.append(value, start, length).append('"');
+  }
+
+  private static String replacement(char c) {
+    switch (c) {
+      case '"':
+        return "\\\"";
+      case '\\':
+        return "\\\\";
+      case '\n':
+        return "\\n";
+      case '\r':
+        return "\\r";
+      case '\t':
+        return "\\t";
+      case '\b':
+        return "\\b";
+      case '\f':
+        return "\\f";
+      default:
+        return null;
+    }
+  }
+
+}
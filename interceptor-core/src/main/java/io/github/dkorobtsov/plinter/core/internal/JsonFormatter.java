@@ -0,0 +1,457 @@
+package io.github.dkorobtsov.plinter.core.internal;
+
+import java.util.BitSet;
+
+/**
+ * Streaming JSON pretty printer. Document is tokenized and indented output is written straight
+ * into the result buffer, so no intermediate object graph is created and keys keep their
+ * original order.
+ * <p>
+ * Output layout matches previously used org.json formatting: containers with single member are
+ * printed inline, for example: {"name": "value"}. Since layout of container has to be known
+ * before its first member is written, document is scanned once beforehand and containers with
+ * more than one member are marked in a bit set - printed output is never rewritten. Parsing is
+ * lenient in the same way as org.json - unquoted keys and values and single-quoted strings are
+ * accepted and printed as regular JSON. Numbers and string escapes are copied as is.
+ */
+@SuppressWarnings({
+  "PMD.AvoidLiteralsInIfCondition",
+  "PMD.CyclomaticComplexity"
+}) // by design
+final class JsonFormatter {
+
+  private static final int EOF = -1;
+  private static final int MAX_DEPTH = 512;
+  private static final String UNQUOTED_STOP_CHARS = ",:]}/\\\"[{;=#";
+
+  private final String json;
+  private final int indent;
+  private final StringBuilder out;
+  private final BitSet expandedContainers;
+  private int containers;
+  private int pos;
+
+  private JsonFormatter(String json, int indent) {
+    this.json = json;
+    this.indent = indent;
+    this.out = new StringBuilder(json.length() + (json.length() >> 1));
+    this.expandedContainers = scanContainers(json);
+  }
+
+  /**
+   * Returns pretty printed JSON document.
+   *
+   * @param json   JSON document
+   * @param indent number of spaces used for each indentation level
+   * @return formatted document
+   * @throws MalformedJsonException if provided text is not valid JSON document
+   */
+  static String format(String json, int indent) {
+    final JsonFormatter formatter = new JsonFormatter(json, indent);
+    formatter.writeValue(0, 0);
+    if (formatter.nextClean() != EOF) {
+      throw formatter.malformed("Unexpected content after JSON document");
+    }
+    return formatter.out.toString();
+  }
+
+  private void writeValue(int level, int depth) {
+    final int c = nextClean();
+    switch (c) {
+      case '{':
+        writeObject(level, depth + 1);
+        break;
+      case '[':
+        writeArray(level, depth + 1);
+        break;
+      case '"':
+      case '\'':
+        writeString((char) c);
+        break;
+      case EOF:
+        throw malformed("Unexpected end of JSON document");
+      default:
+        pos--;
+        writeUnquoted();
+        break;
+    }
+  }
+
+  private void writeObject(int level, int depth) {
+    checkDepth(depth);
+    final boolean isExpanded = expandedContainers.get(containers++);
+    final int memberLevel = isExpanded ? level + 1 : level;
+    out.append('{');
+    int members = 0;
+    int c = peekClean();
+    while (c != '}') {
+      startMember(members, isExpanded, memberLevel);
+      writeKey();
+      if (nextClean() != ':') {
+        throw malformed("Expected ':' after key");
+      }
+      out.append(':').append(' ');
+      writeValue(memberLevel, depth);
+      members++;
+
+      c = peekClean();
+      if (c == ',') {
+        pos++;
+        c = peekClean();
+      } else if (c != '}') {
+        throw malformed("Expected ',' or '}'");
+      }
+    }
+    pos++;
+    closeContainer('}', isExpanded, level);
+  }
+
+  private void writeArray(int level, int depth) {
+    checkDepth(depth);
+    final boolean isExpanded = expandedContainers.get(containers++);
+    final int elementLevel = isExpanded ? level + 1 : level;
+    out.append('[');
+    int elements = 0;
+    int c = peekClean();
+    while (c != ']') {
+      startMember(elements, isExpanded, elementLevel);
+      writeValue(elementLevel, depth);
+      elements++;
+
+      c = peekClean();
+      if (c == ',') {
+        pos++;
+        c = peekClean();
+      } else if (c != ']') {
+        throw malformed("Expected ',' or ']'");
+      }
+    }
+    pos++;
+    closeContainer(']', isExpanded, level);
+  }
+
+  private void startMember(int index, boolean isExpanded, int memberLevel) {
+    if (index > 0) {
+      out.append(',');
+    }
+    if (isExpanded) {
+      newLine(memberLevel);
+    }
+  }
+
+  private void closeContainer(char bracket, boolean isExpanded, int level) {
+    if (isExpanded) {
+      newLine(level);
+    }
+    out.append(bracket);
+  }
+
+  /**
+   * Scans document without producing output and marks containers (numbered in order of their
+   * opening brackets) which have more than one member. Scan is lenient - malformed documents are
+   * reported by the printing pass.
+   */
+  private static BitSet scanContainers(String json) {
+    final BitSet expanded = new BitSet();
+    final int[] ordinals = new int[MAX_DEPTH + 1];
+    final int[] members = new int[MAX_DEPTH + 1];
+    final boolean[] awaitingMember = new boolean[MAX_DEPTH + 1];
+    int depth = -1;
+    int containers = 0;
+    int i = 0;
+    while (i < json.length()) {
+      final char c = json.charAt(i);
+      if (c <= ' ' || c == ':') {
+        i++;
+        continue;
+      }
+      if (c == '}' || c == ']') {
+        depth = Math.max(depth - 1, -1);
+        i++;
+        continue;
+      }
+      if (c == ',') {
+        if (depth >= 0) {
+          awaitingMember[depth] = true;
+        }
+        i++;
+        continue;
+      }
+      if (depth >= 0 && awaitingMember[depth]) {
+        awaitingMember[depth] = false;
+        if (++members[depth] == 2) {
+          expanded.set(ordinals[depth]);
+        }
+      }
+      if (c == '{' || c == '[') {
+        if (depth == MAX_DEPTH) {
+          // Printing pass rejects documents nested deeper
+          break;
+        }
+        depth++;
+        ordinals[depth] = containers++;
+        members[depth] = 0;
+        awaitingMember[depth] = true;
+        i++;
+      } else if (c == '"' || c == '\'') {
+        i = skipString(json, i + 1, c);
+      } else {
+        i = skipUnquoted(json, i);
+      }
+    }
+    return expanded;
+  }
+
+  private static int skipString(String json, int from, char quote) {
+    int i = from;
+    while (i < json.length()) {
+      final char c = json.charAt(i++);
+      if (c == quote) {
+        break;
+      } else if (c == '\\') {
+        i++;
+      }
+    }
+    return i;
+  }
+
+  private static int skipUnquoted(String json, int from) {
+    int i = from + 1;
+    while (i < json.length()) {
+      final char c = json.charAt(i);
+      if (c <= ' ' || UNQUOTED_STOP_CHARS.indexOf(c) != -1) {
+        break;
+      }
+      i++;
+    }
+    return i;
+  }
+
+  private void writeKey() {
+    final int c = nextClean();
+    if (c == '"' || c == '\'') {
+      writeString((char) c);
+    } else if (c == EOF || "{}[],:".indexOf(c) != -1) {
+      throw malformed("Expected key");
+    } else {
+      pos--;
+      appendQuoted(readUnquoted());
+    }
+  }
+
+  private void writeString(char quote) {
+    out.append('"');
+    int runStart = pos;
+    while (true) {
+      if (pos >= json.length()) {
+        throw malformed("Unterminated string");
+      }
+      final char c = json.charAt(pos);
+      if (c == quote) {
+        out.append(json, runStart, pos++).append('"');
+        return;
+      }
+      if (c == '\\' || c == '"' || c < ' ') {
+        out.append(json, runStart, pos++);
+        writeSpecialChar(c, quote);
+        runStart = pos;
+      } else {
+        pos++;
+      }
+    }
+  }
+
+  private void writeSpecialChar(char c, char quote) {
+    if (c == '\\') {
+      if (pos >= json.length()) {
+        throw malformed("Unterminated string");
+      }
+      final char escaped = json.charAt(pos++);
+      if (escaped == '\'' && quote == '\'') {
+        out.append('\'');
+      } else {
+        out.append('\\').append(escaped);
+      }
+    } else if (c == '"') {
+      // Only possible inside single-quoted string
+      out.append('\\').append('"');
+    } else if (c == '\n' || c == '\r') {
+      throw malformed("Unterminated string");
+    } else {
+      appendControlChar(c);
+    }
+  }
+
+  private void writeUnquoted() {
+    final String token = readUnquoted();
+    if (isLiteral(token)) {
+      out.append(token);
+    } else {
+      appendQuoted(token);
+    }
+  }
+
+  private String readUnquoted() {
+    final int start = pos;
+    while (pos < json.length()) {
+      final char c = json.charAt(pos);
+      if (c <= ' ' || UNQUOTED_STOP_CHARS.indexOf(c) != -1) {
+        break;
+      }
+      pos++;
+    }
+    if (start == pos) {
+      throw malformed("Missing value");
+    }
+    return json.substring(start, pos);
+  }
+
+  private void appendQuoted(String value) {
+    out.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      if (c == '\\' || c == '"') {
+        out.append('\\').append(c);
+      } else if (c < ' ') {
+        appendControlChar(c);
+      } else {
+        out.append(c);
+      }
+    }
+    out.append('"');
+  }
+
+  private void appendControlChar(char c) {
+    switch (c) {
+      case '\b':
+        out.append("\\b");
+        break;
+      case '\t':
+        out.append("\\t");
+        break;
+      case '\f':
+        out.append("\\f");
+        break;
+      case '\n':
+        out.append("\\n");
+        break;
+      case '\r':
+        out.append("\\r");
+        break;
+      default:
+        out.append("\\u00")
+          .append(Character.forDigit(c >> 4, 16))
+          .append(Character.forDigit(c & 0xF, 16));
+        break;
+    }
+  }
+
+  private static boolean isLiteral(String token) {
+    return "true".equals(token)
+      || "false".equals(token)
+      || "null".equals(token)
+      || isNumber(token);
+  }
+
+  /**
+   * Checks if token is a number as defined by JSON grammar.
+   */
+  private static boolean isNumber(String token) {
+    int i = 0;
+    final int length = token.length();
+    if (token.charAt(i) == '-') {
+      i++;
+    }
+    final int integerStart = i;
+    i = skipDigits(token, i);
+    if (i == integerStart || token.charAt(integerStart) == '0' && i - integerStart > 1) {
+      return false;
+    }
+    if (i < length && token.charAt(i) == '.') {
+      final int fractionStart = ++i;
+      i = skipDigits(token, i);
+      if (i == fractionStart) {
+        return false;
+      }
+    }
+    if (i < length && (token.charAt(i) == 'e' || token.charAt(i) == 'E')) {
+      i++;
+      if (i < length && (token.charAt(i) == '+' || token.charAt(i) == '-')) {
+        i++;
+      }
+      final int exponentStart = i;
+      i = skipDigits(token, i);
+      if (i == exponentStart) {
+        return false;
+      }
+    }
+    return i == length;
+  }
+
+  private static int skipDigits(String token, int from) {
+    int i = from;
+    while (i < token.length() && token.charAt(i) >= '0' && token.charAt(i) <= '9') {
+      i++;
+    }
+    return i;
+  }
+
+  private void newLine(int level) {
+    out.append('\n');
+    appendIndent(level * indent);
+  }
+
+  private void appendIndent(int spaces) {
+    for (int i = 0; i < spaces; i++) {
+      out.append(' ');
+    }
+  }
+
+  private int nextClean() {
+    final int c = peekClean();
+    if (c != EOF) {
+      pos++;
+    }
+    return c;
+  }
+
+  private int peekClean() {
+    while (pos < json.length()) {
+      final char c = json.charAt(pos);
+      if (c > ' ') {
+        return c;
+      }
+      pos++;
+    }
+    return EOF;
+  }
+
+  private void checkDepth(int depth) {
+    if (depth > MAX_DEPTH) {
+      throw malformed("Maximum nesting depth exceeded");
+    }
+  }
+
+  private MalformedJsonException malformed(String message) {
+    return new MalformedJsonException(message + " at character " + pos);
+  }
+
+  /**
+   * Thrown when formatted text is not valid JSON document.
+   */
+  static final class MalformedJsonException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 4623459133758341562L;
+
+    MalformedJsonException(String message) {
+      super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+      // Expected for non-JSON bodies, so stack trace is not needed
+      return this;
+    }
+  }
+
+}
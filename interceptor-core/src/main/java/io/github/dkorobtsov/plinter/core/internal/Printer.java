@@ -26,22 +26,31 @@
 package io.github.dkorobtsov.plinter.core.internal;
 
 
-import io.github.dkorobtsov.plinter.core.Level;
+import io.github.dkorobtsov.plinter.core.BodyCapturePolicy;
+import io.github.dkorobtsov.plinter.core.EventFields;
 import io.github.dkorobtsov.plinter.core.LogWriter;
 import io.github.dkorobtsov.plinter.core.LoggerConfig;
+import io.github.dkorobtsov.plinter.core.LoggingOverhead;
+import io.github.dkorobtsov.plinter.core.LoggingOverhead.Stage;
+import io.github.dkorobtsov.plinter.core.OutputFormat;
 import okio.Buffer;
+import okio.BufferedSink;
 import okio.BufferedSource;
-import okio.GzipSource;
+import okio.Okio;
 
 import java.io.IOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.nio.charset.Charset;
-import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Calendar;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 import static io.github.dkorobtsov.plinter.core.internal.Util.UTF_8;
 import static java.util.Objects.isNull;
@@ -51,6 +60,14 @@ import static java.util.Objects.nonNull;
 /**
  * Class responsible for formatting intercepted events and logging them using provided {@link
  * LogWriter} implementation.
+ * <p>
+ * Printer instances are immutable and compiled once per {@link LoggerConfig} - everything that
+ * depends only on configuration (horizontal lines, thread info format, level checks) is
+ * calculated upfront, so same instance can be safely used by many threads in parallel without
+ * any locking. Use {@link #forConfig(LoggerConfig)} to get printer for specific configuration.
+ * <p>
+ * With {@link OutputFormat#JSON} output format events are rendered by {@link JsonEventWriter}
+ * instead, body is read the same way, but is not formatted.
  */
 @SuppressWarnings({"PMD", "PMD.UnnecessaryImport"}) // Crashes on Fields + gives false positives
 final class Printer {
@@ -65,6 +82,8 @@ final class Printer {
 
   private static final String REQUEST_STARTING_LINE = "┌────── Request ";
   private static final String RESPONSE_STARTING_LINE = "┌────── Response ";
+  private static final String EXCHANGE_STARTING_LINE = "┌────── Exchange ";
+  private static final String EXCHANGE_RESPONSE_LINE = "├────── Response ";
   private static final String ENDING_LINE = "└";
   private static final String CORNER_UP = "┌ ";
   private static final String CORNER_BOTTOM = "└ ";
@@ -83,9 +102,10 @@ final class Printer {
   private static final String THREAD_TAG = "Thread: ";
   private static final String SENT_TAG = "Sent: ";
   private static final String RECEIVED_TAG = "Received: ";
-  private static final String TIMESTAMP_FORMAT = "yyyy-MM-dd HH:mm:ss:SSS";
   private static final String THREAD_STRING_FORMAT = "%-5s %-{indent}s %-5s %s";
   private static final int THREAD_INDENT = 36;
+  private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter
+    .ofPattern("yyyy-MM-dd HH:mm:ss:SSS", Locale.getDefault());
 
   private static final String EMPTY_STRING = "";
   private static final String[] OMITTED_RESPONSE = {EMPTY_STRING, "Omitted response body"};
@@ -94,187 +114,469 @@ final class Printer {
   private static final String[] EMPTY_RESPONSE_BODY = {EMPTY_STRING, "Empty response body"};
   private static final String[] PRINTING_FAILED = {EMPTY_STRING,
     "[LoggingInterceptorError] : failed to print body"};
+  private static final String TRUNCATED_BODY = "Body truncated: showing first %d of %d bytes, "
+    + "%d bytes omitted";
+  private static final String TRUNCATED_BODY_UNKNOWN_SIZE = "Body truncated: showing first %d "
+    + "bytes, total size unknown";
+  private static final String CONTENT_ENCODING = "Content-Encoding";
+
+  private static final PrinterCache PRINTERS = new PrinterCache();
+
+  private final LogWriter logWriter;
+  private final boolean logByLine;
+  private final boolean withThreadInfo;
+  private final boolean printBody;
+  private final boolean printHeaders;
+  private final int maxLineLength;
+  private final int maxBodyBytes;
+  private final BodyCapturePolicy capturePolicy;
+  private final JsonEventWriter jsonEventWriter;
+  private final LoggingOverhead overhead;
+
+  private final String requestStartingLine;
+  private final String responseStartingLine;
+  private final String exchangeResponseLine;
+  private final String endingLine;
+  private final String sectionHorizontalLine;
+  private final String requestThreadInfoFormat;
+  private final String responseThreadInfoFormat;
+
+  private Printer(LoggerConfig loggerConfig) {
+    this.logWriter = loggerConfig.logger;
+    this.logByLine = loggerConfig.logByLine;
+    this.withThreadInfo = loggerConfig.withThreadInfo;
+    this.maxLineLength = loggerConfig.maxLineLength;
+    this.maxBodyBytes = loggerConfig.maxBodyBytes;
+    this.capturePolicy = loggerConfig.capturePolicy;
+    this.printBody = loggerConfig.level.printsBody();
+    this.printHeaders = loggerConfig.level.printsHeaders();
+    this.jsonEventWriter = loggerConfig.outputFormat == OutputFormat.JSON
+      ? new JsonEventWriter(withThreadInfo, printHeaders, printBody)
+      : null;
+    this.overhead = loggerConfig.overhead;
+
+    this.requestStartingLine = horizontalLine(REQUEST_STARTING_LINE);
+    this.responseStartingLine = horizontalLine(RESPONSE_STARTING_LINE);
+    this.exchangeResponseLine = horizontalLine(EXCHANGE_RESPONSE_LINE);
+    this.endingLine = horizontalLine(ENDING_LINE);
+    this.sectionHorizontalLine = horizontalLine(SECTION_LINE);
+    this.requestThreadInfoFormat = threadInfoStringFormat(SENT_TAG);
+    this.responseThreadInfoFormat = threadInfoStringFormat(RECEIVED_TAG);
+  }
+
+  /**
+   * Returns printer compiled for provided configuration. Printers are cached, so for the same
+   * configuration instance same printer is returned.
+   */
+  static Printer forConfig(LoggerConfig loggerConfig) {
+    return PRINTERS.get(loggerConfig);
+  }
 
+  void printRequest(InterceptedRequest request) {
+    if (!logWriter.isEnabled()) {
+      return;
+    }
+    final long startNs = startTime();
+    final StringBuilder event = EventBuffer.acquire();
+    try {
+      if (nonNull(jsonEventWriter)) {
+        jsonEventWriter.request(event, request,
+          printBody ? readRequestBody(request) : BodyPreview.empty());
+        logEvent(event, startNs, requestFields(request));
+        return;
+      }
+      event.append(LINE_SEPARATOR).append(requestStartingLine)
+        .append(formatDebugDetails(true))
+        .append(formatUrl(request.url().toString()))
+        .append(formatRequestDetails(request))
+        .append(formatRequestBody(request))
+        .append(LINE_SEPARATOR).append(endingLine);
+
+      logEvent(event, startNs, requestFields(request));
+    } finally {
+      EventBuffer.release(event);
+    }
+  }
 
-  private static LoggerConfig loggerConfig;
+  void printResponse(InterceptedResponse interceptedResponse) {
+    if (!logWriter.isEnabled()) {
+      return;
+    }
+    final long startNs = startTime();
+    final StringBuilder event = EventBuffer.acquire();
+    try {
+      if (nonNull(jsonEventWriter)) {
+        jsonEventWriter.response(event, interceptedResponse,
+          printBody ? readResponseBody(interceptedResponse) : BodyPreview.empty());
+        logEvent(event, startNs, responseFields(interceptedResponse));
+        return;
+      }
+      event.append(LINE_SEPARATOR).append(responseStartingLine)
+        .append(formatDebugDetails(false))
+        .append(formatUrl(interceptedResponse.url))
+        .append(formatResponseDetails(interceptedResponse))
+        .append(formatResponseBody(interceptedResponse))
+        .append(LINE_SEPARATOR).append(endingLine);
+
+      logEvent(event, startNs, responseFields(interceptedResponse));
+    } finally {
+      EventBuffer.release(event);
+    }
+  }
 
-  private Printer() {
+  /**
+   * Prints request together with its response as single event marked with exchange id. URL is
+   * printed only once, in request part.
+   */
+  void printExchange(String exchangeId, InterceptedRequest request,
+                     InterceptedResponse interceptedResponse) {
+    if (!logWriter.isEnabled()) {
+      return;
+    }
+    final long startNs = startTime();
+    final StringBuilder event = EventBuffer.acquire();
+    try {
+      if (nonNull(jsonEventWriter)) {
+        jsonEventWriter.exchange(event, exchangeId,
+          request, printBody ? readRequestBody(request) : BodyPreview.empty(),
+          interceptedResponse,
+          printBody ? readResponseBody(interceptedResponse) : BodyPreview.empty());
+        logEvent(event, startNs, exchangeFields(request, interceptedResponse));
+        return;
+      }
+      event.append(LINE_SEPARATOR)
+        .append(horizontalLine(EXCHANGE_STARTING_LINE + exchangeId + ' '))
+        .append(formatDebugDetails(true))
+        .append(formatUrl(request.url().toString()))
+        .append(formatRequestDetails(request))
+        .append(formatRequestBody(request))
+        .append(LINE_SEPARATOR).append(exchangeResponseLine)
+        .append(formatResponseDetails(interceptedResponse))
+        .append(formatResponseBody(interceptedResponse))
+        .append(LINE_SEPARATOR).append(endingLine);
+
+      logEvent(event, startNs, exchangeFields(request, interceptedResponse));
+    } finally {
+      EventBuffer.release(event);
+    }
   }
 
-  static void printRequest(LoggerConfig loggerConfig, InterceptedRequest request) {
-    Printer.loggerConfig = loggerConfig;
+  /**
+   * Passes rendered event to log writer. Event buffer is handed over as is, so writers which
+   * consume {@link CharSequence} directly don't need to copy event into a separate string.
+   * JSON events are never split into lines.
+   */
+  private void logEvent(StringBuilder event, long startNs, EventFields fields) {
+    final long renderedNs = record(Stage.RENDERING, startNs);
+    if (logByLine && isNull(jsonEventWriter)) {
+      logWriter.logLines(splitLines(event), fields);
+    } else {
+      logWriter.logChars(event, fields);
+    }
+    record(Stage.WRITING, renderedNs);
+  }
 
-    final String event = formatStartingLine(true)
-      + formatDebugDetails(true)
-      + formatUrl(request.url().toString())
-      + formatRequestDetails(request)
-      + formatRequestBody(request)
-      + formatEndingLine();
+  private static EventFields requestFields(InterceptedRequest request) {
+    return new EventFields(request.method(), request.url().getHost(), 0);
+  }
 
-    logEvent(loggerConfig, event);
+  private static EventFields responseFields(InterceptedResponse response) {
+    return new EventFields(null, host(response.url), response.code);
   }
 
-  static void printResponse(LoggerConfig loggerConfig, InterceptedResponse interceptedResponse) {
-    Printer.loggerConfig = loggerConfig;
+  private static EventFields exchangeFields(InterceptedRequest request,
+                                            InterceptedResponse response) {
+    return new EventFields(request.method(), request.url().getHost(), response.code);
+  }
 
-    final String event = formatStartingLine(false)
-      + formatDebugDetails(false)
-      + formatUrl(interceptedResponse.url)
-      + formatResponseDetails(interceptedResponse)
-      + formatResponseBody(interceptedResponse)
-      + formatEndingLine();
+  /**
+   * Returns host part of provided URL, or null if it has none.
+   */
+  private static String host(String url) {
+    final int schemeEnd = isNull(url) ? -1 : url.indexOf("://");
+    if (schemeEnd < 0) {
+      return null;
+    }
+    final int start = schemeEnd + 3;
+    final int end = start < url.length() && url.charAt(start) == '['
+      ? Util.delimiterOffset(url, start, url.length(), ']') + 1
+      : Util.delimiterOffset(url, start, url.length(), "/?#:");
+    return url.substring(start, Math.min(end, url.length()));
+  }
 
-    logEvent(loggerConfig, event);
+  private long startTime() {
+    return isNull(overhead) ? 0L : System.nanoTime();
   }
 
-  private static void logEvent(LoggerConfig loggerConfig, String event) {
-    if (loggerConfig.logByLine) {
-      Arrays.stream(event.split(REGEX_LINE_SEPARATOR))
-        .collect(Collectors.toList())
-        .forEach(loggerConfig.logger::log);
-    } else {
-      loggerConfig.logger.log(event);
+  /**
+   * Records stage duration if overhead is measured.
+   *
+   * @return stage end time, which can be used as start time of the next stage
+   */
+  private long record(Stage stage, long startNs) {
+    if (isNull(overhead)) {
+      return 0L;
     }
+    final long endNs = System.nanoTime();
+    overhead.record(stage, endNs - startNs);
+    return endNs;
   }
 
-  private static String formatStartingLine(boolean isRequest) {
-    final String title = isRequest ? REQUEST_STARTING_LINE : RESPONSE_STARTING_LINE;
-    final int length = loggerConfig.maxLineLength - title.length();
-    return LINE_SEPARATOR + title + drawHorizontalLine(length);
+  private BodyPreview countAllocated(BodyPreview preview) {
+    if (nonNull(overhead) && nonNull(preview.text)) {
+      overhead.recordAllocatedBody(preview.text.length() * 2L);
+    }
+    return preview;
   }
 
-  private static String formatEndingLine() {
-    final int length = loggerConfig.maxLineLength - ENDING_LINE.length();
-    return LINE_SEPARATOR + ENDING_LINE + drawHorizontalLine(length);
+  /**
+   * Splits event into lines on "\n" and "\r\n" separators - same result as splitting with
+   * {@link #REGEX_LINE_SEPARATOR}, trailing empty lines are dropped, but without compiling
+   * regular expression and creating intermediate stream for every printed event.
+   */
+  private static List<String> splitLines(CharSequence event) {
+    final List<String> lines = new ArrayList<>();
+    final int length = event.length();
+    int start = 0;
+    for (int end = 0; end < length; end++) {
+      if (event.charAt(end) != '\n') {
+        continue;
+      }
+      final int lineEnd = end > start && event.charAt(end - 1) == '\r' ? end - 1 : end;
+      lines.add(event.subSequence(start, lineEnd).toString());
+      start = end + 1;
+    }
+    if (lines.isEmpty()) {
+      lines.add(event.toString());
+      return lines;
+    }
+    lines.add(event.subSequence(start, length).toString());
+    int size = lines.size();
+    while (size > 0 && lines.get(size - 1).isEmpty()) {
+      lines.remove(--size);
+    }
+    return lines;
   }
 
-  private static String formatSectionHorizontalLine() {
-    final int length = loggerConfig.maxLineLength - SECTION_LINE.length();
-    return LINE_SEPARATOR + SECTION_LINE + drawHorizontalLine(length);
+
+  private String horizontalLine(String title) {
+    return title + drawHorizontalLine(maxLineLength - title.length());
   }
 
-  private static String formatDebugDetails(boolean isRequest) {
-    if (!loggerConfig.withThreadInfo) {
+  private String formatDebugDetails(boolean isRequest) {
+    if (!withThreadInfo) {
       return EMPTY_STRING;
     }
 
-    final String format = threadInfoStringFormat(isRequest);
+    final String format = isRequest ? requestThreadInfoFormat : responseThreadInfoFormat;
     final String tag = isRequest ? SENT_TAG : RECEIVED_TAG;
     final String thread = Thread.currentThread().getName();
-    final String date = new SimpleDateFormat(TIMESTAMP_FORMAT, Locale.getDefault())
-      .format(Calendar.getInstance().getTime());
+    final String date = LocalDateTime.now().format(TIMESTAMP_FORMAT);
 
     final String debugDetails = N + String.format(format, THREAD_TAG, thread, tag, date);
 
     final StringBuilder sb = logLines(debugDetails
       .split(REGEX_LINE_SEPARATOR), SECTION_DEFAULT_LINE, true)
-      .append(formatSectionHorizontalLine());
+      .append(LINE_SEPARATOR)
+      .append(sectionHorizontalLine);
 
     return sb.toString();
   }
 
-  private static String threadInfoStringFormat(boolean isRequest) {
-    final int requestIndent = loggerConfig.maxLineLength - THREAD_INDENT - SENT_TAG.length();
-    final int responseIndent = loggerConfig.maxLineLength - THREAD_INDENT - RECEIVED_TAG.length();
-    final int indent = isRequest ? requestIndent : responseIndent;
+  private String threadInfoStringFormat(String tag) {
+    final int indent = maxLineLength - THREAD_INDENT - tag.length();
     return THREAD_STRING_FORMAT.replace("{indent}", String.valueOf(indent));
   }
 
-  private static String formatUrl(String url) {
+  private String formatUrl(String url) {
     if (!isEmpty(url)) {
       return logLines(new String[]{URL_TAG + url, EMPTY_STRING}, false);
     }
     return EMPTY_STRING;
   }
 
-  private static String formatRequestDetails(InterceptedRequest request) {
+  private String formatRequestDetails(InterceptedRequest request) {
     return logLines(requestDetails(request), true);
   }
 
-  private static String formatResponseDetails(InterceptedResponse interceptedResponse) {
+  private String formatResponseDetails(InterceptedResponse interceptedResponse) {
     return logLines(responseDetails(interceptedResponse), true);
   }
 
-  private static String formatRequestBody(InterceptedRequest request) {
-    if (bodyShouldNotBePrinted()) {
+  private String formatRequestBody(InterceptedRequest request) {
+    if (!printBody) {
+      return EMPTY_STRING;
+    }
+    return formatBody(readRequestBody(request), true);
+  }
+
+  private String formatResponseBody(InterceptedResponse interceptedResponse) {
+    if (!printBody) {
       return EMPTY_STRING;
     }
+    return formatBody(readResponseBody(interceptedResponse), false);
+  }
 
-    final InterceptedRequest copy = request.newBuilder().build();
-    if (isNull(copy.body)) {
+  private String formatBody(BodyPreview body, boolean isRequest) {
+    switch (body.status) {
+      case OMITTED:
+        return logLines(isRequest ? OMITTED_REQUEST : OMITTED_RESPONSE, true);
+      case FAILED:
+        return logLines(PRINTING_FAILED, true);
+      case EMPTY:
+        return logLines(isRequest ? EMPTY_REQUEST_BODY : EMPTY_RESPONSE_BODY, true);
+      default:
+        break;
+    }
+
+    final long formattingStartNs = startTime();
+    final String printableBody = BodyFormatter.formattedBody(body.text);
+    record(Stage.BODY_FORMATTING, formattingStartNs);
+    if (nonNull(overhead)) {
+      overhead.recordAllocatedBody(printableBody.length() * 2L);
+    }
+
+    // To handle situations, when we expect printable body based on
+    // media type but nothing is returned.
+    if (isRequest && printableBody.isEmpty()) {
       return logLines(EMPTY_REQUEST_BODY, true);
     }
+    return body.isTruncated
+      ? formatBody(printableBody) + formatTruncationNotice(body.shownBytes, body.totalLength)
+      : formatBody(printableBody);
+  }
 
-    try (Buffer buffer = new Buffer()) {
-      copy.body.writeTo(buffer);
-      if (Util.isUtf8(buffer)) {
-        final String printableBody = BodyFormatter
-          .formattedBody(new String(buffer.readByteArray(), UTF_8));
+  /**
+   * Reads printable part of request body, respecting body capture policy and size limit.
+   */
+  private BodyPreview readRequestBody(InterceptedRequest request) {
+    final InterceptedRequest copy = request.newBuilder().build();
+    if (isNull(copy.body)) {
+      return BodyPreview.empty();
+    }
+    if (!capturePolicy.isCaptured(copy.body.contentType())) {
+      return BodyPreview.omitted();
+    }
 
-        // To handle situations, when we expect printable body based on
-        // media type but nothing is returned.
-        if (printableBody.isEmpty()) {
-          return logLines(EMPTY_REQUEST_BODY, true);
-        } else {
-          return formatBody(printableBody);
-        }
-      } else {
-        return logLines(OMITTED_REQUEST, true);
-      }
+    // Body is written through capturing sink, so only its head is copied into memory
+    final int maxBytes = capturePolicy.maxBytes(copy.body.contentType(), maxBodyBytes);
+    final CapturingSink capturingSink = new CapturingSink(maxBytes);
+    try (BufferedSink sink = Okio.buffer(capturingSink)) {
+      copy.body.writeTo(sink);
     } catch (IOException e) {
       logger.log(java.util.logging.Level.SEVERE, e.getMessage(), e);
-      return logLines(PRINTING_FAILED, true);
+      return BodyPreview.failed();
     }
-  }
 
-  private static String formatResponseBody(InterceptedResponse interceptedResponse) {
-    if (bodyShouldNotBePrinted()) {
-      return EMPTY_STRING;
+    final boolean isTruncated = copy.body.isTruncated() || capturingSink.isTruncated();
+    final long totalLength = copy.body.isTruncated()
+      ? copy.body.totalLength()
+      : capturingSink.totalBytes();
+
+    final Buffer captured = capturingSink.captured();
+    if (nonNull(overhead)) {
+      overhead.recordCapturedBody(captured.size());
     }
+    return countAllocated(readBodyContent(captured, isTruncated, totalLength,
+      copy.header(CONTENT_ENCODING), UTF_8, maxBytes));
+  }
 
-    if (interceptedResponse.originalBody == null
-      || interceptedResponse.originalBody.contentLength() <= 0) {
-      return logLines(EMPTY_RESPONSE_BODY, true);
+  /**
+   * Reads printable part of response body, respecting body capture policy and size limit.
+   */
+  private BodyPreview readResponseBody(InterceptedResponse interceptedResponse) {
+    if (interceptedResponse.originalBody == null) {
+      return BodyPreview.empty();
+    }
+    final InterceptedResponseBody body = interceptedResponse.originalBody;
+    if (!capturePolicy.isCaptured(body.contentType())) {
+      return BodyPreview.omitted();
+    }
+    if (body.contentLength() <= 0) {
+      return BodyPreview.empty();
     }
 
+    final int maxBytes = capturePolicy.maxBytes(body.contentType(), maxBodyBytes);
     Buffer buffer = null;
-    try (BufferedSource source = interceptedResponse.originalBody.source()) {
-      source.request(Long.MAX_VALUE); // Buffer the entire body.
-
-      buffer = source.getBuffer();
-      if (isGzipEncoded(interceptedResponse)) {
-        final Buffer gzippedBuffer = buffer.clone();
-        buffer.clear();
-        buffer.writeAll(new GzipSource(gzippedBuffer));
-      }
+    try (BufferedSource source = body.source()) {
+      // Buffering one byte more than allowed - just enough to find out if body is truncated.
+      source.request(maxBytes + 1L);
+      buffer = source.getBuffer().clone();
     } catch (IOException e) {
       logger.log(java.util.logging.Level.SEVERE, e.getMessage(), e);
     }
 
     if (buffer == null
       || buffer.size() == 0L) {
-      return logLines(EMPTY_RESPONSE_BODY, true);
+      return BodyPreview.empty();
     }
 
-    final boolean isPrintable = Util.isUtf8(buffer);
-    if (isPrintable && buffer.size() > 0L) {
-      final String printableBody = BodyFormatter
-        .formattedBody(buffer.clone().readString(Charset.defaultCharset()));
-      return formatBody(printableBody);
-    } else {
-      return logLines(OMITTED_RESPONSE, true);
+    final String contentEncoding = interceptedResponse.headers != null
+      ? interceptedResponse.headers.get(CONTENT_ENCODING)
+      : null;
+
+    if (nonNull(overhead)) {
+      overhead.recordCapturedBody(buffer.size());
     }
+    return countAllocated(readBodyContent(buffer, body.isTruncated(), body.totalLength(),
+      contentEncoding, Charset.defaultCharset(), maxBytes));
   }
 
-  private static boolean isGzipEncoded(InterceptedResponse interceptedResponse) {
-    final String encoding = interceptedResponse.headers != null
-      ? interceptedResponse.headers.get("Content-encoding")
-      : null;
+  /**
+   * Decodes (if needed) captured body content and reads it as text. Content buffer is consumed.
+   *
+   * @param content         captured content, at most one byte longer than body capture limit
+   * @param isTruncated     true if content is just the head of original body
+   * @param totalLength     size of original body or -1 if unknown
+   * @param contentEncoding Content-Encoding header value, can be null
+   * @param charset         charset used for reading printable content
+   * @param maxBytes        maximum number of printed bytes
+   */
+  private BodyPreview readBodyContent(Buffer content, boolean isTruncated,
+                                      long totalLength, String contentEncoding,
+                                      Charset charset, int maxBytes) {
+    Buffer decoded = content;
+    boolean isPreview = isTruncated || content.size() > maxBytes;
+    long originalLength = totalLength;
+
+    if (BodyDecoder.isEncoded(contentEncoding)) {
+      try {
+        decoded = BodyDecoder.decode(contentEncoding, content, maxBytes);
+      } catch (IOException e) {
+        logger.log(java.util.logging.Level.FINE, e.getMessage(), e);
+        decoded = null;
+      }
+      if (decoded == null) {
+        return BodyPreview.omitted();
+      }
+      if (nonNull(overhead)) {
+        overhead.recordAllocatedBody(decoded.size());
+      }
+      // Size of decoded content is known only when it was fully decoded from complete input
+      isPreview = isPreview || decoded.size() > maxBytes;
+      originalLength = isPreview ? -1 : decoded.size();
+    }
+
+    if (decoded.size() == 0L) {
+      return BodyPreview.empty();
+    }
+    if (!Util.isUtf8(decoded)) {
+      return BodyPreview.omitted();
+    }
+
+    final long shownBytes = Math.min(decoded.size(), maxBytes);
+    return BodyPreview.text(decoded.readString(shownBytes, charset), isPreview, shownBytes,
+      originalLength);
+  }
 
-    return "gzip".equals(encoding);
+  private String formatTruncationNotice(long shownBytes, long totalLength) {
+    final String notice = totalLength < 0
+      ? String.format(TRUNCATED_BODY_UNKNOWN_SIZE, shownBytes)
+      : String.format(TRUNCATED_BODY, shownBytes, totalLength, totalLength - shownBytes);
+    return logLines(new String[]{EMPTY_STRING, notice}, true);
   }
 
-  private static String formatBody(String printableBody) {
+  private String formatBody(String printableBody) {
     final String responseBody = LINE_SEPARATOR
       + BODY_TAG
       + LINE_SEPARATOR
@@ -283,25 +585,15 @@ final class Printer {
     return logLines(responseBody.split(REGEX_LINE_SEPARATOR), true);
   }
 
-  private static boolean bodyShouldNotBePrinted() {
-    return loggerConfig.level != Level.BASIC && loggerConfig.level != Level.BODY;
-  }
-
-  private static String[] requestDetails(InterceptedRequest request) {
-    final boolean isLoggable = loggerConfig.level == Level.HEADERS
-      || loggerConfig.level == Level.BASIC;
-
+  private String[] requestDetails(InterceptedRequest request) {
     final String requestDetails = METHOD_TAG + request.method()
       + DOUBLE_SEPARATOR
-      + printHeaderIfLoggable(request.headers().toString(), isLoggable);
+      + printHeaderIfLoggable(request.headers().toString());
 
     return requestDetails.split(REGEX_LINE_SEPARATOR);
   }
 
-  private static String[] responseDetails(InterceptedResponse interceptedResponse) {
-    final boolean isLoggable = loggerConfig.level == Level.HEADERS
-      || loggerConfig.level == Level.BASIC;
-
+  private String[] responseDetails(InterceptedResponse interceptedResponse) {
     final String segmentString = slashSegments(interceptedResponse.segmentList);
     final String receivedTags = interceptedResponse.chainMs == 0
       ? EMPTY_STRING
@@ -318,7 +610,7 @@ final class Printer {
       + STATUS_CODE_TAG + interceptedResponse.code + " / " + statusMessage
       + DOUBLE_SEPARATOR
       + printHeaderIfLoggable(interceptedResponse.headers != null
-      ? interceptedResponse.headers.toString() : EMPTY_STRING, isLoggable);
+      ? interceptedResponse.headers.toString() : EMPTY_STRING);
 
     return log.split(REGEX_LINE_SEPARATOR);
   }
@@ -336,35 +628,35 @@ final class Printer {
     return segmentString.toString();
   }
 
-  private static String printHeaderIfLoggable(String header, boolean loggable) {
-    return !isEmpty(header) && loggable
+  private String printHeaderIfLoggable(String header) {
+    return !isEmpty(header) && printHeaders
       ? HEADERS_TAG + LINE_SEPARATOR + dotHeaders(header)
       : EMPTY_STRING;
   }
 
-  private static String logLines(String[] lines, boolean withLineSize) {
+  private String logLines(String[] lines, boolean withLineSize) {
     return logLines(lines, DEFAULT_LINE, withLineSize).toString();
   }
 
-  private static StringBuilder logLines(String[] lines, String startingWith, boolean withLineSize) {
+  private StringBuilder logLines(String[] lines, String startingWith, boolean withLineSize) {
     final StringBuilder sb = new StringBuilder();
     for (String line : lines) {
       if (isEmpty(line)) {
         sb.append(LINE_SEPARATOR).append(startingWith);
       } else {
-        sb.append(logLine(startingWith, withLineSize, line));
+        appendLine(sb, startingWith, withLineSize, line);
       }
     }
     return sb;
   }
 
-  private static StringBuilder logLine(String startingWith, boolean withLineSize, String line) {
+  private void appendLine(StringBuilder sb, String startingWith, boolean withLineSize,
+                          String line) {
     final int lineLength = line.length();
     final int maxLongSize = withLineSize
-      ? loggerConfig.maxLineLength - startingWith.length()
+      ? maxLineLength - startingWith.length()
       : lineLength;
 
-    final StringBuilder sb = new StringBuilder();
     for (int i = 0; i <= lineLength / maxLongSize; i++) {
       final int start = i * maxLongSize;
       int end = (i + 1) * maxLongSize;
@@ -378,7 +670,6 @@ final class Printer {
           .append(line, start, end);
       }
     }
-    return sb;
   }
 
   private static boolean isEmpty(String line) {
@@ -418,4 +709,61 @@ final class Printer {
     return new String(chars);
   }
 
+  /**
+   * Weak identity cache of compiled printers. Lookups are lock-free, cached printer is released
+   * together with configuration it was compiled for.
+   */
+  private static final class PrinterCache {
+
+    private final Map<ConfigKey, Printer> printers = new ConcurrentHashMap<>();
+    private final ReferenceQueue<LoggerConfig> releasedConfigs = new ReferenceQueue<>();
+
+    Printer get(LoggerConfig loggerConfig) {
+      final Printer cached = printers.get(new ConfigKey(loggerConfig, null));
+      if (cached != null) {
+        return cached;
+      }
+      expungeReleasedConfigs();
+      return printers.computeIfAbsent(new ConfigKey(loggerConfig, releasedConfigs),
+        key -> new Printer(loggerConfig));
+    }
+
+    private void expungeReleasedConfigs() {
+      Object released;
+      while ((released = releasedConfigs.poll()) != null) {
+        printers.remove(released);
+      }
+    }
+  }
+
+  /**
+   * Identity based weak key - configurations are compared by reference.
+   */
+  private static final class ConfigKey extends WeakReference<LoggerConfig> {
+
+    private final int hash;
+
+    ConfigKey(LoggerConfig loggerConfig, ReferenceQueue<LoggerConfig> queue) {
+      super(loggerConfig, queue);
+      this.hash = System.identityHashCode(loggerConfig);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof ConfigKey)) {
+        return false;
+      }
+      final LoggerConfig loggerConfig = get();
+      return loggerConfig != null && loggerConfig == ((ConfigKey) other).get();
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
 }
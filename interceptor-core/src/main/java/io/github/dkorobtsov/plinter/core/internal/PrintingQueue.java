@@ -0,0 +1,126 @@
+package io.github.dkorobtsov.plinter.core.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer used to hand over printing commands from HTTP client threads to
+ * dedicated printer thread.
+ * <p>
+ * Every slot carries its own sequence number, so producers and consumers only compete for the
+ * position counters and never take locks. Queue supports multiple producers and multiple
+ * consumers - second consumer is required to evict oldest element on overflow.
+ * <p>
+ * See <a href="https://www.1024cores.net/home/lock-free-algorithms/queues/bounded-mpmc-queue">
+ * Bounded MPMC queue</a>
+ *
+ * @param <E> type of queued elements
+ */
+public final class PrintingQueue<E> {
+
+  private final AtomicReferenceArray<E> elements;
+  private final AtomicLongArray sequences;
+  private final AtomicLong tail = new AtomicLong();
+  private final AtomicLong head = new AtomicLong();
+  private final int mask;
+
+  /**
+   * Creates queue with provided capacity rounded up to the nearest power of two.
+   *
+   * @param capacity minimal queue capacity
+   */
+  public PrintingQueue(int capacity) {
+    if (capacity < 2) {
+      throw new IllegalArgumentException("Queue capacity should be at least 2.");
+    }
+    final int size = Integer.highestOneBit(capacity - 1) << 1;
+    this.elements = new AtomicReferenceArray<>(size);
+    this.sequences = new AtomicLongArray(size);
+    this.mask = size - 1;
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  /**
+   * Inserts element if there is free slot in the queue.
+   *
+   * @param element element to insert
+   * @return false if queue is full
+   */
+  public boolean offer(E element) {
+    long position = tail.get();
+    while (true) {
+      final int index = (int) (position & mask);
+      final long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          elements.set(index, element);
+          sequences.set(index, position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (difference < 0) {
+        return false;
+      } else {
+        position = tail.get();
+      }
+    }
+  }
+
+  /**
+   * Retrieves and removes the oldest element.
+   *
+   * @return oldest element or null if queue is empty
+   */
+  public E poll() {
+    long position = head.get();
+    while (true) {
+      final int index = (int) (position & mask);
+      final long difference = sequences.get(index) - (position + 1);
+      if (difference == 0) {
+        if (head.compareAndSet(position, position + 1)) {
+          final E element = elements.get(index);
+          elements.set(index, null);
+          sequences.set(index, position + mask + 1);
+          return element;
+        }
+        position = head.get();
+      } else if (difference < 0) {
+        return null;
+      } else {
+        position = head.get();
+      }
+    }
+  }
+
+  /**
+   * Returns approximate number of queued elements.
+   *
+   * @return number of queued elements
+   */
+  public int size() {
+    final long size = tail.get() - head.get();
+    return (int) Math.max(0, Math.min(size, capacity()));
+  }
+
+  /**
+   * Returns true if queue has no elements.
+   *
+   * @return true if queue has no elements
+   */
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Returns actual queue capacity.
+   *
+   * @return queue capacity
+   */
+  public int capacity() {
+    return mask + 1;
+  }
+
+}
@@ -0,0 +1,265 @@
+package io.github.dkorobtsov.plinter.core.internal;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+
+/**
+ * XML pretty printer driven by StAX pull parser. Document is printed while it is being parsed, so
+ * no DOM tree is built. Elements containing only text are printed inline, empty elements are
+ * collapsed and whitespace between elements is replaced with indentation.
+ * <p>
+ * Parser factory is configured once and shared between threads. Following OWASP suggestions,
+ * DTD support and external entities are disabled and documents with DOCTYPE declaration are
+ * rejected, for detailed information check:
+ *
+ * @see <a href="https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html#stax-and-xmlinputfactory">XML
+ * External Entity (XXE) Prevention</a>
+ */
+@SuppressWarnings({
+  "LineLength",
+  "PMD.AvoidLiteralsInIfCondition",
+  "PMD.CyclomaticComplexity"
+}) // by design
+final class XmlFormatter {
+
+  private static final XMLInputFactory INPUT_FACTORY = safeInputFactory();
+
+  private final int indent;
+  private final StringBuilder out;
+  private final StringBuilder text = new StringBuilder();
+  private boolean textHasContent;
+  private boolean startTagOpen;
+  private int depth;
+
+  private XmlFormatter(int indent, int capacity) {
+    this.indent = indent;
+    this.out = new StringBuilder(capacity);
+  }
+
+  private static XMLInputFactory safeInputFactory() {
+    final XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+    factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+    return factory;
+  }
+
+  /**
+   * Returns pretty printed XML document.
+   *
+   * @param xml    XML document
+   * @param indent number of spaces used for each indentation level
+   * @return formatted document
+   * @throws XMLStreamException if provided text is not well-formed XML document or contains DTD
+   */
+  static String format(String xml, int indent) throws XMLStreamException {
+    final XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(new StringReader(xml));
+    try {
+      final XmlFormatter formatter = new XmlFormatter(indent, xml.length() + (xml.length() >> 1));
+      formatter.writeDeclaration(reader);
+      while (reader.hasNext()) {
+        formatter.writeEvent(reader, reader.next());
+      }
+      return formatter.out.toString();
+    } finally {
+      reader.close();
+    }
+  }
+
+  private void writeDeclaration(XMLStreamReader reader) {
+    if (reader.getVersion() == null) {
+      return;
+    }
+    out.append("<?xml version=\"").append(reader.getVersion()).append('"');
+    if (reader.getCharacterEncodingScheme() != null) {
+      out.append(" encoding=\"").append(reader.getCharacterEncodingScheme()).append('"');
+    }
+    if (reader.standaloneSet()) {
+      out.append(" standalone=\"").append(reader.isStandalone() ? "yes" : "no").append('"');
+    }
+    out.append("?>");
+  }
+
+  private void writeEvent(XMLStreamReader reader, int event) throws XMLStreamException {
+    switch (event) {
+      case XMLStreamConstants.START_ELEMENT:
+        writeStartElement(reader);
+        break;
+      case XMLStreamConstants.END_ELEMENT:
+        writeEndElement(reader);
+        break;
+      case XMLStreamConstants.CHARACTERS:
+      case XMLStreamConstants.SPACE:
+        appendText(reader.getText());
+        break;
+      case XMLStreamConstants.CDATA:
+        text.append("<![CDATA[").append(reader.getText()).append("]]>");
+        textHasContent = true;
+        break;
+      case XMLStreamConstants.COMMENT:
+        startChild();
+        out.append("<!--").append(reader.getText()).append("-->");
+        break;
+      case XMLStreamConstants.PROCESSING_INSTRUCTION:
+        startChild();
+        out.append("<?").append(reader.getPITarget());
+        if (!Util.isEmpty(reader.getPIData())) {
+          out.append(' ').append(reader.getPIData());
+        }
+        out.append("?>");
+        break;
+      case XMLStreamConstants.DTD:
+        throw new XMLStreamException("DOCTYPE is not allowed", reader.getLocation());
+      default:
+        break;
+    }
+  }
+
+  private void writeStartElement(XMLStreamReader reader) {
+    startChild();
+    out.append('<');
+    appendName(reader.getPrefix(), reader.getLocalName());
+
+    for (int i = 0; i < reader.getNamespaceCount(); i++) {
+      out.append(' ');
+      appendName("xmlns", reader.getNamespacePrefix(i));
+      out.append("=\"");
+      appendEscaped(reader.getNamespaceURI(i), true);
+      out.append('"');
+    }
+    for (int i = 0; i < reader.getAttributeCount(); i++) {
+      out.append(' ');
+      appendName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i));
+      out.append("=\"");
+      appendEscaped(reader.getAttributeValue(i), true);
+      out.append('"');
+    }
+
+    startTagOpen = true;
+    depth++;
+  }
+
+  private void writeEndElement(XMLStreamReader reader) {
+    if (startTagOpen) {
+      // Element without child nodes - printing text inline or collapsing empty element
+      depth--;
+      startTagOpen = false;
+      if (textHasContent) {
+        out.append('>').append(text);
+      } else {
+        out.append("/>");
+        resetText();
+        return;
+      }
+    } else {
+      flushText();
+      depth--;
+      newLine();
+    }
+    resetText();
+    out.append("</");
+    appendName(reader.getPrefix(), reader.getLocalName());
+    out.append('>');
+  }
+
+  /**
+   * Prepares output for new child node: closes parent's start tag, prints text preceding this
+   * node and moves to the new line.
+   */
+  private void startChild() {
+    if (startTagOpen) {
+      out.append('>');
+      startTagOpen = false;
+    }
+    flushText();
+    newLine();
+  }
+
+  private void appendText(String value) {
+    final int start = text.length();
+    appendEscaped(value, false);
+    if (!textHasContent) {
+      for (int i = start; i < text.length(); i++) {
+        if (text.charAt(i) > ' ') {
+          textHasContent = true;
+          break;
+        }
+      }
+    }
+  }
+
+  private void flushText() {
+    if (textHasContent) {
+      newLine();
+      out.append(text.toString().trim());
+    }
+    resetText();
+  }
+
+  private void resetText() {
+    text.setLength(0);
+    textHasContent = false;
+  }
+
+  private void newLine() {
+    if (out.length() > 0) {
+      out.append('\n');
+    }
+    for (int i = 0; i < depth * indent; i++) {
+      out.append(' ');
+    }
+  }
+
+  private void appendName(String prefix, String localName) {
+    if (!Util.isEmpty(prefix)) {
+      out.append(prefix);
+      if (!Util.isEmpty(localName)) {
+        out.append(':');
+      }
+    }
+    if (!Util.isEmpty(localName)) {
+      out.append(localName);
+    }
+  }
+
+  private void appendEscaped(String value, boolean isAttribute) {
+    if (value == null) {
+      return;
+    }
+    final StringBuilder target = isAttribute ? out : text;
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      switch (c) {
+        case '&':
+          target.append("&amp;");
+          break;
+        case '<':
+          target.append("&lt;");
+          break;
+        case '>':
+          target.append("&gt;");
+          break;
+        case '"':
+          target.append(isAttribute ? "&quot;" : "\"");
+          break;
+        case '\n':
+          target.append(isAttribute ? "&#10;" : "\n");
+          break;
+        case '\t':
+          target.append(isAttribute ? "&#9;" : "\t");
+          break;
+        case '\r':
+          target.append("&#13;");
+          break;
+        default:
+          target.append(c);
+          break;
+      }
+    }
+  }
+
+}
@@ -17,6 +17,8 @@ dependencies {
   testImplementation(project(Property.Module.Apache.refence))
   testImplementation(project(Property.Module.OkHttp.refence))
   testImplementation(project(Property.Module.OkHttp3.refence))
+  testImplementation(project(Property.Module.Log4j2.refence))
+  testImplementation(project(Property.Module.Slf4j.refence))
 
   implementation(libs.moshi)
   implementation(libs.moshi.adapters)
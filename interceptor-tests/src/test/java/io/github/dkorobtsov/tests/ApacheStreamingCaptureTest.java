@@ -0,0 +1,82 @@
+package io.github.dkorobtsov.tests;
+
+import io.github.dkorobtsov.plinter.apache.ApacheHttpRequestInterceptor;
+import io.github.dkorobtsov.plinter.apache.ApacheHttpResponseInterceptor;
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
+import io.github.dkorobtsov.plinter.core.LoggingFormat;
+import io.github.dkorobtsov.tests.utils.TestLogger;
+import io.github.dkorobtsov.tests.utils.TestUtil;
+import okhttp3.mockwebserver.MockResponse;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static io.github.dkorobtsov.plinter.core.internal.Util.TEXT_PLAIN;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests validating that Apache response body is captured while application reads it.
+ */
+public class ApacheStreamingCaptureTest extends BaseTest {
+
+  private static final int MAX_BODY_BYTES = 100;
+
+  private final TestLogger testLogger = new TestLogger(LoggingFormat.JUL_MESSAGE_ONLY);
+
+  @Test
+  public void responseIsPrintedOnceEntityIsRead() throws IOException {
+    final String body = TestUtil.randomText(MAX_BODY_BYTES / 2);
+    server.enqueue(new MockResponse()
+      .setResponseCode(200)
+      .setHeader("Content-Type", TEXT_PLAIN)
+      .setBody(body));
+
+    final HttpResponse response = client().execute(new HttpGet(url()));
+
+    assertThat(testLogger.formattedOutput()).doesNotContain(body);
+    assertThat(EntityUtils.toString(response.getEntity())).isEqualTo(body);
+    assertThat(testLogger.formattedOutput()).contains(body);
+  }
+
+  @Test
+  public void onlyReadPartOfEntityIsPrintedOnClose() throws IOException {
+    final String body = TestUtil.randomText(MAX_BODY_BYTES * 3);
+    server.enqueue(new MockResponse()
+      .setResponseCode(200)
+      .setHeader("Content-Type", TEXT_PLAIN)
+      .setBody(body));
+
+    final HttpResponse response = client().execute(new HttpGet(url()));
+    int bytesRead = 0;
+    try (InputStream content = response.getEntity().getContent()) {
+      final byte[] head = new byte[10];
+      while (bytesRead < head.length) {
+        bytesRead += content.read(head, bytesRead, head.length - bytesRead);
+      }
+    }
+
+    assertThat(testLogger.formattedOutput())
+      .contains(body.substring(0, bytesRead))
+      .doesNotContain(body.substring(0, bytesRead + 1))
+      .contains("Body truncated: showing first 10 of 300 bytes, 290 bytes omitted");
+  }
+
+  private HttpClient client() {
+    final LoggerConfig loggerConfig = LoggerConfig.builder()
+      .logger(testLogger)
+      .maxBodyBytes(MAX_BODY_BYTES)
+      .build();
+    return defaultApacheClient(new ApacheHttpRequestInterceptor(loggerConfig),
+      new ApacheHttpResponseInterceptor(loggerConfig));
+  }
+
+  private String url() {
+    return String.valueOf(server.url(MOCK_SERVER_PATH));
+  }
+
+}
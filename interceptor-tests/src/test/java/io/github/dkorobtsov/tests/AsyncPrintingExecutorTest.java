@@ -0,0 +1,227 @@
+package io.github.dkorobtsov.tests;
+
+import io.github.dkorobtsov.plinter.core.AsyncPrintingExecutor;
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
+import io.github.dkorobtsov.plinter.core.LoggingFormat;
+import io.github.dkorobtsov.plinter.core.OverflowPolicy;
+import io.github.dkorobtsov.tests.utils.TestLogger;
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import okhttp3.mockwebserver.MockResponse;
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests validating asynchronous printing pipeline and its overflow policies.
+ */
+@RunWith(JUnitParamsRunner.class)
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+public class AsyncPrintingExecutorTest extends BaseTest {
+
+  private static final int CAPACITY = 8;
+
+  private AsyncPrintingExecutor executor;
+
+  @After
+  public void closeExecutor() {
+    if (executor != null) {
+      executor.close();
+    }
+  }
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void eventsArePrintedByAsyncPrinter(String interceptor) {
+    server.enqueue(new MockResponse().setResponseCode(200));
+    final TestLogger testLogger = new TestLogger(LoggingFormat.JUL_MESSAGE_ONLY);
+
+    final LoggerConfig loggerConfig = LoggerConfig.builder()
+      .logger(testLogger)
+      .asyncPrinting(CAPACITY, OverflowPolicy.BLOCK)
+      .build();
+    executor = (AsyncPrintingExecutor) loggerConfig.executor;
+
+    interceptWithConfig(interceptor, loggerConfig);
+
+    final String output = testLogger.formattedOutput();
+    Assertions.assertThat(output).contains("Request");
+    Assertions.assertThat(output).contains("Response");
+    Assertions.assertThat(executor.droppedEvents()).isZero();
+  }
+
+  @Test
+  public void dropNewestPolicyDiscardsEventsWhenQueueIsFull() throws InterruptedException {
+    executor = executor(OverflowPolicy.DROP_NEWEST);
+    final CountDownLatch printerBlocked = blockPrinter(executor);
+    final AtomicInteger printed = new AtomicInteger();
+
+    for (int i = 0; i < CAPACITY * 2; i++) {
+      executor.execute(printed::incrementAndGet);
+    }
+    printerBlocked.countDown();
+    executor.close();
+
+    Assertions.assertThat(executor.droppedEvents()).isEqualTo(CAPACITY);
+    Assertions.assertThat(printed.get()).isEqualTo(CAPACITY);
+  }
+
+  @Test
+  public void dropOldestPolicyKeepsMostRecentEvents() throws InterruptedException {
+    executor = executor(OverflowPolicy.DROP_OLDEST);
+    final CountDownLatch printerBlocked = blockPrinter(executor);
+    final AtomicInteger lastPrinted = new AtomicInteger(-1);
+
+    final int events = CAPACITY * 3;
+    for (int i = 0; i < events; i++) {
+      final int event = i;
+      executor.execute(() -> lastPrinted.set(event));
+    }
+    printerBlocked.countDown();
+    executor.close();
+
+    Assertions.assertThat(executor.droppedEvents()).isEqualTo(events - CAPACITY);
+    Assertions.assertThat(lastPrinted.get()).isEqualTo(events - 1);
+  }
+
+  @Test
+  public void samplePolicyAcceptsOnlyPartOfEventsWhenQueueIsFilling()
+    throws InterruptedException {
+    executor = AsyncPrintingExecutor.builder()
+      .capacity(CAPACITY)
+      .overflowPolicy(OverflowPolicy.SAMPLE)
+      .sampleRate(2)
+      .build();
+    final CountDownLatch printerBlocked = blockPrinter(executor);
+
+    for (int i = 0; i < CAPACITY; i++) {
+      executor.execute(() -> {
+      });
+    }
+    printerBlocked.countDown();
+    executor.close();
+
+    // One more event was queued to block printer thread
+    Assertions.assertThat(executor.droppedEvents()).isPositive();
+    Assertions.assertThat(executor.queuedEvents() + executor.droppedEvents())
+      .isEqualTo(CAPACITY + 1);
+  }
+
+  @Test
+  public void blockPolicyDoesNotLoseEvents() throws InterruptedException {
+    executor = executor(OverflowPolicy.BLOCK);
+    final AtomicInteger printed = new AtomicInteger();
+
+    final int events = CAPACITY * 100;
+    for (int i = 0; i < events; i++) {
+      executor.execute(printed::incrementAndGet);
+    }
+    executor.close();
+
+    Assertions.assertThat(printed.get()).isEqualTo(events);
+    Assertions.assertThat(executor.droppedEvents()).isZero();
+  }
+
+  @Test
+  public void closedExecutorDiscardsNewEvents() {
+    executor = executor(OverflowPolicy.BLOCK);
+    executor.close();
+
+    executor.execute(() -> {
+    });
+
+    Assertions.assertThat(executor.droppedEvents()).isEqualTo(1);
+    Assertions.assertThat(executor.queuedEvents()).isZero();
+  }
+
+  @Test
+  public void eventsQueuedConcurrentlyWithCloseAreNotLost() throws InterruptedException {
+    executor = executor(OverflowPolicy.DROP_NEWEST);
+    final AtomicInteger printed = new AtomicInteger();
+    final int producers = 4;
+    final CountDownLatch producersStarted = new CountDownLatch(producers);
+    final Thread[] threads = new Thread[producers];
+    for (int i = 0; i < producers; i++) {
+      threads[i] = new Thread(() -> {
+        producersStarted.countDown();
+        for (int event = 0; event < 10_000; event++) {
+          executor.execute(printed::incrementAndGet);
+        }
+      });
+      threads[i].start();
+    }
+    producersStarted.await(5, TimeUnit.SECONDS);
+    executor.close();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    // Every accepted event is printed, even if it was queued while executor was closing
+    Assertions.assertThat(executor.queuedEvents() + executor.droppedEvents())
+      .isEqualTo(producers * 10_000L);
+    Assertions.assertThat(printed.get()).isEqualTo(executor.queuedEvents());
+  }
+
+  @Test
+  public void asyncPrintingExecutorIsCreatedPerBuiltConfig() {
+    final LoggerConfig.LoggerConfigBuilder builder = LoggerConfig.builder()
+      .asyncPrinting(CAPACITY, OverflowPolicy.BLOCK);
+
+    executor = (AsyncPrintingExecutor) builder.build().executor;
+    final AsyncPrintingExecutor another = (AsyncPrintingExecutor) builder.build().executor;
+    another.close();
+
+    Assertions.assertThat(another).isNotSameAs(executor);
+    Assertions.assertThat(LoggerConfig.builder()
+      .asyncPrinting(CAPACITY, OverflowPolicy.BLOCK)
+      .executor(null)
+      .build().executor).isNull();
+  }
+
+  @Test
+  public void capacityIsRoundedUpToPowerOfTwo() {
+    executor = AsyncPrintingExecutor.builder()
+      .capacity(1000)
+      .build();
+
+    Assertions.assertThat(executor.capacity()).isEqualTo(1024);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidCapacityIsRejected() {
+    AsyncPrintingExecutor.builder().capacity(1);
+  }
+
+  private AsyncPrintingExecutor executor(OverflowPolicy policy) {
+    return AsyncPrintingExecutor.builder()
+      .capacity(CAPACITY)
+      .overflowPolicy(policy)
+      .build();
+  }
+
+  /**
+   * Submits command that keeps printer thread busy until returned latch is released, so
+   * following events stay in the queue.
+   */
+  private CountDownLatch blockPrinter(AsyncPrintingExecutor executor)
+    throws InterruptedException {
+    final CountDownLatch printerStarted = new CountDownLatch(1);
+    final CountDownLatch printerBlocked = new CountDownLatch(1);
+    executor.execute(() -> {
+      printerStarted.countDown();
+      try {
+        printerBlocked.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    Assertions.assertThat(printerStarted.await(5, TimeUnit.SECONDS)).isTrue();
+    return printerBlocked;
+  }
+
+}
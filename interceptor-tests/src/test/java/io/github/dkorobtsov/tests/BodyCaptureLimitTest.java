@@ -0,0 +1,116 @@
+package io.github.dkorobtsov.tests;
+
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
+import io.github.dkorobtsov.plinter.core.LoggingFormat;
+import io.github.dkorobtsov.tests.utils.TestLogger;
+import io.github.dkorobtsov.tests.utils.TestUtil;
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import okhttp3.mockwebserver.MockResponse;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static io.github.dkorobtsov.plinter.core.internal.Util.TEXT_PLAIN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests validating that only configured number of body bytes is captured and printed.
+ */
+@RunWith(JUnitParamsRunner.class)
+public class BodyCaptureLimitTest extends BaseTest {
+
+  private static final int MAX_BODY_BYTES = 100;
+  private static final int BODY_LENGTH = 5000;
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void requestBodyExceedingLimitIsTruncated(String interceptor) {
+    server.enqueue(new MockResponse().setResponseCode(200));
+    final TestLogger testLogger = new TestLogger(LoggingFormat.JUL_MESSAGE_ONLY);
+    final String body = TestUtil.randomText(BODY_LENGTH);
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(testLogger)
+      .maxBodyBytes(MAX_BODY_BYTES)
+      .build(), body, TEXT_PLAIN, String.valueOf(server.url(MOCK_SERVER_PATH)));
+
+    assertThat(testLogger.formattedOutput())
+      .contains(body.substring(0, MAX_BODY_BYTES))
+      .doesNotContain(body.substring(0, MAX_BODY_BYTES + 1))
+      .contains("Body truncated: showing first 100 of 5000 bytes, 4900 bytes omitted");
+  }
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void responseBodyExceedingLimitIsTruncated(String interceptor) {
+    final String body = TestUtil.randomText(BODY_LENGTH);
+    server.enqueue(new MockResponse()
+      .setResponseCode(200)
+      .setHeader("Content-Type", TEXT_PLAIN)
+      .setBody(body));
+    final TestLogger testLogger = new TestLogger(LoggingFormat.JUL_MESSAGE_ONLY);
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(testLogger)
+      .maxBodyBytes(MAX_BODY_BYTES)
+      .build());
+
+    assertThat(testLogger.formattedOutput())
+      .contains(body.substring(0, MAX_BODY_BYTES))
+      .doesNotContain(body.substring(0, MAX_BODY_BYTES + 1))
+      .contains("Body truncated: showing first 100 of 5000 bytes, 4900 bytes omitted");
+  }
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void bodyWithinLimitIsNotTruncated(String interceptor) {
+    final String body = TestUtil.randomText(MAX_BODY_BYTES);
+    server.enqueue(new MockResponse()
+      .setResponseCode(200)
+      .setHeader("Content-Type", TEXT_PLAIN)
+      .setBody(body));
+    final TestLogger testLogger = new TestLogger(LoggingFormat.JUL_MESSAGE_ONLY);
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(testLogger)
+      .maxBodyBytes(MAX_BODY_BYTES)
+      .build(), body, TEXT_PLAIN, String.valueOf(server.url(MOCK_SERVER_PATH)));
+
+    assertThat(testLogger.formattedOutput())
+      .contains(body)
+      .doesNotContain("Body truncated");
+  }
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void consecutiveExchangesPrintOwnBodies(String interceptor) {
+    for (int i = 0; i < 5; i++) {
+      final String requestBody = TestUtil.randomText(MAX_BODY_BYTES * 3);
+      final String responseBody = TestUtil.randomText(MAX_BODY_BYTES * 3);
+      server.enqueue(new MockResponse()
+        .setResponseCode(200)
+        .setHeader("Content-Type", TEXT_PLAIN)
+        .setBody(responseBody));
+      final TestLogger testLogger = new TestLogger(LoggingFormat.JUL_MESSAGE_ONLY);
+
+      interceptWithConfig(interceptor, LoggerConfig.builder()
+        .logger(testLogger)
+        .maxBodyBytes(MAX_BODY_BYTES)
+        .build(), requestBody, TEXT_PLAIN, String.valueOf(server.url(MOCK_SERVER_PATH)));
+
+      assertThat(testLogger.formattedOutput())
+        .contains(requestBody.substring(0, MAX_BODY_BYTES))
+        .contains(responseBody.substring(0, MAX_BODY_BYTES))
+        .contains("Body truncated: showing first 100 of 300 bytes, 200 bytes omitted");
+    }
+  }
+
+  @Test
+  public void maxBodyBytesShouldBePositive() {
+    assertThatThrownBy(() -> LoggerConfig.builder().maxBodyBytes(0))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageContaining("Invalid max body size");
+  }
+
+}
@@ -0,0 +1,168 @@
+package io.github.dkorobtsov.tests;
+
+import io.github.dkorobtsov.plinter.core.BodyCapturePolicy;
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
+import io.github.dkorobtsov.plinter.core.LoggingFormat;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedMediaType;
+import io.github.dkorobtsov.tests.utils.TestLogger;
+import io.github.dkorobtsov.tests.utils.TestUtil;
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import okhttp3.mockwebserver.MockResponse;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static io.github.dkorobtsov.plinter.core.internal.Util.APPLICATION_JSON;
+import static io.github.dkorobtsov.plinter.core.internal.Util.TEXT_PLAIN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests validating that body capture policy decides by media type if body is captured at all and
+ * how many bytes of it are captured.
+ */
+@RunWith(JUnitParamsRunner.class)
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+public class BodyCapturePolicyTest extends BaseTest {
+
+  private static final String IMAGE_PNG = "image/png";
+  private static final String TEXT_HTML = "text/html";
+  private static final int BODY_LENGTH = 5000;
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void deniedRequestBodyIsOmittedAndSentUnchanged(String interceptor)
+    throws InterruptedException {
+    server.enqueue(new MockResponse().setResponseCode(200));
+    final TestLogger testLogger = new TestLogger(LoggingFormat.JUL_MESSAGE_ONLY);
+    final String body = TestUtil.randomText(BODY_LENGTH);
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(testLogger)
+      .build(), body, IMAGE_PNG, String.valueOf(server.url(MOCK_SERVER_PATH)));
+
+    assertEquals("Request body should reach the server as is.",
+      body, server.takeRequest().getBody().readUtf8());
+    assertThat(testLogger.formattedOutput())
+      .contains("Omitted request body")
+      .doesNotContain(body.substring(0, 50));
+  }
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void deniedResponseBodyIsOmitted(String interceptor) {
+    final String body = TestUtil.randomText(BODY_LENGTH);
+    server.enqueue(new MockResponse()
+      .setResponseCode(200)
+      .setHeader("Content-Type", "application/octet-stream")
+      .setBody(body));
+    final TestLogger testLogger = new TestLogger(LoggingFormat.JUL_MESSAGE_ONLY);
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(testLogger)
+      .build());
+
+    assertThat(testLogger.formattedOutput())
+      .contains("Omitted response body")
+      .doesNotContain(body.substring(0, 50));
+  }
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void bodyIsTruncatedByMediaTypeLimit(String interceptor) {
+    final String body = TestUtil.randomText(BODY_LENGTH);
+    server.enqueue(new MockResponse()
+      .setResponseCode(200)
+      .setHeader("Content-Type", TEXT_HTML)
+      .setBody(body));
+    final TestLogger testLogger = new TestLogger(LoggingFormat.JUL_MESSAGE_ONLY);
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(testLogger)
+      .capturePolicy(BodyCapturePolicy.builder()
+        .limit(TEXT_HTML, 100)
+        .build())
+      .build());
+
+    assertThat(testLogger.formattedOutput())
+      .contains(body.substring(0, 100))
+      .doesNotContain(body.substring(0, 101))
+      .contains("Body truncated: showing first 100 of 5000 bytes, 4900 bytes omitted");
+  }
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void bodyOutsideOfAllowlistIsOmitted(String interceptor) {
+    final String body = TestUtil.randomText(BODY_LENGTH);
+    server.enqueue(new MockResponse()
+      .setResponseCode(200)
+      .setHeader("Content-Type", TEXT_PLAIN)
+      .setBody(body));
+    final TestLogger testLogger = new TestLogger(LoggingFormat.JUL_MESSAGE_ONLY);
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(testLogger)
+      .capturePolicy(BodyCapturePolicy.builder()
+        .allow("application/*")
+        .build())
+      .build());
+
+    assertThat(testLogger.formattedOutput())
+      .contains("Omitted response body");
+  }
+
+  @Test
+  public void denylistHasPriorityOverAllowlist() {
+    final BodyCapturePolicy policy = BodyCapturePolicy.builder()
+      .allow("*/*")
+      .deny("Application/ZIP")
+      .build();
+
+    assertThat(policy.isCaptured(InterceptedMediaType.parse(APPLICATION_JSON))).isTrue();
+    assertThat(policy.isCaptured(InterceptedMediaType.parse("application/zip; name=a.zip")))
+      .isFalse();
+    assertThat(policy.isCaptured(null)).isTrue();
+  }
+
+  @Test
+  public void mostSpecificLimitIsApplied() {
+    final BodyCapturePolicy policy = BodyCapturePolicy.builder()
+      .limit("*/*", 10)
+      .limit("text/*", 20)
+      .limit(TEXT_HTML, 30)
+      .build();
+
+    assertThat(policy.maxBytes(InterceptedMediaType.parse("text/html; charset=utf-8"), 1))
+      .isEqualTo(30);
+    assertThat(policy.maxBytes(InterceptedMediaType.parse(TEXT_PLAIN), 1)).isEqualTo(20);
+    assertThat(policy.maxBytes(InterceptedMediaType.parse(APPLICATION_JSON), 1)).isEqualTo(10);
+    assertThat(BodyCapturePolicy.captureAll()
+      .maxBytes(InterceptedMediaType.parse(TEXT_HTML), 1)).isEqualTo(1);
+  }
+
+  @Test
+  public void defaultPolicySkipsBinaryMediaTypes() {
+    final BodyCapturePolicy policy = LoggerConfig.builder().build().capturePolicy;
+
+    assertThat(policy.isCaptured(InterceptedMediaType.parse(IMAGE_PNG))).isFalse();
+    assertThat(policy.isCaptured(InterceptedMediaType.parse("application/octet-stream")))
+      .isFalse();
+    assertThat(policy.isCaptured(InterceptedMediaType.parse(APPLICATION_JSON))).isTrue();
+  }
+
+  @Test
+  @Parameters({
+    "text",
+    "/html",
+    "text/",
+    "text/html/plain",
+    "*/html"
+  })
+  public void invalidMediaTypePatternIsRejected(String pattern) {
+    assertThatThrownBy(() -> BodyCapturePolicy.builder().deny(pattern))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageContaining("Invalid media type pattern");
+  }
+
+}
@@ -0,0 +1,151 @@
+package io.github.dkorobtsov.tests;
+
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
+import io.github.dkorobtsov.plinter.core.LoggingFormat;
+import io.github.dkorobtsov.plinter.core.internal.ClientPrintingExecutor;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedHeaders;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedMediaType;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedRequest;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedRequestBody;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedResponse;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedResponseBody;
+import io.github.dkorobtsov.tests.utils.TestLogger;
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static io.github.dkorobtsov.plinter.core.internal.Util.APPLICATION_JSON;
+import static io.github.dkorobtsov.plinter.core.internal.Util.TEXT_PLAIN;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests validating that compressed request and response bodies are decoded before printing.
+ */
+@RunWith(JUnitParamsRunner.class)
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+public class BodyDecodingTest extends BaseTest {
+
+  private static final String TEST_URL = "http://google.com/api/test/";
+  private static final String JSON = "{\"name\": \"John\", \"age\": 31}";
+
+  @Test
+  @Parameters({
+    "gzip",
+    "GZIP",
+    "x-gzip",
+    "deflate",
+    "Deflate"
+  })
+  public void encodedResponseBodyIsDecoded(String contentEncoding) throws IOException {
+    final TestLogger testLogger = new TestLogger(LoggingFormat.JUL_MESSAGE_ONLY);
+
+    ClientPrintingExecutor.printResponse(defaultLoggerConfig(testLogger),
+      response(contentEncoding, encode(contentEncoding, JSON)));
+
+    assertThat(testLogger.formattedOutput())
+      .contains("\"name\": \"John\",")
+      .contains("\"age\": 31")
+      .doesNotContain("Omitted response body");
+  }
+
+  @Test
+  public void rawDeflateResponseBodyIsDecoded() throws IOException {
+    final TestLogger testLogger = new TestLogger(LoggingFormat.JUL_MESSAGE_ONLY);
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream out = new DeflaterOutputStream(bytes, new Deflater(9, true))) {
+      out.write(JSON.getBytes(StandardCharsets.UTF_8));
+    }
+
+    ClientPrintingExecutor.printResponse(defaultLoggerConfig(testLogger),
+      response("deflate", bytes.toByteArray()));
+
+    assertThat(testLogger.formattedOutput())
+      .contains("\"name\": \"John\",");
+  }
+
+  @Test
+  public void encodedRequestBodyIsDecoded() throws IOException {
+    final TestLogger testLogger = new TestLogger(LoggingFormat.JUL_MESSAGE_ONLY);
+    final InterceptedRequest request = new InterceptedRequest.Builder()
+      .method("POST", InterceptedRequestBody
+        .create(InterceptedMediaType.parse(APPLICATION_JSON), encode("gzip", JSON)))
+      .addHeader("Content-Encoding", "gzip")
+      .url(TEST_URL)
+      .build();
+
+    ClientPrintingExecutor.printRequest(defaultLoggerConfig(testLogger), request);
+
+    assertThat(testLogger.formattedOutput())
+      .contains("\"name\": \"John\",")
+      .doesNotContain("Omitted request body");
+  }
+
+  @Test
+  public void unsupportedEncodingIsOmitted() throws IOException {
+    final TestLogger testLogger = new TestLogger(LoggingFormat.JUL_MESSAGE_ONLY);
+
+    ClientPrintingExecutor.printResponse(defaultLoggerConfig(testLogger),
+      response("br", encode("gzip", JSON)));
+
+    assertThat(testLogger.formattedOutput())
+      .contains("Omitted response body");
+  }
+
+  @Test
+  public void decompressionIsBoundedByBodyCaptureLimit() throws IOException {
+    final TestLogger testLogger = new TestLogger(LoggingFormat.JUL_MESSAGE_ONLY);
+    // 64 MiB of text compressed to a few dozens of kilobytes
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final byte[] chunk = "a".repeat(1024 * 1024).getBytes(StandardCharsets.UTF_8);
+    try (OutputStream out = new GZIPOutputStream(bytes)) {
+      for (int i = 0; i < 64; i++) {
+        out.write(chunk);
+      }
+    }
+    final byte[] bomb = bytes.toByteArray();
+
+    ClientPrintingExecutor.printResponse(LoggerConfig.builder()
+      .logger(testLogger)
+      .maxBodyBytes(1024)
+      .build(), response("gzip", bomb));
+
+    assertThat(testLogger.formattedOutput())
+      .contains("a".repeat(100))
+      .contains("Body truncated: showing first 1024 bytes, total size unknown");
+  }
+
+  private static InterceptedResponse response(String contentEncoding, byte[] body) {
+    final InterceptedMediaType mediaType = InterceptedMediaType.parse(TEXT_PLAIN);
+    return InterceptedResponse.builder()
+      .code(200)
+      .isSuccessful(true)
+      .contentType(mediaType)
+      .headers(new InterceptedHeaders.Builder()
+        .add("Content-Encoding", contentEncoding)
+        .build())
+      .url(TEST_URL)
+      .responseBody(InterceptedResponseBody.create(mediaType, body))
+      .build();
+  }
+
+  private static byte[] encode(String contentEncoding, String content) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream out = contentEncoding.toLowerCase(Locale.ROOT).contains("deflate")
+      ? new DeflaterOutputStream(bytes)
+      : new GZIPOutputStream(bytes)) {
+      out.write(content.getBytes(StandardCharsets.UTF_8));
+    }
+    return bytes.toByteArray();
+  }
+
+}
@@ -23,6 +23,8 @@ import static org.junit.Assert.assertTrue;
 public class BodyWithJsonPrintingTest extends BaseTest {
 
   private static final String SIMPLE_JSON = "{name: \"John\", age: 31, city: \"New York\"}";
+  private static final String NESTED_JSON = "{\"zebra\": 1, \"apple\": "
+    + "{\"mango\": [true, null], banana: 'it\\'s \"quoted\"'}, \"empty\": {}}";
   private static final String JSON_ARRAY = "[{\"test1\": \"test1\"}, {\"test2\": \"test2\"}]";
   private static final String PREFORMATTED_JSON_BODY = ""
     + "  {\n"
@@ -105,6 +107,31 @@ public class BodyWithJsonPrintingTest extends BaseTest {
       .contains("{\"test2\": \"test2\"}");
   }
 
+  @Test
+  @Parameters(method = "interceptorsWithExecutors")
+  public void bodyHandling_jsonKeysOrderIsPreserved(String interceptor, boolean withExecutor,
+                                                    boolean logByLine) {
+    final List<String> loggerOutput = interceptedResponse(interceptor, withExecutor,
+      NESTED_JSON, APPLICATION_JSON, true, logByLine)
+      .stream()
+      .map(String::stripTrailing)
+      .collect(Collectors.toList());
+
+    assertThat(loggerOutput)
+      .containsSubsequence(
+        "  {",
+        "     \"zebra\": 1,",
+        "     \"apple\": {",
+        "        \"mango\": [",
+        "           true,",
+        "           null",
+        "        ],",
+        "        \"banana\": \"it's \\\"quoted\\\"\"",
+        "     },",
+        "     \"empty\": {}",
+        "  }");
+  }
+
   @Test
   @Parameters(method = "interceptorsWithExecutors")
   public void bodyHandling_preformattedJsonRequest(String interceptor, boolean withExecutor,
@@ -33,6 +33,16 @@ public class BodyWithXmlPrintingTest extends BaseTest {
       + "<animal id=\"2\" species=\"Equus zebra\">Zebra</animal> "
       + "<mammals>";
 
+  private static final String XML_WITH_DOCTYPE_BODY =
+    "<?xml version=\"1.0\"?>"
+      + "<!DOCTYPE foo [<!ENTITY xxe SYSTEM \"file:///etc/passwd\">]>"
+      + "<foo>&xxe;</foo>";
+
+  private static final String NESTED_XML_BODY =
+    "<zoo xmlns:z=\"urn:zoo\"><z:enclosure size=\"large\" id=\"7\">"
+      + "<animal species=\"Equus zebra\" id=\"2\">Zebra</animal><empty></empty>"
+      + "</z:enclosure></zoo>";
+
   @Test
   @Parameters(method = "interceptorsWithExecutors")
   public void bodyHandling_xmlRequest(String interceptor,
@@ -102,5 +112,31 @@ public class BodyWithXmlPrintingTest extends BaseTest {
       .isNotNull();
   }
 
+  @Test
+  @Parameters(method = "interceptors")
+  public void bodyHandling_xmlNestingAndAttributesOrderIsPreserved(String interceptor) {
+    final List<String> loggerOutput = interceptedResponse(interceptor, false,
+      NESTED_XML_BODY, APPLICATION_XML, true, false);
+
+    assertThat(loggerOutput)
+      .containsSequence(
+        "  <zoo xmlns:z=\"urn:zoo\">",
+        "      <z:enclosure size=\"large\" id=\"7\">",
+        "          <animal species=\"Equus zebra\" id=\"2\">Zebra</animal>",
+        "          <empty/>",
+        "      </z:enclosure>",
+        "  </zoo>");
+  }
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void bodyHandling_xmlWithDoctypeIsPrintedAsIs(String interceptor) {
+    final List<String> loggerOutput = interceptedResponse(interceptor, false,
+      XML_WITH_DOCTYPE_BODY, APPLICATION_XML, true, false);
+
+    assertThat(loggerOutput)
+      .describedAs("Documents with DTD should not be parsed.")
+      .contains("  " + XML_WITH_DOCTYPE_BODY);
+  }
 
 }
@@ -1,9 +1,12 @@
 package io.github.dkorobtsov.tests;
 
+import io.github.dkorobtsov.plinter.core.Level;
 import io.github.dkorobtsov.plinter.core.internal.HttpStatus;
 import io.github.dkorobtsov.tests.utils.Interceptor;
 import org.junit.Test;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * Simple Enum parsing tests - just to increase total coverage.
  */
@@ -20,4 +23,18 @@ public class EnumParsingTest {
     Interceptor.fromString("UnknownInterceptor");
   }
 
+  @Test
+  public void bodyIsPrintedOnlyOnBasicAndBodyLevels() {
+    assertThat(Level.values())
+      .filteredOn(Level::printsBody)
+      .containsExactlyInAnyOrder(Level.BASIC, Level.BODY);
+  }
+
+  @Test
+  public void headersArePrintedOnlyOnBasicAndHeadersLevels() {
+    assertThat(Level.values())
+      .filteredOn(Level::printsHeaders)
+      .containsExactlyInAnyOrder(Level.BASIC, Level.HEADERS);
+  }
+
 }
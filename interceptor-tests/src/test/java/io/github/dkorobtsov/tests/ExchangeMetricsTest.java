@@ -0,0 +1,125 @@
+package io.github.dkorobtsov.tests;
+
+import io.github.dkorobtsov.plinter.core.ExchangeMetrics;
+import io.github.dkorobtsov.plinter.core.ExchangeMetrics.RouteSnapshot;
+import io.github.dkorobtsov.plinter.core.Histogram;
+import io.github.dkorobtsov.plinter.core.Level;
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import okhttp3.mockwebserver.MockResponse;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests validating per route latency and body size metrics.
+ */
+@RunWith(JUnitParamsRunner.class)
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+public class ExchangeMetricsTest extends BaseTest {
+
+  private static final String HOST = "api.example.com";
+  private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void exchangeIsRecordedEvenIfNotLogged(String interceptor) {
+    server.enqueue(new MockResponse().setResponseCode(201).setBody("created"));
+    final ExchangeMetrics metrics = ExchangeMetrics.builder().build();
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .level(Level.NONE)
+      .metrics(metrics)
+      .build(), String.valueOf(server.url("/orders/42")), null);
+
+    final List<RouteSnapshot> routes = metrics.snapshot();
+    assertThat(routes).hasSize(1);
+    assertThat(routes.get(0).method()).isEqualTo("GET");
+    assertThat(routes.get(0).path()).isEqualTo("/orders/{id}");
+    assertThat(routes.get(0).statusClass()).isEqualTo("2xx");
+    assertThat(routes.get(0).latencyMicros().count()).isEqualTo(1);
+    assertThat(routes.get(0).responseBytes().max()).isEqualTo("created".length());
+  }
+
+  @Test
+  public void percentilesAreWithinHistogramPrecision() {
+    final Histogram histogram = new Histogram(4);
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i);
+    }
+
+    final Histogram.Snapshot snapshot = histogram.snapshot();
+    assertThat(snapshot.count()).isEqualTo(1000);
+    assertThat(snapshot.mean()).isEqualTo(500.5);
+    assertThat(snapshot.p50()).isBetween(500L, 532L);
+    assertThat(snapshot.p99()).isBetween(990L, 1000L);
+    assertThat(snapshot.p999()).isEqualTo(1000L);
+  }
+
+  @Test
+  public void identifiersInPathAreNormalized() {
+    final ExchangeMetrics metrics = ExchangeMetrics.builder().build();
+    metrics.record("GET", HOST, "/users/1/orders", 200, MILLIS, 0, 10);
+    metrics.record("GET", HOST, "/users/2/orders", 200, MILLIS, 0, 10);
+    metrics.record("GET", HOST, "/users/550e8400-e29b-41d4-a716-446655440000", 404, MILLIS, 0, 0);
+    metrics.record("GET", HOST, "/v1/cafe", 200, MILLIS, 0, 10);
+
+    assertThat(metrics.snapshot())
+      .extracting(RouteSnapshot::name)
+      .containsExactly(
+        "GET api.example.com/users/{id} 4xx",
+        "GET api.example.com/users/{id}/orders 2xx",
+        "GET api.example.com/v1/cafe 2xx");
+  }
+
+  @Test
+  public void routesOverLimitAreRecordedToSharedRoute() {
+    final ExchangeMetrics metrics = ExchangeMetrics.builder()
+      .maxRoutes(1)
+      .build();
+    metrics.record("GET", HOST, "/first", 200, MILLIS, 0, 10);
+    metrics.record("GET", HOST, "/second", 200, MILLIS, 0, 10);
+    metrics.record("GET", HOST, "/third", 200, MILLIS, 0, 10);
+
+    assertThat(metrics.snapshot())
+      .extracting(RouteSnapshot::name)
+      .containsExactly("GET */* 2xx", "GET api.example.com/first 2xx");
+    assertThat(metrics.getExchangeCounts()).containsEntry("GET */* 2xx", 2L);
+  }
+
+  @Test
+  public void snapshotAndResetStartsNewPeriod() {
+    final ExchangeMetrics metrics = ExchangeMetrics.builder().build();
+    metrics.record("GET", HOST, "/", 0, 5 * MILLIS, 0, -1);
+
+    assertThat(metrics.snapshotAndReset().get(0).statusClass()).isEqualTo(ExchangeMetrics.FAILED);
+    assertThat(metrics.snapshot().get(0).latencyMicros().count()).isZero();
+  }
+
+  @Test
+  public void metricsAreExposedThroughJmx() throws Exception {
+    final ExchangeMetrics metrics = ExchangeMetrics.builder().build();
+    metrics.record("GET", HOST, "/", 200, 5 * MILLIS, 0, 10);
+
+    final ObjectName name = metrics.registerMBean("jmx-test");
+    try {
+      final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      assertThat(server.getAttribute(name, "RouteCount")).isEqualTo(1);
+      assertThatThrownBy(() -> metrics.registerMBean("jmx-test"))
+        .isInstanceOf(IllegalStateException.class);
+    } finally {
+      metrics.unregisterMBean();
+    }
+    assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(name)).isFalse();
+  }
+
+}
@@ -0,0 +1,140 @@
+package io.github.dkorobtsov.tests;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.Moshi;
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
+import io.github.dkorobtsov.plinter.core.LoggingFormat;
+import io.github.dkorobtsov.plinter.core.OutputFormat;
+import io.github.dkorobtsov.tests.utils.TestLogger;
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static io.github.dkorobtsov.plinter.core.internal.Util.TEXT_PLAIN;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests validating that in exchange mode request and response are printed as single event.
+ */
+@RunWith(JUnitParamsRunner.class)
+@SuppressWarnings({"PMD.AvoidDuplicateLiterals", "unchecked"})
+public class ExchangeModeTest extends BaseTest {
+
+  private static final JsonAdapter<Map> JSON_ADAPTER = new Moshi.Builder().build()
+    .adapter(Map.class);
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void requestAndResponseArePrintedAsSingleEvent(String interceptor) {
+    server.enqueue(new MockResponse()
+      .setResponseCode(200)
+      .setHeader("Content-Type", TEXT_PLAIN)
+      .setBody("pong"));
+    final List<String> events = new ArrayList<>();
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(events::add)
+      .exchangeMode(true)
+      .build(), "ping", TEXT_PLAIN, String.valueOf(server.url(MOCK_SERVER_PATH)));
+
+    assertThat(events).hasSize(1);
+    final String event = events.get(0);
+    assertThat(event)
+      .contains("Exchange ", "Method: @PUT", "ping", "Response", "Status Code: 200", "pong")
+      .doesNotContain("Request ");
+    assertThat(event.indexOf("URL:")).isEqualTo(event.lastIndexOf("URL:"));
+    assertThat(event.indexOf("ping")).isLessThan(event.indexOf("pong"));
+  }
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void exchangeIsPrintedAsSingleJsonLine(String interceptor) throws IOException {
+    server.enqueue(new MockResponse()
+      .setResponseCode(201)
+      .setHeader("Content-Type", TEXT_PLAIN)
+      .setBody("pong"));
+    final TestLogger testLogger = new TestLogger(LoggingFormat.JUL_MESSAGE_ONLY);
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(testLogger)
+      .outputFormat(OutputFormat.JSON)
+      .exchangeMode(true)
+      .build(), "ping", TEXT_PLAIN, String.valueOf(server.url(MOCK_SERVER_PATH)));
+
+    final List<String> lines = testLogger.loggerOutput(false).stream()
+      .filter(line -> !line.isEmpty())
+      .collect(Collectors.toList());
+    assertThat(lines).hasSize(1);
+
+    final Map<String, Object> exchange = JSON_ADAPTER.fromJson(lines.get(0));
+    assertThat(exchange).containsEntry("type", "exchange");
+    assertThat((String) exchange.get("id")).matches("[0-9a-f]{16}");
+    assertThat((Map<String, Object>) exchange.get("request"))
+      .containsEntry("method", "PUT")
+      .containsEntry("body", "ping");
+    assertThat((Map<String, Object>) exchange.get("response"))
+      .containsEntry("status", 201.0)
+      .containsEntry("body", "pong");
+  }
+
+  @Test
+  public void exchangeIdsAreUnique() {
+    server.enqueue(new MockResponse().setResponseCode(200));
+    server.enqueue(new MockResponse().setResponseCode(200));
+    final List<String> events = new ArrayList<>();
+    final LoggerConfig loggerConfig = LoggerConfig.builder()
+      .logger(events::add)
+      .outputFormat(OutputFormat.JSON)
+      .exchangeMode(true)
+      .build();
+
+    interceptWithConfig("okhttp3", loggerConfig);
+    interceptWithConfig("okhttp3", loggerConfig);
+
+    assertThat(events).hasSize(2);
+    final List<Object> ids = events.stream()
+      .map(event -> uncheckedFromJson(event).get("id"))
+      .distinct()
+      .collect(Collectors.toList());
+    assertThat(ids).hasSize(2);
+  }
+
+  @Test
+  @Parameters({
+    "okhttp",
+    "okhttp3"
+  })
+  public void requestIsPrintedAloneWhenNoResponseReceived(String interceptor) {
+    server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+    server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+    final List<String> events = new ArrayList<>();
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(events::add)
+      .exchangeMode(true)
+      .build());
+
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0))
+      .contains("Request ", "Method: @GET")
+      .doesNotContain("Exchange ", "Status Code");
+  }
+
+  private static Map<String, Object> uncheckedFromJson(String json) {
+    try {
+      return JSON_ADAPTER.fromJson(json);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+}
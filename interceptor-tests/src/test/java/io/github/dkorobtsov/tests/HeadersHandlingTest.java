@@ -1,6 +1,7 @@
 package io.github.dkorobtsov.tests;
 
 import io.github.dkorobtsov.plinter.core.LoggingFormat;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedHeaders;
 import io.github.dkorobtsov.tests.utils.TestLogger;
 import junitparams.JUnitParamsRunner;
 import junitparams.Parameters;
@@ -55,4 +56,41 @@ public class HeadersHandlingTest extends BaseTest {
       .containsIgnoringCase("Header2: Value1");
   }
 
+  @Test
+  public void largeHeaderSet_lookupsAreCaseInsensitive() {
+    final InterceptedHeaders.Builder builder = new InterceptedHeaders.Builder();
+    for (int i = 0; i < 60; i++) {
+      builder.add("X-Header-" + i, "Value" + i);
+    }
+    final InterceptedHeaders headers = builder
+      .add("Set-Cookie", "first")
+      .add("set-cookie", "second")
+      .build();
+
+    assertThat(headers.get("x-header-42")).isEqualTo("Value42");
+    assertThat(headers.get("SET-COOKIE")).isEqualTo("second");
+    assertThat(headers.values("Set-Cookie")).containsExactly("first", "second");
+    assertThat(headers.values("Missing")).isEmpty();
+  }
+
+  @Test
+  public void largeHeaderSet_builderMutationsKeepOrder() {
+    final InterceptedHeaders.Builder builder = new InterceptedHeaders.Builder();
+    for (int i = 0; i < 60; i++) {
+      builder.add("X-Header-" + i % 3, "Value" + i);
+    }
+    final InterceptedHeaders headers = builder
+      .removeAll("x-header-1")
+      .set("X-Header-2", "Replaced")
+      .add("X-Header-1", "Added")
+      .build();
+
+    assertThat(headers.size()).isEqualTo(22);
+    assertThat(headers.name(0)).isEqualTo("X-Header-0");
+    assertThat(headers.value(19)).isEqualTo("Value57");
+    assertThat(headers.values("X-Header-2")).containsExactly("Replaced");
+    assertThat(headers.name(21)).isEqualTo("X-Header-1");
+    assertThat(headers.newBuilder().removeAll("X-Header-0").build().size()).isEqualTo(2);
+  }
+
 }
@@ -0,0 +1,151 @@
+package io.github.dkorobtsov.tests;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.Moshi;
+import io.github.dkorobtsov.plinter.core.Level;
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
+import io.github.dkorobtsov.plinter.core.LoggingFormat;
+import io.github.dkorobtsov.plinter.core.OutputFormat;
+import io.github.dkorobtsov.plinter.core.internal.ClientPrintingExecutor;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedMediaType;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedRequest;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedRequestBody;
+import io.github.dkorobtsov.tests.utils.TestLogger;
+import io.github.dkorobtsov.tests.utils.TestUtil;
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import okhttp3.mockwebserver.MockResponse;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static io.github.dkorobtsov.plinter.core.internal.Util.APPLICATION_JSON;
+import static io.github.dkorobtsov.plinter.core.internal.Util.TEXT_PLAIN;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests validating that with JSON output format every event is printed as single JSON line.
+ */
+@RunWith(JUnitParamsRunner.class)
+@SuppressWarnings({"PMD.AvoidDuplicateLiterals", "unchecked"})
+public class JsonOutputFormatTest extends BaseTest {
+
+  private static final String TEST_URL = "http://google.com/api/test/";
+  private static final JsonAdapter<Map> JSON_ADAPTER = new Moshi.Builder().build()
+    .adapter(Map.class);
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void requestAndResponseArePrintedAsJsonLines(String interceptor) throws IOException {
+    server.enqueue(new MockResponse()
+      .setResponseCode(200)
+      .setHeader("Content-Type", TEXT_PLAIN)
+      .setBody("pong"));
+    final TestLogger testLogger = new TestLogger(LoggingFormat.JUL_MESSAGE_ONLY);
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(testLogger)
+      .outputFormat(OutputFormat.JSON)
+      .build(), "ping", TEXT_PLAIN, String.valueOf(server.url(MOCK_SERVER_PATH)));
+
+    final List<String> events = testLogger.loggerOutput(false).stream()
+      .filter(line -> !line.isEmpty())
+      .collect(Collectors.toList());
+    assertThat(events).hasSize(2);
+
+    final Map<String, Object> request = JSON_ADAPTER.fromJson(events.get(0));
+    assertThat(request)
+      .containsEntry("type", "request")
+      .containsEntry("method", "PUT")
+      .containsEntry("body", "ping")
+      .containsKey("headers");
+    assertThat((String) request.get("url")).startsWith("http://localhost");
+
+    final Map<String, Object> response = JSON_ADAPTER.fromJson(events.get(1));
+    assertThat(response)
+      .containsEntry("type", "response")
+      .containsEntry("status", 200.0)
+      .containsEntry("success", true)
+      .containsEntry("body", "pong")
+      .containsKey("tookMs");
+  }
+
+  @Test
+  public void bodyIsEscapedAndPrintedAsIs() throws IOException {
+    final TestLogger testLogger = new TestLogger(LoggingFormat.JUL_MESSAGE_ONLY);
+    final String body = "{\"name\": \"John\",\n\t\"path\": \"C:\\\\temp\"}";
+
+    ClientPrintingExecutor.printRequest(LoggerConfig.builder()
+      .logger(testLogger)
+      .outputFormat(OutputFormat.JSON)
+      .build(), request(body));
+
+    final String event = testLogger.formattedOutput().trim();
+    assertThat(event).doesNotContain("\n");
+    assertThat(JSON_ADAPTER.fromJson(event))
+      .containsEntry("body", body)
+      .containsEntry("url", TEST_URL);
+  }
+
+  @Test
+  public void truncatedBodyIsMarked() throws IOException {
+    final TestLogger testLogger = new TestLogger(LoggingFormat.JUL_MESSAGE_ONLY);
+    final String body = TestUtil.randomText(5000);
+
+    ClientPrintingExecutor.printRequest(LoggerConfig.builder()
+      .logger(testLogger)
+      .outputFormat(OutputFormat.JSON)
+      .maxBodyBytes(100)
+      .build(), request(body));
+
+    assertThat(JSON_ADAPTER.fromJson(testLogger.formattedOutput().trim()))
+      .containsEntry("body", body.substring(0, 100))
+      .containsEntry("bodyTruncated", true)
+      .containsEntry("bodyTotalBytes", 5000.0);
+  }
+
+  @Test
+  public void bodyIsNotPrintedWhenLevelSetToHeaders() throws IOException {
+    final TestLogger testLogger = new TestLogger(LoggingFormat.JUL_MESSAGE_ONLY);
+
+    ClientPrintingExecutor.printRequest(LoggerConfig.builder()
+      .logger(testLogger)
+      .outputFormat(OutputFormat.JSON)
+      .level(Level.HEADERS)
+      .build(), request("secret"));
+
+    assertThat(JSON_ADAPTER.fromJson(testLogger.formattedOutput().trim()))
+      .containsKey("headers")
+      .doesNotContainKeys("body", "bodyStatus");
+  }
+
+  @Test
+  public void missingBodyIsReportedWithStatus() throws IOException {
+    final TestLogger testLogger = new TestLogger(LoggingFormat.JUL_MESSAGE_ONLY);
+
+    ClientPrintingExecutor.printRequest(LoggerConfig.builder()
+      .logger(testLogger)
+      .outputFormat(OutputFormat.JSON)
+      .build(), new InterceptedRequest.Builder()
+      .url(TEST_URL)
+      .build());
+
+    assertThat(JSON_ADAPTER.fromJson(testLogger.formattedOutput().trim()))
+      .containsEntry("method", "GET")
+      .containsEntry("bodyStatus", "empty");
+  }
+
+  private static InterceptedRequest request(String body) {
+    return new InterceptedRequest.Builder()
+      .method("POST", InterceptedRequestBody
+        .create(InterceptedMediaType.parse(APPLICATION_JSON), body))
+      .addHeader("Content-Type", APPLICATION_JSON)
+      .url(TEST_URL)
+      .build();
+  }
+
+}
@@ -1,5 +1,6 @@
 package io.github.dkorobtsov.tests;
 
+import io.github.dkorobtsov.plinter.core.BodyCapturePolicy;
 import io.github.dkorobtsov.plinter.core.Level;
 import io.github.dkorobtsov.plinter.core.LoggerConfig;
 import io.github.dkorobtsov.plinter.core.LoggerConfig.LoggerConfigBuilder;
@@ -31,6 +32,62 @@ public class LoggerConfigDefaultsTest {
     assertEquals("Max line length", 110, loggerConfig.maxLineLength);
   }
 
+  @Test
+  public void loggerConfigDefaultConfiguration_maxBodyBytesIs1MiB() {
+    final LoggerConfig loggerConfig = LoggerConfig.builder().build();
+
+    assertEquals("Max body bytes", 1024 * 1024, loggerConfig.maxBodyBytes);
+  }
+
+  @Test
+  public void loggerConfigDefaultConfiguration_capturePolicy() {
+    final LoggerConfig loggerConfig = LoggerConfig.builder().build();
+
+    assertEquals("Capture policy", BodyCapturePolicy.defaults(), loggerConfig.capturePolicy);
+  }
+
+  @Test
+  public void loggerConfigDefaultConfiguration_exchangeMode() {
+    final LoggerConfig loggerConfig = LoggerConfig.builder().build();
+
+    assertFalse("Exchange mode", loggerConfig.exchangeMode);
+  }
+
+  @Test
+  public void loggerConfigDefaultConfiguration_filterIsNotDefined() {
+    final LoggerConfig loggerConfig = LoggerConfig.builder().build();
+
+    assertNull("Filter", loggerConfig.filter);
+  }
+
+  @Test
+  public void loggerConfigDefaultConfiguration_overheadIsNotMeasured() {
+    final LoggerConfig loggerConfig = LoggerConfig.builder().build();
+
+    assertNull("Overhead", loggerConfig.overhead);
+  }
+
+  @Test
+  public void loggerConfigDefaultConfiguration_metricsAreNotDefined() {
+    final LoggerConfig loggerConfig = LoggerConfig.builder().build();
+
+    assertNull("Metrics", loggerConfig.metrics);
+  }
+
+  @Test
+  public void loggerConfigDefaultConfiguration_slowOrFailedPolicyIsNotDefined() {
+    final LoggerConfig loggerConfig = LoggerConfig.builder().build();
+
+    assertNull("Slow or failed policy", loggerConfig.slowOrFailedPolicy);
+  }
+
+  @Test
+  public void loggerConfigDefaultConfiguration_samplerIsNotDefined() {
+    final LoggerConfig loggerConfig = LoggerConfig.builder().build();
+
+    assertNull("Sampler", loggerConfig.sampler);
+  }
+
   @Test
   public void loggerConfigDefaultConfiguration_isLoggable() {
     final LoggerConfig loggerConfig = LoggerConfig.builder().build();
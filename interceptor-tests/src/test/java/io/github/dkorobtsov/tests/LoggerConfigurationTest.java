@@ -1,8 +1,11 @@
 package io.github.dkorobtsov.tests;
 
 import io.github.dkorobtsov.plinter.core.Level;
+import io.github.dkorobtsov.plinter.core.LogWriter;
 import io.github.dkorobtsov.plinter.core.LoggerConfig;
 import io.github.dkorobtsov.plinter.core.LoggingFormat;
+import io.github.dkorobtsov.plinter.core.internal.ClientPrintingExecutor;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedRequest;
 import io.github.dkorobtsov.tests.utils.TestLogger;
 import io.github.dkorobtsov.tests.utils.TestUtil;
 import junitparams.JUnitParamsRunner;
@@ -14,8 +17,12 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Executors;
 
+import static io.github.dkorobtsov.plinter.core.internal.Util.TEXT_PLAIN;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -152,6 +159,92 @@ public class LoggerConfigurationTest extends BaseTest {
       testLogger.formattedOutput().contains("body"));
   }
 
+  @Test
+  @Parameters(method = "interceptors")
+  public void requestBodyShouldBeSentUnchangedWhenLevelSetToHeaders(String interceptor)
+    throws InterruptedException {
+    server.enqueue(new MockResponse().setResponseCode(200));
+    final TestLogger testLogger = new TestLogger(LoggingFormat.JUL_THREAD_MESSAGE);
+    final String body = TestUtil.randomText(10_000);
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(testLogger)
+      .level(Level.HEADERS)
+      .build(), body, TEXT_PLAIN, String.valueOf(server.url(MOCK_SERVER_PATH)));
+
+    assertEquals("Request body should reach the server as is.",
+      body, server.takeRequest().getBody().readUtf8());
+    assertFalse("Body should not be logged when level set to Headers.",
+      testLogger.formattedOutput().contains(body.substring(0, 50)));
+  }
+
+  @Test
+  public void eventLinesShouldBePassedToLogWriterAsSingleBatch() {
+    final List<List<String>> batches = new ArrayList<>();
+    final List<String> singleLines = new ArrayList<>();
+    final LogWriter batchingWriter = new LogWriter() {
+      @Override
+      public void log(String msg) {
+        singleLines.add(msg);
+      }
+
+      @Override
+      public void logLines(List<String> lines) {
+        batches.add(new ArrayList<>(lines));
+      }
+    };
+
+    ClientPrintingExecutor.printRequest(LoggerConfig.builder()
+      .logger(batchingWriter)
+      .logByLine(true)
+      .build(), new InterceptedRequest.Builder()
+      .url("http://google.com/api/test/")
+      .addHeader("Accept", "application/json")
+      .build());
+
+    assertEquals("Whole event should be logged with single batch call.", 1, batches.size());
+    assertTrue("Log writer should not be called for separate lines.", singleLines.isEmpty());
+    assertTrue("Batch should contain all event lines.",
+      batches.get(0).size() > 5
+        && batches.get(0).stream().anyMatch(line -> line.contains("Accept: application/json"))
+        && batches.get(0).stream().noneMatch(line -> line.contains("\n")));
+  }
+
+  @Test
+  public void eventShouldBePassedToLogWriterAsCharSequence() {
+    final List<String> events = new ArrayList<>();
+    final List<String> strings = new ArrayList<>();
+    final LogWriter charsWriter = new LogWriter() {
+      @Override
+      public void log(String msg) {
+        strings.add(msg);
+      }
+
+      @Override
+      public void logChars(CharSequence event) {
+        events.add(event.toString());
+      }
+    };
+
+    final InterceptedRequest request = new InterceptedRequest.Builder()
+      .url("http://google.com/api/test/")
+      .addHeader("Accept", "application/json")
+      .build();
+    ClientPrintingExecutor.printRequest(LoggerConfig.builder()
+      .logger(charsWriter)
+      .build(), request);
+
+    final TestLogger testLogger = new TestLogger(LoggingFormat.JUL_MESSAGE_ONLY);
+    ClientPrintingExecutor.printRequest(LoggerConfig.builder()
+      .logger(testLogger)
+      .build(), request);
+
+    assertTrue("String entry point should not be used.", strings.isEmpty());
+    assertEquals("Whole event should be logged with single call.", 1, events.size());
+    assertEquals("Event passed as characters should match default output.",
+      testLogger.formattedOutput().trim(), events.get(0).trim());
+  }
+
   @Test
   @Parameters(method = "interceptors")
   public void allDetailsShouldBePrintedIfLevelSetToBasic(String interceptor) {
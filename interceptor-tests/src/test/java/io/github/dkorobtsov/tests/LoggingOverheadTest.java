@@ -0,0 +1,68 @@
+package io.github.dkorobtsov.tests;
+
+import io.github.dkorobtsov.plinter.core.Level;
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
+import io.github.dkorobtsov.plinter.core.LoggingOverhead;
+import io.github.dkorobtsov.plinter.core.LoggingOverhead.Stage;
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import okhttp3.mockwebserver.MockResponse;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.github.dkorobtsov.plinter.core.internal.Util.APPLICATION_JSON;
+import static io.github.dkorobtsov.plinter.core.internal.Util.CONTENT_TYPE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests validating measurement of logging layer overhead.
+ */
+@RunWith(JUnitParamsRunner.class)
+public class LoggingOverheadTest extends BaseTest {
+
+  private static final String JSON_BODY = "{\"name\":\"plinter\",\"tags\":[\"logging\",\"http\"]}";
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void everyLoggingStageIsMeasured(String interceptor) {
+    server.enqueue(new MockResponse()
+      .setResponseCode(200)
+      .setHeader(CONTENT_TYPE, APPLICATION_JSON)
+      .setBody(JSON_BODY));
+    final List<String> events = new ArrayList<>();
+    final LoggingOverhead overhead = new LoggingOverhead();
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+        .level(Level.BASIC)
+        .logger(events::add)
+        .overhead(overhead)
+        .build(), JSON_BODY, APPLICATION_JSON,
+      String.valueOf(server.url(MOCK_SERVER_PATH)));
+
+    assertThat(events).hasSize(2);
+    assertThat(overhead.snapshot(Stage.REQUEST_CONVERSION).count()).isEqualTo(1);
+    assertThat(overhead.snapshot(Stage.RESPONSE_CONVERSION).count()).isEqualTo(1);
+    assertThat(overhead.snapshot(Stage.RENDERING).count()).isEqualTo(2);
+    assertThat(overhead.snapshot(Stage.WRITING).count()).isEqualTo(2);
+    assertThat(overhead.snapshot(Stage.BODY_FORMATTING).count()).isEqualTo(2);
+    assertThat(overhead.capturedBodyBytes()).isEqualTo(2L * JSON_BODY.length());
+    assertThat(overhead.allocatedBodyBytes()).isGreaterThan(overhead.capturedBodyBytes());
+  }
+
+  @Test
+  public void resetClearsAllStages() {
+    final LoggingOverhead overhead = new LoggingOverhead();
+    overhead.record(Stage.RENDERING, 1000);
+    overhead.recordCapturedBody(100);
+
+    overhead.reset();
+
+    assertThat(overhead.snapshot(Stage.RENDERING).count()).isZero();
+    assertThat(overhead.capturedBodyBytes()).isZero();
+    assertThat(overhead.allocatedBodyBytes()).isZero();
+  }
+
+}
@@ -0,0 +1,212 @@
+package io.github.dkorobtsov.tests;
+
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
+import io.github.dkorobtsov.plinter.core.MappedFileLogWriter;
+import io.github.dkorobtsov.tests.utils.TestUtil;
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import okhttp3.mockwebserver.MockResponse;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests validating memory-mapped file writer segments content and rolling.
+ */
+@RunWith(JUnitParamsRunner.class)
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+public class MappedFileLogWriterTest extends BaseTest {
+
+  private static final int SEGMENT_SIZE = 4096;
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private MappedFileLogWriter writer;
+
+  @After
+  public void closeWriter() {
+    if (writer != null) {
+      writer.close();
+    }
+  }
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void eventsAreWrittenToSegmentFile(String interceptor) throws IOException {
+    server.enqueue(new MockResponse().setResponseCode(200));
+    writer = writer(folder.getRoot().toPath());
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(writer)
+      .build());
+    writer.close();
+
+    final String content = String.join("\n", readLines(folder.getRoot().toPath()));
+    assertThat(content).contains("Request", "Response");
+  }
+
+  @Test
+  public void segmentContentEndsAtFirstZeroByte() throws IOException {
+    writer = writer(folder.getRoot().toPath());
+    writer.log("Привет, Мир!");
+    writer.log("nul\0char");
+    final Path segment = writer.currentSegment();
+    writer.close();
+
+    final byte[] expected = "Привет, Мир!\nnul?char\n".getBytes(StandardCharsets.UTF_8);
+    final byte[] bytes = Files.readAllBytes(segment);
+    assertThat(bytes).hasSize(SEGMENT_SIZE);
+    assertThat(Arrays.copyOf(bytes, expected.length)).isEqualTo(expected);
+    assertThat(bytes[expected.length]).isZero();
+  }
+
+  @Test
+  public void segmentsAreRolledBySizeWithoutSplittingEvents() throws IOException {
+    writer = writer(folder.getRoot().toPath());
+    final List<String> events = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      events.add(TestUtil.randomText(300));
+    }
+    events.forEach(writer::log);
+    writer.close();
+
+    final List<Path> segments = segments(folder.getRoot().toPath());
+    assertThat(segments.size()).isGreaterThan(1);
+    for (Path segment : segments) {
+      assertThat(Files.size(segment)).isLessThanOrEqualTo(SEGMENT_SIZE);
+    }
+    assertThat(readLines(folder.getRoot().toPath())).containsExactlyElementsOf(events);
+  }
+
+  @Test
+  public void linesOfEventAreWrittenToSameSegment() throws IOException {
+    writer = writer(folder.getRoot().toPath());
+    for (int event = 0; event < 30; event++) {
+      final List<String> lines = new ArrayList<>();
+      for (int line = 0; line < 3; line++) {
+        lines.add(event + ":" + TestUtil.randomText(300));
+      }
+      writer.logLines(lines);
+    }
+    writer.close();
+
+    final List<Path> segments = segments(folder.getRoot().toPath());
+    assertThat(segments.size()).isGreaterThan(1);
+    for (Path segment : segments) {
+      final List<String> lines = Arrays.asList(read(segment).split("\n"));
+      assertThat(lines.size() % 3).isZero();
+      for (int i = 0; i < lines.size(); i += 3) {
+        final String event = lines.get(i).substring(0, lines.get(i).indexOf(':') + 1);
+        assertThat(lines.get(i + 1)).startsWith(event);
+        assertThat(lines.get(i + 2)).startsWith(event);
+      }
+    }
+  }
+
+  @Test
+  public void eventLargerThanSegmentIsWrittenAcrossSegments() throws IOException {
+    writer = writer(folder.getRoot().toPath());
+    final String event = TestUtil.randomText(SEGMENT_SIZE * 3);
+    writer.logLines(Arrays.asList("first", event, "last"));
+    writer.close();
+
+    final String content = segments(folder.getRoot().toPath()).stream()
+      .map(MappedFileLogWriterTest::read)
+      .collect(Collectors.joining());
+    assertThat(content).isEqualTo("first\n" + event + "\nlast\n");
+  }
+
+  @Test
+  public void sequenceContinuesAfterExistingSegments() throws IOException {
+    final Path directory = folder.getRoot().toPath();
+    Files.createFile(directory.resolve("test-000041.log"));
+
+    writer = writer(directory);
+
+    assertThat(writer.currentSegment().getFileName().toString()).isEqualTo("test-000042.log");
+  }
+
+  @Test
+  public void eventsLoggedAfterCloseAreDiscarded() throws IOException {
+    writer = writer(folder.getRoot().toPath());
+    writer.log("before");
+    writer.close();
+    writer.log("after");
+
+    assertThat(readLines(folder.getRoot().toPath())).containsExactly("before");
+  }
+
+  @Test
+  public void invalidSegmentSizeIsRejected() {
+    assertThatThrownBy(() -> MappedFileLogWriter.builder().segmentSize(1024))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageStartingWith("Invalid segment size");
+  }
+
+  @Test
+  public void missingDirectoryIsRejected() {
+    assertThatThrownBy(() -> MappedFileLogWriter.builder().build())
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Segment files directory should be provided.");
+  }
+
+  private static MappedFileLogWriter writer(Path directory) {
+    return MappedFileLogWriter.builder()
+      .directory(directory)
+      .prefix("test")
+      .segmentSize(SEGMENT_SIZE)
+      .flushInterval(10, TimeUnit.MILLISECONDS)
+      .build();
+  }
+
+  private static List<Path> segments(Path directory) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.sorted().collect(Collectors.toList());
+    }
+  }
+
+  private static List<String> readLines(Path directory) throws IOException {
+    final List<String> lines = new ArrayList<>();
+    for (Path segment : segments(directory)) {
+      final String content = read(segment);
+      if (!content.isEmpty()) {
+        lines.addAll(Arrays.asList(content.split("\n")));
+      }
+    }
+    return lines;
+  }
+
+  /**
+   * Reads segment content, which ends at the first zero byte.
+   */
+  private static String read(Path segment) {
+    try {
+      final byte[] bytes = Files.readAllBytes(segment);
+      int length = 0;
+      while (length < bytes.length && bytes[length] != 0) {
+        length++;
+      }
+      return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+}
@@ -0,0 +1,83 @@
+package io.github.dkorobtsov.tests;
+
+import io.github.dkorobtsov.plinter.core.internal.InterceptedMediaType;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedRequestBody;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests to validate caching of parsed media types.
+ */
+public class MediaTypeCacheTest {
+
+  @Test
+  public void repeatedContentTypeIsServedFromCache() {
+    final String contentType = "application/vnd.plinter+json; charset=utf-8";
+    final InterceptedMediaType first = InterceptedMediaType.parse(contentType);
+    final long hits = InterceptedMediaType.cacheHits();
+
+    final InterceptedMediaType second = InterceptedMediaType.parse(new String(contentType));
+
+    assertThat(second).isSameAs(first);
+    assertThat(second.charset()).isEqualTo(StandardCharsets.UTF_8);
+    assertThat(InterceptedMediaType.cacheHits()).isGreaterThan(hits);
+  }
+
+  @Test
+  public void malformedContentTypeIsNotParsed() {
+    final long misses = InterceptedMediaType.cacheMisses();
+
+    assertThat(InterceptedMediaType.parse("not a media type")).isNull();
+    assertThat(InterceptedMediaType.cacheMisses()).isGreaterThan(misses);
+  }
+
+  @Test
+  public void malformedContentTypeIsParsedOnlyOnce() {
+    InterceptedMediaType.parse("still not a media type");
+    final long misses = InterceptedMediaType.cacheMisses();
+
+    assertThat(InterceptedMediaType.parse("still not a media type")).isNull();
+    assertThat(InterceptedMediaType.cacheMisses()).isEqualTo(misses);
+  }
+
+  @Test
+  public void contentTypeWithBoundaryIsNotCached() {
+    final String contentType = "multipart/form-data; boundary=5f3a1c9e07b2d4e1";
+    InterceptedMediaType.parse(contentType);
+    final long misses = InterceptedMediaType.cacheMisses();
+
+    final InterceptedMediaType parsed = InterceptedMediaType.parse(contentType);
+
+    assertThat(parsed).hasToString(contentType);
+    assertThat(InterceptedMediaType.cacheMisses()).isGreaterThan(misses);
+  }
+
+  @Test
+  public void commonContentTypeIsCachedAgainWhenCacheIsFull() {
+    final String contentType = "application/json; charset=utf-8";
+    for (int i = 0; i < 1000; i++) {
+      InterceptedMediaType.parse("application/x-plinter-" + i);
+    }
+    InterceptedMediaType.parse(contentType);
+    final long hits = InterceptedMediaType.cacheHits();
+
+    InterceptedMediaType.parse(contentType);
+
+    assertThat(InterceptedMediaType.cacheHits()).isGreaterThan(hits);
+  }
+
+  @Test
+  public void utf8CharsetIsAddedOnlyOnce() {
+    final InterceptedMediaType plain = InterceptedMediaType.parse("text/x-plinter");
+
+    final InterceptedMediaType first = InterceptedRequestBody.create(plain, "a").contentType();
+    final InterceptedMediaType second = InterceptedRequestBody.create(plain, "b").contentType();
+
+    assertThat(first).hasToString("text/x-plinter; charset=utf-8");
+    assertThat(second).isSameAs(first);
+  }
+
+}
@@ -12,6 +12,11 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import static io.github.dkorobtsov.plinter.core.internal.Util.APPLICATION_JSON;
 
 /**
@@ -52,6 +57,50 @@ public class OutputResizingTest extends BaseTest {
         "ocogovukuperibanikohijovatenutopelobokuxajasatahudagid\"}");
   }
 
+  @Test
+  @Parameters(method = "interceptors")
+  public void concurrentPrintersDoNotShareLineLength(String interceptor)
+    throws InterruptedException {
+    final int requests = 10;
+    for (int i = 0; i < requests * 2; i++) {
+      server.enqueue(new MockResponse().setResponseCode(200));
+    }
+
+    final List<String> narrowEvents = new CopyOnWriteArrayList<>();
+    final List<String> wideEvents = new CopyOnWriteArrayList<>();
+    final LoggerConfig narrowConfig = LoggerConfig.builder()
+      .logger(narrowEvents::add)
+      .logByLine(true)
+      .maxLineLength(80)
+      .build();
+    final LoggerConfig wideConfig = LoggerConfig.builder()
+      .logger(wideEvents::add)
+      .logByLine(true)
+      .maxLineLength(180)
+      .build();
+
+    final CountDownLatch finished = new CountDownLatch(2);
+    for (LoggerConfig config : new LoggerConfig[]{narrowConfig, wideConfig}) {
+      new Thread(() -> {
+        for (int i = 0; i < requests; i++) {
+          interceptWithConfig(interceptor, config);
+        }
+        finished.countDown();
+      }).start();
+    }
+    Assertions.assertThat(finished.await(30, TimeUnit.SECONDS)).isTrue();
+
+    assertHorizontalLinesLength(narrowEvents, 80);
+    assertHorizontalLinesLength(wideEvents, 180);
+  }
+
+  private static void assertHorizontalLinesLength(List<String> lines, int expectedLength) {
+    Assertions.assertThat(lines)
+      .filteredOn(line -> line.startsWith("┌──") || line.startsWith("└──"))
+      .isNotEmpty()
+      .allSatisfy(line -> Assertions.assertThat(line).hasSize(expectedLength));
+  }
+
   @Test(expected = IllegalArgumentException.class)
   @Parameters(method = "invalidMaxLineSizes")
   public void invalidOutputLengthHandling(String maxLineLength) {
@@ -0,0 +1,142 @@
+package io.github.dkorobtsov.tests;
+
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
+import io.github.dkorobtsov.plinter.core.RequestFilter;
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import okhttp3.mockwebserver.MockResponse;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests validating request include and exclude rules.
+ */
+@RunWith(JUnitParamsRunner.class)
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+public class RequestFilterTest extends BaseTest {
+
+  private static final String HOST = "localhost";
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void excludedPathIsNotLogged(String interceptor) {
+    server.enqueue(new MockResponse().setResponseCode(200));
+    final List<String> events = new ArrayList<>();
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(events::add)
+      .filter(RequestFilter.builder()
+        .excludePath("/health")
+        .build())
+      .build(), String.valueOf(server.url("/health/live")), null);
+
+    assertThat(events).isEmpty();
+  }
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void notExcludedPathIsLogged(String interceptor) {
+    server.enqueue(new MockResponse().setResponseCode(200));
+    final List<String> events = new ArrayList<>();
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(events::add)
+      .filter(RequestFilter.builder()
+        .excludePath("/health")
+        .build())
+      .build(), String.valueOf(server.url("/healthy")), null);
+
+    assertThat(events).hasSize(2);
+  }
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void requestWithExcludedHeaderIsNotLogged(String interceptor) {
+    server.enqueue(new MockResponse().setResponseCode(200));
+    final List<String> events = new ArrayList<>();
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+        .logger(events::add)
+        .filter(RequestFilter.builder()
+          .excludeHeader("X-Synthetic-Check")
+          .build())
+        .build(), String.valueOf(server.url(MOCK_SERVER_PATH)),
+      Collections.singletonList(new SimpleEntry<>("x-synthetic-check", "true")));
+
+    assertThat(events).isEmpty();
+  }
+
+  @Test
+  public void pathGlobsAreMatched() {
+    final RequestFilter filter = RequestFilter.builder()
+      .excludePath("/metrics/**", "/api/*/status", "/v?/ping")
+      .build();
+
+    assertThat(isLogged(filter, "/metrics")).isTrue();
+    assertThat(isLogged(filter, "/metrics/jvm/memory")).isFalse();
+    assertThat(isLogged(filter, "/api/orders/status")).isFalse();
+    assertThat(isLogged(filter, "/api/orders/1/status")).isTrue();
+    assertThat(isLogged(filter, "/v1/ping")).isFalse();
+    assertThat(isLogged(filter, "/v10/ping")).isTrue();
+    assertThat(isLogged(filter, "/api/orders")).isTrue();
+  }
+
+  @Test
+  public void overlappingPathPrefixesAreMatchedOnSegmentBoundary() {
+    final RequestFilter filter = RequestFilter.builder()
+      .excludePath("/api/internal/", "/api/int", "/static/**")
+      .build();
+
+    assertThat(isLogged(filter, "/api/internal")).isFalse();
+    assertThat(isLogged(filter, "/api/internal/cache")).isFalse();
+    assertThat(isLogged(filter, "/api/int/1")).isFalse();
+    assertThat(isLogged(filter, "/api/inter")).isTrue();
+    assertThat(isLogged(filter, "/api/internals")).isTrue();
+    assertThat(isLogged(filter, "/api")).isTrue();
+    assertThat(isLogged(filter, "/static/app.js")).isFalse();
+  }
+
+  @Test
+  public void includeRulesRestrictLoggedRequests() {
+    final RequestFilter filter = RequestFilter.builder()
+      .includePath("/api/**")
+      .excludePath("/api/internal")
+      .build();
+
+    assertThat(isLogged(filter, "/api/orders")).isTrue();
+    assertThat(isLogged(filter, "/api/internal/cache")).isFalse();
+    assertThat(isLogged(filter, "/static/app.js")).isFalse();
+  }
+
+  @Test
+  public void hostsAndMethodsAreMatchedCaseInsensitive() {
+    final RequestFilter filter = RequestFilter.builder()
+      .excludeHost("*.Internal")
+      .excludeMethod("options")
+      .build();
+
+    assertThat(filter.isLogged("metrics.internal", "/", "GET", name -> false)).isFalse();
+    assertThat(filter.isLogged("example.com", "/", "OPTIONS", name -> false)).isFalse();
+    assertThat(filter.isLogged("example.com", "/", "GET", name -> false)).isTrue();
+  }
+
+  @Test
+  public void invalidPathPatternIsRejected() {
+    assertThatThrownBy(() -> RequestFilter.builder().excludePath("health"))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageStartingWith("Invalid path pattern: health");
+  }
+
+  private static boolean isLogged(RequestFilter filter, String path) {
+    return filter.isLogged(HOST, path, "GET", name -> false);
+  }
+
+}
@@ -146,9 +146,9 @@ public class ResponsesPrintingTest extends BaseTest {
       .contains("  "
         + "Body:\n"
         + "  {\n"
-        + "     \"city\": \"New York\",\n"
         + "     \"name\": \"John\",\n"
-        + "     \"age\": 31\n"
+        + "     \"age\": 31,\n"
+        + "     \"city\": \"New York\"\n"
         + "  }"
       );
   }
@@ -272,9 +272,9 @@ public class ResponsesPrintingTest extends BaseTest {
         + "  \n"
         + "  Body:\n"
         + "  {\n"
-        + "     \"city\": \"New York\",\n"
         + "     \"name\": \"John\",\n"
-        + "     \"age\": 31\n"
+        + "     \"age\": 31,\n"
+        + "     \"city\": \"New York\"\n"
         + "  }\n"
         + "└───────────────────────────────────────────────────────────────────────────────");
   }
@@ -0,0 +1,196 @@
+package io.github.dkorobtsov.tests;
+
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
+import io.github.dkorobtsov.plinter.core.Sampler;
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests validating sampling strategies and error overrides.
+ */
+@RunWith(JUnitParamsRunner.class)
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+public class SamplerTest extends BaseTest {
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void notSampledExchangeIsNotLogged(String interceptor) {
+    server.enqueue(new MockResponse().setResponseCode(200));
+    final List<String> events = new ArrayList<>();
+    final Sampler sampler = Sampler.builder()
+      .rate(0.0)
+      .alwaysLogServerErrors(true)
+      .build();
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(events::add)
+      .sampler(sampler)
+      .build());
+
+    assertThat(events).isEmpty();
+    assertThat(sampler.suppressedEvents()).isEqualTo(1);
+    assertThat(sampler.sampledEvents()).isZero();
+    assertThat(sampler.forcedEvents()).isZero();
+  }
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void serverErrorIsLoggedEvenIfNotSampled(String interceptor) {
+    server.enqueue(new MockResponse().setResponseCode(503));
+    final List<String> events = new ArrayList<>();
+    final Sampler sampler = Sampler.builder()
+      .rate(0.0)
+      .alwaysLogServerErrors(true)
+      .build();
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(events::add)
+      .sampler(sampler)
+      .build());
+
+    assertThat(String.join("\n", events)).contains("Status Code: 503");
+    assertThat(sampler.forcedEvents()).isEqualTo(1);
+  }
+
+  @Test
+  @Parameters({
+    "okhttp",
+    "okhttp3"
+  })
+  public void clientErrorIsLoggedWithRequestIfNotSampled(String interceptor) {
+    server.enqueue(new MockResponse().setResponseCode(404));
+    final List<String> events = new ArrayList<>();
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(events::add)
+      .sampler(Sampler.builder()
+        .rate(0.0)
+        .alwaysLogClientErrors(true)
+        .build())
+      .build());
+
+    assertThat(events).hasSize(2);
+    assertThat(events.get(0)).contains("Request", "Method: @GET");
+    assertThat(events.get(1)).contains("Status Code: 404");
+  }
+
+  @Test
+  @Parameters({
+    "okhttp",
+    "okhttp3"
+  })
+  public void failedRequestIsLoggedEvenIfNotSampled(String interceptor) {
+    server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+    server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+    final List<String> events = new ArrayList<>();
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(events::add)
+      .sampler(Sampler.builder()
+        .rate(0.0)
+        .alwaysLogFailures(true)
+        .build())
+      .build());
+
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0)).contains("Request", "Method: @GET");
+  }
+
+  @Test
+  public void tokenBucketLimitsExchangesPerHost() {
+    final Sampler sampler = Sampler.builder()
+      .tokenBucket(1, 2)
+      .build();
+
+    int sampled = 0;
+    for (int i = 0; i < 5; i++) {
+      if (sampler.sample("first.host", "/api")) {
+        sampled++;
+      }
+    }
+
+    assertThat(sampled).isEqualTo(2);
+    assertThat(sampler.sample("second.host", "/api")).isTrue();
+    assertThat(sampler.suppressedEvents()).isEqualTo(3);
+    assertThat(sampler.sampledEvents()).isEqualTo(3);
+  }
+
+  @Test
+  public void tokenBucketCanBeKeptPerRoute() {
+    final Sampler sampler = Sampler.builder()
+      .tokenBucket(1, 1)
+      .perRoute(true)
+      .build();
+
+    assertThat(sampler.sample("host", "/first")).isTrue();
+    assertThat(sampler.sample("host", "/first")).isFalse();
+    assertThat(sampler.sample("host", "/second")).isTrue();
+  }
+
+  @Test
+  public void routesWithIdentifiersShareTokenBucket() {
+    final Sampler sampler = Sampler.builder()
+      .tokenBucket(1, 1)
+      .perRoute(true)
+      .build();
+
+    assertThat(sampler.sample("host", "/users/42")).isTrue();
+    assertThat(sampler.sample("host", "/users/43")).isFalse();
+    assertThat(sampler.sample("host", "/users/3f2a9c4e-8b1d-4e6f-a7c2-5d9e0b1f4a6c")).isFalse();
+  }
+
+  @Test
+  public void newHostsDoNotResetExistingTokenBuckets() {
+    final Sampler sampler = Sampler.builder()
+      .tokenBucket(1, 1)
+      .build();
+
+    assertThat(sampler.sample("first.host", "/api")).isTrue();
+    for (int i = 0; i < 5000; i++) {
+      sampler.sample("host-" + i, "/api");
+    }
+
+    assertThat(sampler.sample("first.host", "/api")).isFalse();
+  }
+
+  @Test
+  public void everyExchangeIsSampledByDefault() {
+    final Sampler sampler = Sampler.builder().build();
+
+    for (int i = 0; i < 100; i++) {
+      assertThat(sampler.sample("host", "/")).isTrue();
+    }
+    assertThat(sampler.forceOnStatus(500)).isFalse();
+    assertThat(sampler.forceOnFailure()).isFalse();
+  }
+
+  @Test
+  @Parameters({
+    "-0.1",
+    "1.1",
+    "NaN"
+  })
+  public void invalidRateIsRejected(double rate) {
+    assertThatThrownBy(() -> Sampler.builder().rate(rate))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Invalid sampling rate. Should be between 0.0 and 1.0.");
+  }
+
+  @Test
+  public void invalidBurstIsRejected() {
+    assertThatThrownBy(() -> Sampler.builder().tokenBucket(10, 0))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Invalid burst size. Should be at least 1.");
+  }
+
+}
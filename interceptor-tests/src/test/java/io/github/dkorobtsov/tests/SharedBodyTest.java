@@ -0,0 +1,73 @@
+package io.github.dkorobtsov.tests;
+
+import io.github.dkorobtsov.plinter.core.internal.InterceptedMediaType;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedRequestBody;
+import io.github.dkorobtsov.plinter.core.internal.InterceptedResponseBody;
+import io.github.dkorobtsov.tests.utils.TestUtil;
+import okio.Buffer;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static io.github.dkorobtsov.plinter.core.internal.Util.TEXT_PLAIN;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests to validate bodies sharing captured segments instead of copying them.
+ */
+public class SharedBodyTest {
+
+  private static final InterceptedMediaType MEDIA_TYPE = InterceptedMediaType.parse(TEXT_PLAIN);
+  private static final String CONTENT = TestUtil.randomText(20_000);
+
+  @Test
+  public void sharedResponseBodyCanBeReadRepeatedly() throws IOException {
+    final Buffer content = new Buffer().writeUtf8(CONTENT);
+    final InterceptedResponseBody body = InterceptedResponseBody.shared(MEDIA_TYPE, content);
+
+    assertThat(body.string()).isEqualTo(CONTENT);
+    assertThat(body.string()).isEqualTo(CONTENT);
+    assertThat(content.readUtf8()).isEqualTo(CONTENT);
+  }
+
+  @Test
+  public void sharedResponseBodySourcesAreIndependent() throws IOException {
+    final InterceptedResponseBody body = InterceptedResponseBody
+      .shared(MEDIA_TYPE, new Buffer().writeUtf8(CONTENT));
+
+    final Buffer first = (Buffer) body.source();
+    first.skip(CONTENT.length() / 2);
+
+    assertThat(body.source().readUtf8()).isEqualTo(CONTENT);
+    assertThat(first.readUtf8()).isEqualTo(CONTENT.substring(CONTENT.length() / 2));
+  }
+
+  @Test
+  public void sharedRequestBodyCanBeWrittenRepeatedly() throws IOException {
+    final Buffer content = new Buffer().writeUtf8(CONTENT);
+    final InterceptedRequestBody body = InterceptedRequestBody.shared(MEDIA_TYPE, content);
+    final Buffer first = new Buffer();
+    final Buffer second = new Buffer();
+
+    body.writeTo(first);
+    body.writeTo(second);
+
+    assertThat(body.contentLength()).isEqualTo(CONTENT.length());
+    assertThat(first.readUtf8()).isEqualTo(CONTENT);
+    assertThat(second.readUtf8()).isEqualTo(CONTENT);
+    assertThat(content.size()).isEqualTo(CONTENT.length());
+  }
+
+  @Test
+  public void truncatedBodyKeepsOriginalLength() throws IOException {
+    final Buffer preview = new Buffer().writeUtf8(CONTENT.substring(0, 100));
+    final InterceptedResponseBody body = InterceptedResponseBody
+      .truncated(MEDIA_TYPE, preview, CONTENT.length());
+
+    assertThat(body.isTruncated()).isTrue();
+    assertThat(body.contentLength()).isEqualTo(100);
+    assertThat(body.totalLength()).isEqualTo(CONTENT.length());
+    assertThat(body.string()).isEqualTo(CONTENT.substring(0, 100));
+  }
+
+}
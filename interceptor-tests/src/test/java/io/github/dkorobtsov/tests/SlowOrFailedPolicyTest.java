@@ -0,0 +1,219 @@
+package io.github.dkorobtsov.tests;
+
+import io.github.dkorobtsov.plinter.apache.ApacheHttpRequestInterceptor;
+import io.github.dkorobtsov.plinter.apache.ApacheHttpResponseInterceptor;
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
+import io.github.dkorobtsov.plinter.core.Sampler;
+import io.github.dkorobtsov.plinter.core.SlowOrFailedPolicy;
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.util.EntityUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests validating logging of slow or failed exchanges only.
+ */
+@RunWith(JUnitParamsRunner.class)
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+public class SlowOrFailedPolicyTest extends BaseTest {
+
+  private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void fastSuccessfulExchangeIsNotLogged(String interceptor) {
+    server.enqueue(new MockResponse().setResponseCode(200));
+    final List<String> events = new ArrayList<>();
+    final SlowOrFailedPolicy policy = SlowOrFailedPolicy.builder()
+      .latencyThreshold(10, TimeUnit.SECONDS)
+      .build();
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(events::add)
+      .slowOrFailedOnly(policy)
+      .build());
+
+    assertThat(events).isEmpty();
+    assertThat(policy.skippedEvents()).isEqualTo(1);
+    assertThat(policy.loggedEvents()).isZero();
+  }
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void serverErrorIsLoggedWithRequest(String interceptor) {
+    server.enqueue(new MockResponse().setResponseCode(503));
+    final List<String> events = new ArrayList<>();
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(events::add)
+      .slowOrFailedOnly(SlowOrFailedPolicy.builder()
+        .latencyThreshold(10, TimeUnit.SECONDS)
+        .build())
+      .build());
+
+    assertThat(events).hasSize(2);
+    assertThat(events.get(0)).contains("Request", "Method: @GET");
+    assertThat(events.get(1)).contains("Status Code: 503");
+  }
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void slowExchangeIsLogged(String interceptor) {
+    server.enqueue(new MockResponse().setResponseCode(200)
+      .setHeadersDelay(300, TimeUnit.MILLISECONDS));
+    final List<String> events = new ArrayList<>();
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(events::add)
+      .slowOrFailedOnly(SlowOrFailedPolicy.builder()
+        .latencyThreshold(100, TimeUnit.MILLISECONDS)
+        .build())
+      .build());
+
+    assertThat(events).hasSize(2);
+    assertThat(events.get(1)).contains("Status Code: 200");
+  }
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void slowExchangeIsLoggedAsSingleEventInExchangeMode(String interceptor) {
+    server.enqueue(new MockResponse().setResponseCode(200)
+      .setHeadersDelay(300, TimeUnit.MILLISECONDS));
+    final List<String> events = new ArrayList<>();
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(events::add)
+      .exchangeMode(true)
+      .slowOrFailedOnly(SlowOrFailedPolicy.builder()
+        .latencyThreshold(100, TimeUnit.MILLISECONDS)
+        .build())
+      .build());
+
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0)).contains("Exchange", "Method: @GET", "Status Code: 200");
+  }
+
+  @Test
+  @Parameters({
+    "okhttp",
+    "okhttp3"
+  })
+  public void failedRequestIsLogged(String interceptor) {
+    server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+    server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+    final List<String> events = new ArrayList<>();
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(events::add)
+      .slowOrFailedOnly(SlowOrFailedPolicy.builder().build())
+      .build());
+
+    assertThat(events).isNotEmpty();
+    assertThat(events.get(0)).contains("Request", "Method: @GET");
+  }
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void errorForcedBySamplerIsLoggedBelowMinStatus(String interceptor) {
+    server.enqueue(new MockResponse().setResponseCode(404));
+    final List<String> events = new ArrayList<>();
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(events::add)
+      .sampler(Sampler.builder()
+        .rate(0.0)
+        .alwaysLogClientErrors(true)
+        .build())
+      .slowOrFailedOnly(SlowOrFailedPolicy.builder()
+        .latencyThreshold(10, TimeUnit.SECONDS)
+        .minStatus(500)
+        .build())
+      .build());
+
+    assertThat(events).hasSize(2);
+    assertThat(events.get(1)).contains("Status Code: 404");
+  }
+
+  @Test
+  public void apacheRepeatableRequestEntityIsNotReplaced() throws IOException {
+    server.enqueue(new MockResponse().setResponseCode(503));
+    final List<String> events = new ArrayList<>();
+    final LoggerConfig loggerConfig = LoggerConfig.builder()
+      .logger(events::add)
+      .slowOrFailedOnly(SlowOrFailedPolicy.builder()
+        .latencyThreshold(10, TimeUnit.SECONDS)
+        .build())
+      .build();
+    final HttpPost request = new HttpPost(String.valueOf(server.url(MOCK_SERVER_PATH)));
+    final StringEntity entity = new StringEntity("repeatable body");
+    request.setEntity(entity);
+
+    EntityUtils.consume(defaultApacheClient(new ApacheHttpRequestInterceptor(loggerConfig),
+      new ApacheHttpResponseInterceptor(loggerConfig)).execute(request).getEntity());
+
+    assertThat(request.getEntity()).isSameAs(entity);
+    assertThat(events).hasSize(2);
+    assertThat(events.get(0)).contains("repeatable body");
+  }
+
+  @Test
+  public void adaptiveThresholdFollowsLatencyPercentile() {
+    final SlowOrFailedPolicy policy = SlowOrFailedPolicy.builder()
+      .latencyThreshold(0, TimeUnit.MILLISECONDS)
+      .adaptiveThreshold(0.9, 100)
+      .build();
+
+    // First window: 90 calls of 10ms and 10 calls of 100ms
+    for (int i = 0; i < 100; i++) {
+      policy.isSlowOrFailed((i < 90 ? 10 : 100) * MILLIS, 200);
+    }
+
+    assertThat(policy.currentThreshold(TimeUnit.MILLISECONDS)).isBetween(10L, 13L);
+    assertThat(policy.isSlowOrFailed(10 * MILLIS, 200)).isFalse();
+    assertThat(policy.isSlowOrFailed(50 * MILLIS, 200)).isTrue();
+  }
+
+  @Test
+  public void staticThresholdIsLowerBoundOfAdaptiveThreshold() {
+    final SlowOrFailedPolicy policy = SlowOrFailedPolicy.builder()
+      .latencyThreshold(200, TimeUnit.MILLISECONDS)
+      .adaptiveThreshold(0.5, 100)
+      .build();
+
+    for (int i = 0; i < 100; i++) {
+      policy.isSlowOrFailed(10 * MILLIS, 200);
+    }
+
+    assertThat(policy.currentThreshold(TimeUnit.MILLISECONDS)).isEqualTo(200L);
+    assertThat(policy.isSlowOrFailed(150 * MILLIS, 200)).isFalse();
+    assertThat(policy.isSlowOrFailed(150 * MILLIS, 500)).isTrue();
+  }
+
+  @Test
+  public void invalidPercentileIsRejected() {
+    assertThatThrownBy(() -> SlowOrFailedPolicy.builder().adaptiveThreshold(1.5, 100))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Invalid percentile. Should be between 0.5 and 0.9999.");
+  }
+
+  @Test
+  public void invalidMinStatusIsRejected() {
+    assertThatThrownBy(() -> SlowOrFailedPolicy.builder().minStatus(99))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Invalid status code. Should be between 100 and 600.");
+  }
+
+}
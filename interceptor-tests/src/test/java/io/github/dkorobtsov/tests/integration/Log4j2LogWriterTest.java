@@ -0,0 +1,164 @@
+package io.github.dkorobtsov.tests.integration;
+
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
+import io.github.dkorobtsov.plinter.core.LoggingOverhead;
+import io.github.dkorobtsov.plinter.core.LoggingOverhead.Stage;
+import io.github.dkorobtsov.plinter.log4j2.Log4j2LogWriter;
+import io.github.dkorobtsov.tests.BaseTest;
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import okhttp3.mockwebserver.MockResponse;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.WriterAppender;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests validating passing events to Log4j2 logger.
+ */
+@RunWith(JUnitParamsRunner.class)
+public class Log4j2LogWriterTest extends BaseTest {
+
+  private static final String HTTP_LOGGER = "Log4j2LogWriterTest";
+  private static final String FIELDS_LOGGER = "Log4j2LogWriterTest.fields";
+  private static final String LOG_PATTERN = "[%level] [%marker] %msg%n";
+  private static final String FIELDS_PATTERN
+    = "[%X{http.method}] [%X{http.host}] [%X{http.status}]%n";
+  private static final StringWriter LOG_OUTPUT = new StringWriter();
+  private static final StringWriter FIELDS_OUTPUT = new StringWriter();
+  private static final Marker HTTP = MarkerManager.getMarker("HTTP");
+
+  private final Logger logger = LogManager.getLogger(HTTP_LOGGER);
+
+  @BeforeClass
+  public static void configureLogger() {
+    final LoggerContext context = LoggerContext.getContext(false);
+    final Configuration config = context.getConfiguration();
+    addLogger(config, HTTP_LOGGER, LOG_PATTERN, LOG_OUTPUT);
+    addLogger(config, FIELDS_LOGGER, FIELDS_PATTERN, FIELDS_OUTPUT);
+    context.updateLoggers();
+  }
+
+  private static void addLogger(Configuration config, String name, String pattern,
+                                StringWriter output) {
+    final PatternLayout layout = PatternLayout.newBuilder().withPattern(pattern).build();
+    final Appender appender = WriterAppender
+      .createAppender(layout, null, output, name, false, true);
+    appender.start();
+    config.addAppender(appender);
+
+    final org.apache.logging.log4j.core.config.LoggerConfig loggerConfig
+      = new org.apache.logging.log4j.core.config.LoggerConfig(name, Level.INFO, false);
+    loggerConfig.addAppender(appender, null, null);
+    config.addLogger(name, loggerConfig);
+  }
+
+  @Before
+  public void clearOutput() {
+    LOG_OUTPUT.getBuffer().setLength(0);
+    FIELDS_OUTPUT.getBuffer().setLength(0);
+  }
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void eventsAreLoggedWithConfiguredLevelAndMarker(String interceptor) {
+    server.enqueue(new MockResponse().setResponseCode(200));
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(Log4j2LogWriter.builder()
+        .logger(logger)
+        .level(Level.INFO)
+        .marker(HTTP)
+        .build())
+      .build());
+
+    assertThat(LOG_OUTPUT.toString())
+      .startsWith("[INFO] [HTTP] ")
+      .contains("Request")
+      .contains("Response")
+      .doesNotContain("DEBUG");
+  }
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void eventLinesAreLoggedSeparately(String interceptor) {
+    server.enqueue(new MockResponse().setResponseCode(200));
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(Log4j2LogWriter.builder()
+        .logger(logger)
+        .level(Level.WARN)
+        .build())
+      .logByLine(true)
+      .build());
+
+    assertThat(LOG_OUTPUT.toString().split("\\R"))
+      .hasSizeGreaterThan(2)
+      .allMatch(line -> line.startsWith("[WARN] [] "));
+  }
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void exchangeIsNotRenderedIfLevelIsDisabled(String interceptor) {
+    server.enqueue(new MockResponse().setResponseCode(200));
+    final LoggingOverhead overhead = new LoggingOverhead();
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(Log4j2LogWriter.builder()
+        .logger(logger)
+        .build())
+      .overhead(overhead)
+      .build());
+
+    assertThat(LOG_OUTPUT.toString()).isEmpty();
+    assertThat(overhead.snapshot(Stage.REQUEST_CONVERSION).count()).isZero();
+    assertThat(overhead.snapshot(Stage.RENDERING).count()).isZero();
+  }
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void exchangeDetailsArePutIntoThreadContext(String interceptor) {
+    server.enqueue(new MockResponse().setResponseCode(201));
+    ThreadContext.put("http.status", "outer");
+    try {
+      interceptWithConfig(interceptor, LoggerConfig.builder()
+        .logger(Log4j2LogWriter.builder()
+          .logger(LogManager.getLogger(FIELDS_LOGGER))
+          .level(Level.INFO)
+          .build())
+        .build());
+
+      assertThat(FIELDS_OUTPUT.toString().split("\\R")).containsExactly(
+        "[GET] [" + server.getHostName() + "] []",
+        "[] [" + server.getHostName() + "] [201]");
+      assertThat(ThreadContext.get("http.status")).isEqualTo("outer");
+      assertThat(ThreadContext.get("http.method")).isNull();
+    } finally {
+      ThreadContext.remove("http.status");
+    }
+  }
+
+  @Test
+  public void levelIsValidated() {
+    assertThatThrownBy(() -> Log4j2LogWriter.builder().level(Level.OFF))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Invalid level. Should be one of FATAL, ERROR, WARN, INFO, DEBUG or TRACE.");
+  }
+
+}
@@ -0,0 +1,183 @@
+package io.github.dkorobtsov.tests.integration;
+
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
+import io.github.dkorobtsov.plinter.core.LoggingOverhead;
+import io.github.dkorobtsov.plinter.core.LoggingOverhead.Stage;
+import io.github.dkorobtsov.plinter.slf4j.Slf4jLogWriter;
+import io.github.dkorobtsov.tests.BaseTest;
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import okhttp3.mockwebserver.MockResponse;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+import org.slf4j.event.KeyValuePair;
+import org.slf4j.event.Level;
+import org.slf4j.event.LoggingEvent;
+import org.slf4j.helpers.LegacyAbstractLogger;
+import org.slf4j.spi.LoggingEventAware;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests validating passing events to SLF4J logger.
+ */
+@RunWith(JUnitParamsRunner.class)
+public class Slf4jLogWriterTest extends BaseTest {
+
+  private static final Marker HTTP = MarkerFactory.getMarker("HTTP");
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void eventsAreLoggedWithConfiguredLevelAndMarker(String interceptor) {
+    server.enqueue(new MockResponse().setResponseCode(200));
+    final CapturingLogger logger = new CapturingLogger(Level.DEBUG);
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(Slf4jLogWriter.builder()
+        .logger(logger)
+        .level(Level.INFO)
+        .marker(HTTP)
+        .build())
+      .build());
+
+    assertThat(logger.levels).containsExactly(Level.INFO, Level.INFO);
+    assertThat(logger.markers).containsExactly(HTTP, HTTP);
+    assertThat(logger.messages.get(0)).contains("Request");
+    assertThat(logger.messages.get(1)).contains("Response");
+  }
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void exchangeIsNotRenderedIfLevelIsDisabled(String interceptor) {
+    server.enqueue(new MockResponse().setResponseCode(200));
+    final CapturingLogger logger = new CapturingLogger(Level.INFO);
+    final LoggingOverhead overhead = new LoggingOverhead();
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(Slf4jLogWriter.builder()
+        .logger(logger)
+        .build())
+      .overhead(overhead)
+      .build());
+
+    assertThat(logger.messages).isEmpty();
+    assertThat(overhead.snapshot(Stage.REQUEST_CONVERSION).count()).isZero();
+    assertThat(overhead.snapshot(Stage.RENDERING).count()).isZero();
+  }
+
+  @Test
+  @Parameters(method = "interceptors")
+  public void exchangeDetailsAreAttachedAsKeyValuePairs(String interceptor) {
+    server.enqueue(new MockResponse().setResponseCode(201));
+    final CapturingLogger logger = new CapturingLogger(Level.DEBUG);
+
+    interceptWithConfig(interceptor, LoggerConfig.builder()
+      .logger(Slf4jLogWriter.builder()
+        .logger(logger)
+        .build())
+      .build());
+
+    assertThat(logger.keyValues).hasSize(2);
+    assertThat(logger.keyValues.get(0))
+      .containsEntry("http.method", "GET")
+      .containsEntry("http.host", server.getHostName())
+      .doesNotContainKey("http.status");
+    assertThat(logger.keyValues.get(1))
+      .containsEntry("http.host", server.getHostName())
+      .containsEntry("http.status", 201);
+    assertThat(logger.messages.get(1)).doesNotContain("http.status");
+  }
+
+  @Test
+  public void loggerIsRequired() {
+    assertThatThrownBy(() -> Slf4jLogWriter.builder().build())
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("SLF4J logger should be provided.");
+  }
+
+  /**
+   * SLF4J logger recording all enabled events, including events built with fluent API.
+   */
+  private static final class CapturingLogger extends LegacyAbstractLogger
+    implements LoggingEventAware {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Level threshold;
+    private final transient List<Level> levels = new ArrayList<>();
+    private final transient List<Marker> markers = new ArrayList<>();
+    private final transient List<String> messages = new ArrayList<>();
+    private final transient List<Map<String, Object>> keyValues = new ArrayList<>();
+
+    CapturingLogger(Level threshold) {
+      this.threshold = threshold;
+      this.name = "CapturingLogger";
+    }
+
+    private boolean isEnabled(Level level) {
+      return level.toInt() >= threshold.toInt();
+    }
+
+    @Override
+    public boolean isTraceEnabled() {
+      return isEnabled(Level.TRACE);
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+      return isEnabled(Level.DEBUG);
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+      return isEnabled(Level.INFO);
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+      return isEnabled(Level.WARN);
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+      return isEnabled(Level.ERROR);
+    }
+
+    @Override
+    protected String getFullyQualifiedCallerName() {
+      return null;
+    }
+
+    @Override
+    protected synchronized void handleNormalizedLoggingCall(Level level, Marker marker,
+                                                            String msg, Object[] arguments,
+                                                            Throwable throwable) {
+      levels.add(level);
+      markers.add(marker);
+      messages.add(msg);
+    }
+
+    @Override
+    public synchronized void log(LoggingEvent event) {
+      final Map<String, Object> values = new LinkedHashMap<>();
+      if (event.getKeyValuePairs() != null) {
+        for (KeyValuePair pair : event.getKeyValuePairs()) {
+          values.put(pair.key, pair.value);
+        }
+      }
+      levels.add(event.getLevel());
+      markers.add(event.getMarkers() == null ? null : event.getMarkers().get(0));
+      messages.add(event.getMessage());
+      keyValues.add(values);
+    }
+  }
+
+}
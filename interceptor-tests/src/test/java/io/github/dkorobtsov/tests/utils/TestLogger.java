@@ -27,6 +27,7 @@ public class TestLogger implements LogWriter {
   private static final String REGEX_LINE_SEPARATOR = "\r?\n";
   private static final int MAX_WAIT_TIME_MS = 3000;
   private static final int SLEEP_INTERVAL_MS = 2;
+  private static final int REQUIRED_IDLE_CHECKS = 10;
   private final List<String> events = new ArrayList<>(Collections.emptyList());
   private final StreamHandler logOutputHandler;
   private final OutputStream logOut;
@@ -117,12 +118,16 @@ public class TestLogger implements LogWriter {
     // (and we don't know when this actually happens!)
     // tests with manually added executor will eventually fail.
     // So idea is simple - we won't flush buffer until there is at least one
-    // active printing thread.
+    // active printing thread. Since interceptor doesn't wait for executor, printer
+    // thread can be still idle right after submission, so it should stay idle for
+    // a few consecutive checks before we consider printing finished.
     try {
       long startTime = System.currentTimeMillis();
+      int idleChecks = 0;
 
       while (System.currentTimeMillis() - startTime < MAX_WAIT_TIME_MS) {
-        if (!isPrinterThreadRunning()) {
+        idleChecks = isPrinterThreadRunning() ? 0 : idleChecks + 1;
+        if (idleChecks >= REQUIRED_IDLE_CHECKS) {
           return;
         }
         Thread.sleep(SLEEP_INTERVAL_MS);
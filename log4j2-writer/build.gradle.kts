@@ -0,0 +1,15 @@
+dependencies {
+  api(project(Property.Module.Core.refence))
+  api(libs.log4j2.api)
+}
+
+tasks.named<Jar>("jar") {
+  manifest {
+    attributes(
+      mapOf(
+        "Implementation-Title" to Property.Module.Log4j2.title,
+        "Automatic-Module-Name" to Property.Module.Log4j2.name
+      )
+    )
+  }
+}
@@ -0,0 +1,77 @@
+package io.github.dkorobtsov.plinter.log4j2;
+
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.ReusableMessage;
+import org.apache.logging.log4j.message.SimpleMessage;
+
+/**
+ * Reusable Log4j2 message wrapping characters of rendered event. Content is appended to target
+ * buffer in {@link #formatTo(StringBuilder)}, string is created only if some component asks for
+ * {@link #getFormattedMessage()} explicitly. {@link #memento()} returns immutable copy, which
+ * Log4j2 uses when event is passed to another thread (e.g. by async appender).
+ */
+final class CharSequenceMessage implements ReusableMessage {
+
+  private static final long serialVersionUID = 1L;
+  private static final Object[] NO_PARAMETERS = new Object[0];
+
+  private transient CharSequence chars;
+
+  void set(CharSequence chars) {
+    this.chars = chars;
+  }
+
+  void clear() {
+    this.chars = null;
+  }
+
+  boolean isInUse() {
+    return chars != null;
+  }
+
+  @Override
+  public void formatTo(StringBuilder buffer) {
+    buffer.append(chars);
+  }
+
+  @Override
+  public String getFormattedMessage() {
+    return String.valueOf(chars);
+  }
+
+  @Override
+  public String getFormat() {
+    return getFormattedMessage();
+  }
+
+  @Override
+  public Object[] getParameters() {
+    return NO_PARAMETERS;
+  }
+
+  @Override
+  public Throwable getThrowable() {
+    return null;
+  }
+
+  @Override
+  public Object[] swapParameters(Object[] emptyReplacement) {
+    return emptyReplacement;
+  }
+
+  @Override
+  public short getParameterCount() {
+    return 0;
+  }
+
+  @Override
+  public Message memento() {
+    return new SimpleMessage(getFormattedMessage());
+  }
+
+  @Override
+  public String toString() {
+    return getFormattedMessage();
+  }
+
+}
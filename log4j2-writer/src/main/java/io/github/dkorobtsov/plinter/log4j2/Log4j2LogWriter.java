@@ -0,0 +1,288 @@
+package io.github.dkorobtsov.plinter.log4j2;
+
+import io.github.dkorobtsov.plinter.core.EventFields;
+import io.github.dkorobtsov.plinter.core.LogWriter;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.util.Constants;
+
+import java.util.List;
+
+import static io.github.dkorobtsov.plinter.core.EventFields.HOST_KEY;
+import static io.github.dkorobtsov.plinter.core.EventFields.METHOD_KEY;
+import static io.github.dkorobtsov.plinter.core.EventFields.STATUS_KEY;
+
+/**
+ * {@link LogWriter} passing events directly to Log4j2 logger.
+ * <p>
+ * Rendered event is handed to Log4j2 as reusable message ({@code StringBuilderFormattable}) which
+ * layouts and async loggers format by appending printer's buffer straight into their own
+ * {@link StringBuilder}, so no intermediate string is created per event (unless thread locals are
+ * disabled in Log4j2, message instance itself is reused as well). Level is checked in
+ * {@link #isEnabled()}, so exchanges are not converted and rendered at all when logger is
+ * disabled.
+ * <p>
+ * Exchange details are put into thread context (MDC) for the duration of each logging call under
+ * keys {@value EventFields#METHOD_KEY}, {@value EventFields#HOST_KEY} and
+ * {@value EventFields#STATUS_KEY} (unknown values are left out, previous values of these keys are
+ * restored afterwards). Log4j2 captures them into event context data, so events can be filtered
+ * or routed by them (e.g. with {@code ThreadContextMapFilter} or {@code %X{http.status}} in
+ * layout), also with async loggers. Status strings are cached, so fields add no string copies.
+ * Configured {@link Marker} is attached to every event as well. Note that with
+ * {@code LoggerConfig.executor} events are logged from printing thread, so rest of the calling
+ * thread's context is not available.
+ * <p>
+ * Usage example:
+ * <pre>
+ *   LoggerConfig.builder()
+ *     .logger(Log4j2LogWriter.builder()
+ *       .logger(LogManager.getLogger("HttpLogger"))
+ *       .level(Level.INFO)
+ *       .marker(MarkerManager.getMarker("HTTP"))
+ *       .build())
+ *     .build();
+ * </pre>
+ */
+public final class Log4j2LogWriter implements LogWriter {
+
+  private static final int MIN_STATUS = 100;
+  private static final String[] STATUS_CODES = new String[500];
+
+  static {
+    for (int i = 0; i < STATUS_CODES.length; i++) {
+      STATUS_CODES[i] = String.valueOf(MIN_STATUS + i);
+    }
+  }
+
+  private static final ThreadLocal<CharSequenceMessage> MESSAGES = Constants.ENABLE_THREADLOCALS
+    ? ThreadLocal.withInitial(CharSequenceMessage::new)
+    : null;
+
+  private final Logger logger;
+  private final Level level;
+  private final Marker marker;
+
+  Log4j2LogWriter(Logger logger, Level level, Marker marker) {
+    this.logger = logger;
+    this.level = level;
+    this.marker = marker;
+  }
+
+  /**
+   * Constructs a new Log4j2LogWriterBuilder.
+   *
+   * @return the Log4j2LogWriterBuilder instance
+   */
+  public static Log4j2LogWriterBuilder builder() {
+    return new Log4j2LogWriterBuilder();
+  }
+
+  @Override
+  public void log(String msg) {
+    logger.log(level, marker, msg);
+  }
+
+  /**
+   * Logs all lines of an event, checking level only once.
+   *
+   * @param lines event lines in printing order
+   */
+  @Override
+  public void logLines(List<String> lines) {
+    if (!isEnabled()) {
+      return;
+    }
+    for (String line : lines) {
+      logger.log(level, marker, line);
+    }
+  }
+
+  /**
+   * Passes event to Log4j2 as reusable message wrapping provided characters. Message is detached
+   * from printer's buffer before method returns, Log4j2 copies its content if event has to
+   * outlive the call.
+   *
+   * @param event rendered event
+   */
+  @Override
+  public void logChars(CharSequence event) {
+    if (isEnabled()) {
+      logMessage(event);
+    }
+  }
+
+  /**
+   * Logs all lines of an event with exchange details in thread context.
+   *
+   * @param lines  event lines in printing order
+   * @param fields exchange details of the event
+   */
+  @Override
+  public void logLines(List<String> lines, EventFields fields) {
+    if (!isEnabled()) {
+      return;
+    }
+    final String method = ThreadContext.get(METHOD_KEY);
+    final String host = ThreadContext.get(HOST_KEY);
+    final String status = ThreadContext.get(STATUS_KEY);
+    putFields(fields);
+    try {
+      for (String line : lines) {
+        logger.log(level, marker, line);
+      }
+    } finally {
+      restoreFields(method, host, status);
+    }
+  }
+
+  /**
+   * Same as {@link #logChars(CharSequence)}, with exchange details in thread context.
+   *
+   * @param event  rendered event
+   * @param fields exchange details of the event
+   */
+  @Override
+  public void logChars(CharSequence event, EventFields fields) {
+    if (!isEnabled()) {
+      return;
+    }
+    final String method = ThreadContext.get(METHOD_KEY);
+    final String host = ThreadContext.get(HOST_KEY);
+    final String status = ThreadContext.get(STATUS_KEY);
+    putFields(fields);
+    try {
+      logMessage(event);
+    } finally {
+      restoreFields(method, host, status);
+    }
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return logger.isEnabled(level, marker);
+  }
+
+  private void logMessage(CharSequence event) {
+    final CharSequenceMessage message = acquireMessage();
+    message.set(event);
+    try {
+      logger.log(level, marker, message);
+    } finally {
+      message.clear();
+    }
+  }
+
+  private static void putFields(EventFields fields) {
+    put(METHOD_KEY, fields.method());
+    put(HOST_KEY, fields.host());
+    put(STATUS_KEY, status(fields.status()));
+  }
+
+  private static void restoreFields(String method, String host, String status) {
+    put(METHOD_KEY, method);
+    put(HOST_KEY, host);
+    put(STATUS_KEY, status);
+  }
+
+  private static void put(String key, String value) {
+    if (value == null) {
+      ThreadContext.remove(key);
+    } else {
+      ThreadContext.put(key, value);
+    }
+  }
+
+  private static String status(int code) {
+    if (code <= 0) {
+      return null;
+    }
+    final int index = code - MIN_STATUS;
+    return index >= 0 && index < STATUS_CODES.length
+      ? STATUS_CODES[index]
+      : String.valueOf(code);
+  }
+
+  private static CharSequenceMessage acquireMessage() {
+    if (MESSAGES == null) {
+      return new CharSequenceMessage();
+    }
+    final CharSequenceMessage message = MESSAGES.get();
+    // Appender logging through the same writer would overwrite message still in use
+    return message.isInUse() ? new CharSequenceMessage() : message;
+  }
+
+  @Override
+  public String toString() {
+    return "Log4j2LogWriter{"
+      + "logger=" + logger.getName()
+      + ", level=" + level
+      + ", marker=" + marker
+      + '}';
+  }
+
+  /**
+   * Helper class for creating {@link Log4j2LogWriter} instances.
+   */
+  public static class Log4j2LogWriterBuilder {
+
+    private Logger logger;
+    private Level level = Level.DEBUG;
+    private Marker marker;
+
+    /**
+     * Sets Log4j2 logger events are passed to.
+     *
+     * @param logger Log4j2 logger, required
+     * @return the Log4j2LogWriterBuilder instance
+     */
+    public Log4j2LogWriterBuilder logger(Logger logger) {
+      this.logger = logger;
+      return this;
+    }
+
+    /**
+     * Sets level events are logged with.
+     *
+     * @param level Log4j2 level
+     *              <p>
+     *              Default: DEBUG
+     * @return the Log4j2LogWriterBuilder instance
+     */
+    public Log4j2LogWriterBuilder level(Level level) {
+      if (level == null || level == Level.OFF || level == Level.ALL) {
+        throw new IllegalArgumentException(
+          "Invalid level. Should be one of FATAL, ERROR, WARN, INFO, DEBUG or TRACE.");
+      }
+      this.level = level;
+      return this;
+    }
+
+    /**
+     * Sets marker attached to every event.
+     *
+     * @param marker Log4j2 marker, null means no marker
+     *               <p>
+     *               Default: null
+     * @return the Log4j2LogWriterBuilder instance
+     */
+    public Log4j2LogWriterBuilder marker(Marker marker) {
+      this.marker = marker;
+      return this;
+    }
+
+    /**
+     * Builds writer.
+     *
+     * @return the Log4j2LogWriter object
+     */
+    public Log4j2LogWriter build() {
+      if (logger == null) {
+        throw new IllegalArgumentException("Log4j2 logger should be provided.");
+      }
+      return new Log4j2LogWriter(logger, level, marker);
+    }
+  }
+
+}
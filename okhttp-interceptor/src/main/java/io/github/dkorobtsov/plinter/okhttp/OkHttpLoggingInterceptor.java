@@ -1,8 +1,11 @@
 package io.github.dkorobtsov.plinter.okhttp;
 
+import com.squareup.okhttp.HttpUrl;
 import com.squareup.okhttp.Interceptor;
 import com.squareup.okhttp.Request;
+import com.squareup.okhttp.RequestBody;
 import com.squareup.okhttp.Response;
+import com.squareup.okhttp.ResponseBody;
 import io.github.dkorobtsov.plinter.core.AbstractInterceptor;
 import io.github.dkorobtsov.plinter.core.LoggerConfig;
 import io.github.dkorobtsov.plinter.core.RequestConverter;
@@ -42,8 +45,8 @@ public class OkHttpLoggingInterceptor extends AbstractInterceptor implements Int
    * @param loggerConfig the LoggerConfig to configure the interceptor's behavior
    */
   public OkHttpLoggingInterceptor(final LoggerConfig loggerConfig) {
-    this.requestConverter = new OkHttpRequestConverter();
-    this.responseConverter = new OkHttpResponseConverter();
+    this.requestConverter = timed(loggerConfig, new OkHttpRequestConverter(loggerConfig));
+    this.responseConverter = timed(loggerConfig, new OkHttpResponseConverter(loggerConfig));
     this.loggerConfig = loggerConfig;
   }
 
@@ -62,24 +65,133 @@ public class OkHttpLoggingInterceptor extends AbstractInterceptor implements Int
   public Response intercept(final Chain chain) throws IOException {
     final Request request = chain.request();
 
-    if (skipLogging()) {
-      return chain.proceed(request);
+    final HttpUrl url = request.httpUrl();
+    if (skipLogging(url.host(), url.encodedPath(), request.method(),
+      name -> request.header(name) != null)) {
+      return execute(chain, request);
+    }
+
+    final boolean isSampled = isSampled(url.host(), url.encodedPath());
+    if (isDeferred(isSampled)) {
+      return proceedDeferred(chain, request, isSampled);
     }
 
     final InterceptedRequest interceptedRequest = requestConverter.from(request);
 
-    ClientPrintingExecutor.printRequest(loggerConfig, interceptedRequest);
+    if (!loggerConfig.exchangeMode) {
+      ClientPrintingExecutor.printRequest(loggerConfig, interceptedRequest);
+    }
+
+    final long startTime = System.nanoTime();
+    final Response response = proceed(chain, request, interceptedRequest);
+    printResponse(interceptedRequest, response, startTime);
+
+    return response;
+  }
+
+  /**
+   * Proceeds with the request. In exchange mode request is not printed until response is
+   * received, so if call fails, held request is printed alone before failure is propagated.
+   */
+  private Response proceed(final Chain chain, final Request request,
+                           final InterceptedRequest interceptedRequest) throws IOException {
+    if (!loggerConfig.exchangeMode) {
+      return execute(chain, request);
+    }
+    try {
+      return execute(chain, request);
+    } catch (IOException | RuntimeException e) {
+      ClientPrintingExecutor.printRequest(loggerConfig, interceptedRequest);
+      throw e;
+    }
+  }
 
+  /**
+   * Proceeds with the request which was not sampled or is logged only if slow or failed.
+   * Request is converted only after outcome is known and exchange has to be logged.
+   */
+  private Response proceedDeferred(final Chain chain, final Request request,
+                                   final boolean isSampled) throws IOException {
     final long startTime = System.nanoTime();
-    final Response response = chain.proceed(request);
+    final Response response;
+    try {
+      response = execute(chain, request);
+    } catch (IOException | RuntimeException e) {
+      if (isLoggedOnFailure(isSampled)) {
+        ClientPrintingExecutor.printRequest(loggerConfig, requestConverter.from(request));
+      }
+      throw e;
+    }
+
+    if (isLoggedOnResponse(isSampled, System.nanoTime() - startTime, response.code())) {
+      final InterceptedRequest interceptedRequest = requestConverter.from(request);
+      if (!loggerConfig.exchangeMode) {
+        ClientPrintingExecutor.printRequest(loggerConfig, interceptedRequest);
+      }
+      printResponse(interceptedRequest, response, startTime);
+    }
+    return response;
+  }
+
+  /**
+   * Sends request down the chain, recording exchange to configured metrics registry.
+   */
+  private Response execute(final Chain chain, final Request request) throws IOException {
+    if (loggerConfig.metrics == null) {
+      return chain.proceed(request);
+    }
+    final HttpUrl url = request.httpUrl();
+    final long requestBytes = request.body() == null ? 0 : contentLength(request.body());
+    final long startNs = System.nanoTime();
+    final Response response;
+    try {
+      response = chain.proceed(request);
+    } catch (IOException | RuntimeException e) {
+      recordMetrics(request.method(), url.host(), url.encodedPath(), 0,
+        System.nanoTime() - startNs, requestBytes, -1);
+      throw e;
+    }
+    recordMetrics(request.method(), url.host(), url.encodedPath(), response.code(),
+      System.nanoTime() - startNs, requestBytes,
+      response.body() == null ? -1 : contentLength(response.body()));
+    return response;
+  }
+
+  /**
+   * Returns declared request body size, or -1 if it can't be determined. Metrics should never
+   * fail the call, so body errors are left to the client sending it.
+   */
+  private static long contentLength(final RequestBody body) {
+    try {
+      return body.contentLength();
+    } catch (IOException | RuntimeException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * Returns declared response body size, or -1 if it can't be determined.
+   */
+  private static long contentLength(final ResponseBody body) {
+    try {
+      return body.contentLength();
+    } catch (IOException | RuntimeException e) {
+      return -1;
+    }
+  }
+
+  private void printResponse(final InterceptedRequest interceptedRequest,
+                             final Response response, final long startTime) {
     final long executionTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
 
     final InterceptedResponse interceptedResponse = responseConverter
       .from(response, interceptedRequest.url(), executionTime);
 
-    ClientPrintingExecutor.printResponse(loggerConfig, interceptedResponse);
-
-    return response;
+    if (loggerConfig.exchangeMode) {
+      ClientPrintingExecutor.printExchange(loggerConfig, interceptedRequest, interceptedResponse);
+    } else {
+      ClientPrintingExecutor.printResponse(loggerConfig, interceptedResponse);
+    }
   }
 
 }
@@ -2,12 +2,16 @@ package io.github.dkorobtsov.plinter.okhttp;
 
 import com.squareup.okhttp.MediaType;
 import com.squareup.okhttp.Request;
+import io.github.dkorobtsov.plinter.core.BodyCapturePolicy;
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
 import io.github.dkorobtsov.plinter.core.RequestConverter;
 import io.github.dkorobtsov.plinter.core.internal.CacheControl;
+import io.github.dkorobtsov.plinter.core.internal.CapturingSink;
 import io.github.dkorobtsov.plinter.core.internal.InterceptedMediaType;
 import io.github.dkorobtsov.plinter.core.internal.InterceptedRequest;
 import io.github.dkorobtsov.plinter.core.internal.InterceptedRequestBody;
-import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
 
 import java.io.IOException;
 import java.util.List;
@@ -23,6 +27,20 @@ import static com.squareup.okhttp.internal.http.HttpMethod.permitsRequestBody;
 @SuppressWarnings({"Duplicates", "PMD"}) // PMD gives false positives here
 class OkHttpRequestConverter implements RequestConverter<Request> {
 
+  private final int maxBodyBytes;
+  private final boolean captureBody;
+  private final BodyCapturePolicy capturePolicy;
+
+  OkHttpRequestConverter() {
+    this(LoggerConfig.builder().build());
+  }
+
+  OkHttpRequestConverter(final LoggerConfig loggerConfig) {
+    this.maxBodyBytes = loggerConfig.maxBodyBytes;
+    this.captureBody = loggerConfig.level.printsBody();
+    this.capturePolicy = loggerConfig.capturePolicy;
+  }
+
   @Override
   public InterceptedRequest from(final Request okHttpRequest) {
     final InterceptedRequest.Builder builder = new InterceptedRequest.Builder();
@@ -33,8 +51,9 @@ class OkHttpRequestConverter implements RequestConverter<Request> {
 
     if (permitsRequestBody(okHttpRequest.method())) {
       builder
-        .method(okHttpRequest.method(),
-          interceptedRequestBody(okHttpRequest));
+        .method(okHttpRequest.method(), captureBody
+          ? interceptedRequestBody(okHttpRequest)
+          : InterceptedRequestBody.empty());
     } else {
       builder.method(okHttpRequest.method(), null);
     }
@@ -50,14 +69,20 @@ class OkHttpRequestConverter implements RequestConverter<Request> {
 
     try {
       final Request requestCopy = request.newBuilder().build();
-      String requestBodyString = "";
-      if (requestCopy.body() != null) {
-        final Buffer buffer = new Buffer();
-        requestCopy.body().writeTo(buffer);
-        requestBodyString = buffer.readUtf8();
-        buffer.close();
+      if (requestCopy.body() == null) {
+        return InterceptedRequestBody.create(contentType, "");
+      }
+      // Body of media type excluded by capture policy is never written, placeholder is enough
+      if (!capturePolicy.isCaptured(contentType)) {
+        return InterceptedRequestBody.create(contentType, new byte[0]);
+      }
+      // Only the head of the body is kept in memory, rest is just counted
+      final CapturingSink capturingSink = new CapturingSink(
+        capturePolicy.maxBytes(contentType, maxBodyBytes));
+      try (BufferedSink sink = Okio.buffer(capturingSink)) {
+        requestCopy.body().writeTo(sink);
       }
-      return InterceptedRequestBody.create(contentType, requestBodyString);
+      return capturingSink.requestBody(contentType);
 
     } catch (final IOException e) {
       return InterceptedRequestBody
@@ -4,6 +4,8 @@ import com.squareup.okhttp.Headers;
 import com.squareup.okhttp.MediaType;
 import com.squareup.okhttp.Response;
 import com.squareup.okhttp.ResponseBody;
+import io.github.dkorobtsov.plinter.core.BodyCapturePolicy;
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
 import io.github.dkorobtsov.plinter.core.ResponseConverter;
 import io.github.dkorobtsov.plinter.core.internal.InterceptedHeaders;
 import io.github.dkorobtsov.plinter.core.internal.InterceptedMediaType;
@@ -16,12 +18,10 @@ import okio.BufferedSource;
 
 import java.io.IOException;
 import java.net.URL;
-import java.nio.charset.Charset;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static java.util.Objects.isNull;
-import static java.util.Objects.nonNull;
 
 /**
  * Helper class implementing conversion logic from OkHTTP client response to this library's internal
@@ -35,6 +35,20 @@ class OkHttpResponseConverter implements ResponseConverter<Response> {
 
   private static final Logger logger = Logger.getLogger(OkHttpResponseConverter.class.getName());
 
+  private final int maxBodyBytes;
+  private final boolean captureBody;
+  private final BodyCapturePolicy capturePolicy;
+
+  OkHttpResponseConverter() {
+    this(LoggerConfig.builder().build());
+  }
+
+  OkHttpResponseConverter(final LoggerConfig loggerConfig) {
+    this.maxBodyBytes = loggerConfig.maxBodyBytes;
+    this.captureBody = loggerConfig.level.printsBody();
+    this.capturePolicy = loggerConfig.capturePolicy;
+  }
+
   @Override
   public InterceptedResponse from(final Response response, final URL requestUrl, final Long ms) {
     return ResponseHandler
@@ -44,6 +58,14 @@ class OkHttpResponseConverter implements ResponseConverter<Response> {
   private ResponseDetails responseDetails(final Response response) {
     if (isNull(response)) {
       throw new IllegalStateException("httpResponse == null");
+    } else if (!captureBody) {
+      // Body won't be printed, so it is not touched at all
+      return ResponseDetails.builder()
+        .code(response.code())
+        .headers(interceptedHeaders(response.headers()))
+        .isSuccessful(response.isSuccessful())
+        .message(response.message())
+        .build();
     } else {
       try (ResponseBody responseBody = response.body()) {
         return ResponseDetails.builder()
@@ -79,26 +101,29 @@ class OkHttpResponseConverter implements ResponseConverter<Response> {
   }
 
   private InterceptedResponseBody interceptedResponseBody(final ResponseBody responseBody) {
-    ResponseBody responseBodyCopy = null;
+    final InterceptedMediaType contentType = interceptedMediaType(responseBody.contentType());
+    // Body of media type excluded by capture policy is never copied, placeholder is enough
+    if (!capturePolicy.isCaptured(contentType)) {
+      return InterceptedResponseBody.create(contentType, new byte[0]);
+    }
+    final int maxBytes = capturePolicy.maxBytes(contentType, maxBodyBytes);
+
     try {
-      // Since body is readable only once, here we are applying this hack to get a copy.
-      // NB: In general we are reading body only if it has "printable" content type, and those
-      // files are usually not too big, so we are not limiting maximum size.
-      responseBodyCopy = copyBody(responseBody, Long.MAX_VALUE);
+      // Since body is readable only once, instead of consuming it only bytes already buffered
+      // by the client are captured - one byte more than allowed is requested, just enough to
+      // find out if body should be truncated. Captured head shares segments with client's
+      // buffer, so it is never copied (and stays valid after client's buffer is cleared).
+      final BufferedSource source = responseBody.source();
+      source.request(maxBytes + 1L);
+      final Buffer buffered = source.getBuffer();
+      final Buffer captured = new Buffer();
+      buffered.copyTo(captured, 0, Math.min(buffered.size(), maxBytes));
+
+      return buffered.size() > maxBytes
+        ? InterceptedResponseBody.truncated(contentType, captured, responseBody.contentLength())
+        : InterceptedResponseBody.shared(contentType, captured);
     } catch (IOException e) {
       logger.log(Level.SEVERE, e.getMessage(), e);
-    }
-    if (nonNull(responseBodyCopy)) {
-      final MediaType mediaType = responseBodyCopy.contentType();
-      String responseBodyString = "";
-      try {
-        responseBodyString = new String(responseBodyCopy.bytes(), Charset.defaultCharset());
-      } catch (IOException e) {
-        logger.log(Level.SEVERE, e.getMessage(), e);
-      }
-      return InterceptedResponseBody
-        .create(interceptedMediaType(mediaType), responseBodyString);
-    } else {
       return null;
     }
   }
@@ -108,43 +133,4 @@ class OkHttpResponseConverter implements ResponseConverter<Response> {
       : InterceptedMediaType.parse(mediaType.toString());
   }
 
-  /**
-   * Peeks up to {@code byteCount} bytes from the response body and returns them as a new response
-   * body. If fewer than {@code byteCount} bytes are in the response body, the full response body is
-   * returned. If more than {@code byteCount} bytes are in the response body, the returned value
-   * will be truncated to {@code byteCount} bytes.
-   *
-   * <p>It is an error to call this method after the body has been consumed.
-   *
-   * <p><strong>Warning:</strong> this method loads the requested bytes into memory. Most
-   * applications should set a modest limit on {@code byteCount}, such as 1 MiB.
-   * <p>
-   * --------------------------------------------------------------------------------------
-   * <p>
-   * NB: Method copied with some small modifications from OkHttp3 client's Response#peekBody
-   * (removed deprecated method).
-   * <p>
-   * See <a href="https://github.com/square/okhttp">OkHttp3</a>
-   */
-  @SuppressWarnings("SameParameterValue")
-  private ResponseBody copyBody(final ResponseBody responseBody,
-                                final long byteCount) throws IOException {
-
-    final BufferedSource source = responseBody.source();
-    source.request(byteCount);
-    final Buffer copy = source.getBuffer().clone();
-
-    // There may be more than byteCount bytes in source.buffer(). If there is, return a prefix.
-    final Buffer result;
-    if (copy.size() > byteCount) {
-      result = new Buffer();
-      result.write(copy, byteCount);
-      copy.clear();
-    } else {
-      result = copy;
-    }
-
-    return ResponseBody.create(responseBody.contentType(), result.size(), result);
-  }
-
 }
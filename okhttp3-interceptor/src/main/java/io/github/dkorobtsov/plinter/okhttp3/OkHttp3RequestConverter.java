@@ -1,14 +1,18 @@
 package io.github.dkorobtsov.plinter.okhttp3;
 
 
+import io.github.dkorobtsov.plinter.core.BodyCapturePolicy;
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
 import io.github.dkorobtsov.plinter.core.RequestConverter;
 import io.github.dkorobtsov.plinter.core.internal.CacheControl;
+import io.github.dkorobtsov.plinter.core.internal.CapturingSink;
 import io.github.dkorobtsov.plinter.core.internal.InterceptedMediaType;
 import io.github.dkorobtsov.plinter.core.internal.InterceptedRequest;
 import io.github.dkorobtsov.plinter.core.internal.InterceptedRequestBody;
 import okhttp3.MediaType;
 import okhttp3.Request;
-import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
 
 import java.io.IOException;
 import java.util.List;
@@ -24,6 +28,20 @@ import static okhttp3.internal.http.HttpMethod.permitsRequestBody;
 @SuppressWarnings({"Duplicates", "PMD"}) // PMD gives false positives
 class OkHttp3RequestConverter implements RequestConverter<Request> {
 
+  private final int maxBodyBytes;
+  private final boolean captureBody;
+  private final BodyCapturePolicy capturePolicy;
+
+  OkHttp3RequestConverter() {
+    this(LoggerConfig.builder().build());
+  }
+
+  OkHttp3RequestConverter(final LoggerConfig loggerConfig) {
+    this.maxBodyBytes = loggerConfig.maxBodyBytes;
+    this.captureBody = loggerConfig.level.printsBody();
+    this.capturePolicy = loggerConfig.capturePolicy;
+  }
+
   @Override
   public InterceptedRequest from(final Request okHttpRequest) {
     final InterceptedRequest.Builder builder = new InterceptedRequest.Builder();
@@ -34,8 +52,9 @@ class OkHttp3RequestConverter implements RequestConverter<Request> {
 
     if (permitsRequestBody(okHttpRequest.method())) {
       builder
-        .method(okHttpRequest.method(),
-          interceptedRequestBody(okHttpRequest));
+        .method(okHttpRequest.method(), captureBody
+          ? interceptedRequestBody(okHttpRequest)
+          : InterceptedRequestBody.empty());
     } else {
       builder.method(okHttpRequest.method(), null);
     }
@@ -51,13 +70,20 @@ class OkHttp3RequestConverter implements RequestConverter<Request> {
 
     try {
       final Request requestCopy = request.newBuilder().build();
-      String requestBodyString = "";
-      if (requestCopy.body() != null) {
-        final Buffer buffer = new Buffer();
-        requestCopy.body().writeTo(buffer);
-        requestBodyString = buffer.readUtf8();
+      if (requestCopy.body() == null) {
+        return InterceptedRequestBody.create(contentType, "");
+      }
+      // Body of media type excluded by capture policy is never written, placeholder is enough
+      if (!capturePolicy.isCaptured(contentType)) {
+        return InterceptedRequestBody.create(contentType, new byte[0]);
+      }
+      // Only the head of the body is kept in memory, rest is just counted
+      final CapturingSink capturingSink = new CapturingSink(
+        capturePolicy.maxBytes(contentType, maxBodyBytes));
+      try (BufferedSink sink = Okio.buffer(capturingSink)) {
+        requestCopy.body().writeTo(sink);
       }
-      return InterceptedRequestBody.create(contentType, requestBodyString);
+      return capturingSink.requestBody(contentType);
 
     } catch (final IOException e) {
       return InterceptedRequestBody
@@ -1,5 +1,7 @@
 package io.github.dkorobtsov.plinter.okhttp3;
 
+import io.github.dkorobtsov.plinter.core.BodyCapturePolicy;
+import io.github.dkorobtsov.plinter.core.LoggerConfig;
 import io.github.dkorobtsov.plinter.core.ResponseConverter;
 import io.github.dkorobtsov.plinter.core.internal.InterceptedHeaders;
 import io.github.dkorobtsov.plinter.core.internal.InterceptedMediaType;
@@ -12,6 +14,8 @@ import okhttp3.Headers;
 import okhttp3.MediaType;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
 
 import java.io.IOException;
 import java.net.URL;
@@ -19,7 +23,6 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static java.util.Objects.isNull;
-import static java.util.Objects.nonNull;
 
 /**
  * Helper class implementing conversion logic from OkHTTP3 client response to this library's
@@ -30,6 +33,20 @@ class OkHttp3ResponseConverter implements ResponseConverter<Response> {
 
   private static final Logger logger = Logger.getLogger(OkHttp3ResponseConverter.class.getName());
 
+  private final int maxBodyBytes;
+  private final boolean captureBody;
+  private final BodyCapturePolicy capturePolicy;
+
+  OkHttp3ResponseConverter() {
+    this(LoggerConfig.builder().build());
+  }
+
+  OkHttp3ResponseConverter(final LoggerConfig loggerConfig) {
+    this.maxBodyBytes = loggerConfig.maxBodyBytes;
+    this.captureBody = loggerConfig.level.printsBody();
+    this.capturePolicy = loggerConfig.capturePolicy;
+  }
+
   @Override
   public InterceptedResponse from(final Response response, final URL requestUrl, final Long ms) {
     return ResponseHandler
@@ -45,12 +62,11 @@ class OkHttp3ResponseConverter implements ResponseConverter<Response> {
         .protocol(Protocol.get(response.protocol().toString()))
         .headers(interceptedHeaders(response.headers()))
         .isSuccessful(response.isSuccessful())
-        .mediaType(interceptedMediaType(
-          isNull(response.body())
-            ? null
-            : response.body().contentType()))
+        .mediaType(captureBody
+          ? interceptedMediaType(isNull(response.body()) ? null : response.body().contentType())
+          : null)
         .message(response.message())
-        .responseBody(interceptedResponseBody(response))
+        .responseBody(captureBody ? interceptedResponseBody(response) : null)
         .build();
     }
   }
@@ -65,28 +81,33 @@ class OkHttp3ResponseConverter implements ResponseConverter<Response> {
   }
 
   private InterceptedResponseBody interceptedResponseBody(final Response response) {
-    ResponseBody responseBodyCopy = null;
+    if (isNull(response.body())) {
+      return null;
+    }
+    final InterceptedMediaType contentType = interceptedMediaType(response.body().contentType());
+    // Body of media type excluded by capture policy is never peeked, placeholder is enough
+    if (!capturePolicy.isCaptured(contentType)) {
+      return InterceptedResponseBody.create(contentType, new byte[0]);
+    }
+    final int maxBytes = capturePolicy.maxBytes(contentType, maxBodyBytes);
+
+    final ResponseBody responseBody = response.body();
     try {
-      // Since body is readable only once, here we applying this hack to get a copy.
-      // NB: In general we are reading body only if it has "printable" content type, and those
-      // files are usually not too big, but in any case need to be careful here
-      // since copy is stored in memory.
-      responseBodyCopy = response.peekBody(Long.MAX_VALUE);
+      // Since body is readable only once, instead of consuming it only bytes already buffered
+      // by the client are captured - one byte more than allowed is requested, just enough to
+      // find out if body should be truncated. Captured head shares segments with client's
+      // buffer, so it is never copied.
+      final BufferedSource source = responseBody.source();
+      source.request(maxBytes + 1L);
+      final Buffer buffered = source.getBuffer();
+      final Buffer captured = new Buffer();
+      buffered.copyTo(captured, 0, Math.min(buffered.size(), maxBytes));
+
+      return buffered.size() > maxBytes
+        ? InterceptedResponseBody.truncated(contentType, captured, responseBody.contentLength())
+        : InterceptedResponseBody.shared(contentType, captured);
     } catch (IOException e) {
       logger.log(Level.SEVERE, e.getMessage(), e);
-    }
-
-    if (nonNull(responseBodyCopy)) {
-      final MediaType mediaType = responseBodyCopy.contentType();
-      try {
-        return InterceptedResponseBody
-          .create(interceptedMediaType(mediaType), responseBodyCopy.bytes());
-      } catch (IOException e) {
-        logger.log(Level.SEVERE, e.getMessage(), e);
-        return InterceptedResponseBody
-          .create(interceptedMediaType(mediaType), "");
-      }
-    } else {
       return null;
     }
   }
@@ -0,0 +1,15 @@
+dependencies {
+  api(project(Property.Module.Core.refence))
+  api(libs.slf4j.api)
+}
+
+tasks.named<Jar>("jar") {
+  manifest {
+    attributes(
+      mapOf(
+        "Implementation-Title" to Property.Module.Slf4j.title,
+        "Automatic-Module-Name" to Property.Module.Slf4j.name
+      )
+    )
+  }
+}
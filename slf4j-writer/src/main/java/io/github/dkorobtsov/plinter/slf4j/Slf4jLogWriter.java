@@ -0,0 +1,258 @@
+package io.github.dkorobtsov.plinter.slf4j;
+
+import io.github.dkorobtsov.plinter.core.EventFields;
+import io.github.dkorobtsov.plinter.core.LogWriter;
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+import org.slf4j.spi.LoggingEventAware;
+import org.slf4j.spi.LoggingEventBuilder;
+
+import java.util.List;
+
+import static io.github.dkorobtsov.plinter.core.EventFields.HOST_KEY;
+import static io.github.dkorobtsov.plinter.core.EventFields.METHOD_KEY;
+import static io.github.dkorobtsov.plinter.core.EventFields.STATUS_KEY;
+
+/**
+ * {@link LogWriter} passing events directly to SLF4J logger.
+ * <p>
+ * Level is checked in {@link #isEnabled()}, so exchanges are not converted and rendered at all
+ * when logger is disabled. Event is passed as string (never through parameterized formatting) -
+ * SLF4J API accepts messages only as strings, and backends may keep them after the call (e.g.
+ * async appenders), so printer's reusable buffer can't be passed as is.
+ * <p>
+ * Exchange details are attached to every event as key-value pairs
+ * ({@value EventFields#METHOD_KEY}, {@value EventFields#HOST_KEY} and
+ * {@value EventFields#STATUS_KEY}, unknown values are left out) through fluent event builder, so
+ * events can be filtered or routed by them. Pairs are attached only if logger handles SLF4J 2
+ * events natively ({@link LoggingEventAware}, e.g. Logback 1.3+ or Log4j2 SLF4J 2 binding) -
+ * for other loggers SLF4J would append them to message text, so events are logged with plain
+ * message methods instead. Configured {@link Marker} is attached to every event as well. MDC of
+ * calling thread is captured by backend as usual, just note that with
+ * {@code LoggerConfig.executor} events are logged from printing thread.
+ * <p>
+ * Usage example:
+ * <pre>
+ *   LoggerConfig.builder()
+ *     .logger(Slf4jLogWriter.builder()
+ *       .logger(LoggerFactory.getLogger("HttpLogger"))
+ *       .level(Level.INFO)
+ *       .marker(MarkerFactory.getMarker("HTTP"))
+ *       .build())
+ *     .build();
+ * </pre>
+ */
+public final class Slf4jLogWriter implements LogWriter {
+
+  private final Logger logger;
+  private final Level level;
+  private final Marker marker;
+  private final boolean isEventAware;
+
+  Slf4jLogWriter(Logger logger, Level level, Marker marker) {
+    this.logger = logger;
+    this.level = level;
+    this.marker = marker;
+    this.isEventAware = logger instanceof LoggingEventAware;
+  }
+
+  /**
+   * Constructs a new Slf4jLogWriterBuilder.
+   *
+   * @return the Slf4jLogWriterBuilder instance
+   */
+  public static Slf4jLogWriterBuilder builder() {
+    return new Slf4jLogWriterBuilder();
+  }
+
+  @Override
+  public void log(String msg) {
+    switch (level) {
+      case ERROR:
+        logger.error(marker, msg);
+        break;
+      case WARN:
+        logger.warn(marker, msg);
+        break;
+      case INFO:
+        logger.info(marker, msg);
+        break;
+      case DEBUG:
+        logger.debug(marker, msg);
+        break;
+      default:
+        logger.trace(marker, msg);
+        break;
+    }
+  }
+
+  /**
+   * Logs all lines of an event, checking level only once.
+   *
+   * @param lines event lines in printing order
+   */
+  @Override
+  public void logLines(List<String> lines) {
+    if (!isEnabled()) {
+      return;
+    }
+    for (String line : lines) {
+      log(line);
+    }
+  }
+
+  /**
+   * Logs event if level is enabled. Event string is created only after level check.
+   *
+   * @param event rendered event
+   */
+  @Override
+  public void logChars(CharSequence event) {
+    if (isEnabled()) {
+      log(event.toString());
+    }
+  }
+
+  /**
+   * Logs all lines of an event with exchange details attached to each line.
+   *
+   * @param lines  event lines in printing order
+   * @param fields exchange details of the event
+   */
+  @Override
+  public void logLines(List<String> lines, EventFields fields) {
+    if (!isEnabled()) {
+      return;
+    }
+    for (String line : lines) {
+      log(line, fields);
+    }
+  }
+
+  /**
+   * Logs event with exchange details if level is enabled.
+   *
+   * @param event  rendered event
+   * @param fields exchange details of the event
+   */
+  @Override
+  public void logChars(CharSequence event, EventFields fields) {
+    if (isEnabled()) {
+      log(event.toString(), fields);
+    }
+  }
+
+  /**
+   * Logs message with exchange details. Event builder is created without level check - level
+   * (together with marker) was already checked by caller.
+   */
+  private void log(String msg, EventFields fields) {
+    if (!isEventAware) {
+      log(msg);
+      return;
+    }
+    LoggingEventBuilder event = logger.makeLoggingEventBuilder(level);
+    if (marker != null) {
+      event = event.addMarker(marker);
+    }
+    if (fields.method() != null) {
+      event = event.addKeyValue(METHOD_KEY, fields.method());
+    }
+    if (fields.host() != null) {
+      event = event.addKeyValue(HOST_KEY, fields.host());
+    }
+    if (fields.status() > 0) {
+      event = event.addKeyValue(STATUS_KEY, fields.status());
+    }
+    event.log(msg);
+  }
+
+  @Override
+  public boolean isEnabled() {
+    switch (level) {
+      case ERROR:
+        return logger.isErrorEnabled(marker);
+      case WARN:
+        return logger.isWarnEnabled(marker);
+      case INFO:
+        return logger.isInfoEnabled(marker);
+      case DEBUG:
+        return logger.isDebugEnabled(marker);
+      default:
+        return logger.isTraceEnabled(marker);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "Slf4jLogWriter{"
+      + "logger=" + logger.getName()
+      + ", level=" + level
+      + ", marker=" + marker
+      + '}';
+  }
+
+  /**
+   * Helper class for creating {@link Slf4jLogWriter} instances.
+   */
+  public static class Slf4jLogWriterBuilder {
+
+    private Logger logger;
+    private Level level = Level.DEBUG;
+    private Marker marker;
+
+    /**
+     * Sets SLF4J logger events are passed to.
+     *
+     * @param logger SLF4J logger, required
+     * @return the Slf4jLogWriterBuilder instance
+     */
+    public Slf4jLogWriterBuilder logger(Logger logger) {
+      this.logger = logger;
+      return this;
+    }
+
+    /**
+     * Sets level events are logged with.
+     *
+     * @param level SLF4J level
+     *              <p>
+     *              Default: DEBUG
+     * @return the Slf4jLogWriterBuilder instance
+     */
+    public Slf4jLogWriterBuilder level(Level level) {
+      if (level == null) {
+        throw new IllegalArgumentException("Invalid level. Should not be null.");
+      }
+      this.level = level;
+      return this;
+    }
+
+    /**
+     * Sets marker attached to every event.
+     *
+     * @param marker SLF4J marker, null means no marker
+     *               <p>
+     *               Default: null
+     * @return the Slf4jLogWriterBuilder instance
+     */
+    public Slf4jLogWriterBuilder marker(Marker marker) {
+      this.marker = marker;
+      return this;
+    }
+
+    /**
+     * Builds writer.
+     *
+     * @return the Slf4jLogWriter object
+     */
+    public Slf4jLogWriter build() {
+      if (logger == null) {
+        throw new IllegalArgumentException("SLF4J logger should be provided.");
+      }
+      return new Slf4jLogWriter(logger, level, marker);
+    }
+  }
+
+}